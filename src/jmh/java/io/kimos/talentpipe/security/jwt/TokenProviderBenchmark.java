@@ -0,0 +1,85 @@
+package io.kimos.talentpipe.security.jwt;
+
+import com.codahale.metrics.MetricRegistry;
+import io.github.jhipster.config.JHipsterProperties;
+import io.kimos.talentpipe.config.ApplicationProperties;
+import io.kimos.talentpipe.security.AuthoritiesConstants;
+import io.kimos.talentpipe.security.AuthorityRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmark of the TokenProvider signing tokens, and getting the Authentication of tokens, with the verified
+ * tokens cached or, with a cache size of 0, verified on every request.
+ * <p>
+ * The AuthorityRegistry is not started, as the benchmark changes no role.
+ *
+ * @see TokenProvider
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TokenProviderBenchmark {
+
+    private static final String BASE64_SECRET = "ZGQzZjc2Y2UzMTIwZDQzNjE5OWEyNGZkNjBiNTM5YzU0NGIwMWM2OTIyM2RiNmFmNjUxNmM5ZmQ5MGI3MWQ0ODM0ZWMzNzYwMmQ1NTcxOGQ4MWI0Njg4OWIyZWNkZjYxOTE5YjhiMjdmMmJiYmJlYjBhYmU1Y2QxNjlmZTU2ZWU=";
+
+    private static final int USERS = 1000;
+
+    @Param({"0", "10000"})
+    private int authenticationCacheSize;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private TokenProvider tokenProvider;
+
+    private Authentication[] authentications;
+
+    private String[] tokens;
+
+    @Setup
+    public void setup() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getSecurity().getAuthentication().getJwt().setBase64Secret(BASE64_SECRET);
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getJwt().setAuthenticationCacheSize(authenticationCacheSize);
+        tokenProvider = new TokenProvider(jHipsterProperties, applicationProperties, new MetricRegistry(),
+            new AuthorityRegistry(null));
+        tokenProvider.init();
+
+        authentications = new Authentication[USERS];
+        tokens = new String[USERS];
+        for (int i = 0; i < USERS; i++) {
+            authentications[i] = new UsernamePasswordAuthenticationToken("user-" + i, "", Arrays.asList(
+                new SimpleGrantedAuthority(AuthoritiesConstants.USER),
+                new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN)));
+            tokens[i] = tokenProvider.createToken(authentications[i], false);
+        }
+    }
+
+    @Benchmark
+    public String createToken() {
+        return tokenProvider.createToken(authentications[nextUser()], false);
+    }
+
+    @Benchmark
+    public Authentication getAuthentication() {
+        return tokenProvider.getAuthentication(tokens[nextUser()]);
+    }
+
+    private int nextUser() {
+        return Math.floorMod(next.getAndIncrement(), USERS);
+    }
+}
@@ -0,0 +1,111 @@
+package io.kimos.talentpipe.service.index;
+
+import io.kimos.talentpipe.config.ApplicationProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the similar SearchRequests found through the MinHash/LSH buckets of the
+ * SearchRequestSimilarityIndex, against a brute-force scan scoring every SearchRequest.
+ * <p>
+ * The SearchRequests are built from templates of skills, expertise levels and salary bands, with a few skills
+ * changed, as the SearchRequests of one company for one kind of position look alike.
+ *
+ * @see SearchRequestSimilarityIndex
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchRequestSimilarityIndexBenchmark {
+
+    private static final int SIZE = 10;
+
+    private static final int SEARCH_REQUESTS_PER_TEMPLATE = 50;
+
+    @Param({"10000", "100000"})
+    private int searchRequests;
+
+    private SearchRequestSimilarityIndex index;
+
+    private List<SearchRequestChangedEvent> events;
+
+    private List<SearchRequestSimilarityIndex.Features> features;
+
+    private Random random;
+
+    private long queriedId;
+
+    @Setup
+    public void setup() {
+        random = new Random(42);
+        index = new SearchRequestSimilarityIndex(new ApplicationProperties());
+        events = new ArrayList<>(searchRequests);
+        while (events.size() < searchRequests) {
+            long[] skills = random.longs(8, 1, 2000).distinct().toArray();
+            long expertiseLevel = 1 + random.nextInt(5);
+            int minSalary = 1000 + 250 * random.nextInt(40);
+            for (int copy = 0; copy < SEARCH_REQUESTS_PER_TEMPLATE && events.size() < searchRequests; copy++) {
+                long[] copySkills = skills.clone();
+                if (random.nextInt(3) == 0) {
+                    copySkills[random.nextInt(copySkills.length)] = 2000 + random.nextInt(2000);
+                }
+                long id = events.size() + 1;
+                events.add(new SearchRequestChangedEvent(id, false, 1 + id % 20, expertiseLevel,
+                    BigDecimal.valueOf(minSalary), BigDecimal.valueOf(minSalary + 1500),
+                    copySkills, new long[0], new long[0], new long[0]));
+            }
+        }
+        events.forEach(index::onSearchRequestChanged);
+        features = new ArrayList<>(events.size());
+        for (SearchRequestChangedEvent event : events) {
+            features.add(new SearchRequestSimilarityIndex.Features(event));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void nextQuery() {
+        queriedId = 1 + random.nextInt(events.size());
+    }
+
+    @Benchmark
+    public List<SearchRequestSimilarityIndex.Match> lsh() {
+        return index.findSimilar(queriedId, null, SIZE);
+    }
+
+    @Benchmark
+    public List<SearchRequestSimilarityIndex.Match> bruteForce() {
+        SearchRequestSimilarityIndex.Features queried = features.get((int) queriedId - 1);
+        PriorityQueue<SearchRequestSimilarityIndex.Match> best =
+            new PriorityQueue<>(SIZE + 1, Comparator.comparingDouble(SearchRequestSimilarityIndex.Match::getSimilarity));
+        for (int i = 0; i < features.size(); i++) {
+            if (i == queriedId - 1) {
+                continue;
+            }
+            double similarity = SearchRequestSimilarityIndex.similarity(queried, features.get(i));
+            if (similarity > 0 && (best.size() < SIZE || similarity > best.peek().getSimilarity())) {
+                best.add(new SearchRequestSimilarityIndex.Match(events.get(i).getId(), similarity));
+                if (best.size() > SIZE) {
+                    best.poll();
+                }
+            }
+        }
+        List<SearchRequestSimilarityIndex.Match> matches = new ArrayList<>(best);
+        matches.sort(Comparator.comparingDouble(SearchRequestSimilarityIndex.Match::getSimilarity).reversed());
+        return matches;
+    }
+}
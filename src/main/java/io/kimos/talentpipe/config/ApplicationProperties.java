@@ -1,7 +1,14 @@
 package io.kimos.talentpipe.config;
 
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Properties specific to Monolith.
  * <p>
@@ -11,4 +18,873 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
 
+    private final SearchIndexer searchIndexer = new SearchIndexer();
+
+    private final SearchRequestIndex searchRequestIndex = new SearchRequestIndex();
+
+    private final Pagination pagination = new Pagination();
+
+    private final Jwt jwt = new Jwt();
+
+    private final PasswordHashing passwordHashing = new PasswordHashing();
+
+    private final UserPurge userPurge = new UserPurge();
+
+    private final UserCache userCache = new UserCache();
+
+    private final CacheRegions cacheRegions = new CacheRegions();
+
+    private final LocalCache localCache = new LocalCache();
+
+    private final CacheSnapshot cacheSnapshot = new CacheSnapshot();
+
+    private final AuditWriter auditWriter = new AuditWriter();
+
+    private final AuditRetention auditRetention = new AuditRetention();
+
+    private final RecentAudit recentAudit = new RecentAudit();
+
+    private final AuditExport auditExport = new AuditExport();
+
+    private final ActivityTracking activityTracking = new ActivityTracking();
+
+    public SearchIndexer getSearchIndexer() {
+        return searchIndexer;
+    }
+
+    public SearchRequestIndex getSearchRequestIndex() {
+        return searchRequestIndex;
+    }
+
+    public Pagination getPagination() {
+        return pagination;
+    }
+
+    public Jwt getJwt() {
+        return jwt;
+    }
+
+    public PasswordHashing getPasswordHashing() {
+        return passwordHashing;
+    }
+
+    public UserPurge getUserPurge() {
+        return userPurge;
+    }
+
+    public UserCache getUserCache() {
+        return userCache;
+    }
+
+    public CacheRegions getCacheRegions() {
+        return cacheRegions;
+    }
+
+    public LocalCache getLocalCache() {
+        return localCache;
+    }
+
+    public CacheSnapshot getCacheSnapshot() {
+        return cacheSnapshot;
+    }
+
+    public AuditWriter getAuditWriter() {
+        return auditWriter;
+    }
+
+    public AuditRetention getAuditRetention() {
+        return auditRetention;
+    }
+
+    public RecentAudit getRecentAudit() {
+        return recentAudit;
+    }
+
+    public AuditExport getAuditExport() {
+        return auditExport;
+    }
+
+    public ActivityTracking getActivityTracking() {
+        return activityTracking;
+    }
+
+    public static class SearchIndexer {
+
+        /**
+         * Maximum number of distinct entities waiting to be shipped to Elasticsearch.
+         */
+        private int queueCapacity = 10000;
+
+        /**
+         * How long a committing thread waits for room in a full queue before the change is dropped.
+         */
+        private long offerTimeoutMs = 50;
+
+        /**
+         * Maximum number of actions sent in one bulk request.
+         */
+        private int batchSize = 500;
+
+        /**
+         * How long the worker waits for a batch to fill up before shipping it.
+         */
+        private long lingerMs = 200;
+
+        /**
+         * Number of times a failed change is retried before it is dropped.
+         */
+        private int maxRetries = 5;
+
+        /**
+         * Initial back-off after a failed bulk request, doubled on each consecutive failure.
+         */
+        private long retryBackoffMs = 500;
+
+        /**
+         * Upper bound for the back-off between failed bulk requests.
+         */
+        private long maxRetryBackoffMs = 30000;
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public long getOfferTimeoutMs() {
+            return offerTimeoutMs;
+        }
+
+        public void setOfferTimeoutMs(long offerTimeoutMs) {
+            this.offerTimeoutMs = offerTimeoutMs;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getLingerMs() {
+            return lingerMs;
+        }
+
+        public void setLingerMs(long lingerMs) {
+            this.lingerMs = lingerMs;
+        }
+
+        public int getMaxRetries() {
+            return maxRetries;
+        }
+
+        public void setMaxRetries(int maxRetries) {
+            this.maxRetries = maxRetries;
+        }
+
+        public long getRetryBackoffMs() {
+            return retryBackoffMs;
+        }
+
+        public void setRetryBackoffMs(long retryBackoffMs) {
+            this.retryBackoffMs = retryBackoffMs;
+        }
+
+        public long getMaxRetryBackoffMs() {
+            return maxRetryBackoffMs;
+        }
+
+        public void setMaxRetryBackoffMs(long maxRetryBackoffMs) {
+            this.maxRetryBackoffMs = maxRetryBackoffMs;
+        }
+    }
+
+    public static class SearchRequestIndex {
+
+        /**
+         * Number of threads scanning the database when the indexes are rebuilt at startup.
+         */
+        private int rebuildParallelism = 4;
+
+        /**
+         * Width of the SearchRequest id range scanned by one rebuild task.
+         */
+        private long rebuildChunkSize = 10000;
+
+        private final Similarity similarity = new Similarity();
+
+        public int getRebuildParallelism() {
+            return rebuildParallelism;
+        }
+
+        public void setRebuildParallelism(int rebuildParallelism) {
+            this.rebuildParallelism = rebuildParallelism;
+        }
+
+        public long getRebuildChunkSize() {
+            return rebuildChunkSize;
+        }
+
+        public void setRebuildChunkSize(long rebuildChunkSize) {
+            this.rebuildChunkSize = rebuildChunkSize;
+        }
+
+        public Similarity getSimilarity() {
+            return similarity;
+        }
+
+        public static class Similarity {
+
+            /**
+             * Number of LSH bands the MinHash signature is split into.
+             */
+            private int bands = 16;
+
+            /**
+             * Number of MinHash values per band. Two SearchRequests become candidates when all the values
+             * of at least one band are equal.
+             */
+            private int rows = 4;
+
+            /**
+             * Width of the salary buckets hashed into the signature.
+             */
+            private long salaryBucketWidth = 500;
+
+            /**
+             * Maximum number of candidates scored exactly for one query.
+             */
+            private int maxCandidates = 5000;
+
+            public int getBands() {
+                return bands;
+            }
+
+            public void setBands(int bands) {
+                this.bands = bands;
+            }
+
+            public int getRows() {
+                return rows;
+            }
+
+            public void setRows(int rows) {
+                this.rows = rows;
+            }
+
+            public long getSalaryBucketWidth() {
+                return salaryBucketWidth;
+            }
+
+            public void setSalaryBucketWidth(long salaryBucketWidth) {
+                this.salaryBucketWidth = salaryBucketWidth;
+            }
+
+            public int getMaxCandidates() {
+                return maxCandidates;
+            }
+
+            public void setMaxCandidates(int maxCandidates) {
+                this.maxCandidates = maxCandidates;
+            }
+        }
+    }
+
+    public static class Pagination {
+
+        /**
+         * Whether the list endpoints fetch one more row than the page size instead of counting the matching rows,
+         * and take their total count from a cache of approximate counts.
+         */
+        private boolean approximateCount = false;
+
+        /**
+         * How long a cached count is used before it is refreshed in the background.
+         */
+        private long countTtlMs = 60000;
+
+        /**
+         * Maximum number of cached counts per entity, one per distinct criteria.
+         */
+        private int maxCountsPerEntity = 1000;
+
+        public boolean isApproximateCount() {
+            return approximateCount;
+        }
+
+        public void setApproximateCount(boolean approximateCount) {
+            this.approximateCount = approximateCount;
+        }
+
+        public long getCountTtlMs() {
+            return countTtlMs;
+        }
+
+        public void setCountTtlMs(long countTtlMs) {
+            this.countTtlMs = countTtlMs;
+        }
+
+        public int getMaxCountsPerEntity() {
+            return maxCountsPerEntity;
+        }
+
+        public void setMaxCountsPerEntity(int maxCountsPerEntity) {
+            this.maxCountsPerEntity = maxCountsPerEntity;
+        }
+    }
+
+    public static class Jwt {
+
+        /**
+         * Maximum number of verified tokens whose Authentication is kept until they expire, 0 to verify every request.
+         */
+        private int authenticationCacheSize = 10000;
+
+        public int getAuthenticationCacheSize() {
+            return authenticationCacheSize;
+        }
+
+        public void setAuthenticationCacheSize(int authenticationCacheSize) {
+            this.authenticationCacheSize = authenticationCacheSize;
+        }
+    }
+
+    public static class PasswordHashing {
+
+        /**
+         * Number of threads hashing and verifying passwords.
+         */
+        private int poolSize = 4;
+
+        /**
+         * Maximum number of passwords waiting for a thread, beyond which requests are rejected with a 503. Each
+         * waiting password blocks a request thread, so this is best kept about the pool size, or 0 to reject
+         * any request that finds all the threads busy.
+         */
+        private int queueCapacity = 4;
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    public static class UserPurge {
+
+        /**
+         * Number of not activated users deleted per transaction.
+         */
+        private int chunkSize = 500;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class UserCache {
+
+        /**
+         * Maximum number of current users kept in the near cache of each node.
+         */
+        private int nearCacheSize = 10000;
+
+        public int getNearCacheSize() {
+            return nearCacheSize;
+        }
+
+        public void setNearCacheSize(int nearCacheSize) {
+            this.nearCacheSize = nearCacheSize;
+        }
+    }
+
+    public static class CacheRegions {
+
+        /**
+         * Whether Hibernate collects the statistics published for each region, see CacheRegionStatistics.
+         */
+        private boolean statisticsEnabled = true;
+
+        /**
+         * Settings of the regions which are not configured below.
+         */
+        private final Region defaults = new Region(10000, EvictionPolicy.LRU, null, InMemoryFormat.BINARY, false, 1000);
+
+        /**
+         * Settings of each region, by entity name or by entity name and collection, such as "User" or "User.roles".
+         * Unset settings are taken from the defaults.
+         */
+        private final Map<String, Region> regions = new HashMap<>();
+
+        public boolean isStatisticsEnabled() {
+            return statisticsEnabled;
+        }
+
+        public void setStatisticsEnabled(boolean statisticsEnabled) {
+            this.statisticsEnabled = statisticsEnabled;
+        }
+
+        public Region getDefaults() {
+            return defaults;
+        }
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public static class Region {
+
+            /**
+             * Maximum number of entries per node, 0 for no limit.
+             */
+            private Integer maxSize;
+
+            private EvictionPolicy evictionPolicy;
+
+            /**
+             * Time to live of the entries, defaults to jhipster.cache.hazelcast.time-to-live-seconds.
+             */
+            private Integer timeToLiveSeconds;
+
+            private InMemoryFormat inMemoryFormat;
+
+            /**
+             * Whether the region is read through a near cache on each node.
+             */
+            private Boolean nearCache;
+
+            private Integer nearCacheMaxSize;
+
+            public Region() {
+            }
+
+            public Region(Integer maxSize, EvictionPolicy evictionPolicy, Integer timeToLiveSeconds,
+                          InMemoryFormat inMemoryFormat, Boolean nearCache, Integer nearCacheMaxSize) {
+                this.maxSize = maxSize;
+                this.evictionPolicy = evictionPolicy;
+                this.timeToLiveSeconds = timeToLiveSeconds;
+                this.inMemoryFormat = inMemoryFormat;
+                this.nearCache = nearCache;
+                this.nearCacheMaxSize = nearCacheMaxSize;
+            }
+
+            public Integer getMaxSize() {
+                return maxSize;
+            }
+
+            public void setMaxSize(Integer maxSize) {
+                this.maxSize = maxSize;
+            }
+
+            public EvictionPolicy getEvictionPolicy() {
+                return evictionPolicy;
+            }
+
+            public void setEvictionPolicy(EvictionPolicy evictionPolicy) {
+                this.evictionPolicy = evictionPolicy;
+            }
+
+            public Integer getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(Integer timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+
+            public InMemoryFormat getInMemoryFormat() {
+                return inMemoryFormat;
+            }
+
+            public void setInMemoryFormat(InMemoryFormat inMemoryFormat) {
+                this.inMemoryFormat = inMemoryFormat;
+            }
+
+            public Boolean getNearCache() {
+                return nearCache;
+            }
+
+            public void setNearCache(Boolean nearCache) {
+                this.nearCache = nearCache;
+            }
+
+            public Integer getNearCacheMaxSize() {
+                return nearCacheMaxSize;
+            }
+
+            public void setNearCacheMaxSize(Integer nearCacheMaxSize) {
+                this.nearCacheMaxSize = nearCacheMaxSize;
+            }
+
+            /**
+             * @return these settings, with the unset ones taken from the defaults
+             */
+            public Region withDefaults(Region defaults) {
+                return new Region(
+                    maxSize != null ? maxSize : defaults.maxSize,
+                    evictionPolicy != null ? evictionPolicy : defaults.evictionPolicy,
+                    timeToLiveSeconds != null ? timeToLiveSeconds : defaults.timeToLiveSeconds,
+                    inMemoryFormat != null ? inMemoryFormat : defaults.inMemoryFormat,
+                    nearCache != null ? nearCache : defaults.nearCache,
+                    nearCacheMaxSize != null ? nearCacheMaxSize : defaults.nearCacheMaxSize);
+            }
+        }
+    }
+
+    public static class LocalCache {
+
+        /**
+         * Maximum number of entries of each Spring cache kept in the memory of each node.
+         */
+        private int maxSize = 10000;
+
+        /**
+         * How long an entry is served from the memory of a node before it is read again from Hazelcast, which
+         * bounds the staleness of the entries whose invalidation did not reach the node.
+         */
+        private long maxStalenessMs = 30000;
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public long getMaxStalenessMs() {
+            return maxStalenessMs;
+        }
+
+        public void setMaxStalenessMs(long maxStalenessMs) {
+            this.maxStalenessMs = maxStalenessMs;
+        }
+    }
+
+    public static class CacheSnapshot {
+
+        /**
+         * Whether the caches below are written to a snapshot file, and loaded from it when the node starts.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Path of the snapshot file.
+         */
+        private String file = "cache-snapshot.bin";
+
+        /**
+         * Caches written to the snapshot file: second level cache regions, by entity name or by entity name and
+         * collection, or Spring caches. The caches of the users hold their password hashes and should not be listed.
+         */
+        private List<String> regions = new ArrayList<>();
+
+        /**
+         * How often the snapshot file is written, besides when the node shuts down.
+         */
+        private long intervalMs = 600000;
+
+        /**
+         * Snapshot files older than this are not loaded.
+         */
+        private long maxAgeMs = 3600000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getFile() {
+            return file;
+        }
+
+        public void setFile(String file) {
+            this.file = file;
+        }
+
+        public List<String> getRegions() {
+            return regions;
+        }
+
+        public void setRegions(List<String> regions) {
+            this.regions = regions;
+        }
+
+        public long getIntervalMs() {
+            return intervalMs;
+        }
+
+        public void setIntervalMs(long intervalMs) {
+            this.intervalMs = intervalMs;
+        }
+
+        public long getMaxAgeMs() {
+            return maxAgeMs;
+        }
+
+        public void setMaxAgeMs(long maxAgeMs) {
+            this.maxAgeMs = maxAgeMs;
+        }
+    }
+
+    public static class AuditWriter {
+
+        /**
+         * What to do with an audit event when the buffer is full.
+         */
+        public enum OverflowPolicy {
+            /**
+             * Drop the event at once.
+             */
+            DROP,
+            /**
+             * Wait up to the block timeout for room in the buffer, then drop the event.
+             */
+            BLOCK
+        }
+
+        /**
+         * Maximum number of audit events waiting to be written.
+         */
+        private int bufferCapacity = 10000;
+
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+
+        /**
+         * How long an authenticating thread waits for room in a full buffer, with the BLOCK policy.
+         */
+        private long blockTimeoutMs = 100;
+
+        /**
+         * Maximum number of audit events written in one transaction.
+         */
+        private int batchSize = 200;
+
+        /**
+         * How long the writer waits for a batch to fill up before writing it.
+         */
+        private long lingerMs = 1000;
+
+        /**
+         * Number of times a batch which failed to be written is retried before it is dropped.
+         */
+        private int maxRetries = 3;
+
+        /**
+         * Back-off between the attempts to write a batch.
+         */
+        private long retryBackoffMs = 1000;
+
+        public int getBufferCapacity() {
+            return bufferCapacity;
+        }
+
+        public void setBufferCapacity(int bufferCapacity) {
+            this.bufferCapacity = bufferCapacity;
+        }
+
+        public OverflowPolicy getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+        }
+
+        public long getBlockTimeoutMs() {
+            return blockTimeoutMs;
+        }
+
+        public void setBlockTimeoutMs(long blockTimeoutMs) {
+            this.blockTimeoutMs = blockTimeoutMs;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getLingerMs() {
+            return lingerMs;
+        }
+
+        public void setLingerMs(long lingerMs) {
+            this.lingerMs = lingerMs;
+        }
+
+        public int getMaxRetries() {
+            return maxRetries;
+        }
+
+        public void setMaxRetries(int maxRetries) {
+            this.maxRetries = maxRetries;
+        }
+
+        public long getRetryBackoffMs() {
+            return retryBackoffMs;
+        }
+
+        public void setRetryBackoffMs(long retryBackoffMs) {
+            this.retryBackoffMs = retryBackoffMs;
+        }
+    }
+
+    public static class AuditRetention {
+
+        private boolean enabled = true;
+
+        /**
+         * Number of past months, besides the current one, whose audit events are kept.
+         */
+        private int retentionMonths = 12;
+
+        /**
+         * Number of monthly partitions created ahead of the current month.
+         */
+        private int monthsAhead = 2;
+
+        /**
+         * Whether the audit events of a month are archived before its partition is dropped.
+         */
+        private boolean archive = true;
+
+        /**
+         * Directory of the archives, one gzipped NDJSON file per month.
+         */
+        private String archiveDirectory = "audit-archive";
+
+        /**
+         * Number of audit events read at once when archiving a month.
+         */
+        private int archiveChunkSize = 1000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getRetentionMonths() {
+            return retentionMonths;
+        }
+
+        public void setRetentionMonths(int retentionMonths) {
+            this.retentionMonths = retentionMonths;
+        }
+
+        public int getMonthsAhead() {
+            return monthsAhead;
+        }
+
+        public void setMonthsAhead(int monthsAhead) {
+            this.monthsAhead = monthsAhead;
+        }
+
+        public boolean isArchive() {
+            return archive;
+        }
+
+        public void setArchive(boolean archive) {
+            this.archive = archive;
+        }
+
+        public String getArchiveDirectory() {
+            return archiveDirectory;
+        }
+
+        public void setArchiveDirectory(String archiveDirectory) {
+            this.archiveDirectory = archiveDirectory;
+        }
+
+        public int getArchiveChunkSize() {
+            return archiveChunkSize;
+        }
+
+        public void setArchiveChunkSize(int archiveChunkSize) {
+            this.archiveChunkSize = archiveChunkSize;
+        }
+    }
+
+    public static class RecentAudit {
+
+        private boolean enabled = true;
+
+        /**
+         * Number of recent audit events kept in memory by each node, and in the ringbuffer shared by the cluster.
+         */
+        private int capacity = 10000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+    }
+
+    public static class AuditExport {
+
+        /**
+         * Number of audit events fetched at once by the export cursor; MySQL streams them one by one instead.
+         */
+        private int fetchSize = 1000;
+
+        public int getFetchSize() {
+            return fetchSize;
+        }
+
+        public void setFetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+        }
+    }
+
+    public static class ActivityTracking {
+
+        /**
+         * How often the changes of the user activity are sent to the tracker subscribers.
+         */
+        private long tickMs = 500;
+
+        public long getTickMs() {
+            return tickMs;
+        }
+
+        public void setTickMs(long tickMs) {
+            this.tickMs = tickMs;
+        }
+    }
 }
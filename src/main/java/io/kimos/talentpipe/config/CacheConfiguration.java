@@ -5,6 +5,9 @@ import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 import io.github.jhipster.config.JHipsterConstants;
 import io.github.jhipster.config.JHipsterProperties;
+import io.kimos.talentpipe.repository.UserRepository;
+import io.kimos.talentpipe.service.CurrentUserService;
+import io.kimos.talentpipe.service.audit.RecentAuditEvents;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -52,14 +55,21 @@ public class CacheConfiguration {
     }
 
     @Bean
-    public CacheManager cacheManager(HazelcastInstance hazelcastInstance) {
-        log.debug("Starting HazelcastCacheManager");
-        CacheManager cacheManager = new com.hazelcast.spring.cache.HazelcastCacheManager(hazelcastInstance);
-        return cacheManager;
+    public CacheManager cacheManager(HazelcastInstance hazelcastInstance, ApplicationProperties applicationProperties) {
+        log.debug("Starting TieredCacheManager in front of HazelcastCacheManager");
+        CacheManager hazelcastCacheManager = new com.hazelcast.spring.cache.HazelcastCacheManager(hazelcastInstance);
+        return new TieredCacheManager(hazelcastCacheManager, hazelcastInstance, applicationProperties.getLocalCache());
     }
 
     @Bean
-    public HazelcastInstance hazelcastInstance(JHipsterProperties jHipsterProperties) {
+    public CacheRegionConfigurer cacheRegionConfigurer(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        return new CacheRegionConfigurer(applicationProperties.getCacheRegions(),
+            jHipsterProperties.getCache().getHazelcast().getTimeToLiveSeconds());
+    }
+
+    @Bean
+    public HazelcastInstance hazelcastInstance(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties,
+                                               CacheRegionConfigurer cacheRegionConfigurer) {
         log.debug("Configuring Hazelcast");
         HazelcastInstance hazelCastInstance = Hazelcast.getHazelcastInstanceByName("monolith");
         if (hazelCastInstance != null) {
@@ -103,7 +113,12 @@ public class CacheConfiguration {
 
         // Full reference is available at: http://docs.hazelcast.org/docs/management-center/3.9/manual/html/Deploying_and_Starting.html
         config.setManagementCenterConfig(initializeDefaultManagementCenterConfig(jHipsterProperties));
-        config.getMapConfigs().put("io.kimos.talentppe.domain.*", initializeDomainMapConfig(jHipsterProperties));
+        cacheRegionConfigurer.configure(config, applicationProperties.getCacheRegions());
+        config.getMapConfigs().put(CurrentUserService.CURRENT_USERS_MAP, initializeUserMapConfig(jHipsterProperties, applicationProperties));
+        config.getMapConfigs().put(UserRepository.USERS_BY_LOGIN_CACHE, initializeDomainMapConfig(jHipsterProperties));
+        config.getMapConfigs().put(UserRepository.USERS_BY_EMAIL_CACHE, initializeDomainMapConfig(jHipsterProperties));
+        config.addRingBufferConfig(new RingbufferConfig(RecentAuditEvents.RINGBUFFER_NAME)
+            .setCapacity(applicationProperties.getRecentAudit().getCapacity()));
         return Hazelcast.newHazelcastInstance(config);
     }
 
@@ -150,4 +165,21 @@ public class CacheConfiguration {
         mapConfig.setTimeToLiveSeconds(jHipsterProperties.getCache().getHazelcast().getTimeToLiveSeconds());
         return mapConfig;
     }
+
+    /**
+     * Map of immutable user records read on every authenticated request, so it is read through a near cache
+     * holding the deserialized records, which is invalidated whenever an entry changes on any node.
+     */
+    private MapConfig initializeUserMapConfig(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        MapConfig mapConfig = initializeDomainMapConfig(jHipsterProperties);
+        NearCacheConfig nearCacheConfig = new NearCacheConfig();
+        nearCacheConfig.setInMemoryFormat(InMemoryFormat.OBJECT);
+        nearCacheConfig.setInvalidateOnChange(true);
+        nearCacheConfig.setCacheLocalEntries(true);
+        nearCacheConfig.setTimeToLiveSeconds(jHipsterProperties.getCache().getHazelcast().getTimeToLiveSeconds());
+        nearCacheConfig.setEvictionConfig(new EvictionConfig(applicationProperties.getUserCache().getNearCacheSize(),
+            EvictionConfig.MaxSizePolicy.ENTRY_COUNT, EvictionPolicy.LRU));
+        mapConfig.setNearCacheConfig(nearCacheConfig);
+        return mapConfig;
+    }
 }
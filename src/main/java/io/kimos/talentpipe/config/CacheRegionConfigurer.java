@@ -0,0 +1,166 @@
+package io.kimos.talentpipe.config;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MaxSizeConfig;
+import com.hazelcast.config.NearCacheConfig;
+import io.kimos.talentpipe.repository.QueryCacheHints;
+import org.hibernate.annotations.Cache;
+import org.hibernate.cache.spi.UpdateTimestampsCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Configures the Hazelcast map of each Hibernate second level cache region.
+ * <p>
+ * The regions are found by scanning the domain package for {@code @Cache} entities and collections, next to the
+ * query cache regions of {@link QueryCacheHints}, and each one gets the settings configured for it under
+ * {@code application.cache-regions.regions}, completed with the defaults. Settings for a region which does not
+ * exist, or which are not consistent, fail the startup.
+ * <p>
+ * The update timestamps region, which tells whether a cached query result is still valid, is never evicted nor
+ * expired, so that a result is never served after the tables it was read from were written.
+ */
+public class CacheRegionConfigurer {
+
+    public static final String DOMAIN_PACKAGE = "io.kimos.talentpipe.domain";
+
+    private final Logger log = LoggerFactory.getLogger(CacheRegionConfigurer.class);
+
+    private final SortedMap<String, ApplicationProperties.CacheRegions.Region> regions = new TreeMap<>();
+
+    private final int defaultTimeToLiveSeconds;
+
+    public CacheRegionConfigurer(ApplicationProperties.CacheRegions properties, int defaultTimeToLiveSeconds) {
+        this(regionNames(), properties, defaultTimeToLiveSeconds);
+    }
+
+    CacheRegionConfigurer(List<String> regionNames, ApplicationProperties.CacheRegions properties, int defaultTimeToLiveSeconds) {
+        this.defaultTimeToLiveSeconds = defaultTimeToLiveSeconds;
+        List<String> errors = new ArrayList<>();
+        for (String name : properties.getRegions().keySet()) {
+            if (regionNames.stream().noneMatch(regionName -> shortName(regionName).equals(name))) {
+                errors.add("no @Cache entity or collection has the region " + name);
+            }
+        }
+        for (String regionName : regionNames) {
+            ApplicationProperties.CacheRegions.Region configured = properties.getRegions().get(shortName(regionName));
+            ApplicationProperties.CacheRegions.Region region = configured != null
+                ? configured.withDefaults(properties.getDefaults()) : properties.getDefaults();
+            validate(shortName(regionName), region, errors);
+            regions.put(regionName, region);
+        }
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException("Invalid cache region configuration: " + String.join(", ", errors));
+        }
+    }
+
+    /**
+     * @return the settings of each region, by full region name
+     */
+    public SortedMap<String, ApplicationProperties.CacheRegions.Region> getRegions() {
+        return Collections.unmodifiableSortedMap(regions);
+    }
+
+    /**
+     * Add the map configuration of each region, and of the regions not found by the scan.
+     */
+    public void configure(Config config, ApplicationProperties.CacheRegions properties) {
+        regions.forEach((regionName, region) -> config.getMapConfigs().put(regionName, mapConfig(regionName, region)));
+        config.getMapConfigs().put(DOMAIN_PACKAGE + ".*", mapConfig(DOMAIN_PACKAGE + ".*", properties.getDefaults()));
+        config.getMapConfigs().put(UpdateTimestampsCache.REGION_NAME, timestampsMapConfig());
+        log.debug("Configured {} cache regions", regions.size());
+    }
+
+    /**
+     * @return the name of a region relative to the domain package, such as "User" or "User.roles"
+     */
+    public static String shortName(String regionName) {
+        return regionName.startsWith(DOMAIN_PACKAGE + ".") ? regionName.substring(DOMAIN_PACKAGE.length() + 1) : regionName;
+    }
+
+    private MapConfig mapConfig(String name, ApplicationProperties.CacheRegions.Region region) {
+        MapConfig mapConfig = new MapConfig(name);
+        mapConfig.setTimeToLiveSeconds(region.getTimeToLiveSeconds() != null ? region.getTimeToLiveSeconds() : defaultTimeToLiveSeconds);
+        mapConfig.setInMemoryFormat(region.getInMemoryFormat());
+        mapConfig.setEvictionPolicy(region.getEvictionPolicy());
+        mapConfig.setMaxSizeConfig(new MaxSizeConfig(region.getMaxSize(), MaxSizeConfig.MaxSizePolicy.PER_NODE));
+        if (region.getNearCache()) {
+            NearCacheConfig nearCacheConfig = new NearCacheConfig(name);
+            nearCacheConfig.setInMemoryFormat(region.getInMemoryFormat());
+            nearCacheConfig.setInvalidateOnChange(true);
+            nearCacheConfig.setCacheLocalEntries(true);
+            nearCacheConfig.setTimeToLiveSeconds(mapConfig.getTimeToLiveSeconds());
+            nearCacheConfig.setEvictionConfig(new EvictionConfig(region.getNearCacheMaxSize(),
+                EvictionConfig.MaxSizePolicy.ENTRY_COUNT, EvictionPolicy.LRU));
+            mapConfig.setNearCacheConfig(nearCacheConfig);
+        }
+        return mapConfig;
+    }
+
+    private static MapConfig timestampsMapConfig() {
+        MapConfig mapConfig = new MapConfig(UpdateTimestampsCache.REGION_NAME);
+        mapConfig.setTimeToLiveSeconds(0);
+        mapConfig.setEvictionPolicy(EvictionPolicy.NONE);
+        mapConfig.setMaxSizeConfig(new MaxSizeConfig(0, MaxSizeConfig.MaxSizePolicy.PER_NODE));
+        return mapConfig;
+    }
+
+    private static void validate(String name, ApplicationProperties.CacheRegions.Region region, List<String> errors) {
+        if (region.getMaxSize() == null || region.getMaxSize() < 0) {
+            errors.add(name + " needs a max-size of 0 or more");
+        } else if (region.getMaxSize() > 0 && region.getEvictionPolicy() == EvictionPolicy.NONE) {
+            errors.add(name + " has a max-size but no eviction policy");
+        }
+        if (region.getEvictionPolicy() == null || region.getInMemoryFormat() == null || region.getNearCache() == null) {
+            errors.add(name + " needs an eviction-policy, an in-memory-format and near-cache");
+        }
+        if (region.getTimeToLiveSeconds() != null && region.getTimeToLiveSeconds() < 0) {
+            errors.add(name + " needs a time-to-live-seconds of 0 or more");
+        }
+        if (Boolean.TRUE.equals(region.getNearCache()) && (region.getNearCacheMaxSize() == null || region.getNearCacheMaxSize() <= 0)) {
+            errors.add(name + " needs a near-cache-max-size of 1 or more");
+        }
+    }
+
+    private static List<String> regionNames() {
+        List<String> regionNames = findRegionNames(DOMAIN_PACKAGE);
+        regionNames.addAll(QueryCacheHints.REGIONS);
+        return regionNames;
+    }
+
+    /**
+     * Find the regions of the {@code @Cache} entities of a package, and of their {@code @Cache} collections.
+     */
+    static List<String> findRegionNames(String basePackage) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Cache.class));
+        List<String> regionNames = new ArrayList<>();
+        for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+            Class<?> entityType = ClassUtils.resolveClassName(candidate.getBeanClassName(), CacheRegionConfigurer.class.getClassLoader());
+            regionNames.add(regionName(entityType.getAnnotation(Cache.class), entityType.getName()));
+            ReflectionUtils.doWithFields(entityType,
+                field -> regionNames.add(regionName(field.getAnnotation(Cache.class), entityType.getName() + "." + field.getName())),
+                field -> field.isAnnotationPresent(Cache.class));
+        }
+        return regionNames;
+    }
+
+    private static String regionName(Cache cache, String defaultName) {
+        return StringUtils.hasText(cache.region()) ? cache.region() : defaultName;
+    }
+}
@@ -0,0 +1,274 @@
+package io.kimos.talentpipe.config;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.listener.EntryEvictedListener;
+import com.hazelcast.monitor.LocalMapStats;
+import com.hazelcast.monitor.NearCacheStats;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Publishes the statistics of each second level cache region to the metric registry, under
+ * {@code cache.regions.<region>}, and for the {@code /management/caches} endpoint.
+ * <p>
+ * Hits, misses and puts are counted by Hibernate, entries and near cache hits by Hazelcast, and evictions by a
+ * listener on the entries each node owns. The statistics of the cached queries are also reported, by query.
+ */
+@Component
+public class CacheRegionStatistics {
+
+    private final Statistics statistics;
+
+    private final HazelcastInstance hazelcastInstance;
+
+    private final CacheRegionConfigurer cacheRegionConfigurer;
+
+    private final ApplicationProperties.CacheRegions properties;
+
+    private final MetricRegistry metricRegistry;
+
+    private final Map<String, Meter> evictions = new HashMap<>();
+
+    private final Map<String, String> listenerIds = new HashMap<>();
+
+    public CacheRegionStatistics(EntityManagerFactory entityManagerFactory, HazelcastInstance hazelcastInstance,
+                                 CacheRegionConfigurer cacheRegionConfigurer, ApplicationProperties applicationProperties,
+                                 MetricRegistry metricRegistry) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.hazelcastInstance = hazelcastInstance;
+        this.cacheRegionConfigurer = cacheRegionConfigurer;
+        this.properties = applicationProperties.getCacheRegions();
+        this.metricRegistry = metricRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (properties.isStatisticsEnabled()) {
+            statistics.setStatisticsEnabled(true);
+        }
+        for (String regionName : cacheRegionConfigurer.getRegions().keySet()) {
+            String prefix = "cache.regions." + CacheRegionConfigurer.shortName(regionName);
+            Meter meter = metricRegistry.meter(prefix + ".evictions");
+            evictions.put(regionName, meter);
+            listenerIds.put(regionName, map(regionName).addLocalEntryListener((EntryEvictedListener<Object, Object>) event -> meter.mark()));
+            register(prefix + ".hits", regionName, SecondLevelCacheStatistics::getHitCount);
+            register(prefix + ".misses", regionName, SecondLevelCacheStatistics::getMissCount);
+            register(prefix + ".puts", regionName, SecondLevelCacheStatistics::getPutCount);
+            metricRegistry.register(prefix + ".entries", (Gauge<Long>) () -> map(regionName).getLocalMapStats().getOwnedEntryCount());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        listenerIds.forEach((regionName, listenerId) -> map(regionName).removeEntryListener(listenerId));
+    }
+
+    /**
+     * @return the statistics of each region, on this node
+     */
+    public List<RegionStatistics> getRegionStatistics() {
+        List<RegionStatistics> regions = new ArrayList<>();
+        cacheRegionConfigurer.getRegions().forEach((regionName, region) -> {
+            SecondLevelCacheStatistics regionStatistics = statistics.getSecondLevelCacheStatistics(regionName);
+            LocalMapStats mapStats = map(regionName).getLocalMapStats();
+            NearCacheStats nearCacheStats = mapStats.getNearCacheStats();
+            regions.add(new RegionStatistics(CacheRegionConfigurer.shortName(regionName), region,
+                regionStatistics != null ? regionStatistics.getHitCount() : 0,
+                regionStatistics != null ? regionStatistics.getMissCount() : 0,
+                regionStatistics != null ? regionStatistics.getPutCount() : 0,
+                evictions.get(regionName).getCount(),
+                mapStats.getOwnedEntryCount(),
+                nearCacheStats != null ? nearCacheStats.getHits() : 0,
+                nearCacheStats != null ? nearCacheStats.getMisses() : 0));
+        });
+        return regions;
+    }
+
+    /**
+     * @return the statistics of each query whose results were looked up in the query cache, on this node
+     */
+    public List<CachedQueryStatistics> getQueryStatistics() {
+        List<CachedQueryStatistics> queries = new ArrayList<>();
+        for (String query : statistics.getQueries()) {
+            QueryStatistics queryStatistics = statistics.getQueryStatistics(query);
+            if (queryStatistics.getCacheHitCount() + queryStatistics.getCacheMissCount() > 0) {
+                queries.add(new CachedQueryStatistics(query, queryStatistics.getCacheHitCount(),
+                    queryStatistics.getCacheMissCount(), queryStatistics.getCachePutCount(),
+                    queryStatistics.getExecutionCount(), queryStatistics.getExecutionAvgTime()));
+            }
+        }
+        queries.sort(Comparator.comparingLong(CachedQueryStatistics::getMisses).reversed());
+        return queries;
+    }
+
+    private void register(String name, String regionName, ToLongFunction<SecondLevelCacheStatistics> counter) {
+        metricRegistry.register(name, (Gauge<Long>) () -> {
+            SecondLevelCacheStatistics regionStatistics = statistics.getSecondLevelCacheStatistics(regionName);
+            return regionStatistics != null ? counter.applyAsLong(regionStatistics) : 0L;
+        });
+    }
+
+    private IMap<Object, Object> map(String regionName) {
+        return hazelcastInstance.getMap(regionName);
+    }
+
+    /**
+     * The settings and statistics of a region.
+     */
+    public static final class RegionStatistics {
+
+        private final String name;
+
+        private final ApplicationProperties.CacheRegions.Region settings;
+
+        private final long hits;
+
+        private final long misses;
+
+        private final long puts;
+
+        private final long evictions;
+
+        private final long entries;
+
+        private final long nearCacheHits;
+
+        private final long nearCacheMisses;
+
+        RegionStatistics(String name, ApplicationProperties.CacheRegions.Region settings, long hits, long misses,
+                         long puts, long evictions, long entries, long nearCacheHits, long nearCacheMisses) {
+            this.name = name;
+            this.settings = settings;
+            this.hits = hits;
+            this.misses = misses;
+            this.puts = puts;
+            this.evictions = evictions;
+            this.entries = entries;
+            this.nearCacheHits = nearCacheHits;
+            this.nearCacheMisses = nearCacheMisses;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public ApplicationProperties.CacheRegions.Region getSettings() {
+            return settings;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getPuts() {
+            return puts;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public long getEntries() {
+            return entries;
+        }
+
+        public long getNearCacheHits() {
+            return nearCacheHits;
+        }
+
+        public long getNearCacheMisses() {
+            return nearCacheMisses;
+        }
+
+        /**
+         * @return the ratio of the lookups of the region that were hits, or 0 if there were none
+         */
+        public double getHitRatio() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+
+    /**
+     * The statistics of a cached query.
+     */
+    public static final class CachedQueryStatistics {
+
+        private final String query;
+
+        private final long hits;
+
+        private final long misses;
+
+        private final long puts;
+
+        private final long executions;
+
+        private final long executionAvgTimeMs;
+
+        CachedQueryStatistics(String query, long hits, long misses, long puts, long executions, long executionAvgTimeMs) {
+            this.query = query;
+            this.hits = hits;
+            this.misses = misses;
+            this.puts = puts;
+            this.executions = executions;
+            this.executionAvgTimeMs = executionAvgTimeMs;
+        }
+
+        public String getQuery() {
+            return query;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getPuts() {
+            return puts;
+        }
+
+        /**
+         * @return the number of times the query ran against the database
+         */
+        public long getExecutions() {
+            return executions;
+        }
+
+        public long getExecutionAvgTimeMs() {
+            return executionAvgTimeMs;
+        }
+
+        /**
+         * @return the ratio of the lookups of the query that were hits, or 0 if there were none
+         */
+        public double getHitRatio() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+}
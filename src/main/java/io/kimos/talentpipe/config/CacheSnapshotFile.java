@@ -0,0 +1,153 @@
+package io.kimos.talentpipe.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary file holding the serialized entries of some caches, see {@link CacheSnapshotter}.
+ * <p>
+ * The file starts with a header made of a magic number, the version of the file format, the version of the
+ * application and a hash of the schema of the cached entities, followed by the time it was written. A file whose
+ * header does not match the running application, or which is too old, is not loaded. The header is followed by
+ * each cache: its name, its number of entries and the length and bytes of the key and of the value of each entry.
+ * The file is written next to its path and then moved in place, and it is read through a memory mapping. On a
+ * POSIX file system it can only be read and written by its owner.
+ */
+final class CacheSnapshotFile {
+
+    static final int MAGIC = 0x54504353;
+
+    static final int FORMAT_VERSION = 1;
+
+    private final Logger log = LoggerFactory.getLogger(CacheSnapshotFile.class);
+
+    private final String applicationVersion;
+
+    private final byte[] schemaHash;
+
+    CacheSnapshotFile(String applicationVersion, byte[] schemaHash) {
+        this.applicationVersion = applicationVersion;
+        this.schemaHash = schemaHash.clone();
+    }
+
+    /**
+     * Write the entries of each cache, by cache name.
+     */
+    void write(Path file, long createdAt, Map<String, List<Map.Entry<byte[], byte[]>>> caches) throws IOException {
+        Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        createOwnerOnly(temporaryFile);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            writeBytes(out, applicationVersion.getBytes(StandardCharsets.UTF_8));
+            writeBytes(out, schemaHash);
+            out.writeLong(createdAt);
+            out.writeInt(caches.size());
+            for (Map.Entry<String, List<Map.Entry<byte[], byte[]>>> cache : caches.entrySet()) {
+                writeBytes(out, cache.getKey().getBytes(StandardCharsets.UTF_8));
+                out.writeInt(cache.getValue().size());
+                for (Map.Entry<byte[], byte[]> entry : cache.getValue()) {
+                    writeBytes(out, entry.getKey());
+                    writeBytes(out, entry.getValue());
+                }
+            }
+        }
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return the entries of each cache, by cache name, or nothing if the file is missing, incompatible,
+     * written before {@code notBefore} or corrupted
+     */
+    Map<String, List<Map.Entry<byte[], byte[]>>> read(Path file, long notBefore) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return Collections.emptyMap();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 8 || buffer.getInt() != MAGIC) {
+                log.warn("Discarding cache snapshot {}, it is not a snapshot file", file);
+                return Collections.emptyMap();
+            }
+            int formatVersion = buffer.getInt();
+            if (formatVersion != FORMAT_VERSION) {
+                log.warn("Discarding cache snapshot {}, its format version is {}", file, formatVersion);
+                return Collections.emptyMap();
+            }
+            String version = new String(readBytes(buffer), StandardCharsets.UTF_8);
+            if (!applicationVersion.equals(version)) {
+                log.info("Discarding cache snapshot {}, it was written by version {}", file, version);
+                return Collections.emptyMap();
+            }
+            if (!Arrays.equals(schemaHash, readBytes(buffer))) {
+                log.info("Discarding cache snapshot {}, it was written for another schema", file);
+                return Collections.emptyMap();
+            }
+            long createdAt = buffer.getLong();
+            if (createdAt < notBefore) {
+                log.info("Discarding cache snapshot {}, it is too old", file);
+                return Collections.emptyMap();
+            }
+            int cacheCount = buffer.getInt();
+            Map<String, List<Map.Entry<byte[], byte[]>>> caches = new LinkedHashMap<>();
+            for (int i = 0; i < cacheCount; i++) {
+                String name = new String(readBytes(buffer), StandardCharsets.UTF_8);
+                int entryCount = buffer.getInt();
+                List<Map.Entry<byte[], byte[]>> entries = new ArrayList<>(Math.min(entryCount, buffer.remaining() / 8));
+                for (int j = 0; j < entryCount; j++) {
+                    entries.add(new AbstractMap.SimpleImmutableEntry<>(readBytes(buffer), readBytes(buffer)));
+                }
+                caches.put(name, entries);
+            }
+            return caches;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            log.warn("Discarding cache snapshot {}, it is truncated or corrupted", file);
+            return Collections.emptyMap();
+        }
+    }
+
+    private static void createOwnerOnly(Path file) throws IOException {
+        Files.deleteIfExists(file);
+        if (file.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            Files.createFile(file, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } else {
+            Files.createFile(file);
+        }
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid length " + length);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,196 @@
+package io.kimos.talentpipe.config;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.spi.serialization.SerializationService;
+import com.hazelcast.spi.serialization.SerializationServiceSupport;
+import org.hibernate.SessionFactory;
+import org.hibernate.metamodel.spi.MetamodelImplementor;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Writes the entries of the hottest caches to a snapshot file, and loads them back when the node starts, so that
+ * the nodes of a fresh cluster do not all read the same rows from the database at once.
+ * <p>
+ * The snapshot is written on a schedule and when the node shuts down, and loaded before the application context
+ * is started, so before the node serves requests. A cache is only loaded when it is empty in the cluster, and a
+ * snapshot is discarded when it was written by another version of the application, for another schema of the
+ * cached entities, or too long ago, see {@link CacheSnapshotFile}.
+ */
+@Component
+public class CacheSnapshotter {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final Logger log = LoggerFactory.getLogger(CacheSnapshotter.class);
+
+    private final HazelcastInstance hazelcastInstance;
+
+    private final ApplicationProperties.CacheSnapshot properties;
+
+    private final Map<String, String> mapNames = new LinkedHashMap<>();
+
+    private final CacheSnapshotFile snapshotFile;
+
+    public CacheSnapshotter(HazelcastInstance hazelcastInstance, EntityManagerFactory entityManagerFactory,
+                            CacheRegionConfigurer cacheRegionConfigurer, ApplicationProperties applicationProperties) {
+        this.hazelcastInstance = hazelcastInstance;
+        this.properties = applicationProperties.getCacheSnapshot();
+        for (String region : properties.getRegions()) {
+            String regionName = CacheRegionConfigurer.DOMAIN_PACKAGE + "." + region;
+            mapNames.put(region, cacheRegionConfigurer.getRegions().containsKey(regionName) ? regionName : region);
+        }
+        String applicationVersion = CacheSnapshotter.class.getPackage().getImplementationVersion();
+        this.snapshotFile = new CacheSnapshotFile(applicationVersion != null ? applicationVersion : "dev",
+            schemaHash(entityManagerFactory.unwrap(SessionFactory.class)));
+    }
+
+    @PostConstruct
+    public void load() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Map<String, List<Map.Entry<byte[], byte[]>>> caches;
+        try {
+            caches = snapshotFile.read(file(), start - properties.getMaxAgeMs());
+        } catch (IOException e) {
+            log.warn("Could not read cache snapshot {}: {}", file(), e.getMessage());
+            return;
+        }
+        SerializationService serializationService = serializationService();
+        int loaded = 0;
+        for (Map.Entry<String, List<Map.Entry<byte[], byte[]>>> cache : caches.entrySet()) {
+            String mapName = mapNames.get(cache.getKey());
+            if (mapName == null) {
+                continue;
+            }
+            IMap<Object, Object> map = hazelcastInstance.getMap(mapName);
+            if (!map.isEmpty()) {
+                log.debug("Not loading cache {} from the snapshot, it is already filled", cache.getKey());
+                continue;
+            }
+            try {
+                Map<Object, Object> batch = new HashMap<>();
+                for (Map.Entry<byte[], byte[]> entry : cache.getValue()) {
+                    batch.put(serializationService.toObject(new HeapData(entry.getKey())),
+                        serializationService.toObject(new HeapData(entry.getValue())));
+                    if (batch.size() == LOAD_BATCH_SIZE) {
+                        map.putAll(batch);
+                        batch.clear();
+                    }
+                }
+                map.putAll(batch);
+                loaded += cache.getValue().size();
+            } catch (RuntimeException e) {
+                log.warn("Could not load cache {} from the snapshot, clearing it: {}", cache.getKey(), e.getMessage());
+                map.clear();
+            }
+        }
+        log.info("Loaded {} cache entries from snapshot {} in {} ms", loaded, file(), System.currentTimeMillis() - start);
+    }
+
+    @Scheduled(initialDelayString = "${application.cache-snapshot.interval-ms:600000}",
+        fixedDelayString = "${application.cache-snapshot.interval-ms:600000}")
+    public void scheduledWrite() {
+        if (properties.isEnabled()) {
+            write();
+        }
+    }
+
+    @PreDestroy
+    public void shutdownWrite() {
+        if (properties.isEnabled() && hazelcastInstance.getLifecycleService().isRunning()) {
+            write();
+        }
+    }
+
+    /**
+     * Write the entries of each cache to the snapshot file.
+     */
+    public synchronized void write() {
+        long start = System.currentTimeMillis();
+        SerializationService serializationService = serializationService();
+        Map<String, List<Map.Entry<byte[], byte[]>>> caches = new LinkedHashMap<>();
+        int written = 0;
+        for (Map.Entry<String, String> mapName : mapNames.entrySet()) {
+            List<Map.Entry<byte[], byte[]>> entries = new ArrayList<>();
+            for (Map.Entry<Object, Object> entry : hazelcastInstance.getMap(mapName.getValue()).entrySet()) {
+                entries.add(new AbstractMap.SimpleImmutableEntry<>(serializationService.toData(entry.getKey()).toByteArray(),
+                    serializationService.toData(entry.getValue()).toByteArray()));
+            }
+            caches.put(mapName.getKey(), entries);
+            written += entries.size();
+        }
+        try {
+            snapshotFile.write(file(), start, caches);
+            log.debug("Wrote {} cache entries to snapshot {} in {} ms", written, file(), System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            log.warn("Could not write cache snapshot {}: {}", file(), e.getMessage());
+        }
+    }
+
+    private Path file() {
+        return Paths.get(properties.getFile());
+    }
+
+    private SerializationService serializationService() {
+        return ((SerializationServiceSupport) hazelcastInstance).getSerializationService();
+    }
+
+    /**
+     * @return a hash of the properties and types of the cached entities and collections, which changes with any
+     * change to the layout of their cache entries
+     */
+    static byte[] schemaHash(SessionFactory sessionFactory) {
+        MetamodelImplementor metamodel = (MetamodelImplementor) sessionFactory.getMetamodel();
+        Map<String, String> layouts = new TreeMap<>();
+        for (EntityPersister persister : metamodel.entityPersisters().values()) {
+            if (persister.hasCache()) {
+                StringBuilder layout = new StringBuilder(persister.getIdentifierType().getName());
+                String[] propertyNames = persister.getPropertyNames();
+                Type[] propertyTypes = persister.getPropertyTypes();
+                for (int i = 0; i < propertyNames.length; i++) {
+                    layout.append(',').append(propertyNames[i]).append(':').append(propertyTypes[i].getName());
+                }
+                layouts.put(persister.getEntityName(), layout.toString());
+            }
+        }
+        for (CollectionPersister persister : metamodel.collectionPersisters().values()) {
+            if (persister.hasCache()) {
+                layouts.put(persister.getRole(), persister.getKeyType().getName() + ',' + persister.getElementType().getName());
+            }
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            layouts.forEach((name, layout) -> digest.update((name + '=' + layout + '\n').getBytes(StandardCharsets.UTF_8)));
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package io.kimos.talentpipe.config;
 
 import io.github.jhipster.config.JHipsterConstants;
 import io.github.jhipster.config.h2.H2ConfigurationHelper;
+import io.kimos.talentpipe.repository.SliceableJpaRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
@@ -15,7 +16,7 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 import java.sql.SQLException;
 
 @Configuration
-@EnableJpaRepositories("io.kimos.talentpipe.repository")
+@EnableJpaRepositories(value = "io.kimos.talentpipe.repository", repositoryBaseClass = SliceableJpaRepository.class)
 @EnableJpaAuditing(auditorAwareRef = "springSecurityAuditorAware")
 @EnableTransactionManagement
 @EnableElasticsearchRepositories("io.kimos.talentpipe.repository.search")
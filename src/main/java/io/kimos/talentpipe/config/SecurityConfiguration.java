@@ -1,6 +1,8 @@
 package io.kimos.talentpipe.config;
 
+import com.codahale.metrics.MetricRegistry;
 import io.kimos.talentpipe.security.AuthoritiesConstants;
+import io.kimos.talentpipe.security.BoundedPasswordEncoder;
 import io.kimos.talentpipe.security.jwt.JWTConfigurer;
 import io.kimos.talentpipe.security.jwt.TokenProvider;
 import org.springframework.beans.factory.BeanInitializationException;
@@ -41,12 +43,19 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
 
     private final SecurityProblemSupport problemSupport;
 
-    public SecurityConfiguration(AuthenticationManagerBuilder authenticationManagerBuilder, UserDetailsService userDetailsService, TokenProvider tokenProvider, CorsFilter corsFilter, SecurityProblemSupport problemSupport) {
+    private final ApplicationProperties applicationProperties;
+
+    private final MetricRegistry metricRegistry;
+
+    public SecurityConfiguration(AuthenticationManagerBuilder authenticationManagerBuilder, UserDetailsService userDetailsService, TokenProvider tokenProvider, CorsFilter corsFilter, SecurityProblemSupport problemSupport,
+                                 ApplicationProperties applicationProperties, MetricRegistry metricRegistry) {
         this.authenticationManagerBuilder = authenticationManagerBuilder;
         this.userDetailsService = userDetailsService;
         this.tokenProvider = tokenProvider;
         this.corsFilter = corsFilter;
         this.problemSupport = problemSupport;
+        this.applicationProperties = applicationProperties;
+        this.metricRegistry = metricRegistry;
     }
 
     @PostConstruct
@@ -68,7 +77,7 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), applicationProperties.getPasswordHashing(), metricRegistry);
     }
 
     @Override
@@ -0,0 +1,225 @@
+package io.kimos.talentpipe.config;
+
+import com.hazelcast.core.IMap;
+import io.kimos.talentpipe.service.util.RemoveEntryProcessor;
+import org.springframework.cache.Cache;
+
+import java.time.Clock;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Cache serving its entries from a bounded, least recently used, map of the node, and reading and writing through
+ * a remote cache, see {@link TieredCacheManager}.
+ * <p>
+ * The local entries hold the values as they were read or written, so a local hit needs neither a remote call nor
+ * deserialization. Misses are not kept locally.
+ */
+public class TieredCache implements Cache {
+
+    private final Cache remoteCache;
+
+    private final BiConsumer<String, Set<Object>> invalidationPublisher;
+
+    private final long maxStalenessMs;
+
+    private final Clock clock;
+
+    private final Map<Object, LocalEntry> localEntries;
+
+    /**
+     * Incremented by every invalidation, so that a value read from the remote cache while its key was invalidated
+     * is not kept locally.
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    TieredCache(Cache remoteCache, BiConsumer<String, Set<Object>> invalidationPublisher, int maxSize,
+                long maxStalenessMs, Clock clock) {
+        this.remoteCache = remoteCache;
+        this.invalidationPublisher = invalidationPublisher;
+        this.maxStalenessMs = maxStalenessMs;
+        this.clock = clock;
+        this.localEntries = new LinkedHashMap<Object, LocalEntry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, LocalEntry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @Override
+    public String getName() {
+        return remoteCache.getName();
+    }
+
+    /**
+     * @return the remote cache, whose entries are not invalidated on the other nodes when written directly
+     */
+    @Override
+    public Object getNativeCache() {
+        return remoteCache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = getLocal(key);
+        if (value == null) {
+            long generation = invalidations.get();
+            value = remoteCache.get(key);
+            if (value != null) {
+                putLocal(key, value, generation);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper value = get(key);
+        Object result = value != null ? value.get() : null;
+        if (result != null && type != null && !type.isInstance(result)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + result);
+        }
+        return (T) result;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper value = get(key);
+        if (value != null) {
+            return (T) value.get();
+        }
+        long generation = invalidations.get();
+        T result = remoteCache.get(key, valueLoader);
+        putLocal(key, () -> result, generation);
+        return result;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remoteCache.put(key, value);
+        invalidate(Collections.singleton(key));
+        putLocal(key, () -> value, invalidations.get());
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        long generation = invalidations.get();
+        ValueWrapper existing = remoteCache.putIfAbsent(key, value);
+        if (existing != null) {
+            putLocal(key, existing, generation);
+        } else {
+            invalidate(Collections.singleton(key));
+            putLocal(key, () -> value, invalidations.get());
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remoteCache.evict(key);
+        invalidate(Collections.singleton(key));
+    }
+
+    /**
+     * Evict several keys, with one remote operation per partition when the remote cache is a Hazelcast map, and
+     * one invalidation message.
+     */
+    @SuppressWarnings("unchecked")
+    public void evictAll(Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        Set<Object> keySet = new HashSet<>(keys);
+        if (remoteCache.getNativeCache() instanceof IMap) {
+            ((IMap<Object, Object>) remoteCache.getNativeCache()).executeOnKeys(keySet, new RemoveEntryProcessor());
+        } else {
+            keySet.forEach(remoteCache::evict);
+        }
+        invalidate(keySet);
+    }
+
+    @Override
+    public void clear() {
+        remoteCache.clear();
+        invalidateLocal();
+        invalidationPublisher.accept(getName(), null);
+    }
+
+    /**
+     * Drop keys from the local tier only, when they were written by another node.
+     */
+    void invalidateLocal(Collection<Object> keys) {
+        invalidations.incrementAndGet();
+        synchronized (localEntries) {
+            keys.forEach(localEntries::remove);
+        }
+    }
+
+    /**
+     * Drop all the entries of the local tier only, when the cache was cleared by another node.
+     */
+    void invalidateLocal() {
+        invalidations.incrementAndGet();
+        synchronized (localEntries) {
+            localEntries.clear();
+        }
+    }
+
+    /**
+     * @return the number of entries of the local tier
+     */
+    int localSize() {
+        synchronized (localEntries) {
+            return localEntries.size();
+        }
+    }
+
+    private void invalidate(Set<Object> keys) {
+        invalidateLocal(keys);
+        invalidationPublisher.accept(getName(), keys);
+    }
+
+    private ValueWrapper getLocal(Object key) {
+        synchronized (localEntries) {
+            LocalEntry entry = localEntries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt <= clock.millis()) {
+                localEntries.remove(key);
+                return null;
+            }
+            return entry.value;
+        }
+    }
+
+    private void putLocal(Object key, ValueWrapper value, long generation) {
+        synchronized (localEntries) {
+            if (invalidations.get() == generation) {
+                localEntries.put(key, new LocalEntry(value, clock.millis() + maxStalenessMs));
+            }
+        }
+    }
+
+    private static final class LocalEntry {
+
+        private final ValueWrapper value;
+
+        private final long expiresAt;
+
+        private LocalEntry(ValueWrapper value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package io.kimos.talentpipe.config;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ITopic;
+import com.hazelcast.core.Message;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.io.Serializable;
+import java.time.Clock;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache manager keeping the entries of each cache of a remote cache manager in the memory of the node, in front
+ * of the remote cache.
+ * <p>
+ * Writes go to the remote cache first and then to the local tier, and the keys written are broadcast on the
+ * {@link #TOPIC_NAME} topic so that the other nodes drop them from their local tier. Hazelcast topics may lose
+ * messages, so a local entry is also read again from the remote cache once it is older than the configured
+ * maximum staleness.
+ */
+public class TieredCacheManager implements CacheManager, DisposableBean {
+
+    public static final String TOPIC_NAME = "cache-invalidations";
+
+    private final Logger log = LoggerFactory.getLogger(TieredCacheManager.class);
+
+    private final CacheManager remoteCacheManager;
+
+    private final ITopic<CacheInvalidation> topic;
+
+    private final ApplicationProperties.LocalCache properties;
+
+    private final Clock clock;
+
+    private final ConcurrentMap<String, TieredCache> caches = new ConcurrentHashMap<>();
+
+    private final String listenerId;
+
+    public TieredCacheManager(CacheManager remoteCacheManager, HazelcastInstance hazelcastInstance,
+                              ApplicationProperties.LocalCache properties) {
+        this(remoteCacheManager, hazelcastInstance.getTopic(TOPIC_NAME), properties, Clock.systemUTC());
+    }
+
+    TieredCacheManager(CacheManager remoteCacheManager, ITopic<CacheInvalidation> topic,
+                       ApplicationProperties.LocalCache properties, Clock clock) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.topic = topic;
+        this.properties = properties;
+        this.clock = clock;
+        this.listenerId = topic.addMessageListener(this::onMessage);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TieredCache cache = caches.get(name);
+        if (cache == null) {
+            Cache remoteCache = remoteCacheManager.getCache(name);
+            if (remoteCache == null) {
+                return null;
+            }
+            cache = caches.computeIfAbsent(name, cacheName -> new TieredCache(remoteCache, this::publish,
+                properties.getMaxSize(), properties.getMaxStalenessMs(), clock));
+        }
+        return cache;
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remoteCacheManager.getCacheNames();
+    }
+
+    @Override
+    public void destroy() {
+        topic.removeMessageListener(listenerId);
+    }
+
+    private void publish(String cacheName, Set<Object> keys) {
+        topic.publish(new CacheInvalidation(cacheName, keys));
+    }
+
+    void onMessage(Message<CacheInvalidation> message) {
+        if (message.getPublishingMember() != null && message.getPublishingMember().localMember()) {
+            return;
+        }
+        CacheInvalidation invalidation = message.getMessageObject();
+        TieredCache cache = caches.get(invalidation.getCacheName());
+        if (cache == null) {
+            return;
+        }
+        log.trace("Invalidating {} of the local cache {}", invalidation.getKeys() == null ? "all entries" : invalidation.getKeys(),
+            invalidation.getCacheName());
+        if (invalidation.getKeys() == null) {
+            cache.invalidateLocal();
+        } else {
+            cache.invalidateLocal(invalidation.getKeys());
+        }
+    }
+
+    /**
+     * The keys written to a cache by a node, or null when the cache was cleared.
+     */
+    static final class CacheInvalidation implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String cacheName;
+
+        private final Set<Object> keys;
+
+        CacheInvalidation(String cacheName, Set<Object> keys) {
+            this.cacheName = cacheName;
+            this.keys = keys == null ? null : Collections.unmodifiableSet(keys);
+        }
+
+        String getCacheName() {
+            return cacheName;
+        }
+
+        Set<Object> getKeys() {
+            return keys;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package io.kimos.talentpipe.config.audit;
+
+import io.kimos.talentpipe.domain.AuditEventDataConverter;
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Liquibase change copying the rows of {@code persistent_audit_evt_data} to the JSON {@code event_data} column of
+ * their event. That table is kept for one release, and dropped by the next one.
+ */
+public class AuditEventDataBackfill implements CustomTaskChange {
+
+    private static final String SELECT_DATA =
+        "select event_id, name, value from persistent_audit_evt_data order by event_id";
+
+    private static final String UPDATE_EVENT =
+        "update persistent_audit_event set event_data = ? where event_id = ?";
+
+    private static final int BATCH_SIZE = 500;
+
+    private int updatedEvents;
+
+    @Override
+    public void execute(Database database) throws CustomChangeException {
+        Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+        try (Statement select = connection.createStatement();
+             PreparedStatement update = connection.prepareStatement(UPDATE_EVENT)) {
+            select.setFetchSize(BATCH_SIZE);
+            try (ResultSet rows = select.executeQuery(SELECT_DATA)) {
+                long eventId = -1;
+                Map<String, String> data = new HashMap<>();
+                while (rows.next()) {
+                    if (rows.getLong(1) != eventId && !data.isEmpty()) {
+                        addUpdate(update, eventId, data);
+                        data = new HashMap<>();
+                    }
+                    eventId = rows.getLong(1);
+                    data.put(rows.getString(2), rows.getString(3));
+                }
+                if (!data.isEmpty()) {
+                    addUpdate(update, eventId, data);
+                }
+            }
+            if (updatedEvents % BATCH_SIZE != 0) {
+                update.executeBatch();
+            }
+        } catch (SQLException e) {
+            throw new CustomChangeException("Could not copy the audit event data", e);
+        }
+    }
+
+    private void addUpdate(PreparedStatement update, long eventId, Map<String, String> data) throws SQLException {
+        update.setString(1, AuditEventDataConverter.toJson(data));
+        update.setLong(2, eventId);
+        update.addBatch();
+        if (++updatedEvents % BATCH_SIZE == 0) {
+            update.executeBatch();
+        }
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return "Copied the data of " + updatedEvents + " audit events to their event_data column";
+    }
+
+    @Override
+    public void setUp() {
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        return new ValidationErrors();
+    }
+}
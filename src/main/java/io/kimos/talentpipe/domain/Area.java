@@ -58,6 +58,10 @@ public class Area implements Serializable {
         return this;
     }
 
+    public String getNormalizedName() {
+        return normalizedName;
+    }
+
     public String getDescription() {
         return description;
     }
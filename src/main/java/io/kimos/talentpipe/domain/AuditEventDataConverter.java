@@ -0,0 +1,87 @@
+package io.kimos.talentpipe.domain;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Stores the data of a {@link PersistentAuditEvent} as a compact JSON object in a column of the event row.
+ * <p>
+ * Entries are dropped, and logged, when the JSON object would not fit in the column.
+ */
+@Converter
+public class AuditEventDataConverter implements AttributeConverter<Map<String, String>, String> {
+
+    public static final int DATA_COLUMN_MAX_LENGTH = 4000;
+
+    private static final Logger log = LoggerFactory.getLogger(AuditEventDataConverter.class);
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final TypeReference<HashMap<String, String>> DATA_TYPE = new TypeReference<HashMap<String, String>>() {
+    };
+
+    @Override
+    public String convertToDatabaseColumn(Map<String, String> data) {
+        return toJson(data);
+    }
+
+    @Override
+    public Map<String, String> convertToEntityAttribute(String json) {
+        return fromJson(json);
+    }
+
+    /**
+     * @return the data as a JSON object, or null if there is no data
+     */
+    public static String toJson(Map<String, String> data) {
+        if (data == null || data.isEmpty()) {
+            return null;
+        }
+        String json = write(data);
+        if (json.length() <= DATA_COLUMN_MAX_LENGTH) {
+            return json;
+        }
+        Map<String, String> kept = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : data.entrySet()) {
+            kept.put(entry.getKey(), entry.getValue());
+            if (write(kept).length() > DATA_COLUMN_MAX_LENGTH) {
+                kept.remove(entry.getKey());
+                log.warn("Dropping audit event data entry {}, the event data is longer than {} characters",
+                    entry.getKey(), DATA_COLUMN_MAX_LENGTH);
+            }
+        }
+        return write(kept);
+    }
+
+    /**
+     * @return the data read from a JSON object, empty if there is no data
+     */
+    public static Map<String, String> fromJson(String json) {
+        if (json == null || json.isEmpty()) {
+            return new HashMap<>();
+        }
+        try {
+            return objectMapper.readValue(json, DATA_TYPE);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid audit event data: " + json, e);
+        }
+    }
+
+    private static String write(Map<String, String> data) {
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not write audit event data", e);
+        }
+    }
+}
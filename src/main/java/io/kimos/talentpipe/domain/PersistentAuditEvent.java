@@ -9,6 +9,8 @@ import java.util.Map;
 
 /**
  * Persist AuditEvent managed by the Spring Boot actuator.
+ * <p>
+ * The data of the event is stored as JSON in a column of the event row, see {@link AuditEventDataConverter}.
  *
  * @see org.springframework.boot.actuate.audit.AuditEvent
  */
@@ -27,16 +29,15 @@ public class PersistentAuditEvent implements Serializable {
     @Column(nullable = false)
     private String principal;
 
-    @Column(name = "event_date")
+    @NotNull
+    @Column(name = "event_date", nullable = false)
     private Instant auditEventDate;
 
     @Column(name = "event_type")
     private String auditEventType;
 
-    @ElementCollection
-    @MapKeyColumn(name = "name")
-    @Column(name = "value")
-    @CollectionTable(name = "persistent_audit_evt_data", joinColumns = @JoinColumn(name = "event_id"))
+    @Convert(converter = AuditEventDataConverter.class)
+    @Column(name = "event_data", length = AuditEventDataConverter.DATA_COLUMN_MAX_LENGTH)
     private Map<String, String> data = new HashMap<>();
 
     public Long getId() {
@@ -1,14 +1,16 @@
 package io.kimos.talentpipe.repository;
 
 import io.kimos.talentpipe.domain.Area;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 /**
  * Spring Data  repository for the Area entity.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface AreaRepository extends JpaRepository<Area, Long> {
+public interface AreaRepository extends ReferenceRepository<Area> {
 
+    Optional<Area> findFirstByNormalizedNameOrderByIdAsc(String normalizedName);
 }
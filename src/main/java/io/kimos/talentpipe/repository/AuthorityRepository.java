@@ -1,17 +1,37 @@
 package io.kimos.talentpipe.repository;
 
 import io.kimos.talentpipe.domain.Authority;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.List;
 import java.util.Optional;
 
+import static io.kimos.talentpipe.repository.QueryCacheHints.CACHEABLE;
+import static io.kimos.talentpipe.repository.QueryCacheHints.CACHE_REGION;
+import static io.kimos.talentpipe.repository.QueryCacheHints.SECURITY_REGION;
+
 /**
  * Spring Data  repository for the Authority entity.
+ * <p>
+ * The lookups and listings of authorities are kept in the {@link QueryCacheHints#SECURITY_REGION} query cache
+ * region.
  */
 @SuppressWarnings("unused")
 @Repository
 public interface AuthorityRepository extends JpaRepository<Authority, Long> {
 
+    @QueryHints({@QueryHint(name = CACHEABLE, value = "true"), @QueryHint(name = CACHE_REGION, value = SECURITY_REGION)})
     Optional<Authority> findByName(String company);
+
+    @Override
+    @QueryHints({@QueryHint(name = CACHEABLE, value = "true"), @QueryHint(name = CACHE_REGION, value = SECURITY_REGION)})
+    List<Authority> findAll();
+
+    @Override
+    @QueryHints({@QueryHint(name = CACHEABLE, value = "true"), @QueryHint(name = CACHE_REGION, value = SECURITY_REGION)})
+    Page<Authority> findAll(Pageable pageable);
 }
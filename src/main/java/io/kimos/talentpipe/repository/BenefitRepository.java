@@ -1,14 +1,16 @@
 package io.kimos.talentpipe.repository;
 
 import io.kimos.talentpipe.domain.Benefit;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 /**
  * Spring Data  repository for the Benefit entity.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface BenefitRepository extends JpaRepository<Benefit, Long> {
+public interface BenefitRepository extends ReferenceRepository<Benefit> {
 
+    Optional<Benefit> findFirstByNormalizedNameOrderByIdAsc(String normalizedName);
 }
@@ -1,7 +1,6 @@
 package io.kimos.talentpipe.repository;
 
 import io.kimos.talentpipe.domain.City;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,6 +8,6 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CityRepository extends JpaRepository<City, Long> {
+public interface CityRepository extends ReferenceRepository<City> {
 
 }
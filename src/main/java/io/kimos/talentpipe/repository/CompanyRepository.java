@@ -12,7 +12,7 @@ import java.util.Optional;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CompanyRepository extends JpaRepository<Company, Long>, JpaSpecificationExecutor<Company> {
+public interface CompanyRepository extends JpaRepository<Company, Long>, JpaSpecificationExecutor<Company>, JpaSliceExecutor<Company> {
     Optional<Company> findCompanyByMainUser_Login(String login);
 
 }
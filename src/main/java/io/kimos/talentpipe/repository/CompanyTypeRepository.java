@@ -1,14 +1,16 @@
 package io.kimos.talentpipe.repository;
 
 import io.kimos.talentpipe.domain.CompanyType;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 /**
  * Spring Data  repository for the CompanyType entity.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CompanyTypeRepository extends JpaRepository<CompanyType, Long> {
+public interface CompanyTypeRepository extends ReferenceRepository<CompanyType> {
 
+    Optional<CompanyType> findFirstByNormalizedNameOrderByIdAsc(String normalizedName);
 }
@@ -1,14 +1,16 @@
 package io.kimos.talentpipe.repository;
 
 import io.kimos.talentpipe.domain.Country;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 /**
  * Spring Data  repository for the Country entity.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CountryRepository extends JpaRepository<Country, Long> {
+public interface CountryRepository extends ReferenceRepository<Country> {
 
+    Optional<Country> findFirstByNormalizedNameOrderByIdAsc(String normalizedName);
 }
@@ -3,21 +3,29 @@ package io.kimos.talentpipe.repository;
 import io.kimos.talentpipe.config.Constants;
 import io.kimos.talentpipe.config.audit.AuditEventConverter;
 import io.kimos.talentpipe.domain.PersistentAuditEvent;
+import io.kimos.talentpipe.domain.PersistentAuditEvent_;
+import io.kimos.talentpipe.service.audit.AuditEventWriter;
+import io.kimos.talentpipe.service.audit.RecentAuditEvents;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.actuate.audit.AuditEvent;
 import org.springframework.boot.actuate.audit.AuditEventRepository;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Repository;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.criteria.Predicate;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
  * An implementation of Spring Boot's AuditEventRepository.
+ * <p>
+ * Events are written asynchronously, in batches, by the {@link AuditEventWriter}. The recent events are also kept
+ * in memory, and queries for them are answered from there, see {@link RecentAuditEvents}.
  */
 @Repository
 public class CustomAuditEventRepository implements AuditEventRepository {
@@ -31,24 +39,51 @@ public class CustomAuditEventRepository implements AuditEventRepository {
 
     private final AuditEventConverter auditEventConverter;
 
+    private final AuditEventWriter auditEventWriter;
+
+    private final RecentAuditEvents recentAuditEvents;
+
     private final Logger log = LoggerFactory.getLogger(getClass());
 
     public CustomAuditEventRepository(PersistenceAuditEventRepository persistenceAuditEventRepository,
-                                      AuditEventConverter auditEventConverter) {
+                                      AuditEventConverter auditEventConverter, AuditEventWriter auditEventWriter,
+                                      RecentAuditEvents recentAuditEvents) {
 
         this.persistenceAuditEventRepository = persistenceAuditEventRepository;
         this.auditEventConverter = auditEventConverter;
+        this.auditEventWriter = auditEventWriter;
+        this.recentAuditEvents = recentAuditEvents;
     }
 
     @Override
     public List<AuditEvent> find(String principal, Instant after, String type) {
-        Iterable<PersistentAuditEvent> persistentAuditEvents =
-            persistenceAuditEventRepository.findByPrincipalAndAuditEventDateAfterAndAuditEventType(principal, after, type);
-        return auditEventConverter.convertToAuditEvent(persistentAuditEvents);
+        return recentAuditEvents.find(principal, after, type).orElseGet(() -> {
+            Iterable<PersistentAuditEvent> persistentAuditEvents = persistenceAuditEventRepository.findAll(
+                matching(principal, after, type), Sort.by("auditEventDate"));
+            return auditEventConverter.convertToAuditEvent(persistentAuditEvents);
+        });
+    }
+
+    /**
+     * Match the events of a principal, after a date and of a type, any of which may be null for any value.
+     */
+    private static Specification<PersistentAuditEvent> matching(String principal, Instant after, String type) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (principal != null) {
+                predicates.add(cb.equal(root.get(PersistentAuditEvent_.principal), principal));
+            }
+            if (after != null) {
+                predicates.add(cb.greaterThan(root.get(PersistentAuditEvent_.auditEventDate), after));
+            }
+            if (type != null) {
+                predicates.add(cb.equal(root.get(PersistentAuditEvent_.auditEventType), type));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
     }
 
     @Override
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void add(AuditEvent event) {
         if (!AUTHORIZATION_FAILURE.equals(event.getType()) &&
             !Constants.ANONYMOUS_USER.equals(event.getPrincipal())) {
@@ -59,7 +94,8 @@ public class CustomAuditEventRepository implements AuditEventRepository {
             persistentAuditEvent.setAuditEventDate(event.getTimestamp());
             Map<String, String> eventData = auditEventConverter.convertDataToStrings(event.getData());
             persistentAuditEvent.setData(truncate(eventData));
-            persistenceAuditEventRepository.save(persistentAuditEvent);
+            auditEventWriter.submit(persistentAuditEvent);
+            recentAuditEvents.add(auditEventConverter.convertToAuditEvent(persistentAuditEvent));
         }
     }
 
@@ -1,14 +1,16 @@
 package io.kimos.talentpipe.repository;
 
 import io.kimos.talentpipe.domain.ExpertiseLevel;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 /**
  * Spring Data  repository for the ExpertiseLevel entity.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ExpertiseLevelRepository extends JpaRepository<ExpertiseLevel, Long> {
+public interface ExpertiseLevelRepository extends ReferenceRepository<ExpertiseLevel> {
 
+    Optional<ExpertiseLevel> findFirstByNormalizedNameOrderByIdAsc(String normalizedName);
 }
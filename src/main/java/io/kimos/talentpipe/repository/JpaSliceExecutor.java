@@ -0,0 +1,27 @@
+package io.kimos.talentpipe.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.lang.Nullable;
+
+/**
+ * Count-free pagination of the entities matching a {@link Specification}, next to the paginated queries
+ * of {@link JpaSpecificationExecutor}.
+ *
+ * @param <T> the type of the entity
+ * @see SliceableJpaRepository
+ */
+public interface JpaSliceExecutor<T> extends JpaSpecificationExecutor<T> {
+
+    /**
+     * Returns a {@link Slice} of entities matching the given {@link Specification}. One more row than the page size
+     * is fetched to know whether there is a next slice, instead of counting all the matching rows.
+     *
+     * @param spec     can be {@literal null}.
+     * @param pageable must not be {@literal null}.
+     * @return never {@literal null}.
+     */
+    Slice<T> findSlice(@Nullable Specification<T> spec, Pageable pageable);
+}
@@ -0,0 +1,35 @@
+package io.kimos.talentpipe.repository;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Hints and regions of the queries whose results are kept in the Hibernate query cache.
+ * <p>
+ * Queries are only cached when their repository method is annotated with
+ * {@code @QueryHints({@QueryHint(name = CACHEABLE, value = "true"), @QueryHint(name = CACHE_REGION, value = ...)})}.
+ * A cached result is dropped as soon as a table it was read from is written, so only queries over tables which
+ * are rarely written should be cached.
+ */
+public final class QueryCacheHints {
+
+    public static final String CACHEABLE = org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
+    public static final String CACHE_REGION = org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+
+    /**
+     * Region of the queries over the reference tables, such as skills, cities or sectors.
+     */
+    public static final String REFERENCE_REGION = "query.reference";
+
+    /**
+     * Region of the queries over the roles and the authorities.
+     */
+    public static final String SECURITY_REGION = "query.security";
+
+    public static final List<String> REGIONS = Collections.unmodifiableList(Arrays.asList(REFERENCE_REGION, SECURITY_REGION));
+
+    private QueryCacheHints() {
+    }
+}
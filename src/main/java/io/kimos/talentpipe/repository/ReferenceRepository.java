@@ -0,0 +1,47 @@
+package io.kimos.talentpipe.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.lang.Nullable;
+
+import javax.persistence.QueryHint;
+import java.util.List;
+
+import static io.kimos.talentpipe.repository.QueryCacheHints.CACHEABLE;
+import static io.kimos.talentpipe.repository.QueryCacheHints.CACHE_REGION;
+import static io.kimos.talentpipe.repository.QueryCacheHints.REFERENCE_REGION;
+
+/**
+ * Base repository of the reference tables, whose listing queries are kept in the
+ * {@link QueryCacheHints#REFERENCE_REGION} query cache region.
+ *
+ * @param <T> the type of the entity
+ */
+@NoRepositoryBean
+public interface ReferenceRepository<T> extends JpaRepository<T, Long>, JpaSliceExecutor<T> {
+
+    @Override
+    @QueryHints({@QueryHint(name = CACHEABLE, value = "true"), @QueryHint(name = CACHE_REGION, value = REFERENCE_REGION)})
+    List<T> findAll();
+
+    @Override
+    @QueryHints({@QueryHint(name = CACHEABLE, value = "true"), @QueryHint(name = CACHE_REGION, value = REFERENCE_REGION)})
+    Page<T> findAll(Pageable pageable);
+
+    @Override
+    @QueryHints({@QueryHint(name = CACHEABLE, value = "true"), @QueryHint(name = CACHE_REGION, value = REFERENCE_REGION)})
+    Page<T> findAll(@Nullable Specification<T> spec, Pageable pageable);
+
+    @Override
+    @QueryHints({@QueryHint(name = CACHEABLE, value = "true"), @QueryHint(name = CACHE_REGION, value = REFERENCE_REGION)})
+    Slice<T> findSlice(@Nullable Specification<T> spec, Pageable pageable);
+
+    @Override
+    @QueryHints({@QueryHint(name = CACHEABLE, value = "true"), @QueryHint(name = CACHE_REGION, value = REFERENCE_REGION)})
+    long count(@Nullable Specification<T> spec);
+}
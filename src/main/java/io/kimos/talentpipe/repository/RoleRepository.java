@@ -1,16 +1,47 @@
 package io.kimos.talentpipe.repository;
 
 import io.kimos.talentpipe.domain.Role;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.List;
 import java.util.Optional;
 
+import static io.kimos.talentpipe.repository.QueryCacheHints.CACHEABLE;
+import static io.kimos.talentpipe.repository.QueryCacheHints.CACHE_REGION;
+import static io.kimos.talentpipe.repository.QueryCacheHints.SECURITY_REGION;
+
 /**
  * Spring Data  repository for the Role entity.
+ * <p>
+ * The lookups and listings of roles are kept in the {@link QueryCacheHints#SECURITY_REGION} query cache region.
  */
 @Repository
-public interface RoleRepository extends JpaRepository<Role, Long> {
+public interface RoleRepository extends JpaRepository<Role, Long>, JpaSliceExecutor<Role> {
 
+    @QueryHints({@QueryHint(name = CACHEABLE, value = "true"), @QueryHint(name = CACHE_REGION, value = SECURITY_REGION)})
     Optional<Role> findByName(String roleName);
+
+    @Override
+    @QueryHints({@QueryHint(name = CACHEABLE, value = "true"), @QueryHint(name = CACHE_REGION, value = SECURITY_REGION)})
+    List<Role> findAll();
+
+    @Override
+    @QueryHints({@QueryHint(name = CACHEABLE, value = "true"), @QueryHint(name = CACHE_REGION, value = SECURITY_REGION)})
+    Page<Role> findAll(@Nullable Specification<Role> spec, Pageable pageable);
+
+    @Override
+    @QueryHints({@QueryHint(name = CACHEABLE, value = "true"), @QueryHint(name = CACHE_REGION, value = SECURITY_REGION)})
+    Slice<Role> findSlice(@Nullable Specification<Role> spec, Pageable pageable);
+
+    @Override
+    @QueryHints({@QueryHint(name = CACHEABLE, value = "true"), @QueryHint(name = CACHE_REGION, value = SECURITY_REGION)})
+    long count(@Nullable Specification<Role> spec);
 }
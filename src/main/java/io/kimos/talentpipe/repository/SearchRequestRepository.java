@@ -16,18 +16,31 @@ import java.util.Optional;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface SearchRequestRepository extends JpaRepository<SearchRequest, Long> {
+public interface SearchRequestRepository extends JpaRepository<SearchRequest, Long>, JpaSliceExecutor<SearchRequest>, SearchRequestRepositoryCustom {
 
-    @Query(value = "select distinct search_request from SearchRequest search_request left join fetch search_request.requiredTechnicalSkills left join fetch search_request.nonRequiredTechnicalSkills left join fetch search_request.requiredSoftSkills left join fetch search_request.nonRequiredSoftSkills left join fetch search_request.benefits",
-        countQuery = "select count(distinct search_request) from SearchRequest search_request")
-    Page<SearchRequest> findAllWithEagerRelationships(Pageable pageable);
+    Page<SearchRequest> findAllByCompany_Id(Long companyId, Pageable pageable);
 
-    @Query(value = "select distinct search_request from SearchRequest search_request left join fetch search_request.requiredTechnicalSkills left join fetch search_request.nonRequiredTechnicalSkills left join fetch search_request.requiredSoftSkills left join fetch search_request.nonRequiredSoftSkills left join fetch search_request.benefits")
-    List<SearchRequest> findAllWithEagerRelationships();
+    @Query("select min(search_request.id) from SearchRequest search_request")
+    Optional<Long> findMinId();
 
-    @Query("select search_request from SearchRequest search_request left join fetch search_request.requiredTechnicalSkills left join fetch search_request.nonRequiredTechnicalSkills left join fetch search_request.requiredSoftSkills left join fetch search_request.nonRequiredSoftSkills left join fetch search_request.benefits where search_request.id =:id")
-    Optional<SearchRequest> findOneWithEagerRelationships(@Param("id") Long id);
+    @Query("select max(search_request.id) from SearchRequest search_request")
+    Optional<Long> findMaxId();
 
-    Page<SearchRequest> findAllByCompany_Id(Long companyId, Pageable pageable);
+    @Query("select search_request.id, company.id, expertise_level.id, search_request.minSalary, search_request.maxSalary" +
+        " from SearchRequest search_request join search_request.company company left join search_request.expertiseLevel expertise_level" +
+        " where search_request.id between :fromId and :toId")
+    List<Object[]> findIndexedColumnsByIdBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Query("select search_request.id, skill.id from SearchRequest search_request join search_request.requiredTechnicalSkills skill where search_request.id between :fromId and :toId")
+    List<Object[]> findRequiredTechnicalSkillIdsByIdBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Query("select search_request.id, skill.id from SearchRequest search_request join search_request.nonRequiredTechnicalSkills skill where search_request.id between :fromId and :toId")
+    List<Object[]> findNonRequiredTechnicalSkillIdsByIdBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Query("select search_request.id, skill.id from SearchRequest search_request join search_request.requiredSoftSkills skill where search_request.id between :fromId and :toId")
+    List<Object[]> findRequiredSoftSkillIdsByIdBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Query("select search_request.id, skill.id from SearchRequest search_request join search_request.nonRequiredSoftSkills skill where search_request.id between :fromId and :toId")
+    List<Object[]> findNonRequiredSoftSkillIdsByIdBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
 
 }
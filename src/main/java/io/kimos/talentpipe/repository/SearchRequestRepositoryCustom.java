@@ -0,0 +1,24 @@
+package io.kimos.talentpipe.repository;
+
+import io.kimos.talentpipe.domain.SearchRequest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Custom loading of the SearchRequest entity with its many-to-many relationships.
+ *
+ * @see SearchRequestRepositoryImpl
+ */
+public interface SearchRequestRepositoryCustom {
+
+    Page<SearchRequest> findAllWithEagerRelationships(Pageable pageable);
+
+    List<SearchRequest> findAllWithEagerRelationships();
+
+    List<SearchRequest> findAllWithEagerRelationships(List<Long> ids);
+
+    Optional<SearchRequest> findOneWithEagerRelationships(Long id);
+}
@@ -0,0 +1,107 @@
+package io.kimos.talentpipe.repository;
+
+import io.kimos.talentpipe.domain.SearchRequest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Loads SearchRequests with their many-to-many relationships in a fixed number of queries.
+ * <p>
+ * Fetch-joining the five collections at once returns the cartesian product of all of them for every
+ * request, and forces Hibernate to paginate in memory. Instead, the ids of the requested page are
+ * selected first with a real LIMIT, then each collection is fetched for the whole page by its own
+ * {@code IN} query. As all queries share the persistence context, Hibernate stitches every fetched
+ * collection into the same SearchRequest instances.
+ */
+public class SearchRequestRepositoryImpl implements SearchRequestRepositoryCustom {
+
+    private static final String ALIAS = "search_request";
+
+    private static final List<String> EAGER_COLLECTIONS = Arrays.asList(
+        "requiredTechnicalSkills",
+        "nonRequiredTechnicalSkills",
+        "requiredSoftSkills",
+        "nonRequiredSoftSkills",
+        "benefits");
+
+    private final EntityManager em;
+
+    public SearchRequestRepositoryImpl(EntityManager em) {
+        this.em = em;
+    }
+
+    @Override
+    public Page<SearchRequest> findAllWithEagerRelationships(Pageable pageable) {
+        TypedQuery<Long> idQuery = em.createQuery(
+            QueryUtils.applySorting("select " + ALIAS + ".id from SearchRequest " + ALIAS, pageable.getSort(), ALIAS), Long.class);
+        if (pageable.isPaged()) {
+            idQuery.setFirstResult((int) pageable.getOffset());
+            idQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<SearchRequest> content = loadWithEagerRelationships(idQuery.getResultList());
+        return PageableExecutionUtils.getPage(content, pageable, () ->
+            em.createQuery("select count(" + ALIAS + ") from SearchRequest " + ALIAS, Long.class).getSingleResult());
+    }
+
+    @Override
+    public List<SearchRequest> findAllWithEagerRelationships() {
+        List<Long> ids = em.createQuery(
+            QueryUtils.applySorting("select " + ALIAS + ".id from SearchRequest " + ALIAS, Sort.by("id"), ALIAS), Long.class)
+            .getResultList();
+        return loadWithEagerRelationships(ids);
+    }
+
+    @Override
+    public List<SearchRequest> findAllWithEagerRelationships(List<Long> ids) {
+        return loadWithEagerRelationships(ids);
+    }
+
+    @Override
+    public Optional<SearchRequest> findOneWithEagerRelationships(Long id) {
+        return loadWithEagerRelationships(Collections.singletonList(id)).stream().findFirst();
+    }
+
+    /**
+     * Load the given SearchRequests and all their eager relationships, in the order of the ids.
+     */
+    private List<SearchRequest> loadWithEagerRelationships(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, SearchRequest> searchRequests = new HashMap<>(ids.size());
+        em.createQuery("select " + ALIAS + " from SearchRequest " + ALIAS +
+            " left join fetch " + ALIAS + ".company left join fetch " + ALIAS + ".expertiseLevel" +
+            " where " + ALIAS + ".id in :ids", SearchRequest.class)
+            .setParameter("ids", ids)
+            .getResultList()
+            .forEach(searchRequest -> searchRequests.put(searchRequest.getId(), searchRequest));
+        if (searchRequests.isEmpty()) {
+            return Collections.emptyList();
+        }
+        for (String collection : EAGER_COLLECTIONS) {
+            em.createQuery("select " + ALIAS + " from SearchRequest " + ALIAS +
+                " left join fetch " + ALIAS + "." + collection +
+                " where " + ALIAS + ".id in :ids", SearchRequest.class)
+                .setParameter("ids", searchRequests.keySet())
+                .getResultList();
+        }
+        return ids.stream()
+            .map(searchRequests::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+}
@@ -1,14 +1,16 @@
 package io.kimos.talentpipe.repository;
 
 import io.kimos.talentpipe.domain.SearchStatus;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 /**
  * Spring Data  repository for the SearchStatus entity.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface SearchStatusRepository extends JpaRepository<SearchStatus, Long> {
+public interface SearchStatusRepository extends ReferenceRepository<SearchStatus> {
 
+    Optional<SearchStatus> findFirstByNormalizedNameOrderByIdAsc(String normalizedName);
 }
@@ -1,14 +1,16 @@
 package io.kimos.talentpipe.repository;
 
 import io.kimos.talentpipe.domain.SearchType;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 /**
  * Spring Data  repository for the SearchType entity.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface SearchTypeRepository extends JpaRepository<SearchType, Long> {
+public interface SearchTypeRepository extends ReferenceRepository<SearchType> {
 
+    Optional<SearchType> findFirstByNormalizedNameOrderByIdAsc(String normalizedName);
 }
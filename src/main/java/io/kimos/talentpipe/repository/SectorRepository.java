@@ -1,14 +1,16 @@
 package io.kimos.talentpipe.repository;
 
 import io.kimos.talentpipe.domain.Sector;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 /**
  * Spring Data  repository for the Sector entity.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface SectorRepository extends JpaRepository<Sector, Long> {
+public interface SectorRepository extends ReferenceRepository<Sector> {
 
+    Optional<Sector> findFirstByNormalizedNameOrderByIdAsc(String normalizedName);
 }
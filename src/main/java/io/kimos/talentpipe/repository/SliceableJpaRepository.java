@@ -0,0 +1,38 @@
+package io.kimos.talentpipe.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.lang.Nullable;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.util.List;
+
+/**
+ * Base class of the Spring Data JPA repositories, adding {@link JpaSliceExecutor} to {@link SimpleJpaRepository}.
+ * <p>
+ * Repositories opt in by extending {@link JpaSliceExecutor}.
+ */
+public class SliceableJpaRepository<T, ID> extends SimpleJpaRepository<T, ID> implements JpaSliceExecutor<T> {
+
+    public SliceableJpaRepository(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+        super(entityInformation, entityManager);
+    }
+
+    @Override
+    public Slice<T> findSlice(@Nullable Specification<T> spec, Pageable pageable) {
+        TypedQuery<T> query = getQuery(spec, pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(query.getResultList(), pageable, false);
+        }
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize() + 1);
+        List<T> content = query.getResultList();
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+}
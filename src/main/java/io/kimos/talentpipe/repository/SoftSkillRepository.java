@@ -1,14 +1,16 @@
 package io.kimos.talentpipe.repository;
 
 import io.kimos.talentpipe.domain.SoftSkill;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 /**
  * Spring Data  repository for the SoftSkill entity.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface SoftSkillRepository extends JpaRepository<SoftSkill, Long> {
+public interface SoftSkillRepository extends ReferenceRepository<SoftSkill> {
 
+    Optional<SoftSkill> findFirstByNormalizedNameOrderByIdAsc(String normalizedName);
 }
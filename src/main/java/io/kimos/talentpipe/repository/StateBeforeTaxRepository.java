@@ -1,14 +1,16 @@
 package io.kimos.talentpipe.repository;
 
 import io.kimos.talentpipe.domain.StateBeforeTax;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 /**
  * Spring Data  repository for the StateBeforeTax entity.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface StateBeforeTaxRepository extends JpaRepository<StateBeforeTax, Long> {
+public interface StateBeforeTaxRepository extends ReferenceRepository<StateBeforeTax> {
 
+    Optional<StateBeforeTax> findFirstByNormalizedNameOrderByIdAsc(String normalizedName);
 }
@@ -1,14 +1,17 @@
 package io.kimos.talentpipe.repository;
 
 import io.kimos.talentpipe.domain.User;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,14 +21,36 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    /**
+     * Cache of the principals of the users by login, see UserPrincipalService.
+     */
     String USERS_BY_LOGIN_CACHE = "usersByLogin";
 
+    /**
+     * Cache of the principals of the users by email, see UserPrincipalService.
+     */
     String USERS_BY_EMAIL_CACHE = "usersByEmail";
 
     Optional<User> findOneByActivationKey(String activationKey);
 
     List<User> findAllByActivatedIsFalseAndCreatedDateBefore(Instant dateTime);
 
+    /**
+     * Find the id, login and email of the users not activated since a date, ordered by id from an id on, leaving
+     * out the users still referenced by a recruiter or a company.
+     */
+    @Query("select app_user.id, app_user.login, app_user.email from User app_user where app_user.activated = false" +
+        " and app_user.createdDate < :dateTime and app_user.id > :afterId" +
+        " and not exists (select recruiter.id from Recruiter recruiter where recruiter.user = app_user)" +
+        " and not exists (select company.id from Company company where company.mainUser = app_user)" +
+        " order by app_user.id")
+    List<Object[]> findNotActivatedUserColumns(@Param("dateTime") Instant dateTime, @Param("afterId") Long afterId,
+                                               Pageable pageable);
+
+    @Modifying
+    @Query("delete from User app_user where app_user.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
     Optional<User> findOneByResetKey(String resetKey);
 
     Optional<User> findOneByEmailIgnoreCase(String email);
@@ -36,12 +61,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findOneWithAuthoritiesById(Long id);
 
     @EntityGraph(attributePaths = "roles")
-    @Cacheable(cacheNames = USERS_BY_LOGIN_CACHE)
     Optional<User> findOneWithAuthoritiesByLogin(String login);
 
     @EntityGraph(attributePaths = "roles")
-    @Cacheable(cacheNames = USERS_BY_EMAIL_CACHE)
     Optional<User> findOneWithAuthoritiesByEmail(String email);
 
     Page<User> findAllByLoginNot(Pageable pageable, String login);
+
+    /**
+     * Find the id, company id and authority names of a user in a single query, one row per authority.
+     */
+    @Query("select app_user.id, company.id, authority.name from User app_user left join app_user.company company" +
+        " left join app_user.roles role left join role.authorities authority where app_user.login = :login")
+    List<Object[]> findCurrentUserColumnsByLogin(@Param("login") String login);
 }
@@ -0,0 +1,215 @@
+package io.kimos.talentpipe.security;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ITopic;
+import com.hazelcast.core.Message;
+import io.kimos.talentpipe.domain.Authority;
+import io.kimos.talentpipe.domain.Role;
+import io.kimos.talentpipe.service.event.EntityCommittedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry giving each authority a bit index, so that the authorities of a principal are held in a {@code long[]}
+ * bitset and checked with a bit test, see {@link BitsetUser}.
+ * <p>
+ * Bit indexes are given on first use and never change nor get reused on this node, so bitsets stay valid for the
+ * life of the node. The bitset of each role is compiled once and dropped when a role or an authority changes, on
+ * any node of the cluster.
+ */
+@Component
+public class AuthorityRegistry {
+
+    static final String TOPIC_NAME = "authority-registry-changes";
+
+    private final Logger log = LoggerFactory.getLogger(AuthorityRegistry.class);
+
+    private final Map<String, Integer> bits = new ConcurrentHashMap<>();
+
+    /**
+     * The authority of each bit, guarded by this for writes.
+     */
+    private volatile GrantedAuthority[] authorities = new GrantedAuthority[0];
+
+    private final Map<Long, long[]> roleBits = new ConcurrentHashMap<>();
+
+    private final HazelcastInstance hazelcastInstance;
+
+    private ITopic<String> topic;
+
+    private String listenerId;
+
+    public AuthorityRegistry(HazelcastInstance hazelcastInstance) {
+        this.hazelcastInstance = hazelcastInstance;
+    }
+
+    @PostConstruct
+    public void start() {
+        topic = hazelcastInstance.getTopic(TOPIC_NAME);
+        listenerId = topic.addMessageListener(this::onMessage);
+    }
+
+    @PreDestroy
+    public void stop() {
+        topic.removeMessageListener(listenerId);
+    }
+
+    /**
+     * Get the bit index of an authority, giving it one on first use.
+     */
+    public int bit(String authority) {
+        Integer bit = bits.get(authority);
+        return bit != null ? bit : register(authority);
+    }
+
+    /**
+     * Test a bitset for an authority, without giving a bit index to unknown authorities.
+     *
+     * @param bitset    the bitset of a principal
+     * @param authority the authority to test
+     * @return whether the bitset holds the authority
+     */
+    public boolean has(long[] bitset, String authority) {
+        Integer bit = bits.get(authority);
+        return bit != null && isSet(bitset, bit);
+    }
+
+    public static boolean isSet(long[] bitset, int bit) {
+        int word = bit >>> 6;
+        return word < bitset.length && (bitset[word] & (1L << bit)) != 0;
+    }
+
+    /**
+     * Compile authorities into a bitset.
+     */
+    public long[] compile(Collection<? extends GrantedAuthority> grantedAuthorities) {
+        long[] bitset = new long[0];
+        for (GrantedAuthority grantedAuthority : grantedAuthorities) {
+            bitset = set(bitset, bit(grantedAuthority.getAuthority()));
+        }
+        return bitset;
+    }
+
+    /**
+     * Compile the names of authorities into a bitset.
+     */
+    public long[] compileNames(Collection<String> authorityNames) {
+        long[] bitset = new long[0];
+        for (String authorityName : authorityNames) {
+            bitset = set(bitset, bit(authorityName));
+        }
+        return bitset;
+    }
+
+    /**
+     * Compile the authorities of roles into a bitset, from the cached bitset of each role.
+     *
+     * @param authoritiesByRole the names of the authorities of each role, by role id
+     * @return the bitset of all the authorities
+     */
+    public long[] compileRoles(Map<Long, ? extends Collection<String>> authoritiesByRole) {
+        long[] bitset = new long[0];
+        for (Map.Entry<Long, ? extends Collection<String>> role : authoritiesByRole.entrySet()) {
+            bitset = or(bitset, roleBits.computeIfAbsent(role.getKey(), id -> compileNames(role.getValue())));
+        }
+        return bitset;
+    }
+
+    /**
+     * Get the authorities of a bitset, as shared instances.
+     */
+    public List<GrantedAuthority> authorities(long[] bitset) {
+        GrantedAuthority[] byBit = authorities;
+        List<GrantedAuthority> result = new ArrayList<>();
+        for (int word = 0; word < bitset.length; word++) {
+            long remaining = bitset[word];
+            while (remaining != 0) {
+                int bit = (word << 6) + Long.numberOfTrailingZeros(remaining);
+                result.add(byBit[bit]);
+                remaining &= remaining - 1;
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Drop the compiled roles once the current transaction commits, on all the nodes of the cluster.
+     */
+    public void invalidateRolesAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    invalidateRoles();
+                }
+            });
+        } else {
+            invalidateRoles();
+        }
+    }
+
+    @EventListener
+    public void onEntityCommitted(EntityCommittedEvent event) {
+        if (Role.class.equals(event.getEntityType()) || Authority.class.equals(event.getEntityType())) {
+            invalidateRoles();
+        }
+    }
+
+    private void invalidateRoles() {
+        roleBits.clear();
+        topic.publish(Role.class.getName());
+    }
+
+    private void onMessage(Message<String> message) {
+        if (message.getPublishingMember() != null && message.getPublishingMember().localMember()) {
+            return;
+        }
+        log.debug("Roles changed on another node, dropping the compiled roles");
+        roleBits.clear();
+    }
+
+    private synchronized int register(String authority) {
+        Integer bit = bits.get(authority);
+        if (bit != null) {
+            return bit;
+        }
+        int added = authorities.length;
+        GrantedAuthority[] copy = Arrays.copyOf(authorities, added + 1);
+        copy[added] = new SimpleGrantedAuthority(authority);
+        // Publish the authority before its bit, so that a reader holding the bit always finds it
+        authorities = copy;
+        bits.put(authority, added);
+        return added;
+    }
+
+    private static long[] set(long[] bitset, int bit) {
+        int word = bit >>> 6;
+        long[] result = word < bitset.length ? bitset : Arrays.copyOf(bitset, word + 1);
+        result[word] |= 1L << bit;
+        return result;
+    }
+
+    private static long[] or(long[] a, long[] b) {
+        long[] result = Arrays.copyOf(a, Math.max(a.length, b.length));
+        for (int word = 0; word < b.length; word++) {
+            result[word] |= b[word];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,188 @@
+package io.kimos.talentpipe.security;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.access.expression.SecurityExpressionOperations;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+
+/**
+ * Method security expression handler checking the authorities of {@code @PreAuthorize} and {@code @PostAuthorize}
+ * expressions against the bitset of the principal, see {@link AuthorityRegistry}.
+ * <p>
+ * The principal of an authentication which is not a {@link BitsetUser} has its authorities compiled once per
+ * expression.
+ */
+@Component
+public class BitsetMethodSecurityExpressionHandler extends DefaultMethodSecurityExpressionHandler {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final AuthorityRegistry authorityRegistry;
+
+    private final AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+
+    public BitsetMethodSecurityExpressionHandler(AuthorityRegistry authorityRegistry) {
+        this.authorityRegistry = authorityRegistry;
+    }
+
+    @Override
+    protected MethodSecurityExpressionOperations createSecurityExpressionRoot(Authentication authentication,
+                                                                              MethodInvocation invocation) {
+        return new BitsetSecurityExpressionRoot(authentication, invocation.getThis(), authorityRegistry,
+            getPermissionEvaluator(), trustResolver);
+    }
+
+    /**
+     * Expression root with the operations of Spring's {@code MethodSecurityExpressionRoot}, whose authority checks
+     * are final and so cannot be overridden.
+     */
+    static class BitsetSecurityExpressionRoot implements SecurityExpressionOperations, MethodSecurityExpressionOperations {
+
+        private final Authentication authentication;
+
+        private final Object target;
+
+        private final AuthorityRegistry authorityRegistry;
+
+        private final PermissionEvaluator permissionEvaluator;
+
+        private final AuthenticationTrustResolver trustResolver;
+
+        private long[] authorityBits;
+
+        private Object filterObject;
+
+        private Object returnObject;
+
+        BitsetSecurityExpressionRoot(Authentication authentication, Object target, AuthorityRegistry authorityRegistry,
+                                     PermissionEvaluator permissionEvaluator, AuthenticationTrustResolver trustResolver) {
+            this.authentication = authentication;
+            this.target = target;
+            this.authorityRegistry = authorityRegistry;
+            this.permissionEvaluator = permissionEvaluator;
+            this.trustResolver = trustResolver;
+        }
+
+        @Override
+        public Authentication getAuthentication() {
+            return authentication;
+        }
+
+        public Object getPrincipal() {
+            return authentication.getPrincipal();
+        }
+
+        @Override
+        public boolean hasAuthority(String authority) {
+            return hasAnyAuthority(authority);
+        }
+
+        @Override
+        public boolean hasAnyAuthority(String... authorities) {
+            long[] bits = authorityBits();
+            for (String authority : authorities) {
+                if (authorityRegistry.has(bits, authority)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean hasRole(String role) {
+            return hasAnyRole(role);
+        }
+
+        @Override
+        public boolean hasAnyRole(String... roles) {
+            long[] bits = authorityBits();
+            for (String role : roles) {
+                if (authorityRegistry.has(bits, role.startsWith(ROLE_PREFIX) ? role : ROLE_PREFIX + role)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean permitAll() {
+            return true;
+        }
+
+        @Override
+        public boolean denyAll() {
+            return false;
+        }
+
+        @Override
+        public boolean isAnonymous() {
+            return trustResolver.isAnonymous(authentication);
+        }
+
+        @Override
+        public boolean isAuthenticated() {
+            return !isAnonymous();
+        }
+
+        @Override
+        public boolean isRememberMe() {
+            return trustResolver.isRememberMe(authentication);
+        }
+
+        @Override
+        public boolean isFullyAuthenticated() {
+            return !trustResolver.isAnonymous(authentication) && !trustResolver.isRememberMe(authentication);
+        }
+
+        @Override
+        public boolean hasPermission(Object target, Object permission) {
+            return permissionEvaluator.hasPermission(authentication, target, permission);
+        }
+
+        @Override
+        public boolean hasPermission(Object targetId, String targetType, Object permission) {
+            return permissionEvaluator.hasPermission(authentication, (Serializable) targetId, targetType, permission);
+        }
+
+        @Override
+        public void setFilterObject(Object filterObject) {
+            this.filterObject = filterObject;
+        }
+
+        @Override
+        public Object getFilterObject() {
+            return filterObject;
+        }
+
+        @Override
+        public void setReturnObject(Object returnObject) {
+            this.returnObject = returnObject;
+        }
+
+        @Override
+        public Object getReturnObject() {
+            return returnObject;
+        }
+
+        @Override
+        public Object getThis() {
+            return target;
+        }
+
+        private long[] authorityBits() {
+            if (authorityBits == null) {
+                authorityBits = authentication.getPrincipal() instanceof BitsetUser
+                    ? ((BitsetUser) authentication.getPrincipal()).getAuthorityBits()
+                    : authorityRegistry.compile(authentication.getAuthorities());
+            }
+            return authorityBits;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package io.kimos.talentpipe.security;
+
+import org.springframework.security.core.userdetails.User;
+
+/**
+ * A user carrying its authorities as a bitset of the {@link AuthorityRegistry}, so that they are checked with a
+ * bit test rather than by comparing names.
+ */
+public class BitsetUser extends User {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long[] authorityBits;
+
+    public BitsetUser(String username, String password, long[] authorityBits, AuthorityRegistry authorityRegistry) {
+        super(username, password, authorityRegistry.authorities(authorityBits));
+        this.authorityBits = authorityBits;
+    }
+
+    public long[] getAuthorityBits() {
+        return authorityBits;
+    }
+}
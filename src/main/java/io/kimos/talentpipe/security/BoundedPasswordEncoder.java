@@ -0,0 +1,99 @@
+package io.kimos.talentpipe.security;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import io.kimos.talentpipe.config.ApplicationProperties;
+import io.kimos.talentpipe.web.rest.errors.PasswordHashingUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password encoder running the hashing and the verification of passwords of a delegate encoder on a bounded pool.
+ * <p>
+ * This caps the CPU spent on BCrypt by a burst of logins or registrations, and the number of request threads
+ * waiting for it: once the pool and its queue are full, the request fails at once with a
+ * {@link PasswordHashingUnavailableException}, leaving the other request threads to the rest of the API.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final Logger log = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+
+    private final PasswordEncoder delegate;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Timer hashTime;
+
+    private final Meter rejected;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, ApplicationProperties.PasswordHashing properties,
+                                  MetricRegistry metricRegistry) {
+        this.delegate = delegate;
+        int poolSize = Math.max(1, properties.getPoolSize());
+        BlockingQueue<Runnable> queue = properties.getQueueCapacity() > 0
+            ? new ArrayBlockingQueue<>(properties.getQueueCapacity()) : new SynchronousQueue<>();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, queue,
+            new CustomizableThreadFactory("password-hashing-"), new ThreadPoolExecutor.AbortPolicy());
+        metricRegistry.register("security.password.hashing.queue", (Gauge<Integer>) queue::size);
+        metricRegistry.register("security.password.hashing.active", (Gauge<Integer>) executor::getActiveCount);
+        this.hashTime = metricRegistry.timer("security.password.hashing.time");
+        this.rejected = metricRegistry.meter("security.password.hashing.rejected");
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                try (Timer.Context ignored = hashTime.time()) {
+                    return task.call();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.mark();
+            log.warn("Password hashing pool is full, rejecting the request");
+            throw new PasswordHashingUnavailableException();
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -1,9 +1,7 @@
 package io.kimos.talentpipe.security;
 
-import io.kimos.talentpipe.domain.Authority;
-import io.kimos.talentpipe.domain.Role;
-import io.kimos.talentpipe.domain.User;
-import io.kimos.talentpipe.repository.UserRepository;
+import io.kimos.talentpipe.service.UserPrincipalService;
+import io.kimos.talentpipe.service.dto.UserPrincipalDTO;
 import org.hibernate.Hibernate;
 import org.hibernate.validator.internal.constraintvalidators.hv.EmailValidator;
 import org.slf4j.Logger;
@@ -12,10 +10,8 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Authenticate a user from the database.
@@ -25,38 +21,39 @@ public class DomainUserDetailsService implements UserDetailsService {
 
     private final Logger log = LoggerFactory.getLogger(DomainUserDetailsService.class);
 
-    private final UserRepository userRepository;
+    private final UserPrincipalService userPrincipalService;
 
-    public DomainUserDetailsService(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    private final AuthorityRegistry authorityRegistry;
+
+    public DomainUserDetailsService(UserPrincipalService userPrincipalService, AuthorityRegistry authorityRegistry) {
+        this.userPrincipalService = userPrincipalService;
+        this.authorityRegistry = authorityRegistry;
     }
 
     @Override
-    @Transactional
     public UserDetails loadUserByUsername(final String login) {
         log.debug("Authenticating {}", login);
 
         if (new EmailValidator().isValid(login, null)) {
-            return userRepository.findOneWithAuthoritiesByEmail(login)
+            return userPrincipalService.findOneByEmail(login)
                 .map(user -> createSpringSecurityUser(login, user))
                 .orElseThrow(() -> new UsernameNotFoundException("User with email " + login + " was not found in the database"));
         }
 
         String lowercaseLogin = login.toLowerCase(Locale.ENGLISH);
-        return userRepository.findOneWithAuthoritiesByLogin(lowercaseLogin)
+        return userPrincipalService.findOneByLogin(lowercaseLogin)
             .map(user -> createSpringSecurityUser(lowercaseLogin, user))
             .orElseThrow(() -> new UsernameNotFoundException("User " + lowercaseLogin + " was not found in the database"));
 
     }
 
-    @Transactional
-    org.springframework.security.core.userdetails.User createSpringSecurityUser(String lowercaseLogin, User user) {
-        if (!user.getActivated()) {
+    org.springframework.security.core.userdetails.User createSpringSecurityUser(String lowercaseLogin, UserPrincipalDTO user) {
+        if (!user.isActivated()) {
             throw new UserNotActivatedException("User " + lowercaseLogin + " was not activated");
         }
-        Set<Authority> authorities = user.getRoles().stream().map(Role::getAuthorities).flatMap(Collection::stream).collect(Collectors.toSet());
-        return new org.springframework.security.core.userdetails.User(user.getLogin(),
+        return new BitsetUser(user.getLogin(),
             user.getPassword(),
-            authorities);
+            authorityRegistry.compileRoles(user.getAuthoritiesByRole()),
+            authorityRegistry);
     }
 }
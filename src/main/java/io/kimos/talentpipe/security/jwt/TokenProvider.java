@@ -1,16 +1,19 @@
 package io.kimos.talentpipe.security.jwt;
 
+import com.codahale.metrics.MetricRegistry;
 import io.github.jhipster.config.JHipsterProperties;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.kimos.talentpipe.config.ApplicationProperties;
+import io.kimos.talentpipe.security.AuthorityRegistry;
+import io.kimos.talentpipe.security.BitsetUser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
@@ -18,8 +21,8 @@ import javax.annotation.PostConstruct;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Date;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Component
@@ -28,12 +31,17 @@ public class TokenProvider {
     private static final String AUTHORITIES_KEY = "auth";
     private final Logger log = LoggerFactory.getLogger(TokenProvider.class);
     private final JHipsterProperties jHipsterProperties;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final AuthorityRegistry authorityRegistry;
     private Key key;
     private long tokenValidityInMilliseconds;
     private long tokenValidityInMillisecondsForRememberMe;
 
-    public TokenProvider(JHipsterProperties jHipsterProperties) {
+    public TokenProvider(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties,
+                         MetricRegistry metricRegistry, AuthorityRegistry authorityRegistry) {
         this.jHipsterProperties = jHipsterProperties;
+        this.authorityRegistry = authorityRegistry;
+        this.verifiedTokenCache = new VerifiedTokenCache(applicationProperties.getJwt().getAuthenticationCacheSize(), metricRegistry);
     }
 
     @PostConstruct
@@ -77,26 +85,26 @@ public class TokenProvider {
             .compact();
     }
 
+    /**
+     * Get the Authentication of a token, verifying the token only if it was not verified yet on this node.
+     *
+     * @param token the token
+     * @return the Authentication of the token
+     * @throws JwtException if the token is not valid
+     */
     public Authentication getAuthentication(String token) {
-        Claims claims = Jwts.parser()
-            .setSigningKey(key)
-            .parseClaimsJws(token)
-            .getBody();
-
-        Collection<? extends GrantedAuthority> authorities =
-            Arrays.stream(claims.get(AUTHORITIES_KEY).toString().split(","))
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList());
-
-        User principal = new User(claims.getSubject(), "", authorities);
-
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+        return verifiedTokenCache.get(token, this::verify);
     }
 
-    public boolean validateToken(String authToken) {
+    /**
+     * Get the Authentication of a token, if the token is valid.
+     *
+     * @param token the token
+     * @return the Authentication of the token, or empty if the token is not valid
+     */
+    public Optional<Authentication> getValidAuthentication(String token) {
         try {
-            Jwts.parser().setSigningKey(key).parseClaimsJws(authToken);
-            return true;
+            return Optional.of(getAuthentication(token));
         } catch (io.jsonwebtoken.security.SecurityException | MalformedJwtException e) {
             log.info("Invalid JWT signature.");
             log.trace("Invalid JWT signature trace: {}", e);
@@ -110,6 +118,29 @@ public class TokenProvider {
             log.info("JWT token compact of handler are invalid.");
             log.trace("JWT token compact of handler are invalid trace: {}", e);
         }
-        return false;
+        return Optional.empty();
+    }
+
+    public boolean validateToken(String authToken) {
+        return getValidAuthentication(authToken).isPresent();
+    }
+
+    private VerifiedTokenCache.VerifiedToken verify(String token) {
+        Claims claims = Jwts.parser()
+            .setSigningKey(key)
+            .parseClaimsJws(token)
+            .getBody();
+
+        long[] authorityBits =
+            authorityRegistry.compile(Arrays.stream(claims.get(AUTHORITIES_KEY).toString().split(","))
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList()));
+
+        BitsetUser principal = new BitsetUser(claims.getSubject(), "", authorityBits, authorityRegistry);
+
+        Date expiration = claims.getExpiration();
+        return new VerifiedTokenCache.VerifiedToken(
+            new UsernamePasswordAuthenticationToken(principal, token, principal.getAuthorities()),
+            expiration != null ? expiration.getTime() : 0);
     }
 }
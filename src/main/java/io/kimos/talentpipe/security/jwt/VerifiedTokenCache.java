@@ -0,0 +1,106 @@
+package io.kimos.talentpipe.security.jwt;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import org.springframework.security.core.Authentication;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of the Authentications of the verified tokens, so that each token is verified and parsed once
+ * per node rather than on every request.
+ * <p>
+ * Tokens are keyed by their SHA-256 digest, and an Authentication is only returned until the expiration of its
+ * token. Invalid tokens are never cached. When the cache is full, the expired tokens are dropped, and if that is
+ * not enough the whole cache is.
+ */
+class VerifiedTokenCache {
+
+    private final int maxSize;
+
+    private final ConcurrentMap<ByteBuffer, VerifiedToken> tokens = new ConcurrentHashMap<>();
+
+    private final Meter hits;
+
+    private final Meter misses;
+
+    VerifiedTokenCache(int maxSize, MetricRegistry metricRegistry) {
+        this.maxSize = maxSize;
+        this.hits = metricRegistry.meter("security.jwt.cache.hits");
+        this.misses = metricRegistry.meter("security.jwt.cache.misses");
+        metricRegistry.register("security.jwt.cache.size", (Gauge<Integer>) tokens::size);
+    }
+
+    /**
+     * Get the Authentication of a token, verifying the token unless it is cached.
+     *
+     * @param token    the token
+     * @param verifier verifies and parses a token, throwing an exception if it is not valid
+     * @return the Authentication of the token
+     */
+    Authentication get(String token, Function<String, VerifiedToken> verifier) {
+        if (maxSize <= 0) {
+            return verifier.apply(token).authentication;
+        }
+        ByteBuffer digest = digest(token);
+        long now = System.currentTimeMillis();
+        VerifiedToken verified = tokens.get(digest);
+        if (verified != null && verified.expiresAt > now) {
+            hits.mark();
+            return verified.authentication;
+        }
+        misses.mark();
+        if (verified != null) {
+            tokens.remove(digest, verified);
+        }
+        verified = verifier.apply(token);
+        if (verified.expiresAt > now) {
+            if (tokens.size() >= maxSize) {
+                tokens.values().removeIf(cached -> cached.expiresAt <= now);
+                if (tokens.size() >= maxSize) {
+                    tokens.clear();
+                }
+            }
+            tokens.put(digest, verified);
+        }
+        return verified.authentication;
+    }
+
+    int size() {
+        return tokens.size();
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * The Authentication of a verified token, with the expiration of the token.
+     */
+    static final class VerifiedToken {
+
+        private final Authentication authentication;
+
+        private final long expiresAt;
+
+        /**
+         * @param authentication the Authentication of the token
+         * @param expiresAt      the expiration of the token in milliseconds since the epoch, or 0 to not cache it
+         */
+        VerifiedToken(Authentication authentication, long expiresAt) {
+            this.authentication = authentication;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
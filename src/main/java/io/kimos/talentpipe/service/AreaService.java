@@ -35,6 +35,14 @@ public interface AreaService {
      */
     Optional<Area> findOne(Long id);
 
+    /**
+     * Get the "name" area.
+     *
+     * @param name the name of the entity, compared once normalized
+     * @return the entity
+     */
+    Optional<Area> findByName(String name);
+
     /**
      * Delete the "id" area.
      *
@@ -3,12 +3,14 @@ package io.kimos.talentpipe.service;
 import io.kimos.talentpipe.config.audit.AuditEventConverter;
 import io.kimos.talentpipe.repository.PersistenceAuditEventRepository;
 import org.springframework.boot.actuate.audit.AuditEvent;
+import org.springframework.boot.actuate.audit.AuditEventRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -24,12 +26,16 @@ public class AuditEventService {
 
     private final AuditEventConverter auditEventConverter;
 
+    private final AuditEventRepository auditEventRepository;
+
     public AuditEventService(
         PersistenceAuditEventRepository persistenceAuditEventRepository,
-        AuditEventConverter auditEventConverter) {
+        AuditEventConverter auditEventConverter,
+        AuditEventRepository auditEventRepository) {
 
         this.persistenceAuditEventRepository = persistenceAuditEventRepository;
         this.auditEventConverter = auditEventConverter;
+        this.auditEventRepository = auditEventRepository;
     }
 
     public Page<AuditEvent> findAll(Pageable pageable) {
@@ -42,6 +48,14 @@ public class AuditEventService {
             .map(auditEventConverter::convertToAuditEvent);
     }
 
+    /**
+     * Recent events are answered from memory, older ones from the database.
+     */
+    @Transactional(readOnly = true)
+    public List<AuditEvent> findRecent(String principal, Instant after, String type) {
+        return auditEventRepository.find(principal, after, type);
+    }
+
     public Optional<AuditEvent> find(Long id) {
         return Optional.ofNullable(persistenceAuditEventRepository.findById(id))
             .filter(Optional::isPresent)
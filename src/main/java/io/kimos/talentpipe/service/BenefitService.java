@@ -35,6 +35,14 @@ public interface BenefitService {
      */
     Optional<Benefit> findOne(Long id);
 
+    /**
+     * Get the "name" benefit.
+     *
+     * @param name the name of the entity, compared once normalized
+     * @return the entity
+     */
+    Optional<Benefit> findByName(String name);
+
     /**
      * Delete the "id" benefit.
      *
@@ -1,10 +1,12 @@
 package io.kimos.talentpipe.service;
 
-import io.github.jhipster.service.QueryService;
 import io.kimos.talentpipe.domain.*;
 import io.kimos.talentpipe.repository.CompanyRepository;
 import io.kimos.talentpipe.repository.search.CompanySearchRepository;
 import io.kimos.talentpipe.service.dto.CompanyCriteria;
+import io.kimos.talentpipe.service.dto.KeysetPageRequest;
+import io.kimos.talentpipe.service.dto.KeysetSlice;
+import io.kimos.talentpipe.service.pagination.ApproximateCountPager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -13,17 +15,28 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Service for executing complex queries for Company entities in the database.
  * The main input is a {@link CompanyCriteria} which gets converted to {@link Specification},
  * in a way that all the filters must apply.
- * It returns a {@link List} of {@link Company} or a {@link Page} of {@link Company} which fulfills the criteria.
+ * It returns a {@link List} of {@link Company}, a {@link Page} of {@link Company} or a {@link KeysetSlice} of {@link Company}
+ * which fulfills the criteria.
  */
 @Service
 @Transactional(readOnly = true)
-public class CompanyQueryService extends QueryService<Company> {
+public class CompanyQueryService extends KeysetQueryService<Company> {
+
+    /**
+     * The properties a keyset page can be sorted on, besides the id.
+     */
+    public static final Set<String> KEYSET_SORTABLE_PROPERTIES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+        "name", "taxName", "taxId", "email")));
 
     private final Logger log = LoggerFactory.getLogger(CompanyQueryService.class);
 
@@ -31,9 +44,14 @@ public class CompanyQueryService extends QueryService<Company> {
 
     private final CompanySearchRepository companySearchRepository;
 
-    public CompanyQueryService(CompanyRepository companyRepository, CompanySearchRepository companySearchRepository) {
+    private final ApproximateCountPager approximateCountPager;
+
+    public CompanyQueryService(CompanyRepository companyRepository, CompanySearchRepository companySearchRepository,
+                               ApproximateCountPager approximateCountPager) {
+        super(Company.class);
         this.companyRepository = companyRepository;
         this.companySearchRepository = companySearchRepository;
+        this.approximateCountPager = approximateCountPager;
     }
 
     /**
@@ -60,7 +78,21 @@ public class CompanyQueryService extends QueryService<Company> {
     public Page<Company> findByCriteria(CompanyCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
         final Specification<Company> specification = createSpecification(criteria);
-        return companyRepository.findAll(specification, page);
+        return approximateCountPager.findPage(companyRepository, Company.class, specification, String.valueOf(criteria), page);
+    }
+
+    /**
+     * Return a {@link KeysetSlice} of {@link Company} which matches the criteria from the database, without counting them
+     *
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page     The keyset page, which should be returned.
+     * @return the matching entities, and the cursor of the next page.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<Company> findByCriteria(CompanyCriteria criteria, KeysetPageRequest page) {
+        log.debug("find by criteria : {}, keyset page: {}", criteria, page);
+        final Specification<Company> specification = createSpecification(criteria);
+        return findAfter(companyRepository, specification, page);
     }
 
     /**
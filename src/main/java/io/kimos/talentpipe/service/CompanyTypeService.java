@@ -35,6 +35,14 @@ public interface CompanyTypeService {
      */
     Optional<CompanyType> findOne(Long id);
 
+    /**
+     * Get the "name" companyType.
+     *
+     * @param name the name of the entity, compared once normalized
+     * @return the entity
+     */
+    Optional<CompanyType> findByName(String name);
+
     /**
      * Delete the "id" companyType.
      *
@@ -35,6 +35,14 @@ public interface CountryService {
      */
     Optional<Country> findOne(Long id);
 
+    /**
+     * Get the "name" country.
+     *
+     * @param name the name of the entity, compared once normalized
+     * @return the entity
+     */
+    Optional<Country> findByName(String name);
+
     /**
      * Delete the "id" country.
      *
@@ -0,0 +1,190 @@
+package io.kimos.talentpipe.service;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IAtomicLong;
+import com.hazelcast.core.IMap;
+import io.kimos.talentpipe.domain.Authority;
+import io.kimos.talentpipe.domain.Role;
+import io.kimos.talentpipe.repository.UserRepository;
+import io.kimos.talentpipe.security.SecurityUtils;
+import io.kimos.talentpipe.service.dto.CurrentUserDTO;
+import io.kimos.talentpipe.service.event.EntityCommittedEvent;
+import io.kimos.talentpipe.service.util.RemoveEntryProcessor;
+import io.kimos.talentpipe.web.rest.errors.UserNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Service resolving the authenticated user, without loading its entity, roles and company.
+ * <p>
+ * The user is resolved once per request, from a Hazelcast map keyed by login which is filled by a single query
+ * on a miss. A read-write transaction always runs the query, as it may hold uncommitted changes to the user.
+ * The map entry of a user is removed whenever the user is written, see {@link UserService}, and the whole map
+ * is cleared once a role or an authority is committed, see {@link #clearAfterCommit()}. Every eviction bumps a cluster-wide counter, and a user
+ * loaded while the counter moved is taken out of the map again, so that an eviction cannot be undone by a request
+ * which read the user before the eviction and put it after.
+ */
+@Service
+public class CurrentUserService {
+
+    public static final String CURRENT_USERS_MAP = "current-users";
+
+    public static final String CURRENT_USERS_EVICTIONS = "current-users-evictions";
+
+    private static final String REQUEST_ATTRIBUTE = CurrentUserService.class.getName() + ".currentUser";
+
+    private final Logger log = LoggerFactory.getLogger(CurrentUserService.class);
+
+    private final UserRepository userRepository;
+
+    private final HazelcastInstance hazelcastInstance;
+
+    public CurrentUserService(UserRepository userRepository, HazelcastInstance hazelcastInstance) {
+        this.userRepository = userRepository;
+        this.hazelcastInstance = hazelcastInstance;
+    }
+
+    /**
+     * Get the authenticated user.
+     *
+     * @return the authenticated user, or empty if the request is not authenticated
+     * @throws UserNotFoundException if the authenticated user does not exist
+     */
+    public Optional<CurrentUserDTO> getCurrentUser() {
+        return SecurityUtils.getCurrentUserLogin().map(this::getCurrentUser);
+    }
+
+    private CurrentUserDTO getCurrentUser(String login) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            Object resolved = requestAttributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (resolved instanceof CurrentUserDTO && login.equals(((CurrentUserDTO) resolved).getLogin())) {
+                return (CurrentUserDTO) resolved;
+            }
+        }
+        CurrentUserDTO currentUser;
+        if (isReadWriteTransaction()) {
+            currentUser = load(login);
+        } else {
+            currentUser = currentUsers().get(login);
+            if (currentUser == null) {
+                long evictions = evictions().get();
+                currentUser = load(login);
+                currentUsers().set(login, currentUser);
+                if (evictions().get() != evictions) {
+                    currentUsers().remove(login, currentUser);
+                }
+            }
+        }
+        if (requestAttributes != null) {
+            requestAttributes.setAttribute(REQUEST_ATTRIBUTE, currentUser, RequestAttributes.SCOPE_REQUEST);
+        }
+        return currentUser;
+    }
+
+    /**
+     * Forget a user, now and once the current transaction commits, so that a request running meanwhile
+     * cannot put its uncommitted state back.
+     *
+     * @param login the login of the user
+     */
+    public void evict(String login) {
+        if (login == null) {
+            return;
+        }
+        evictions().incrementAndGet();
+        currentUsers().delete(login);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    evictions().incrementAndGet();
+                    currentUsers().delete(login);
+                }
+            });
+        }
+    }
+
+    /**
+     * Forget several users at once, once their deletion is committed.
+     *
+     * @param logins the logins of the users
+     */
+    public void evictAll(Set<String> logins) {
+        if (!logins.isEmpty()) {
+            evictions().incrementAndGet();
+            currentUsers().executeOnKeys(logins, new RemoveEntryProcessor());
+        }
+    }
+
+    /**
+     * Forget all the users once the current transaction commits, as it writes roles or authorities.
+     * <p>
+     * Hibernate reports no entity change for a role whose authorities alone changed, so the services writing
+     * roles and authorities call this rather than relying on {@link #onEntityCommitted(EntityCommittedEvent)}.
+     */
+    public void clearAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    clear();
+                }
+            });
+        } else {
+            clear();
+        }
+    }
+
+    @EventListener
+    public void onEntityCommitted(EntityCommittedEvent event) {
+        if (Role.class.equals(event.getEntityType()) || Authority.class.equals(event.getEntityType())) {
+            log.debug("{} changed, clearing the current users", event.getEntityType().getSimpleName());
+            clear();
+        }
+    }
+
+    private void clear() {
+        evictions().incrementAndGet();
+        currentUsers().clear();
+    }
+
+    private CurrentUserDTO load(String login) {
+        List<Object[]> rows = userRepository.findCurrentUserColumnsByLogin(login);
+        if (rows.isEmpty()) {
+            throw new UserNotFoundException();
+        }
+        Set<String> authorities = new HashSet<>();
+        for (Object[] row : rows) {
+            if (row[2] != null) {
+                authorities.add((String) row[2]);
+            }
+        }
+        Object[] first = rows.get(0);
+        return new CurrentUserDTO((Long) first[0], login, (Long) first[1], authorities);
+    }
+
+    private static boolean isReadWriteTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+            && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private IMap<String, CurrentUserDTO> currentUsers() {
+        return hazelcastInstance.getMap(CURRENT_USERS_MAP);
+    }
+
+    private IAtomicLong evictions() {
+        return hazelcastInstance.getAtomicLong(CURRENT_USERS_EVICTIONS);
+    }
+}
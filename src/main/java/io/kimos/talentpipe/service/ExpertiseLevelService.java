@@ -33,6 +33,14 @@ public interface ExpertiseLevelService {
      */
     Optional<ExpertiseLevel> findOne(Long id);
 
+    /**
+     * Get the "name" expertiseLevel.
+     *
+     * @param name the name of the entity, compared once normalized
+     * @return the entity
+     */
+    Optional<ExpertiseLevel> findByName(String name);
+
     /**
      * Delete the "id" expertiseLevel.
      *
@@ -0,0 +1,107 @@
+package io.kimos.talentpipe.service;
+
+import io.github.jhipster.service.QueryService;
+import io.kimos.talentpipe.repository.JpaSliceExecutor;
+import io.kimos.talentpipe.service.dto.KeysetCursor;
+import io.kimos.talentpipe.service.dto.KeysetPageRequest;
+import io.kimos.talentpipe.service.dto.KeysetSlice;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import java.beans.PropertyDescriptor;
+import java.util.List;
+
+/**
+ * Base service for executing complex queries on entities, adding keyset (seek) pagination to {@link QueryService}.
+ * <p>
+ * Instead of skipping the rows of the previous pages with an offset, a keyset page starts after the sort key and
+ * id of the last entity of the previous page, so deep pages cost the same as the first one. No count query is run:
+ * one more entity than the page size is fetched to know whether there is a next page.
+ *
+ * @param <ENTITY> the type of the entity which is queried.
+ */
+public abstract class KeysetQueryService<ENTITY> extends QueryService<ENTITY> {
+
+    private static final ConversionService CONVERSION_SERVICE = DefaultConversionService.getSharedInstance();
+
+    private final Class<ENTITY> entityClass;
+
+    protected KeysetQueryService(Class<ENTITY> entityClass) {
+        this.entityClass = entityClass;
+    }
+
+    /**
+     * Return a {@link KeysetSlice} of the entities matching a {@link Specification}.
+     *
+     * @param executor      the repository of the entities
+     * @param specification the filters the entities must match
+     * @param request       the page, which should be returned
+     * @return the matching entities, and the cursor of the next page
+     * @throws IllegalArgumentException if the cursor of the request does not match the entity
+     */
+    protected KeysetSlice<ENTITY> findAfter(JpaSliceExecutor<ENTITY> executor, Specification<ENTITY> specification,
+                                            KeysetPageRequest request) {
+        Sort.Order order = request.getOrder();
+        if (request.getAfter() != null) {
+            specification = Specification.where(specification).and(seek(request.getAfter()));
+        }
+        Sort sort = KeysetPageRequest.ID_PROPERTY.equals(order.getProperty())
+            ? Sort.by(order)
+            : Sort.by(order, new Sort.Order(order.getDirection(), KeysetPageRequest.ID_PROPERTY));
+        Slice<ENTITY> slice = executor.findSlice(specification, PageRequest.of(0, request.getSize(), sort));
+        List<ENTITY> content = slice.getContent();
+        KeysetCursor next = slice.hasNext() ? cursor(order, content.get(content.size() - 1)) : null;
+        return new KeysetSlice<>(content, order, request.getSize(), next);
+    }
+
+    /**
+     * Keep the entities following the cursor: {@code key > value or (key = value and id > lastId)},
+     * with the comparisons reversed for a descending order.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Specification<ENTITY> seek(KeysetCursor cursor) {
+        String property = cursor.getOrder().getProperty();
+        boolean ascending = cursor.getOrder().isAscending();
+        Comparable value = KeysetPageRequest.ID_PROPERTY.equals(property) ? null : sortKey(property, cursor.getValue());
+        return (root, query, cb) -> {
+            Path<Long> id = root.get(KeysetPageRequest.ID_PROPERTY);
+            Predicate afterId = ascending ? cb.greaterThan(id, cursor.getId()) : cb.lessThan(id, cursor.getId());
+            if (value == null) {
+                return afterId;
+            }
+            Path<Comparable> key = root.get(property);
+            Predicate afterKey = ascending ? cb.greaterThan(key, value) : cb.lessThan(key, value);
+            return cb.or(afterKey, cb.and(cb.equal(key, value), afterId));
+        };
+    }
+
+    private Comparable<?> sortKey(String property, String value) {
+        PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(entityClass, property);
+        if (descriptor == null || value == null) {
+            throw new IllegalArgumentException("Invalid cursor on " + entityClass.getSimpleName() + "." + property);
+        }
+        try {
+            return (Comparable<?>) CONVERSION_SERVICE.convert(value, descriptor.getPropertyType());
+        } catch (ConversionException | ClassCastException e) {
+            throw new IllegalArgumentException("Invalid cursor on " + entityClass.getSimpleName() + "." + property, e);
+        }
+    }
+
+    private KeysetCursor cursor(Sort.Order order, ENTITY last) {
+        BeanWrapperImpl wrapper = new BeanWrapperImpl(last);
+        Long id = (Long) wrapper.getPropertyValue(KeysetPageRequest.ID_PROPERTY);
+        String value = KeysetPageRequest.ID_PROPERTY.equals(order.getProperty())
+            ? null
+            : CONVERSION_SERVICE.convert(wrapper.getPropertyValue(order.getProperty()), String.class);
+        return new KeysetCursor(order, value, id);
+    }
+}
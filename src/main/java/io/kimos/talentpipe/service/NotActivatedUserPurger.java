@@ -0,0 +1,159 @@
+package io.kimos.talentpipe.service;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ILock;
+import io.kimos.talentpipe.config.ApplicationProperties;
+import io.kimos.talentpipe.config.TieredCache;
+import io.kimos.talentpipe.domain.User;
+import io.kimos.talentpipe.repository.UserRepository;
+import io.kimos.talentpipe.service.search.SearchIndexer;
+import org.hibernate.query.NativeQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Deletes the users which were not activated in time, in chunks.
+ * <p>
+ * Each chunk is deleted in its own transaction with two bulk deletes, one for the roles of the users and one for
+ * the users, and their search documents and cache entries are removed once per chunk. A cluster-wide lock keeps
+ * the purge to one node at a time. Users still referenced by a recruiter or a company are left alone.
+ */
+@Service
+public class NotActivatedUserPurger {
+
+    static final String LOCK_NAME = "not-activated-user-purge";
+
+    private final Logger log = LoggerFactory.getLogger(NotActivatedUserPurger.class);
+
+    private final UserRepository userRepository;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final SearchIndexer searchIndexer;
+
+    private final CacheManager cacheManager;
+
+    private final CurrentUserService currentUserService;
+
+    private final HazelcastInstance hazelcastInstance;
+
+    private final ApplicationProperties.UserPurge properties;
+
+    private final Meter deletedUsers;
+
+    private final Timer chunks;
+
+    public NotActivatedUserPurger(UserRepository userRepository, EntityManager entityManager,
+                                  PlatformTransactionManager transactionManager, SearchIndexer searchIndexer,
+                                  CacheManager cacheManager, CurrentUserService currentUserService,
+                                  HazelcastInstance hazelcastInstance, ApplicationProperties applicationProperties,
+                                  MetricRegistry metricRegistry) {
+        this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.searchIndexer = searchIndexer;
+        this.cacheManager = cacheManager;
+        this.currentUserService = currentUserService;
+        this.hazelcastInstance = hazelcastInstance;
+        this.properties = applicationProperties.getUserPurge();
+        this.deletedUsers = metricRegistry.meter("users.purge.deleted");
+        this.chunks = metricRegistry.timer("users.purge.chunks");
+    }
+
+    /**
+     * Delete the users not activated since a date, unless another node is already doing it.
+     *
+     * @param createdBefore the creation date before which not activated users are deleted
+     * @return the number of deleted users
+     */
+    public int purge(Instant createdBefore) {
+        ILock lock = hazelcastInstance.getLock(LOCK_NAME);
+        if (!lock.tryLock()) {
+            log.info("Not activated users are already being deleted by another node");
+            return 0;
+        }
+        try {
+            int chunkSize = Math.max(1, properties.getChunkSize());
+            int deleted = 0;
+            long afterId = 0;
+            List<Object[]> chunk;
+            do {
+                long chunkAfterId = afterId;
+                try (Timer.Context ignored = chunks.time()) {
+                    chunk = transactionTemplate.execute(status -> purgeChunk(createdBefore, chunkAfterId, chunkSize));
+                }
+                if (!chunk.isEmpty()) {
+                    evictCaches(chunk);
+                    deleted += chunk.size();
+                    deletedUsers.mark(chunk.size());
+                    afterId = (Long) chunk.get(chunk.size() - 1)[0];
+                    log.debug("Deleted {} not activated users so far", deleted);
+                }
+            } while (chunk.size() == chunkSize);
+            log.info("Deleted {} not activated users created before {}", deleted, createdBefore);
+            return deleted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<Object[]> purgeChunk(Instant createdBefore, long afterId, int chunkSize) {
+        List<Object[]> chunk = userRepository.findNotActivatedUserColumns(createdBefore, afterId, PageRequest.of(0, chunkSize));
+        if (chunk.isEmpty()) {
+            return chunk;
+        }
+        List<Long> ids = new ArrayList<>(chunk.size());
+        chunk.forEach(row -> ids.add((Long) row[0]));
+        // Synchronized on User, so that only its cache regions are invalidated rather than all of them
+        entityManager.createNativeQuery("delete from user_role where user_id in (:ids)")
+            .setParameter("ids", ids)
+            .unwrap(NativeQuery.class)
+            .addSynchronizedEntityClass(User.class)
+            .executeUpdate();
+        userRepository.deleteByIdIn(ids);
+        searchIndexer.delete(User.class, ids);
+        return chunk;
+    }
+
+    private void evictCaches(List<Object[]> chunk) {
+        Set<String> logins = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (Object[] row : chunk) {
+            logins.add((String) row[1]);
+            if (row[2] != null) {
+                emails.add((String) row[2]);
+            }
+        }
+        evict(UserRepository.USERS_BY_LOGIN_CACHE, logins);
+        evict(UserRepository.USERS_BY_EMAIL_CACHE, emails);
+        currentUserService.evictAll(logins);
+    }
+
+    private void evict(String cacheName, Set<String> keys) {
+        Cache cache = Objects.requireNonNull(cacheManager.getCache(cacheName));
+        if (cache instanceof TieredCache) {
+            ((TieredCache) cache).evictAll(keys);
+        } else {
+            keys.forEach(cache::evict);
+        }
+    }
+}
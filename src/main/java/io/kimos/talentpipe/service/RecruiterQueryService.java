@@ -1,13 +1,15 @@
 package io.kimos.talentpipe.service;
 
-import io.github.jhipster.service.QueryService;
 import io.kimos.talentpipe.domain.City_;
 import io.kimos.talentpipe.domain.Recruiter;
 import io.kimos.talentpipe.domain.Recruiter_;
 import io.kimos.talentpipe.domain.Sector_;
 import io.kimos.talentpipe.repository.RecruiterRepository;
 import io.kimos.talentpipe.repository.search.RecruiterSearchRepository;
+import io.kimos.talentpipe.service.dto.KeysetPageRequest;
+import io.kimos.talentpipe.service.dto.KeysetSlice;
 import io.kimos.talentpipe.service.dto.RecruiterCriteria;
+import io.kimos.talentpipe.service.pagination.ApproximateCountPager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -16,17 +18,28 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Service for executing complex queries for Recruiter entities in the database.
  * The main input is a {@link RecruiterCriteria} which gets converted to {@link Specification},
  * in a way that all the filters must apply.
- * It returns a {@link List} of {@link Recruiter} or a {@link Page} of {@link Recruiter} which fulfills the criteria.
+ * It returns a {@link List} of {@link Recruiter}, a {@link Page} of {@link Recruiter} or a {@link KeysetSlice} of {@link Recruiter}
+ * which fulfills the criteria.
  */
 @Service
 @Transactional(readOnly = true)
-public class RecruiterQueryService extends QueryService<Recruiter> {
+public class RecruiterQueryService extends KeysetQueryService<Recruiter> {
+
+    /**
+     * The properties a keyset page can be sorted on, besides the id.
+     */
+    public static final Set<String> KEYSET_SORTABLE_PROPERTIES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+        "name", "lastName", "email", "taxId")));
 
     private final Logger log = LoggerFactory.getLogger(RecruiterQueryService.class);
 
@@ -34,9 +47,14 @@ public class RecruiterQueryService extends QueryService<Recruiter> {
 
     private final RecruiterSearchRepository recruiterSearchRepository;
 
-    public RecruiterQueryService(RecruiterRepository recruiterRepository, RecruiterSearchRepository recruiterSearchRepository) {
+    private final ApproximateCountPager approximateCountPager;
+
+    public RecruiterQueryService(RecruiterRepository recruiterRepository, RecruiterSearchRepository recruiterSearchRepository,
+                                 ApproximateCountPager approximateCountPager) {
+        super(Recruiter.class);
         this.recruiterRepository = recruiterRepository;
         this.recruiterSearchRepository = recruiterSearchRepository;
+        this.approximateCountPager = approximateCountPager;
     }
 
     /**
@@ -63,7 +81,21 @@ public class RecruiterQueryService extends QueryService<Recruiter> {
     public Page<Recruiter> findByCriteria(RecruiterCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
         final Specification<Recruiter> specification = createSpecification(criteria);
-        return recruiterRepository.findAll(specification, page);
+        return approximateCountPager.findPage(recruiterRepository, Recruiter.class, specification, String.valueOf(criteria), page);
+    }
+
+    /**
+     * Return a {@link KeysetSlice} of {@link Recruiter} which matches the criteria from the database, without counting them
+     *
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page     The keyset page, which should be returned.
+     * @return the matching entities, and the cursor of the next page.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<Recruiter> findByCriteria(RecruiterCriteria criteria, KeysetPageRequest page) {
+        log.debug("find by criteria : {}, keyset page: {}", criteria, page);
+        final Specification<Recruiter> specification = createSpecification(criteria);
+        return findAfter(recruiterRepository, specification, page);
     }
 
     /**
@@ -1,10 +1,13 @@
 package io.kimos.talentpipe.service;
 
 import io.kimos.talentpipe.domain.SearchRequest;
-import io.kimos.talentpipe.domain.User;
+import io.kimos.talentpipe.service.dto.SimilarSearchRequestDTO;
+import io.kimos.talentpipe.service.index.SkillQuery;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -50,6 +53,38 @@ public interface SearchRequestService {
      */
     void delete(Long id);
 
+    /**
+     * Get the searchRequests matching a skill query, newest first.
+     *
+     * @param skillQuery the skills the searchRequests must, may or must not ask for
+     * @param companyId  the company the searchRequests must belong to, or null for all companies
+     * @param pageable   the pagination information
+     * @return the list of entities
+     */
+    Page<SearchRequest> findAllBySkills(SkillQuery skillQuery, Long companyId, Pageable pageable);
+
+    /**
+     * Get the searchRequests whose salary band overlaps a salary range, by increasing minimum salary.
+     *
+     * @param from             the lowest salary of the range
+     * @param to               the highest salary of the range
+     * @param expertiseLevelId the expertise level the searchRequests must ask for, or null for all expertise levels
+     * @param companyId        the company the searchRequests must belong to, or null for all companies
+     * @param pageable         the pagination information
+     * @return the list of entities
+     */
+    Page<SearchRequest> findAllBySalary(BigDecimal from, BigDecimal to, Long expertiseLevelId, Long companyId, Pageable pageable);
+
+    /**
+     * Get the searchRequests most similar to the "id" searchRequest.
+     *
+     * @param id        the id of the entity to compare to
+     * @param companyId the company both the entity and the similar searchRequests must belong to, or null for all companies
+     * @param size      the maximum number of similar searchRequests
+     * @return the similar searchRequests, most similar first, or empty if the entity does not exist
+     */
+    Optional<List<SimilarSearchRequestDTO>> findSimilar(Long id, Long companyId, int size);
+
     /**
      * Search for the searchRequest corresponding to the query.
      *
@@ -59,5 +94,12 @@ public interface SearchRequestService {
      */
     Page<SearchRequest> search(String query, Pageable pageable);
 
-    Page<SearchRequest> findAllForCompany(Pageable pageable, User user);
+    /**
+     * Get the searchRequests of a company.
+     *
+     * @param pageable  the pagination information
+     * @param companyId the id of the company
+     * @return the list of entities
+     */
+    Page<SearchRequest> findAllForCompany(Pageable pageable, Long companyId);
 }
@@ -33,6 +33,14 @@ public interface SearchStatusService {
      */
     Optional<SearchStatus> findOne(Long id);
 
+    /**
+     * Get the "name" searchStatus.
+     *
+     * @param name the name of the entity, compared once normalized
+     * @return the entity
+     */
+    Optional<SearchStatus> findByName(String name);
+
     /**
      * Delete the "id" searchStatus.
      *
@@ -35,6 +35,14 @@ public interface SearchTypeService {
      */
     Optional<SearchType> findOne(Long id);
 
+    /**
+     * Get the "name" searchType.
+     *
+     * @param name the name of the entity, compared once normalized
+     * @return the entity
+     */
+    Optional<SearchType> findByName(String name);
+
     /**
      * Delete the "id" searchType.
      *
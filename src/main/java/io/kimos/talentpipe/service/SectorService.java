@@ -35,6 +35,14 @@ public interface SectorService {
      */
     Optional<Sector> findOne(Long id);
 
+    /**
+     * Get the "name" sector.
+     *
+     * @param name the name of the entity, compared once normalized
+     * @return the entity
+     */
+    Optional<Sector> findByName(String name);
+
     /**
      * Delete the "id" sector.
      *
@@ -35,6 +35,14 @@ public interface SoftSkillService {
      */
     Optional<SoftSkill> findOne(Long id);
 
+    /**
+     * Get the "name" softSkill.
+     *
+     * @param name the name of the entity, compared once normalized
+     * @return the entity
+     */
+    Optional<SoftSkill> findByName(String name);
+
     /**
      * Delete the "id" softSkill.
      *
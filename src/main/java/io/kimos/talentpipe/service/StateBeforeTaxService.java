@@ -35,6 +35,14 @@ public interface StateBeforeTaxService {
      */
     Optional<StateBeforeTax> findOne(Long id);
 
+    /**
+     * Get the "name" stateBeforeTax.
+     *
+     * @param name the name of the entity, compared once normalized
+     * @return the entity
+     */
+    Optional<StateBeforeTax> findByName(String name);
+
     /**
      * Delete the "id" stateBeforeTax.
      *
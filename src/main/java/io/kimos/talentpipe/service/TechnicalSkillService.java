@@ -35,6 +35,14 @@ public interface TechnicalSkillService {
      */
     Optional<TechnicalSkill> findOne(Long id);
 
+    /**
+     * Get the "name" technicalSkill.
+     *
+     * @param name the name of the entity, compared once normalized
+     * @return the entity
+     */
+    Optional<TechnicalSkill> findByName(String name);
+
     /**
      * Delete the "id" technicalSkill.
      *
@@ -0,0 +1,161 @@
+package io.kimos.talentpipe.service;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IAtomicLong;
+import io.kimos.talentpipe.domain.Authority;
+import io.kimos.talentpipe.domain.Role;
+import io.kimos.talentpipe.domain.User;
+import io.kimos.talentpipe.repository.UserRepository;
+import io.kimos.talentpipe.service.dto.UserPrincipalDTO;
+import io.kimos.talentpipe.service.event.EntityCommittedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Service looking up the principals of users by login or email, for authentication.
+ * <p>
+ * The principals are kept in the {@link UserRepository#USERS_BY_LOGIN_CACHE} and
+ * {@link UserRepository#USERS_BY_EMAIL_CACHE} caches, whose entries are kept in the memory of each node in front
+ * of Hazelcast, see {@link io.kimos.talentpipe.config.TieredCacheManager}, so a lookup is a local read. Their
+ * entries are removed whenever a user is written, now and once the write commits, see {@link #evict(String, String)},
+ * and both maps are cleared once a role or an authority is committed. Every eviction bumps a cluster-wide counter,
+ * and a principal loaded while the counter moved is taken out of the cache again, so that a login which read the
+ * user before a password change or a deactivation cannot put the old principal back. A read-write transaction
+ * always reads the database, as it may hold uncommitted changes to the user.
+ */
+@Service
+@Transactional(readOnly = true)
+public class UserPrincipalService {
+
+    private final Logger log = LoggerFactory.getLogger(UserPrincipalService.class);
+
+    private final UserRepository userRepository;
+
+    public static final String USER_PRINCIPALS_EVICTIONS = "user-principals-evictions";
+
+    private final CacheManager cacheManager;
+
+    private final HazelcastInstance hazelcastInstance;
+
+    public UserPrincipalService(UserRepository userRepository, CacheManager cacheManager,
+                                HazelcastInstance hazelcastInstance) {
+        this.userRepository = userRepository;
+        this.cacheManager = cacheManager;
+        this.hazelcastInstance = hazelcastInstance;
+    }
+
+    public Optional<UserPrincipalDTO> findOneByLogin(String login) {
+        return find(UserRepository.USERS_BY_LOGIN_CACHE, login, userRepository::findOneWithAuthoritiesByLogin);
+    }
+
+    public Optional<UserPrincipalDTO> findOneByEmail(String email) {
+        return find(UserRepository.USERS_BY_EMAIL_CACHE, email.toLowerCase(Locale.ENGLISH),
+            userRepository::findOneWithAuthoritiesByEmail);
+    }
+
+    /**
+     * Forget the principal of a user, now and once the current transaction commits, so that a login running
+     * meanwhile cannot put its old state back.
+     *
+     * @param login the login of the user
+     * @param email the email of the user
+     */
+    public void evict(String login, String email) {
+        evictNow(login, email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    evictNow(login, email);
+                }
+            });
+        }
+    }
+
+    /**
+     * Forget all the principals once the current transaction commits, as it writes roles or authorities.
+     * <p>
+     * Hibernate reports no entity change for a role whose authorities alone changed, so the services writing
+     * roles and authorities call this rather than relying on {@link #onEntityCommitted(EntityCommittedEvent)}.
+     */
+    public void clearAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    clear();
+                }
+            });
+        } else {
+            clear();
+        }
+    }
+
+    @EventListener
+    public void onEntityCommitted(EntityCommittedEvent event) {
+        if (Role.class.equals(event.getEntityType()) || Authority.class.equals(event.getEntityType())) {
+            log.debug("{} changed, clearing the user principals", event.getEntityType().getSimpleName());
+            clear();
+        }
+    }
+
+    private void evictNow(String login, String email) {
+        evictions().incrementAndGet();
+        if (login != null) {
+            cache(UserRepository.USERS_BY_LOGIN_CACHE).evict(login);
+        }
+        if (email != null) {
+            cache(UserRepository.USERS_BY_EMAIL_CACHE).evict(email.toLowerCase(Locale.ENGLISH));
+        }
+    }
+
+    private void clear() {
+        evictions().incrementAndGet();
+        cache(UserRepository.USERS_BY_LOGIN_CACHE).clear();
+        cache(UserRepository.USERS_BY_EMAIL_CACHE).clear();
+    }
+
+    private Optional<UserPrincipalDTO> find(String cacheName, String key, Function<String, Optional<User>> loader) {
+        if (isReadWriteTransaction()) {
+            return loader.apply(key).map(UserPrincipalDTO::new);
+        }
+        Cache cache = cache(cacheName);
+        UserPrincipalDTO principal = cache.get(key, UserPrincipalDTO.class);
+        if (principal == null) {
+            long evictions = evictions().get();
+            principal = loader.apply(key).map(UserPrincipalDTO::new).orElse(null);
+            if (principal != null) {
+                cache.put(key, principal);
+                if (evictions().get() != evictions) {
+                    cache.evict(key);
+                }
+            }
+        }
+        return Optional.ofNullable(principal);
+    }
+
+    private Cache cache(String cacheName) {
+        return Objects.requireNonNull(cacheManager.getCache(cacheName));
+    }
+
+    private IAtomicLong evictions() {
+        return hazelcastInstance.getAtomicLong(USER_PRINCIPALS_EVICTIONS);
+    }
+
+    private static boolean isReadWriteTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+            && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+}
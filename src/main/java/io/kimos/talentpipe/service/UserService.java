@@ -6,21 +6,21 @@ import io.kimos.talentpipe.domain.Role;
 import io.kimos.talentpipe.domain.User;
 import io.kimos.talentpipe.repository.AuthorityRepository;
 import io.kimos.talentpipe.repository.UserRepository;
-import io.kimos.talentpipe.repository.search.UserSearchRepository;
 import io.kimos.talentpipe.security.RoleConstants;
 import io.kimos.talentpipe.security.SecurityUtils;
 import io.kimos.talentpipe.service.dto.UserDTO;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import io.kimos.talentpipe.service.util.RandomUtil;
 import io.kimos.talentpipe.web.rest.errors.*;
 import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
@@ -41,21 +41,27 @@ public class UserService {
 
     private final PasswordEncoder passwordEncoder;
 
-    private final UserSearchRepository userSearchRepository;
+    private final SearchIndexer searchIndexer;
 
     private final AuthorityRepository authorityRepository;
 
     private final RoleService roleService;
 
-    private final CacheManager cacheManager;
+    private final UserPrincipalService userPrincipalService;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, UserSearchRepository userSearchRepository, AuthorityRepository authorityRepository, RoleService roleService, CacheManager cacheManager) {
+    private final CurrentUserService currentUserService;
+
+    private final NotActivatedUserPurger notActivatedUserPurger;
+
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, SearchIndexer searchIndexer, AuthorityRepository authorityRepository, RoleService roleService, UserPrincipalService userPrincipalService, CurrentUserService currentUserService, NotActivatedUserPurger notActivatedUserPurger) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
-        this.userSearchRepository = userSearchRepository;
+        this.searchIndexer = searchIndexer;
         this.authorityRepository = authorityRepository;
         this.roleService = roleService;
-        this.cacheManager = cacheManager;
+        this.userPrincipalService = userPrincipalService;
+        this.currentUserService = currentUserService;
+        this.notActivatedUserPurger = notActivatedUserPurger;
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -65,7 +71,7 @@ public class UserService {
                 // activate given user for the registration key.
                 user.setActivated(true);
                 user.setActivationKey(null);
-                userSearchRepository.save(user);
+                searchIndexer.index(user);
                 this.clearUserCaches(user);
                 log.debug("Activated user: {}", user);
                 return user;
@@ -155,7 +161,7 @@ public class UserService {
             user.setRoles(roles);
         }
         userRepository.save(user);
-        userSearchRepository.save(user);
+        searchIndexer.index(user);
         this.clearUserCaches(user);
         log.debug("Created Information for User: {}", user);
         return user;
@@ -179,7 +185,7 @@ public class UserService {
                 user.setEmail(email.toLowerCase());
                 user.setLangKey(langKey);
                 user.setImageUrl(imageUrl);
-                userSearchRepository.save(user);
+                searchIndexer.index(user);
                 this.clearUserCaches(user);
                 log.debug("Changed Information for User: {}", user);
             });
@@ -208,7 +214,7 @@ public class UserService {
                     .filter(Optional::isPresent)
                     .map(Optional::get)
                     .forEach(managedRoles::add);
-                userSearchRepository.save(user);
+                searchIndexer.index(user);
                 this.clearUserCaches(user);
                 log.debug("Changed Information for User: {}", user);
                 return user;
@@ -219,7 +225,7 @@ public class UserService {
     public void deleteUser(String login) {
         userRepository.findOneByLogin(login).ifPresent(user -> {
             userRepository.delete(user);
-            userSearchRepository.delete(user);
+            searchIndexer.delete(User.class, user.getId());
             this.clearUserCaches(user);
             log.debug("Deleted User: {}", user);
         });
@@ -268,18 +274,13 @@ public class UserService {
     /**
      * Not activated users should be automatically deleted after 3 days.
      * <p>
-     * This is scheduled to get fired everyday, at 01:00 (am).
+     * This is scheduled to get fired everyday, at 01:00 (am). It does not start a transaction of its own, as
+     * the {@link NotActivatedUserPurger} commits the deletion chunk by chunk.
      */
     @Scheduled(cron = "0 0 1 * * ?")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void removeNotActivatedUsers() {
-        userRepository
-            .findAllByActivatedIsFalseAndCreatedDateBefore(Instant.now().minus(3, ChronoUnit.DAYS))
-            .forEach(user -> {
-                log.debug("Deleting not activated user {}", user.getLogin());
-                userRepository.delete(user);
-                userSearchRepository.delete(user);
-                this.clearUserCaches(user);
-            });
+        notActivatedUserPurger.purge(Instant.now().minus(3, ChronoUnit.DAYS));
     }
 
     /**
@@ -290,8 +291,8 @@ public class UserService {
     }
 
     private void clearUserCaches(User user) {
-        Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).evict(user.getLogin());
-        Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).evict(user.getEmail());
+        userPrincipalService.evict(user.getLogin(), user.getEmail());
+        currentUserService.evict(user.getLogin());
     }
 
     @Transactional
@@ -326,7 +327,7 @@ public class UserService {
         // new user gets registration key
         user.setActivationKey(RandomUtil.generateActivationKey());
         user = userRepository.save(user);
-        userSearchRepository.save(user);
+        searchIndexer.index(user);
         this.clearUserCaches(user);
         log.debug("Created Information for User: {}", user);
         return user;
@@ -33,6 +33,14 @@ public interface WorkTypeService {
      */
     Optional<WorkType> findOne(Long id);
 
+    /**
+     * Get the "name" workType.
+     *
+     * @param name the name of the entity, compared once normalized
+     * @return the entity
+     */
+    Optional<WorkType> findByName(String name);
+
     /**
      * Delete the "id" workType.
      *
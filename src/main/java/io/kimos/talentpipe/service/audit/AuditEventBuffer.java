@@ -0,0 +1,97 @@
+package io.kimos.talentpipe.service.audit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded ring buffer of the audit events waiting to be written, oldest first.
+ *
+ * @param <E> the type of the events
+ */
+class AuditEventBuffer<E> {
+
+    private final Object[] events;
+
+    private int head;
+
+    private int size;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition notEmpty = lock.newCondition();
+
+    private final Condition notFull = lock.newCondition();
+
+    AuditEventBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Audit event buffer capacity must be positive");
+        }
+        this.events = new Object[capacity];
+    }
+
+    /**
+     * Add an event, waiting up to the given time for room if the buffer is full.
+     *
+     * @return false if the buffer stayed full and the event was not added
+     */
+    boolean offer(E event, long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (size == events.length) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            events[(head + size) % events.length] = event;
+            size++;
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Take up to {@code maxEvents} events, oldest first. Waits up to {@code linger} for the batch to fill up, and
+     * returns whatever is buffered at that point, possibly nothing.
+     */
+    @SuppressWarnings("unchecked")
+    List<E> poll(int maxEvents, long linger, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(linger);
+        lock.lockInterruptibly();
+        try {
+            while (size < maxEvents && nanos > 0) {
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            if (size == 0) {
+                return Collections.emptyList();
+            }
+            List<E> batch = new ArrayList<>(Math.min(maxEvents, size));
+            while (size > 0 && batch.size() < maxEvents) {
+                batch.add((E) events[head]);
+                events[head] = null;
+                head = (head + 1) % events.length;
+                size--;
+            }
+            notFull.signalAll();
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
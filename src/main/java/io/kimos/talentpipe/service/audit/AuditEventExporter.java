@@ -0,0 +1,98 @@
+package io.kimos.talentpipe.service.audit;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.kimos.talentpipe.config.ApplicationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.orm.jpa.vendor.Database;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Streams the audit events of a period, oldest first, straight from a forward-only JDBC cursor.
+ * <p>
+ * The rows are read in a read-only transaction, a fetch size at a time, and written to the output as they are
+ * read, so the memory used does not depend on the number of events. MySQL only streams a result set with a
+ * fetch size of {@link Integer#MIN_VALUE}, the other databases use the configured fetch size.
+ */
+@Service
+public class AuditEventExporter {
+
+    private static final String SELECT_EVENTS = "select event_id, principal, event_date, event_type, event_data" +
+        " from " + AuditPartitions.TABLE_NAME +
+        " where event_date >= ? and event_date < ? order by event_date, event_id";
+
+    private final Logger log = LoggerFactory.getLogger(AuditEventExporter.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final Meter exportedEvents;
+
+    public AuditEventExporter(ApplicationProperties applicationProperties, DataSource dataSource,
+                              PlatformTransactionManager transactionManager, JpaProperties jpaProperties,
+                              ObjectMapper objectMapper, MetricRegistry metricRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(jpaProperties.getDatabase() == Database.MYSQL
+            ? Integer.MIN_VALUE : applicationProperties.getAuditExport().getFetchSize());
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.exportedEvents = metricRegistry.meter("audit.export.events");
+    }
+
+    /**
+     * Write the events between two dates to an output stream, which is flushed but not closed.
+     *
+     * @param fromDate the date of the first events, inclusive
+     * @param toDate   the date of the last events, exclusive
+     * @return the number of exported events
+     */
+    public long export(Instant fromDate, Instant toDate, AuditExportFormat format, OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        AuditEventLineWriter writer = new AuditEventLineWriter(objectMapper,
+            new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)), format);
+        long[] exported = {0};
+        try {
+            transactionTemplate.execute(status -> {
+                jdbcTemplate.query(SELECT_EVENTS, (RowCallbackHandler) rs -> {
+                    try {
+                        writer.write(rs.getLong(1), rs.getString(2), rs.getTimestamp(3), rs.getString(4), rs.getString(5));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    exported[0]++;
+                }, Timestamp.from(fromDate), Timestamp.from(toDate));
+                return null;
+            });
+            writer.flush();
+        } catch (UncheckedIOException e) {
+            log.warn("Audit event export interrupted after {} events: {}", exported[0], e.getMessage());
+            throw e.getCause();
+        } finally {
+            exportedEvents.mark(exported[0]);
+        }
+        log.info("Exported {} audit events from {} to {} in {} ms", exported[0], fromDate, toDate,
+            System.currentTimeMillis() - start);
+        return exported[0];
+    }
+}
@@ -0,0 +1,82 @@
+package io.kimos.talentpipe.service.audit;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.kimos.talentpipe.domain.AuditEventDataConverter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.Timestamp;
+
+/**
+ * Writes audit event rows, one line each, as NDJSON or as CSV.
+ * <p>
+ * Both formats hold the id, principal, date, type and data of each event, the date in ISO-8601 and the data as
+ * a JSON object.
+ */
+final class AuditEventLineWriter {
+
+    static final String CSV_HEADER = "id,principal,date,type,data";
+
+    private final Writer out;
+
+    private final AuditExportFormat format;
+
+    private final JsonGenerator generator;
+
+    AuditEventLineWriter(ObjectMapper objectMapper, Writer out, AuditExportFormat format) throws IOException {
+        this.out = out;
+        this.format = format;
+        this.generator = objectMapper.getFactory().createGenerator(out)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+            .setRootValueSeparator(null);
+        if (format == AuditExportFormat.CSV) {
+            out.write(CSV_HEADER);
+            out.write('\n');
+        }
+    }
+
+    void write(long id, String principal, Timestamp date, String type, String data) throws IOException {
+        String isoDate = date != null ? date.toInstant().toString() : null;
+        if (format == AuditExportFormat.CSV) {
+            out.write(Long.toString(id));
+            writeCsvField(principal);
+            writeCsvField(isoDate);
+            writeCsvField(type);
+            writeCsvField(data != null ? data : "{}");
+        } else {
+            generator.writeStartObject();
+            generator.writeNumberField("id", id);
+            generator.writeStringField("principal", principal);
+            generator.writeStringField("date", isoDate);
+            generator.writeStringField("type", type);
+            generator.writeObjectField("data", AuditEventDataConverter.fromJson(data));
+            generator.writeEndObject();
+            generator.flush();
+        }
+        out.write('\n');
+    }
+
+    /**
+     * Write what is still buffered, without closing the underlying writer.
+     */
+    void flush() throws IOException {
+        generator.flush();
+        out.flush();
+    }
+
+    private void writeCsvField(String value) throws IOException {
+        out.write(',');
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
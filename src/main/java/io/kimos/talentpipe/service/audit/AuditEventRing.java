@@ -0,0 +1,151 @@
+package io.kimos.talentpipe.service.audit;
+
+import org.springframework.boot.actuate.audit.AuditEvent;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Ring of the most recent audit events, indexed by principal and by event type.
+ * <p>
+ * Each event gets a sequence number, which gives its slot in the ring. The indexes map a principal or a type to
+ * the sequence of its last event, and each slot links to the previous event of the same principal and of the
+ * same type, so a lookup only visits the matching events. A link to a slot which was overwritten since ends the
+ * walk. The sequence number is taken while the entries of the principal and of the type are locked in the
+ * indexes, so their links always go back in sequence. Lookups take no lock.
+ */
+final class AuditEventRing {
+
+    private final AtomicReferenceArray<Slot> slots;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final ConcurrentMap<String, Long> lastByPrincipal = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Long> lastByType = new ConcurrentHashMap<>();
+
+    AuditEventRing(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Audit event ring capacity must be positive");
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Add an event, overwriting the oldest one when the ring is full.
+     *
+     * @return the overwritten event, or null
+     */
+    AuditEvent add(AuditEvent event) {
+        Slot[] added = new Slot[1];
+        lastByPrincipal.compute(event.getPrincipal(), (principal, previousOfPrincipal) -> {
+            lastByType.compute(event.getType(), (type, previousOfType) -> {
+                added[0] = new Slot(sequence.getAndIncrement(), event, previousOfPrincipal, previousOfType);
+                return added[0].seq;
+            });
+            return added[0].seq;
+        });
+        Slot slot = added[0];
+        long seq = slot.seq;
+        int index = index(seq);
+        Slot evicted;
+        do {
+            evicted = slots.get(index);
+            if (evicted != null && evicted.seq > seq) {
+                // A writer which wrapped around the ring got there first
+                evicted = slot;
+                break;
+            }
+        } while (!slots.compareAndSet(index, evicted, slot));
+        if (evicted == null) {
+            return null;
+        }
+        lastByPrincipal.remove(evicted.event.getPrincipal(), evicted.seq);
+        lastByType.remove(evicted.event.getType(), evicted.seq);
+        return evicted.event;
+    }
+
+    /**
+     * @param principal the principal of the events, or null for any
+     * @param after     the date after which the events happened
+     * @param type      the type of the events, or null for any
+     * @return the matching events still in the ring, in the order they were added
+     */
+    List<AuditEvent> find(String principal, Instant after, String type) {
+        List<AuditEvent> events = new ArrayList<>();
+        if (principal != null) {
+            for (Slot slot = slot(lastByPrincipal.get(principal)); slot != null; slot = slot(slot.previousOfPrincipal)) {
+                if (slot.event.getTimestamp().isAfter(after) && (type == null || type.equals(slot.event.getType()))) {
+                    events.add(slot.event);
+                }
+            }
+        } else if (type != null) {
+            for (Slot slot = slot(lastByType.get(type)); slot != null; slot = slot(slot.previousOfType)) {
+                if (slot.event.getTimestamp().isAfter(after)) {
+                    events.add(slot.event);
+                }
+            }
+        } else {
+            long last = sequence.get() - 1;
+            for (long seq = last; seq >= 0 && seq > last - slots.length(); seq--) {
+                Slot slot = slot(seq);
+                if (slot == null) {
+                    break;
+                }
+                if (slot.event.getTimestamp().isAfter(after)) {
+                    events.add(slot.event);
+                }
+            }
+        }
+        Collections.reverse(events);
+        return events;
+    }
+
+    int capacity() {
+        return slots.length();
+    }
+
+    /**
+     * @return the slot of an event, waiting for it to be written if it is being added, or null if it was
+     * overwritten
+     */
+    private Slot slot(Long seq) {
+        if (seq == null) {
+            return null;
+        }
+        int index = index(seq);
+        Slot slot;
+        while ((slot = slots.get(index)) == null || slot.seq < seq) {
+            Thread.yield();
+        }
+        return slot.seq == seq ? slot : null;
+    }
+
+    private int index(long seq) {
+        return (int) (seq % slots.length());
+    }
+
+    private static final class Slot {
+
+        private final long seq;
+
+        private final AuditEvent event;
+
+        private final Long previousOfPrincipal;
+
+        private final Long previousOfType;
+
+        private Slot(long seq, AuditEvent event, Long previousOfPrincipal, Long previousOfType) {
+            this.seq = seq;
+            this.event = event;
+            this.previousOfPrincipal = previousOfPrincipal;
+            this.previousOfType = previousOfType;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package io.kimos.talentpipe.service.audit;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import io.kimos.talentpipe.config.ApplicationProperties;
+import io.kimos.talentpipe.domain.AuditEventDataConverter;
+import io.kimos.talentpipe.domain.PersistentAuditEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the audit events to the database in batches, from a single background thread, so that authenticating
+ * threads never wait for a connection of their own.
+ * <p>
+ * Events wait in a bounded buffer, and are written once a batch is full or once the linger time is over, in one
+ * transaction per batch. Each event is a single row, its data being stored as JSON, so a batch is written as one
+ * JDBC batch. When the buffer is full an event is dropped, at once or after waiting for room depending on the
+ * overflow policy. Pending events are written when the application shuts down.
+ */
+@Component
+public class AuditEventWriter {
+
+    private static final String INSERT_EVENT =
+        "insert into persistent_audit_event (principal, event_date, event_type, event_data) values (?, ?, ?, ?)";
+
+    private final Logger log = LoggerFactory.getLogger(AuditEventWriter.class);
+
+    private final ApplicationProperties.AuditWriter properties;
+
+    private final AuditEventBuffer<PersistentAuditEvent> buffer;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final MetricRegistry metricRegistry;
+
+    private final Meter written;
+
+    private final Meter dropped;
+
+    private final Timer batches;
+
+    private volatile boolean running;
+
+    private Thread thread;
+
+    public AuditEventWriter(ApplicationProperties applicationProperties, JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager, MetricRegistry metricRegistry) {
+        this.properties = applicationProperties.getAuditWriter();
+        this.buffer = new AuditEventBuffer<>(properties.getBufferCapacity());
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.metricRegistry = metricRegistry;
+        this.written = metricRegistry.meter("audit.writer.written");
+        this.dropped = metricRegistry.meter("audit.writer.dropped");
+        this.batches = metricRegistry.timer("audit.writer.batches");
+    }
+
+    @PostConstruct
+    public void start() {
+        metricRegistry.register("audit.writer.buffer.size", (Gauge<Integer>) buffer::size);
+        running = true;
+        thread = new Thread(this::run, "monolith-audit-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        log.info("Stopping audit event writer, {} events pending", buffer.size());
+        running = false;
+        thread.interrupt();
+        thread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Queue an event to be written. With the DROP policy this never blocks, with the BLOCK policy it blocks up to
+     * the configured timeout; if the buffer is still full the event is dropped and counted. An event without a date
+     * is dated now, as the event date is required and partitions the events.
+     */
+    public void submit(PersistentAuditEvent event) {
+        if (event.getAuditEventDate() == null) {
+            event.setAuditEventDate(Instant.now());
+        }
+        long timeout = properties.getOverflowPolicy() == ApplicationProperties.AuditWriter.OverflowPolicy.BLOCK
+            ? properties.getBlockTimeoutMs() : 0;
+        try {
+            if (buffer.offer(event, timeout, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+            log.error("Audit event buffer is full, dropping {} event of {}", event.getAuditEventType(), event.getPrincipal());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while queueing {} event of {}, dropping it", event.getAuditEventType(), event.getPrincipal());
+        }
+        dropped.mark();
+    }
+
+    /**
+     * Write all the pending events from the calling thread.
+     */
+    public void flush() {
+        try {
+            List<PersistentAuditEvent> batch;
+            while (!(batch = buffer.poll(properties.getBatchSize(), 0, TimeUnit.MILLISECONDS)).isEmpty()) {
+                writeWithRetries(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while flushing audit events, {} events were not written", buffer.size());
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                List<PersistentAuditEvent> batch = buffer.poll(properties.getBatchSize(), properties.getLingerMs(), TimeUnit.MILLISECONDS);
+                if (!batch.isEmpty()) {
+                    writeWithRetries(batch);
+                }
+            } catch (InterruptedException e) {
+                break;
+            } catch (RuntimeException e) {
+                log.error("Unexpected error in audit event writer", e);
+            }
+        }
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Unexpected error while flushing the audit events", e);
+        }
+        int lost = buffer.size();
+        if (lost > 0) {
+            log.warn("{} audit events were not written before shutdown", lost);
+        }
+    }
+
+    private void writeWithRetries(List<PersistentAuditEvent> batch) {
+        for (int attempt = 0; ; attempt++) {
+            try (Timer.Context ignored = batches.time()) {
+                transactionTemplate.execute(status -> jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                    insert(connection, batch);
+                    return null;
+                }));
+                written.mark(batch.size());
+                return;
+            } catch (DataAccessException | TransactionException e) {
+                if (attempt >= properties.getMaxRetries()) {
+                    log.error("Giving up on {} audit events after {} attempts: {}", batch.size(), attempt + 1, e.getMessage());
+                    dropped.mark(batch.size());
+                    return;
+                }
+                log.warn("Could not write {} audit events: {}", batch.size(), e.getMessage());
+                if (running) {
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(properties.getRetryBackoffMs());
+                    } catch (InterruptedException interrupted) {
+                        // Shutting down, retry at once rather than losing the batch
+                    }
+                }
+            }
+        }
+    }
+
+    private void insert(Connection connection, List<PersistentAuditEvent> batch) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_EVENT)) {
+            for (PersistentAuditEvent event : batch) {
+                statement.setString(1, event.getPrincipal());
+                statement.setTimestamp(2, Timestamp.from(event.getAuditEventDate()));
+                statement.setString(3, event.getAuditEventType());
+                statement.setString(4, AuditEventDataConverter.toJson(event.getData()));
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package io.kimos.talentpipe.service.audit;
+
+/**
+ * The formats of the audit event exports, see {@link AuditEventExporter}.
+ */
+public enum AuditExportFormat {
+
+    /**
+     * One JSON object per line.
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /**
+     * Comma separated values, with a header line, the event data being a JSON object.
+     */
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+
+    private final String extension;
+
+    AuditExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
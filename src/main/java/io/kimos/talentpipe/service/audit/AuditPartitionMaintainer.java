@@ -0,0 +1,193 @@
+package io.kimos.talentpipe.service.audit;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ILock;
+import io.kimos.talentpipe.config.ApplicationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.vendor.Database;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the audit events in monthly partitions, see {@link AuditPartitions}.
+ * <p>
+ * Every night the partitions of the coming months are created, and the months older than the retention are
+ * archived to a gzipped NDJSON file, one event per line, then dropped as a whole. A month is not dropped when its
+ * archive could not be written. MySQL uses native partitions, the other databases delete the events of a month
+ * with a single range delete. A cluster-wide lock keeps the maintenance to one node at a time.
+ */
+@Component
+public class AuditPartitionMaintainer {
+
+    static final String LOCK_NAME = "audit-partition-maintenance";
+
+    private final Logger log = LoggerFactory.getLogger(AuditPartitionMaintainer.class);
+
+    private final ApplicationProperties.AuditRetention properties;
+
+    private final AuditPartitions partitions;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final HazelcastInstance hazelcastInstance;
+
+    private final ObjectMapper objectMapper;
+
+    private final Meter archivedEvents;
+
+    public AuditPartitionMaintainer(ApplicationProperties applicationProperties, JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager, JpaProperties jpaProperties,
+                                    HazelcastInstance hazelcastInstance, ObjectMapper objectMapper,
+                                    MetricRegistry metricRegistry) {
+        this.properties = applicationProperties.getAuditRetention();
+        this.partitions = jpaProperties.getDatabase() == Database.MYSQL
+            ? new MySqlAuditPartitions(jdbcTemplate) : new RangeDeleteAuditPartitions(jdbcTemplate);
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.hazelcastInstance = hazelcastInstance;
+        this.objectMapper = objectMapper;
+        this.archivedEvents = metricRegistry.meter("audit.retention.archived");
+    }
+
+    /**
+     * This is scheduled to get fired everyday, at 01:30 (am).
+     */
+    @Scheduled(cron = "0 30 1 * * ?")
+    public void scheduledMaintenance() {
+        if (properties.isEnabled()) {
+            maintain(YearMonth.now(ZoneOffset.UTC));
+        }
+    }
+
+    /**
+     * Create the partitions of the coming months and archive and drop the expired ones, unless another node is
+     * already doing it.
+     *
+     * @param currentMonth the current month, in UTC
+     */
+    public void maintain(YearMonth currentMonth) {
+        ILock lock = hazelcastInstance.getLock(LOCK_NAME);
+        if (!lock.tryLock()) {
+            log.info("Audit partitions are already being maintained by another node");
+            return;
+        }
+        try {
+            createPartitions(currentMonth);
+            dropPartitions(currentMonth.minusMonths(properties.getRetentionMonths()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void createPartitions(YearMonth currentMonth) {
+        List<YearMonth> existing = partitions.list();
+        YearMonth month = existing.isEmpty() ? currentMonth : existing.get(existing.size() - 1).plusMonths(1);
+        if (month.isBefore(currentMonth)) {
+            month = currentMonth;
+        }
+        for (; !month.isAfter(currentMonth.plusMonths(properties.getMonthsAhead())); month = month.plusMonths(1)) {
+            partitions.create(month);
+            log.debug("Created the audit partition of {}", month);
+        }
+    }
+
+    private void dropPartitions(YearMonth oldestKept) {
+        for (YearMonth month : partitions.list()) {
+            if (!month.isBefore(oldestKept)) {
+                return;
+            }
+            if (properties.isArchive()) {
+                try {
+                    archive(month);
+                } catch (IOException | UncheckedIOException e) {
+                    log.error("Could not archive the audit events of {}, keeping them: {}", month, e.getMessage());
+                    return;
+                }
+            }
+            transactionTemplate.execute(status -> {
+                partitions.drop(month);
+                return null;
+            });
+            log.info("Dropped the audit partition of {}", month);
+        }
+    }
+
+    /**
+     * Write the events of a month, and of the earlier months still in its partition, to its archive file.
+     *
+     * @return the archive file
+     */
+    Path archive(YearMonth month) throws IOException {
+        Path directory = Paths.get(properties.getArchiveDirectory());
+        Files.createDirectories(directory);
+        Path file = directory.resolve("audit-" + month + ".ndjson.gz");
+        Path temporaryFile = directory.resolve(file.getFileName() + ".tmp");
+        Timestamp end = Timestamp.from(month.plusMonths(1).atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC));
+        int chunkSize = Math.max(1, properties.getArchiveChunkSize());
+        long archived = 0;
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(
+            new GZIPOutputStream(Files.newOutputStream(temporaryFile)), StandardCharsets.UTF_8))) {
+            AuditEventLineWriter writer = new AuditEventLineWriter(objectMapper, out, AuditExportFormat.NDJSON);
+            long afterId = 0;
+            int read;
+            do {
+                long chunkAfterId = afterId;
+                long[] lastId = {afterId};
+                read = transactionTemplate.execute(status -> jdbcTemplate.query(
+                    "select event_id, principal, event_date, event_type, event_data from " + AuditPartitions.TABLE_NAME +
+                        " where event_date < ? and event_id > ? order by event_id limit ?",
+                    rs -> {
+                        int rows = 0;
+                        while (rs.next()) {
+                            lastId[0] = rs.getLong(1);
+                            write(writer, lastId[0], rs.getString(2), rs.getTimestamp(3), rs.getString(4), rs.getString(5));
+                            rows++;
+                        }
+                        return rows;
+                    }, end, chunkAfterId, chunkSize));
+                afterId = lastId[0];
+                archived += read;
+            } while (read == chunkSize);
+            writer.flush();
+        }
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        archivedEvents.mark(archived);
+        log.info("Archived {} audit events of {} to {}", archived, month, file);
+        return file;
+    }
+
+    private static void write(AuditEventLineWriter writer, long id, String principal, Timestamp date, String type,
+                              String data) {
+        try {
+            writer.write(id, principal, date, type, data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package io.kimos.talentpipe.service.audit;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * The monthly partitions of the audit events table.
+ * <p>
+ * The partition of a month holds the events of that month, and of any earlier month whose partition was dropped
+ * already, so dropping the partitions oldest first drops every event up to the end of each month.
+ */
+interface AuditPartitions {
+
+    String TABLE_NAME = "persistent_audit_event";
+
+    /**
+     * @return the months which have a partition, oldest first
+     */
+    List<YearMonth> list();
+
+    /**
+     * Create the partition of a month following the last one.
+     */
+    void create(YearMonth month);
+
+    /**
+     * Drop the partition of the oldest month, with its events.
+     */
+    void drop(YearMonth month);
+}
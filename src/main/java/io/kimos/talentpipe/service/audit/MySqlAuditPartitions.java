@@ -0,0 +1,53 @@
+package io.kimos.talentpipe.service.audit;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Native MySQL partitions, by range of {@code unix_timestamp(event_date)}, so that MySQL prunes the partitions
+ * outside of the dates of a query.
+ * <p>
+ * The table has a {@code pmax} partition for the events after the last month, which is split to create the
+ * partition of the next month. Dropping a partition drops its rows without deleting them one by one.
+ */
+class MySqlAuditPartitions implements AuditPartitions {
+
+    static final String MAX_PARTITION = "pmax";
+
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    MySqlAuditPartitions(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<YearMonth> list() {
+        return jdbcTemplate.queryForList("select partition_name from information_schema.partitions" +
+            " where table_schema = database() and table_name = ? and partition_name is not null" +
+            " order by partition_ordinal_position", String.class, TABLE_NAME)
+            .stream()
+            .filter(name -> !MAX_PARTITION.equals(name))
+            .map(name -> YearMonth.parse(name, PARTITION_NAME))
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public void create(YearMonth month) {
+        long end = month.plusMonths(1).atDay(1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+        jdbcTemplate.execute("alter table " + TABLE_NAME + " reorganize partition " + MAX_PARTITION + " into (" +
+            "partition " + PARTITION_NAME.format(month) + " values less than (" + end + "), " +
+            "partition " + MAX_PARTITION + " values less than maxvalue)");
+    }
+
+    @Override
+    public void drop(YearMonth month) {
+        jdbcTemplate.execute("alter table " + TABLE_NAME + " drop partition " + PARTITION_NAME.format(month));
+    }
+}
@@ -0,0 +1,54 @@
+package io.kimos.talentpipe.service.audit;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Partitions for the databases without native partitioning, such as H2: a partition is the range of the event
+ * dates of a month, read through the index on {@code event_date}, and dropping it is a single range delete.
+ */
+class RangeDeleteAuditPartitions implements AuditPartitions {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    RangeDeleteAuditPartitions(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<YearMonth> list() {
+        Map<String, Object> range = jdbcTemplate.queryForMap(
+            "select min(event_date) as first_date, max(event_date) as last_date from " + TABLE_NAME);
+        if (range.get("first_date") == null) {
+            return Collections.emptyList();
+        }
+        YearMonth last = month((Timestamp) range.get("last_date"));
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = month((Timestamp) range.get("first_date")); !month.isAfter(last); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        return months;
+    }
+
+    @Override
+    public void create(YearMonth month) {
+        // Months do not need to be created
+    }
+
+    @Override
+    public void drop(YearMonth month) {
+        jdbcTemplate.update("delete from " + TABLE_NAME + " where event_date < ?",
+            Timestamp.from(month.plusMonths(1).atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC)));
+    }
+
+    private static YearMonth month(Timestamp timestamp) {
+        return YearMonth.from(timestamp.toInstant().atZone(ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,191 @@
+package io.kimos.talentpipe.service.audit;
+
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.ringbuffer.OverflowPolicy;
+import com.hazelcast.ringbuffer.ReadResultSet;
+import com.hazelcast.ringbuffer.Ringbuffer;
+import com.hazelcast.ringbuffer.StaleSequenceException;
+import io.kimos.talentpipe.config.ApplicationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.audit.AuditEvent;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The audit events added in the cluster since this node started, up to a fixed number, see {@link AuditEventRing}.
+ * <p>
+ * Every node adds its events to the {@link #RINGBUFFER_NAME} Hazelcast ringbuffer, and reads all the events of
+ * the ringbuffer, in its order, into its own ring. Queries for the events after a date are answered from memory
+ * once the ring has caught up with the ringbuffer, and when no event after that date has been overwritten or
+ * missed, as when this node fell behind the ringbuffer. They go to the database otherwise.
+ */
+@Component
+public class RecentAuditEvents {
+
+    public static final String RINGBUFFER_NAME = "recent-audit-events";
+
+    /**
+     * Most events read from the ringbuffer at once.
+     */
+    private static final int READ_BATCH_SIZE = 100;
+
+    /**
+     * How long a query waits for the ring to catch up with the ringbuffer, before going to the database.
+     */
+    private static final long CATCH_UP_TIMEOUT_MS = 500;
+
+    private final Logger log = LoggerFactory.getLogger(RecentAuditEvents.class);
+
+    private final ApplicationProperties.RecentAudit properties;
+
+    private final HazelcastInstance hazelcastInstance;
+
+    private final AuditEventRing ring;
+
+    private final AtomicReference<Instant> coveredSince = new AtomicReference<>(Instant.now());
+
+    private final Object progress = new Object();
+
+    private Ringbuffer<AuditEvent> ringbuffer;
+
+    private volatile ICompletableFuture<Long> lastAdd;
+
+    private volatile long nextSequence;
+
+    private volatile boolean running;
+
+    public RecentAuditEvents(ApplicationProperties applicationProperties, HazelcastInstance hazelcastInstance) {
+        this.properties = applicationProperties.getRecentAudit();
+        this.hazelcastInstance = hazelcastInstance;
+        this.ring = new AuditEventRing(properties.getCapacity());
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        ringbuffer = hazelcastInstance.getRingbuffer(RINGBUFFER_NAME);
+        nextSequence = ringbuffer.tailSequence() + 1;
+        cover(Instant.now());
+        running = true;
+        read();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+    }
+
+    public void add(AuditEvent event) {
+        if (running) {
+            lastAdd = ringbuffer.addAsync(event, OverflowPolicy.OVERWRITE);
+        }
+    }
+
+    /**
+     * @param principal the principal of the events, or null for any
+     * @param after     the date after which the events happened, or null for any date
+     * @param type      the type of the events, or null for any
+     * @return the matching events, oldest first, or nothing if they are not all in memory
+     */
+    public Optional<List<AuditEvent>> find(String principal, Instant after, String type) {
+        if (!running || after == null || after.isBefore(coveredSince.get()) || !catchUp()) {
+            return Optional.empty();
+        }
+        List<AuditEvent> events = ring.find(principal, after, type);
+        if (after.isBefore(coveredSince.get())) {
+            // Events were overwritten while the ring was read
+            return Optional.empty();
+        }
+        return Optional.of(events);
+    }
+
+    /**
+     * Wait for the ring to hold the events added to the ringbuffer so far, including the last one added by this
+     * node.
+     *
+     * @return whether the ring caught up in time
+     */
+    private boolean catchUp() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CATCH_UP_TIMEOUT_MS);
+        try {
+            ICompletableFuture<Long> add = lastAdd;
+            if (add != null) {
+                add.get(CATCH_UP_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            }
+            long tailSequence = ringbuffer.tailSequence();
+            synchronized (progress) {
+                while (nextSequence <= tailSequence) {
+                    long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    progress.wait(remaining);
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+
+    private void read() {
+        ringbuffer.readManyAsync(nextSequence, 1, READ_BATCH_SIZE, null)
+            .andThen(new ExecutionCallback<ReadResultSet<AuditEvent>>() {
+                @Override
+                public void onResponse(ReadResultSet<AuditEvent> events) {
+                    for (AuditEvent event : events) {
+                        AuditEvent evicted = ring.add(event);
+                        if (evicted != null) {
+                            cover(evicted.getTimestamp());
+                        }
+                    }
+                    advance(nextSequence + events.readCount());
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    if (!running || !hazelcastInstance.getLifecycleService().isRunning()) {
+                        return;
+                    }
+                    if (t instanceof StaleSequenceException) {
+                        log.warn("Fell behind the recent audit events, some are only in the database");
+                    } else {
+                        log.warn("Could not read the recent audit events, some are only in the database: {}", t.getMessage());
+                    }
+                    cover(Instant.now());
+                    advance(ringbuffer.tailSequence() + 1);
+                }
+            });
+    }
+
+    private void advance(long sequence) {
+        synchronized (progress) {
+            nextSequence = sequence;
+            progress.notifyAll();
+        }
+        if (running) {
+            read();
+        }
+    }
+
+    private void cover(Instant since) {
+        coveredSince.accumulateAndGet(since, (current, next) -> next.isAfter(current) ? next : current);
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Asynchronous writes, in-memory recent events, monthly partitions and exports of the audit events.
+ */
+package io.kimos.talentpipe.service.audit;
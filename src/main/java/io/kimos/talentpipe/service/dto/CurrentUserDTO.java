@@ -0,0 +1,62 @@
+package io.kimos.talentpipe.service.dto;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A DTO representing the authenticated user, with the authorities of all its roles.
+ */
+public class CurrentUserDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+
+    private final String login;
+
+    private final Long companyId;
+
+    private final Set<String> authorities;
+
+    public CurrentUserDTO(Long id, String login, Long companyId, Set<String> authorities) {
+        this.id = id;
+        this.login = login;
+        this.companyId = companyId;
+        this.authorities = Collections.unmodifiableSet(new HashSet<>(authorities));
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getLogin() {
+        return login;
+    }
+
+    /**
+     * @return the id of the company of the user, or null if it has none
+     */
+    public Long getCompanyId() {
+        return companyId;
+    }
+
+    public Set<String> getAuthorities() {
+        return authorities;
+    }
+
+    public boolean hasAuthority(String authority) {
+        return authorities.contains(authority);
+    }
+
+    @Override
+    public String toString() {
+        return "CurrentUserDTO{" +
+            "id=" + id +
+            ", login='" + login + "'" +
+            ", companyId=" + companyId +
+            ", authorities=" + authorities +
+            "}";
+    }
+}
@@ -0,0 +1,103 @@
+package io.kimos.talentpipe.service.dto;
+
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Position of a keyset (seek) pagination: the sort order, and the sort key and id of the last entity returned.
+ * <p>
+ * Clients handle it as an opaque string, see {@link #encode()} and {@link #decode(String)}.
+ */
+public final class KeysetCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final Sort.Order order;
+
+    private final String value;
+
+    private final Long id;
+
+    public KeysetCursor(Sort.Order order, String value, Long id) {
+        this.order = Objects.requireNonNull(order);
+        this.value = value;
+        this.id = Objects.requireNonNull(id);
+    }
+
+    /**
+     * @return the order of the pagination
+     */
+    public Sort.Order getOrder() {
+        return order;
+    }
+
+    /**
+     * @return the sort key of the last entity returned, converted to a string
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * @return the id of the last entity returned
+     */
+    public Long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String cursor = order.getDirection().name() + SEPARATOR + order.getProperty() + SEPARATOR + id
+            + (value != null ? SEPARATOR + value : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor returned by {@link #encode()}.
+     *
+     * @param cursor the encoded cursor
+     * @return the cursor
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static KeysetCursor decode(String cursor) {
+        String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+            .split("\\" + SEPARATOR, 4);
+        if (parts.length < 3 || parts[1].isEmpty()) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor);
+        }
+        try {
+            return new KeysetCursor(new Sort.Order(Sort.Direction.valueOf(parts[0]), parts[1]),
+                parts.length == 4 ? parts[3] : null, Long.valueOf(parts[2]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor, e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        KeysetCursor that = (KeysetCursor) o;
+        return Objects.equals(order, that.order) && Objects.equals(value, that.value) && Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(order, value, id);
+    }
+
+    @Override
+    public String toString() {
+        return "KeysetCursor{" +
+            "order=" + order +
+            ", value='" + value + "'" +
+            ", id=" + id +
+            "}";
+    }
+}
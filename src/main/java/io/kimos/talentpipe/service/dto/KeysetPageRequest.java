@@ -0,0 +1,96 @@
+package io.kimos.talentpipe.service.dto;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * Request of a keyset (seek) page: the entities following a cursor, in the order of a single sort property
+ * and then of their id.
+ */
+public final class KeysetPageRequest {
+
+    public static final String ID_PROPERTY = "id";
+
+    private final Sort.Order order;
+
+    private final KeysetCursor after;
+
+    private final int size;
+
+    private KeysetPageRequest(Sort.Order order, KeysetCursor after, int size) {
+        this.order = order;
+        this.after = after;
+        this.size = size;
+    }
+
+    /**
+     * Build the request of the entities following a cursor.
+     * <p>
+     * The sort of the {@code pageable} is optional after the first page, as the cursor holds it, and defaults
+     * to the id in ascending order. Its page number is ignored.
+     *
+     * @param after              the encoded cursor, empty or null for the first page
+     * @param pageable           the size and sort of the page
+     * @param sortableProperties the properties which can be sorted on, they must not be nullable
+     * @return the request
+     * @throws IllegalArgumentException if the cursor is malformed, or the sort is not supported or differs from the cursor
+     */
+    public static KeysetPageRequest of(String after, Pageable pageable, Collection<String> sortableProperties) {
+        Iterator<Sort.Order> orders = pageable.getSort().iterator();
+        Sort.Order order = orders.hasNext() ? orders.next() : null;
+        if (orders.hasNext()) {
+            throw new IllegalArgumentException("Keyset pagination supports a single sort property");
+        }
+        KeysetCursor cursor = after == null || after.isEmpty() ? null : KeysetCursor.decode(after);
+        if (cursor != null) {
+            if (order != null && !sameOrder(order, cursor.getOrder())) {
+                throw new IllegalArgumentException("The sort differs from the one of the cursor");
+            }
+            order = cursor.getOrder();
+            if (cursor.getValue() == null && !ID_PROPERTY.equals(order.getProperty())) {
+                throw new IllegalArgumentException("The cursor has no value for " + order.getProperty());
+            }
+        } else if (order == null) {
+            order = Sort.Order.asc(ID_PROPERTY);
+        }
+        if (!ID_PROPERTY.equals(order.getProperty()) && !sortableProperties.contains(order.getProperty())) {
+            throw new IllegalArgumentException("Keyset pagination does not support sorting on " + order.getProperty());
+        }
+        return new KeysetPageRequest(new Sort.Order(order.getDirection(), order.getProperty()), cursor,
+            pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE - 1);
+    }
+
+    private static boolean sameOrder(Sort.Order order, Sort.Order other) {
+        return order.getDirection() == other.getDirection() && order.getProperty().equals(other.getProperty());
+    }
+
+    /**
+     * @return the sort property and direction
+     */
+    public Sort.Order getOrder() {
+        return order;
+    }
+
+    /**
+     * @return the cursor, or null for the first page
+     */
+    public KeysetCursor getAfter() {
+        return after;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "KeysetPageRequest{" +
+            "order=" + order +
+            ", after=" + after +
+            ", size=" + size +
+            "}";
+    }
+}
@@ -0,0 +1,58 @@
+package io.kimos.talentpipe.service.dto;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+/**
+ * A page of a keyset (seek) pagination, with the cursor of the next page. The total number of entities is
+ * not known, as it would need a count query.
+ *
+ * @param <T> the type of the content
+ */
+public final class KeysetSlice<T> {
+
+    private final List<T> content;
+
+    private final Sort.Order order;
+
+    private final int size;
+
+    private final KeysetCursor next;
+
+    public KeysetSlice(List<T> content, Sort.Order order, int size, KeysetCursor next) {
+        this.content = content;
+        this.order = order;
+        this.size = size;
+        this.next = next;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    /**
+     * @return the sort property and direction
+     */
+    public Sort.Order getOrder() {
+        return order;
+    }
+
+    /**
+     * @return the requested size of the page
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return the cursor of the next page, or null if this is the last page
+     */
+    public KeysetCursor getNext() {
+        return next;
+    }
+
+    public boolean hasNext() {
+        return next != null;
+    }
+}
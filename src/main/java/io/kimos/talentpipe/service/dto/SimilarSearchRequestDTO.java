@@ -0,0 +1,44 @@
+package io.kimos.talentpipe.service.dto;
+
+import io.kimos.talentpipe.domain.SearchRequest;
+
+/**
+ * A DTO representing a searchRequest similar to another one, with its similarity between 0 and 1.
+ */
+public class SimilarSearchRequestDTO {
+    private SearchRequest searchRequest;
+    private double similarity;
+
+    public SimilarSearchRequestDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public SimilarSearchRequestDTO(SearchRequest searchRequest, double similarity) {
+        this.searchRequest = searchRequest;
+        this.similarity = similarity;
+    }
+
+    public SearchRequest getSearchRequest() {
+        return searchRequest;
+    }
+
+    public void setSearchRequest(SearchRequest searchRequest) {
+        this.searchRequest = searchRequest;
+    }
+
+    public double getSimilarity() {
+        return similarity;
+    }
+
+    public void setSimilarity(double similarity) {
+        this.similarity = similarity;
+    }
+
+    @Override
+    public String toString() {
+        return "SimilarSearchRequestDTO{" +
+            "searchRequest=" + searchRequest +
+            ", similarity=" + similarity +
+            "}";
+    }
+}
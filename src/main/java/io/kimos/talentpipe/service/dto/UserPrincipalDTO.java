@@ -0,0 +1,86 @@
+package io.kimos.talentpipe.service.dto;
+
+import io.kimos.talentpipe.domain.Authority;
+import io.kimos.talentpipe.domain.Role;
+import io.kimos.talentpipe.domain.User;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A DTO representing what authenticating a user needs: its credentials and the authorities of each of its roles.
+ * <p>
+ * It is immutable, so that the near caches can hand the same instance to every reader.
+ */
+public class UserPrincipalDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+
+    private final String login;
+
+    private final String email;
+
+    private final String password;
+
+    private final boolean activated;
+
+    private final Map<Long, Set<String>> authoritiesByRole;
+
+    public UserPrincipalDTO(User user) {
+        this.id = user.getId();
+        this.login = user.getLogin();
+        this.email = user.getEmail();
+        this.password = user.getPassword();
+        this.activated = user.getActivated();
+        Map<Long, Set<String>> authorities = new HashMap<>();
+        for (Role role : user.getRoles()) {
+            authorities.put(role.getId(), Collections.unmodifiableSet(role.getAuthorities().stream()
+                .map(Authority::getName)
+                .collect(Collectors.toSet())));
+        }
+        this.authoritiesByRole = Collections.unmodifiableMap(authorities);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getLogin() {
+        return login;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public boolean isActivated() {
+        return activated;
+    }
+
+    /**
+     * @return the names of the authorities of each role of the user, by role id
+     */
+    public Map<Long, Set<String>> getAuthoritiesByRole() {
+        return authoritiesByRole;
+    }
+
+    @Override
+    public String toString() {
+        return "UserPrincipalDTO{" +
+            "id=" + id +
+            ", login='" + login + "'" +
+            ", activated=" + activated +
+            ", roles=" + authoritiesByRole.keySet() +
+            "}";
+    }
+}
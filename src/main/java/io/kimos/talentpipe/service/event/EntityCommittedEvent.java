@@ -0,0 +1,27 @@
+package io.kimos.talentpipe.service.event;
+
+/**
+ * Published once a transaction inserting, updating or deleting an entity has committed.
+ */
+public final class EntityCommittedEvent {
+
+    private final Class<?> entityType;
+
+    public EntityCommittedEvent(Class<?> entityType) {
+        this.entityType = entityType;
+    }
+
+    /**
+     * @return the mapped class of the written entity
+     */
+    public Class<?> getEntityType() {
+        return entityType;
+    }
+
+    @Override
+    public String toString() {
+        return "EntityCommittedEvent{" +
+            "entityType=" + entityType.getSimpleName() +
+            "}";
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Application events about committed entity changes.
+ */
+package io.kimos.talentpipe.service.event;
@@ -4,6 +4,10 @@ import io.kimos.talentpipe.domain.Area;
 import io.kimos.talentpipe.repository.AreaRepository;
 import io.kimos.talentpipe.repository.search.AreaSearchRepository;
 import io.kimos.talentpipe.service.AreaService;
+import io.kimos.talentpipe.service.pagination.ApproximateCountPager;
+import io.kimos.talentpipe.service.reference.ReferenceDataService;
+import io.kimos.talentpipe.service.reference.ReferenceTable;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -28,9 +32,18 @@ public class AreaServiceImpl implements AreaService {
 
     private final AreaSearchRepository areaSearchRepository;
 
-    public AreaServiceImpl(AreaRepository areaRepository, AreaSearchRepository areaSearchRepository) {
+    private final SearchIndexer searchIndexer;
+
+    private final ApproximateCountPager approximateCountPager;
+
+    private final ReferenceDataService referenceDataService;
+
+    public AreaServiceImpl(AreaRepository areaRepository, AreaSearchRepository areaSearchRepository, SearchIndexer searchIndexer, ApproximateCountPager approximateCountPager, ReferenceDataService referenceDataService) {
         this.areaRepository = areaRepository;
         this.areaSearchRepository = areaSearchRepository;
+        this.searchIndexer = searchIndexer;
+        this.approximateCountPager = approximateCountPager;
+        this.referenceDataService = referenceDataService;
     }
 
     /**
@@ -43,7 +56,7 @@ public class AreaServiceImpl implements AreaService {
     public Area save(Area area) {
         log.debug("Request to save Area : {}", area);
         Area result = areaRepository.save(area);
-        areaSearchRepository.save(result);
+        searchIndexer.index(result);
         return result;
     }
 
@@ -57,7 +70,8 @@ public class AreaServiceImpl implements AreaService {
     @Transactional(readOnly = true)
     public Page<Area> findAll(Pageable pageable) {
         log.debug("Request to get all Areas");
-        return areaRepository.findAll(pageable);
+        return referenceDataService.table(Area.class).map(table -> table.findAll(pageable))
+            .orElseGet(() -> approximateCountPager.findPage(areaRepository, Area.class, null, ApproximateCountPager.ALL, pageable));
     }
 
     /**
@@ -70,7 +84,22 @@ public class AreaServiceImpl implements AreaService {
     @Transactional(readOnly = true)
     public Optional<Area> findOne(Long id) {
         log.debug("Request to get Area : {}", id);
-        return areaRepository.findById(id);
+        return referenceDataService.table(Area.class).map(table -> table.findOne(id))
+            .orElseGet(() -> areaRepository.findById(id));
+    }
+
+    /**
+     * Get one area by name.
+     *
+     * @param name the name of the entity, compared once normalized
+     * @return the entity
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Area> findByName(String name) {
+        log.debug("Request to get Area by name : {}", name);
+        return referenceDataService.table(Area.class).map(table -> table.findByName(name))
+            .orElseGet(() -> areaRepository.findFirstByNormalizedNameOrderByIdAsc(ReferenceTable.normalize(name)));
     }
 
     /**
@@ -82,7 +111,7 @@ public class AreaServiceImpl implements AreaService {
     public void delete(Long id) {
         log.debug("Request to delete Area : {}", id);
         areaRepository.deleteById(id);
-        areaSearchRepository.deleteById(id);
+        searchIndexer.delete(Area.class, id);
     }
 
     /**
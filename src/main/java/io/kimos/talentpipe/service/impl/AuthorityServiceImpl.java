@@ -1,6 +1,10 @@
 package io.kimos.talentpipe.service.impl;
 
+import io.kimos.talentpipe.security.AuthorityRegistry;
+import io.kimos.talentpipe.service.CurrentUserService;
+import io.kimos.talentpipe.service.UserPrincipalService;
 import io.kimos.talentpipe.service.AuthorityService;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import io.kimos.talentpipe.domain.Authority;
 import io.kimos.talentpipe.repository.AuthorityRepository;
 import io.kimos.talentpipe.repository.search.AuthoritySearchRepository;
@@ -29,9 +33,21 @@ public class AuthorityServiceImpl implements AuthorityService {
 
     private final AuthoritySearchRepository authoritySearchRepository;
 
-    public AuthorityServiceImpl(AuthorityRepository authorityRepository, AuthoritySearchRepository authoritySearchRepository) {
+    private final SearchIndexer searchIndexer;
+
+    private final AuthorityRegistry authorityRegistry;
+
+    private final CurrentUserService currentUserService;
+
+    private final UserPrincipalService userPrincipalService;
+
+    public AuthorityServiceImpl(AuthorityRepository authorityRepository, AuthoritySearchRepository authoritySearchRepository, SearchIndexer searchIndexer, AuthorityRegistry authorityRegistry, CurrentUserService currentUserService, UserPrincipalService userPrincipalService) {
         this.authorityRepository = authorityRepository;
         this.authoritySearchRepository = authoritySearchRepository;
+        this.searchIndexer = searchIndexer;
+        this.authorityRegistry = authorityRegistry;
+        this.currentUserService = currentUserService;
+        this.userPrincipalService = userPrincipalService;
     }
 
     /**
@@ -44,7 +60,10 @@ public class AuthorityServiceImpl implements AuthorityService {
     public Authority save(Authority authority) {
         log.debug("Request to save Authority : {}", authority);
         Authority result = authorityRepository.save(authority);
-        authoritySearchRepository.save(result);
+        searchIndexer.index(result);
+        authorityRegistry.invalidateRolesAfterCommit();
+        currentUserService.clearAfterCommit();
+        userPrincipalService.clearAfterCommit();
         return result;
     }
 
@@ -84,7 +103,10 @@ public class AuthorityServiceImpl implements AuthorityService {
     public void delete(Long id) {
         log.debug("Request to delete Authority : {}", id);
         authorityRepository.deleteById(id);
-        authoritySearchRepository.deleteById(id);
+        searchIndexer.delete(Authority.class, id);
+        authorityRegistry.invalidateRolesAfterCommit();
+        currentUserService.clearAfterCommit();
+        userPrincipalService.clearAfterCommit();
     }
 
     /**
@@ -4,6 +4,10 @@ import io.kimos.talentpipe.domain.Benefit;
 import io.kimos.talentpipe.repository.BenefitRepository;
 import io.kimos.talentpipe.repository.search.BenefitSearchRepository;
 import io.kimos.talentpipe.service.BenefitService;
+import io.kimos.talentpipe.service.pagination.ApproximateCountPager;
+import io.kimos.talentpipe.service.reference.ReferenceDataService;
+import io.kimos.talentpipe.service.reference.ReferenceTable;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -28,9 +32,18 @@ public class BenefitServiceImpl implements BenefitService {
 
     private final BenefitSearchRepository benefitSearchRepository;
 
-    public BenefitServiceImpl(BenefitRepository benefitRepository, BenefitSearchRepository benefitSearchRepository) {
+    private final SearchIndexer searchIndexer;
+
+    private final ApproximateCountPager approximateCountPager;
+
+    private final ReferenceDataService referenceDataService;
+
+    public BenefitServiceImpl(BenefitRepository benefitRepository, BenefitSearchRepository benefitSearchRepository, SearchIndexer searchIndexer, ApproximateCountPager approximateCountPager, ReferenceDataService referenceDataService) {
         this.benefitRepository = benefitRepository;
         this.benefitSearchRepository = benefitSearchRepository;
+        this.searchIndexer = searchIndexer;
+        this.approximateCountPager = approximateCountPager;
+        this.referenceDataService = referenceDataService;
     }
 
     /**
@@ -43,7 +56,7 @@ public class BenefitServiceImpl implements BenefitService {
     public Benefit save(Benefit benefit) {
         log.debug("Request to save Benefit : {}", benefit);
         Benefit result = benefitRepository.save(benefit);
-        benefitSearchRepository.save(result);
+        searchIndexer.index(result);
         return result;
     }
 
@@ -57,7 +70,8 @@ public class BenefitServiceImpl implements BenefitService {
     @Transactional(readOnly = true)
     public Page<Benefit> findAll(Pageable pageable) {
         log.debug("Request to get all Benefits");
-        return benefitRepository.findAll(pageable);
+        return referenceDataService.table(Benefit.class).map(table -> table.findAll(pageable))
+            .orElseGet(() -> approximateCountPager.findPage(benefitRepository, Benefit.class, null, ApproximateCountPager.ALL, pageable));
     }
 
     /**
@@ -70,7 +84,22 @@ public class BenefitServiceImpl implements BenefitService {
     @Transactional(readOnly = true)
     public Optional<Benefit> findOne(Long id) {
         log.debug("Request to get Benefit : {}", id);
-        return benefitRepository.findById(id);
+        return referenceDataService.table(Benefit.class).map(table -> table.findOne(id))
+            .orElseGet(() -> benefitRepository.findById(id));
+    }
+
+    /**
+     * Get one benefit by name.
+     *
+     * @param name the name of the entity, compared once normalized
+     * @return the entity
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Benefit> findByName(String name) {
+        log.debug("Request to get Benefit by name : {}", name);
+        return referenceDataService.table(Benefit.class).map(table -> table.findByName(name))
+            .orElseGet(() -> benefitRepository.findFirstByNormalizedNameOrderByIdAsc(ReferenceTable.normalize(name)));
     }
 
     /**
@@ -82,7 +111,7 @@ public class BenefitServiceImpl implements BenefitService {
     public void delete(Long id) {
         log.debug("Request to delete Benefit : {}", id);
         benefitRepository.deleteById(id);
-        benefitSearchRepository.deleteById(id);
+        searchIndexer.delete(Benefit.class, id);
     }
 
     /**
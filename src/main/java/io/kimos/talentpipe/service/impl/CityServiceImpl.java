@@ -4,6 +4,8 @@ import io.kimos.talentpipe.domain.City;
 import io.kimos.talentpipe.repository.CityRepository;
 import io.kimos.talentpipe.repository.search.CitySearchRepository;
 import io.kimos.talentpipe.service.CityService;
+import io.kimos.talentpipe.service.pagination.ApproximateCountPager;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -28,9 +30,15 @@ public class CityServiceImpl implements CityService {
 
     private final CitySearchRepository citySearchRepository;
 
-    public CityServiceImpl(CityRepository cityRepository, CitySearchRepository citySearchRepository) {
+    private final SearchIndexer searchIndexer;
+
+    private final ApproximateCountPager approximateCountPager;
+
+    public CityServiceImpl(CityRepository cityRepository, CitySearchRepository citySearchRepository, SearchIndexer searchIndexer, ApproximateCountPager approximateCountPager) {
         this.cityRepository = cityRepository;
         this.citySearchRepository = citySearchRepository;
+        this.searchIndexer = searchIndexer;
+        this.approximateCountPager = approximateCountPager;
     }
 
     /**
@@ -43,7 +51,7 @@ public class CityServiceImpl implements CityService {
     public City save(City city) {
         log.debug("Request to save City : {}", city);
         City result = cityRepository.save(city);
-        citySearchRepository.save(result);
+        searchIndexer.index(result);
         return result;
     }
 
@@ -57,7 +65,7 @@ public class CityServiceImpl implements CityService {
     @Transactional(readOnly = true)
     public Page<City> findAll(Pageable pageable) {
         log.debug("Request to get all Cities");
-        return cityRepository.findAll(pageable);
+        return approximateCountPager.findPage(cityRepository, City.class, null, ApproximateCountPager.ALL, pageable);
     }
 
     /**
@@ -82,7 +90,7 @@ public class CityServiceImpl implements CityService {
     public void delete(Long id) {
         log.debug("Request to delete City : {}", id);
         cityRepository.deleteById(id);
-        citySearchRepository.deleteById(id);
+        searchIndexer.delete(City.class, id);
     }
 
     /**
@@ -6,6 +6,7 @@ import io.kimos.talentpipe.repository.CompanyRepository;
 import io.kimos.talentpipe.repository.search.CompanySearchRepository;
 import io.kimos.talentpipe.service.CompanyService;
 import io.kimos.talentpipe.service.UserService;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import io.kimos.talentpipe.web.rest.errors.CompanyNotFoundException;
 import io.kimos.talentpipe.web.rest.errors.UserNotFoundException;
 import org.hibernate.Hibernate;
@@ -35,12 +36,15 @@ public class CompanyServiceImpl implements CompanyService {
 
     private final CompanySearchRepository companySearchRepository;
 
+    private final SearchIndexer searchIndexer;
+
     private final UserService userService;
 
-    public CompanyServiceImpl(CompanyRepository companyRepository, CompanySearchRepository companySearchRepository, UserService userService) {
+    public CompanyServiceImpl(CompanyRepository companyRepository, CompanySearchRepository companySearchRepository, UserService userService, SearchIndexer searchIndexer) {
         this.companyRepository = companyRepository;
         this.companySearchRepository = companySearchRepository;
         this.userService = userService;
+        this.searchIndexer = searchIndexer;
     }
 
     /**
@@ -54,7 +58,7 @@ public class CompanyServiceImpl implements CompanyService {
     public Company save(Company company) {
         log.debug("Request to save Company : {}", company);
         Company result = companyRepository.save(company.getId() == null ? prepareToCreate(company) : prepareToUpdate(company));
-        companySearchRepository.save(result);
+        searchIndexer.index(result);
         return result;
     }
 
@@ -119,7 +123,7 @@ public class CompanyServiceImpl implements CompanyService {
     public void delete(Long id) {
         log.debug("Request to delete Company : {}", id);
         companyRepository.deleteById(id);
-        companySearchRepository.deleteById(id);
+        searchIndexer.delete(Company.class, id);
     }
 
     /**
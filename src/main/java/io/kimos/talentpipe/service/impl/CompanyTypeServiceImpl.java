@@ -4,6 +4,10 @@ import io.kimos.talentpipe.domain.CompanyType;
 import io.kimos.talentpipe.repository.CompanyTypeRepository;
 import io.kimos.talentpipe.repository.search.CompanyTypeSearchRepository;
 import io.kimos.talentpipe.service.CompanyTypeService;
+import io.kimos.talentpipe.service.pagination.ApproximateCountPager;
+import io.kimos.talentpipe.service.reference.ReferenceDataService;
+import io.kimos.talentpipe.service.reference.ReferenceTable;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -28,9 +32,18 @@ public class CompanyTypeServiceImpl implements CompanyTypeService {
 
     private final CompanyTypeSearchRepository companyTypeSearchRepository;
 
-    public CompanyTypeServiceImpl(CompanyTypeRepository companyTypeRepository, CompanyTypeSearchRepository companyTypeSearchRepository) {
+    private final SearchIndexer searchIndexer;
+
+    private final ApproximateCountPager approximateCountPager;
+
+    private final ReferenceDataService referenceDataService;
+
+    public CompanyTypeServiceImpl(CompanyTypeRepository companyTypeRepository, CompanyTypeSearchRepository companyTypeSearchRepository, SearchIndexer searchIndexer, ApproximateCountPager approximateCountPager, ReferenceDataService referenceDataService) {
         this.companyTypeRepository = companyTypeRepository;
         this.companyTypeSearchRepository = companyTypeSearchRepository;
+        this.searchIndexer = searchIndexer;
+        this.approximateCountPager = approximateCountPager;
+        this.referenceDataService = referenceDataService;
     }
 
     /**
@@ -43,7 +56,7 @@ public class CompanyTypeServiceImpl implements CompanyTypeService {
     public CompanyType save(CompanyType companyType) {
         log.debug("Request to save CompanyType : {}", companyType);
         CompanyType result = companyTypeRepository.save(companyType);
-        companyTypeSearchRepository.save(result);
+        searchIndexer.index(result);
         return result;
     }
 
@@ -57,7 +70,8 @@ public class CompanyTypeServiceImpl implements CompanyTypeService {
     @Transactional(readOnly = true)
     public Page<CompanyType> findAll(Pageable pageable) {
         log.debug("Request to get all CompanyTypes");
-        return companyTypeRepository.findAll(pageable);
+        return referenceDataService.table(CompanyType.class).map(table -> table.findAll(pageable))
+            .orElseGet(() -> approximateCountPager.findPage(companyTypeRepository, CompanyType.class, null, ApproximateCountPager.ALL, pageable));
     }
 
     /**
@@ -70,7 +84,22 @@ public class CompanyTypeServiceImpl implements CompanyTypeService {
     @Transactional(readOnly = true)
     public Optional<CompanyType> findOne(Long id) {
         log.debug("Request to get CompanyType : {}", id);
-        return companyTypeRepository.findById(id);
+        return referenceDataService.table(CompanyType.class).map(table -> table.findOne(id))
+            .orElseGet(() -> companyTypeRepository.findById(id));
+    }
+
+    /**
+     * Get one companyType by name.
+     *
+     * @param name the name of the entity, compared once normalized
+     * @return the entity
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<CompanyType> findByName(String name) {
+        log.debug("Request to get CompanyType by name : {}", name);
+        return referenceDataService.table(CompanyType.class).map(table -> table.findByName(name))
+            .orElseGet(() -> companyTypeRepository.findFirstByNormalizedNameOrderByIdAsc(ReferenceTable.normalize(name)));
     }
 
     /**
@@ -82,7 +111,7 @@ public class CompanyTypeServiceImpl implements CompanyTypeService {
     public void delete(Long id) {
         log.debug("Request to delete CompanyType : {}", id);
         companyTypeRepository.deleteById(id);
-        companyTypeSearchRepository.deleteById(id);
+        searchIndexer.delete(CompanyType.class, id);
     }
 
     /**
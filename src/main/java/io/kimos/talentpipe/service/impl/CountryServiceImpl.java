@@ -4,6 +4,10 @@ import io.kimos.talentpipe.domain.Country;
 import io.kimos.talentpipe.repository.CountryRepository;
 import io.kimos.talentpipe.repository.search.CountrySearchRepository;
 import io.kimos.talentpipe.service.CountryService;
+import io.kimos.talentpipe.service.pagination.ApproximateCountPager;
+import io.kimos.talentpipe.service.reference.ReferenceDataService;
+import io.kimos.talentpipe.service.reference.ReferenceTable;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -28,9 +32,18 @@ public class CountryServiceImpl implements CountryService {
 
     private final CountrySearchRepository countrySearchRepository;
 
-    public CountryServiceImpl(CountryRepository countryRepository, CountrySearchRepository countrySearchRepository) {
+    private final SearchIndexer searchIndexer;
+
+    private final ApproximateCountPager approximateCountPager;
+
+    private final ReferenceDataService referenceDataService;
+
+    public CountryServiceImpl(CountryRepository countryRepository, CountrySearchRepository countrySearchRepository, SearchIndexer searchIndexer, ApproximateCountPager approximateCountPager, ReferenceDataService referenceDataService) {
         this.countryRepository = countryRepository;
         this.countrySearchRepository = countrySearchRepository;
+        this.searchIndexer = searchIndexer;
+        this.approximateCountPager = approximateCountPager;
+        this.referenceDataService = referenceDataService;
     }
 
     /**
@@ -43,7 +56,7 @@ public class CountryServiceImpl implements CountryService {
     public Country save(Country country) {
         log.debug("Request to save Country : {}", country);
         Country result = countryRepository.save(country);
-        countrySearchRepository.save(result);
+        searchIndexer.index(result);
         return result;
     }
 
@@ -57,7 +70,8 @@ public class CountryServiceImpl implements CountryService {
     @Transactional(readOnly = true)
     public Page<Country> findAll(Pageable pageable) {
         log.debug("Request to get all Countries");
-        return countryRepository.findAll(pageable);
+        return referenceDataService.table(Country.class).map(table -> table.findAll(pageable))
+            .orElseGet(() -> approximateCountPager.findPage(countryRepository, Country.class, null, ApproximateCountPager.ALL, pageable));
     }
 
     /**
@@ -70,7 +84,22 @@ public class CountryServiceImpl implements CountryService {
     @Transactional(readOnly = true)
     public Optional<Country> findOne(Long id) {
         log.debug("Request to get Country : {}", id);
-        return countryRepository.findById(id);
+        return referenceDataService.table(Country.class).map(table -> table.findOne(id))
+            .orElseGet(() -> countryRepository.findById(id));
+    }
+
+    /**
+     * Get one country by name.
+     *
+     * @param name the name of the entity, compared once normalized
+     * @return the entity
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Country> findByName(String name) {
+        log.debug("Request to get Country by name : {}", name);
+        return referenceDataService.table(Country.class).map(table -> table.findByName(name))
+            .orElseGet(() -> countryRepository.findFirstByNormalizedNameOrderByIdAsc(ReferenceTable.normalize(name)));
     }
 
     /**
@@ -82,7 +111,7 @@ public class CountryServiceImpl implements CountryService {
     public void delete(Long id) {
         log.debug("Request to delete Country : {}", id);
         countryRepository.deleteById(id);
-        countrySearchRepository.deleteById(id);
+        searchIndexer.delete(Country.class, id);
     }
 
     /**
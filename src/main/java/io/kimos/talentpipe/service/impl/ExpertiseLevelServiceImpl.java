@@ -4,6 +4,9 @@ import io.kimos.talentpipe.domain.ExpertiseLevel;
 import io.kimos.talentpipe.repository.ExpertiseLevelRepository;
 import io.kimos.talentpipe.repository.search.ExpertiseLevelSearchRepository;
 import io.kimos.talentpipe.service.ExpertiseLevelService;
+import io.kimos.talentpipe.service.reference.ReferenceDataService;
+import io.kimos.talentpipe.service.reference.ReferenceTable;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -29,9 +32,15 @@ public class ExpertiseLevelServiceImpl implements ExpertiseLevelService {
 
     private final ExpertiseLevelSearchRepository expertiseLevelSearchRepository;
 
-    public ExpertiseLevelServiceImpl(ExpertiseLevelRepository expertiseLevelRepository, ExpertiseLevelSearchRepository expertiseLevelSearchRepository) {
+    private final SearchIndexer searchIndexer;
+
+    private final ReferenceDataService referenceDataService;
+
+    public ExpertiseLevelServiceImpl(ExpertiseLevelRepository expertiseLevelRepository, ExpertiseLevelSearchRepository expertiseLevelSearchRepository, SearchIndexer searchIndexer, ReferenceDataService referenceDataService) {
         this.expertiseLevelRepository = expertiseLevelRepository;
         this.expertiseLevelSearchRepository = expertiseLevelSearchRepository;
+        this.searchIndexer = searchIndexer;
+        this.referenceDataService = referenceDataService;
     }
 
     /**
@@ -44,7 +53,7 @@ public class ExpertiseLevelServiceImpl implements ExpertiseLevelService {
     public ExpertiseLevel save(ExpertiseLevel expertiseLevel) {
         log.debug("Request to save ExpertiseLevel : {}", expertiseLevel);
         ExpertiseLevel result = expertiseLevelRepository.save(expertiseLevel);
-        expertiseLevelSearchRepository.save(result);
+        searchIndexer.index(result);
         return result;
     }
 
@@ -57,7 +66,8 @@ public class ExpertiseLevelServiceImpl implements ExpertiseLevelService {
     @Transactional(readOnly = true)
     public List<ExpertiseLevel> findAll() {
         log.debug("Request to get all ExpertiseLevels");
-        return expertiseLevelRepository.findAll();
+        return referenceDataService.table(ExpertiseLevel.class).map(ReferenceTable::findAll)
+            .orElseGet(expertiseLevelRepository::findAll);
     }
 
     /**
@@ -70,7 +80,22 @@ public class ExpertiseLevelServiceImpl implements ExpertiseLevelService {
     @Transactional(readOnly = true)
     public Optional<ExpertiseLevel> findOne(Long id) {
         log.debug("Request to get ExpertiseLevel : {}", id);
-        return expertiseLevelRepository.findById(id);
+        return referenceDataService.table(ExpertiseLevel.class).map(table -> table.findOne(id))
+            .orElseGet(() -> expertiseLevelRepository.findById(id));
+    }
+
+    /**
+     * Get one expertiseLevel by name.
+     *
+     * @param name the name of the entity, compared once normalized
+     * @return the entity
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ExpertiseLevel> findByName(String name) {
+        log.debug("Request to get ExpertiseLevel by name : {}", name);
+        return referenceDataService.table(ExpertiseLevel.class).map(table -> table.findByName(name))
+            .orElseGet(() -> expertiseLevelRepository.findFirstByNormalizedNameOrderByIdAsc(ReferenceTable.normalize(name)));
     }
 
     /**
@@ -82,7 +107,7 @@ public class ExpertiseLevelServiceImpl implements ExpertiseLevelService {
     public void delete(Long id) {
         log.debug("Request to delete ExpertiseLevel : {}", id);
         expertiseLevelRepository.deleteById(id);
-        expertiseLevelSearchRepository.deleteById(id);
+        searchIndexer.delete(ExpertiseLevel.class, id);
     }
 
     /**
@@ -6,6 +6,7 @@ import io.kimos.talentpipe.repository.RecruiterRepository;
 import io.kimos.talentpipe.repository.search.RecruiterSearchRepository;
 import io.kimos.talentpipe.service.RecruiterService;
 import io.kimos.talentpipe.service.UserService;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -30,12 +31,15 @@ public class RecruiterServiceImpl implements RecruiterService {
 
     private final RecruiterSearchRepository recruiterSearchRepository;
 
+    private final SearchIndexer searchIndexer;
+
     private final UserService userService;
 
-    public RecruiterServiceImpl(RecruiterRepository recruiterRepository, RecruiterSearchRepository recruiterSearchRepository, UserService userService) {
+    public RecruiterServiceImpl(RecruiterRepository recruiterRepository, RecruiterSearchRepository recruiterSearchRepository, UserService userService, SearchIndexer searchIndexer) {
         this.recruiterRepository = recruiterRepository;
         this.recruiterSearchRepository = recruiterSearchRepository;
         this.userService = userService;
+        this.searchIndexer = searchIndexer;
     }
 
     /**
@@ -48,7 +52,7 @@ public class RecruiterServiceImpl implements RecruiterService {
     public Recruiter save(Recruiter recruiter) {
         log.debug("Request to save Recruiter : {}", recruiter);
         Recruiter result = recruiterRepository.save(recruiter);
-        recruiterSearchRepository.save(result);
+        searchIndexer.index(result);
         return result;
     }
 
@@ -87,7 +91,7 @@ public class RecruiterServiceImpl implements RecruiterService {
     public void delete(Long id) {
         log.debug("Request to delete Recruiter : {}", id);
         recruiterRepository.deleteById(id);
-        recruiterSearchRepository.deleteById(id);
+        searchIndexer.delete(Recruiter.class, id);
     }
 
     /**
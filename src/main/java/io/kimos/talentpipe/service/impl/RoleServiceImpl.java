@@ -1,6 +1,11 @@
 package io.kimos.talentpipe.service.impl;
 
+import io.kimos.talentpipe.security.AuthorityRegistry;
+import io.kimos.talentpipe.service.CurrentUserService;
+import io.kimos.talentpipe.service.UserPrincipalService;
 import io.kimos.talentpipe.service.RoleService;
+import io.kimos.talentpipe.service.pagination.ApproximateCountPager;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import io.kimos.talentpipe.domain.Role;
 import io.kimos.talentpipe.repository.RoleRepository;
 import io.kimos.talentpipe.repository.search.RoleSearchRepository;
@@ -29,9 +34,24 @@ public class RoleServiceImpl implements RoleService {
 
     private final RoleSearchRepository roleSearchRepository;
 
-    public RoleServiceImpl(RoleRepository roleRepository, RoleSearchRepository roleSearchRepository) {
+    private final SearchIndexer searchIndexer;
+
+    private final ApproximateCountPager approximateCountPager;
+
+    private final AuthorityRegistry authorityRegistry;
+
+    private final CurrentUserService currentUserService;
+
+    private final UserPrincipalService userPrincipalService;
+
+    public RoleServiceImpl(RoleRepository roleRepository, RoleSearchRepository roleSearchRepository, SearchIndexer searchIndexer, ApproximateCountPager approximateCountPager, AuthorityRegistry authorityRegistry, CurrentUserService currentUserService, UserPrincipalService userPrincipalService) {
         this.roleRepository = roleRepository;
         this.roleSearchRepository = roleSearchRepository;
+        this.searchIndexer = searchIndexer;
+        this.approximateCountPager = approximateCountPager;
+        this.authorityRegistry = authorityRegistry;
+        this.currentUserService = currentUserService;
+        this.userPrincipalService = userPrincipalService;
     }
 
     /**
@@ -44,7 +64,10 @@ public class RoleServiceImpl implements RoleService {
     public Role save(Role role) {
         log.debug("Request to save Role : {}", role);
         Role result = roleRepository.save(role);
-        roleSearchRepository.save(result);
+        searchIndexer.index(result);
+        authorityRegistry.invalidateRolesAfterCommit();
+        currentUserService.clearAfterCommit();
+        userPrincipalService.clearAfterCommit();
         return result;
     }
 
@@ -58,7 +81,7 @@ public class RoleServiceImpl implements RoleService {
     @Transactional(readOnly = true)
     public Page<Role> findAll(Pageable pageable) {
         log.debug("Request to get all Roles");
-        return roleRepository.findAll(pageable);
+        return approximateCountPager.findPage(roleRepository, Role.class, null, ApproximateCountPager.ALL, pageable);
     }
 
 
@@ -84,7 +107,10 @@ public class RoleServiceImpl implements RoleService {
     public void delete(Long id) {
         log.debug("Request to delete Role : {}", id);
         roleRepository.deleteById(id);
-        roleSearchRepository.deleteById(id);
+        searchIndexer.delete(Role.class, id);
+        authorityRegistry.invalidateRolesAfterCommit();
+        currentUserService.clearAfterCommit();
+        userPrincipalService.clearAfterCommit();
     }
 
     /**
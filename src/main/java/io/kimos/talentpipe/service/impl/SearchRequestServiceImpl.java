@@ -1,18 +1,35 @@
 package io.kimos.talentpipe.service.impl;
 
+import io.kimos.talentpipe.domain.Company_;
 import io.kimos.talentpipe.domain.SearchRequest;
-import io.kimos.talentpipe.domain.User;
+import io.kimos.talentpipe.domain.SearchRequest_;
 import io.kimos.talentpipe.repository.SearchRequestRepository;
 import io.kimos.talentpipe.repository.search.SearchRequestSearchRepository;
 import io.kimos.talentpipe.service.SearchRequestService;
+import io.kimos.talentpipe.service.dto.SimilarSearchRequestDTO;
+import io.kimos.talentpipe.service.index.SearchRequestChangedEvent;
+import io.kimos.talentpipe.service.index.SearchRequestSalaryIndex;
+import io.kimos.talentpipe.service.index.SearchRequestSimilarityIndex;
+import io.kimos.talentpipe.service.index.SearchRequestSkillIndex;
+import io.kimos.talentpipe.service.index.SkillQuery;
+import io.kimos.talentpipe.service.pagination.ApproximateCountPager;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.elasticsearch.index.query.QueryBuilders.queryStringQuery;
 
@@ -29,9 +46,30 @@ public class SearchRequestServiceImpl implements SearchRequestService {
 
     private final SearchRequestSearchRepository searchRequestSearchRepository;
 
-    public SearchRequestServiceImpl(SearchRequestRepository searchRequestRepository, SearchRequestSearchRepository searchRequestSearchRepository) {
+    private final SearchIndexer searchIndexer;
+
+    private final SearchRequestSkillIndex searchRequestSkillIndex;
+
+    private final SearchRequestSimilarityIndex searchRequestSimilarityIndex;
+
+    private final SearchRequestSalaryIndex searchRequestSalaryIndex;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ApproximateCountPager approximateCountPager;
+
+    public SearchRequestServiceImpl(SearchRequestRepository searchRequestRepository, SearchRequestSearchRepository searchRequestSearchRepository, SearchIndexer searchIndexer,
+                                    SearchRequestSkillIndex searchRequestSkillIndex, SearchRequestSimilarityIndex searchRequestSimilarityIndex,
+                                    SearchRequestSalaryIndex searchRequestSalaryIndex, ApplicationEventPublisher eventPublisher,
+                                    ApproximateCountPager approximateCountPager) {
         this.searchRequestRepository = searchRequestRepository;
         this.searchRequestSearchRepository = searchRequestSearchRepository;
+        this.searchIndexer = searchIndexer;
+        this.searchRequestSkillIndex = searchRequestSkillIndex;
+        this.searchRequestSimilarityIndex = searchRequestSimilarityIndex;
+        this.searchRequestSalaryIndex = searchRequestSalaryIndex;
+        this.eventPublisher = eventPublisher;
+        this.approximateCountPager = approximateCountPager;
     }
 
     /**
@@ -44,7 +82,8 @@ public class SearchRequestServiceImpl implements SearchRequestService {
     public SearchRequest save(SearchRequest searchRequest) {
         log.debug("Request to save SearchRequest : {}", searchRequest);
         SearchRequest result = searchRequestRepository.save(searchRequest);
-        searchRequestSearchRepository.save(result);
+        searchIndexer.index(result);
+        eventPublisher.publishEvent(SearchRequestChangedEvent.saved(result));
         return result;
     }
 
@@ -58,7 +97,7 @@ public class SearchRequestServiceImpl implements SearchRequestService {
     @Transactional(readOnly = true)
     public Page<SearchRequest> findAll(Pageable pageable) {
         log.debug("Request to get all SearchRequests");
-        return searchRequestRepository.findAll(pageable);
+        return approximateCountPager.findPage(searchRequestRepository, SearchRequest.class, null, ApproximateCountPager.ALL, pageable);
     }
 
     /**
@@ -66,6 +105,8 @@ public class SearchRequestServiceImpl implements SearchRequestService {
      *
      * @return the list of entities
      */
+    @Override
+    @Transactional(readOnly = true)
     public Page<SearchRequest> findAllWithEagerRelationships(Pageable pageable) {
         return searchRequestRepository.findAllWithEagerRelationships(pageable);
     }
@@ -92,7 +133,71 @@ public class SearchRequestServiceImpl implements SearchRequestService {
     public void delete(Long id) {
         log.debug("Request to delete SearchRequest : {}", id);
         searchRequestRepository.deleteById(id);
-        searchRequestSearchRepository.deleteById(id);
+        searchIndexer.delete(SearchRequest.class, id);
+        eventPublisher.publishEvent(SearchRequestChangedEvent.deleted(id));
+    }
+
+    /**
+     * Get the searchRequests matching a skill query, newest first, using the in-memory skill index.
+     *
+     * @param skillQuery the skills the searchRequests must, may or must not ask for
+     * @param companyId  the company the searchRequests must belong to, or null for all companies
+     * @param pageable   the pagination information
+     * @return the list of entities
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<SearchRequest> findAllBySkills(SkillQuery skillQuery, Long companyId, Pageable pageable) {
+        log.debug("Request to get a page of SearchRequests for {}", skillQuery);
+        Page<Long> ids = searchRequestSkillIndex.query(skillQuery, companyId, pageable);
+        List<SearchRequest> content = searchRequestRepository.findAllWithEagerRelationships(ids.getContent());
+        return new PageImpl<>(content, pageable, ids.getTotalElements());
+    }
+
+    /**
+     * Get the searchRequests whose salary band overlaps a salary range, by increasing minimum salary, using the
+     * in-memory salary index.
+     *
+     * @param from             the lowest salary of the range
+     * @param to               the highest salary of the range
+     * @param expertiseLevelId the expertise level the searchRequests must ask for, or null for all expertise levels
+     * @param companyId        the company the searchRequests must belong to, or null for all companies
+     * @param pageable         the pagination information
+     * @return the list of entities
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<SearchRequest> findAllBySalary(BigDecimal from, BigDecimal to, Long expertiseLevelId, Long companyId, Pageable pageable) {
+        log.debug("Request to get a page of SearchRequests with a salary between {} and {}", from, to);
+        Page<Long> ids = searchRequestSalaryIndex.query(from, to, expertiseLevelId, companyId, pageable);
+        List<SearchRequest> content = searchRequestRepository.findAllWithEagerRelationships(ids.getContent());
+        return new PageImpl<>(content, pageable, ids.getTotalElements());
+    }
+
+    /**
+     * Get the searchRequests most similar to the "id" searchRequest, using the in-memory similarity index.
+     *
+     * @param id        the id of the entity to compare to
+     * @param companyId the company both the entity and the similar searchRequests must belong to, or null for all companies
+     * @param size      the maximum number of similar searchRequests
+     * @return the similar searchRequests, most similar first, or empty if the entity does not exist
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<List<SimilarSearchRequestDTO>> findSimilar(Long id, Long companyId, int size) {
+        log.debug("Request to get the SearchRequests similar to SearchRequest : {}", id);
+        return searchRequestRepository.findById(id)
+            .filter(searchRequest -> companyId == null || companyId.equals(searchRequest.getCompany().getId()))
+            .map(searchRequest -> {
+                List<SearchRequestSimilarityIndex.Match> matches = searchRequestSimilarityIndex.findSimilar(id, companyId, size);
+                Map<Long, SearchRequest> similar = searchRequestRepository.findAllWithEagerRelationships(
+                    matches.stream().map(SearchRequestSimilarityIndex.Match::getId).collect(Collectors.toList()))
+                    .stream().collect(Collectors.toMap(SearchRequest::getId, Function.identity()));
+                return matches.stream()
+                    .filter(match -> similar.containsKey(match.getId()))
+                    .map(match -> new SimilarSearchRequestDTO(similar.get(match.getId()), match.getSimilarity()))
+                    .collect(Collectors.toList());
+            });
     }
 
     /**
@@ -110,7 +215,8 @@ public class SearchRequestServiceImpl implements SearchRequestService {
     }
 
     @Override
-    public Page<SearchRequest> findAllForCompany(Pageable pageable, User user) {
-        return searchRequestRepository.findAllByCompany_Id(user.getCompany().getId(), pageable);
+    public Page<SearchRequest> findAllForCompany(Pageable pageable, Long companyId) {
+        Specification<SearchRequest> ofCompany = (root, query, cb) -> cb.equal(root.get(SearchRequest_.company).get(Company_.id), companyId);
+        return approximateCountPager.findPage(searchRequestRepository, SearchRequest.class, ofCompany, "companyId=" + companyId, pageable);
     }
 }
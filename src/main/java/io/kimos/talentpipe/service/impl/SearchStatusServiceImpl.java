@@ -5,6 +5,9 @@ import io.kimos.talentpipe.repository.SearchStatusRepository;
 import io.kimos.talentpipe.repository.search.SearchStatusSearchRepository;
 import io.kimos.talentpipe.security.SecurityUtils;
 import io.kimos.talentpipe.service.SearchStatusService;
+import io.kimos.talentpipe.service.reference.ReferenceDataService;
+import io.kimos.talentpipe.service.reference.ReferenceTable;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -30,9 +33,15 @@ public class SearchStatusServiceImpl implements SearchStatusService {
 
     private final SearchStatusSearchRepository searchStatusSearchRepository;
 
-    public SearchStatusServiceImpl(SearchStatusRepository searchStatusRepository, SearchStatusSearchRepository searchStatusSearchRepository) {
+    private final SearchIndexer searchIndexer;
+
+    private final ReferenceDataService referenceDataService;
+
+    public SearchStatusServiceImpl(SearchStatusRepository searchStatusRepository, SearchStatusSearchRepository searchStatusSearchRepository, SearchIndexer searchIndexer, ReferenceDataService referenceDataService) {
         this.searchStatusRepository = searchStatusRepository;
         this.searchStatusSearchRepository = searchStatusSearchRepository;
+        this.searchIndexer = searchIndexer;
+        this.referenceDataService = referenceDataService;
     }
 
     /**
@@ -45,7 +54,7 @@ public class SearchStatusServiceImpl implements SearchStatusService {
     public SearchStatus save(SearchStatus searchStatus) {
         log.debug("Request to save SearchStatus : {}", searchStatus);
         SearchStatus result = searchStatusRepository.save(searchStatus);
-        searchStatusSearchRepository.save(result);
+        searchIndexer.index(result);
         return result;
     }
 
@@ -58,7 +67,8 @@ public class SearchStatusServiceImpl implements SearchStatusService {
     @Transactional(readOnly = true)
     public List<SearchStatus> findAll() {
         log.debug("Request to get all SearchStatuses");
-        return searchStatusRepository.findAll();
+        return referenceDataService.table(SearchStatus.class).map(ReferenceTable::findAll)
+            .orElseGet(searchStatusRepository::findAll);
     }
 
     /**
@@ -71,7 +81,22 @@ public class SearchStatusServiceImpl implements SearchStatusService {
     @Transactional(readOnly = true)
     public Optional<SearchStatus> findOne(Long id) {
         log.debug("Request to get SearchStatus : {}", id);
-        return searchStatusRepository.findById(id);
+        return referenceDataService.table(SearchStatus.class).map(table -> table.findOne(id))
+            .orElseGet(() -> searchStatusRepository.findById(id));
+    }
+
+    /**
+     * Get one searchStatus by name.
+     *
+     * @param name the name of the entity, compared once normalized
+     * @return the entity
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<SearchStatus> findByName(String name) {
+        log.debug("Request to get SearchStatus by name : {}", name);
+        return referenceDataService.table(SearchStatus.class).map(table -> table.findByName(name))
+            .orElseGet(() -> searchStatusRepository.findFirstByNormalizedNameOrderByIdAsc(ReferenceTable.normalize(name)));
     }
 
     /**
@@ -83,7 +108,7 @@ public class SearchStatusServiceImpl implements SearchStatusService {
     public void delete(Long id) {
         log.debug("Request to delete SearchStatus : {}", id);
         searchStatusRepository.deleteById(id);
-        searchStatusSearchRepository.deleteById(id);
+        searchIndexer.delete(SearchStatus.class, id);
     }
 
     /**
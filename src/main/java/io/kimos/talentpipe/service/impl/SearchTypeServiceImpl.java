@@ -4,6 +4,10 @@ import io.kimos.talentpipe.domain.SearchType;
 import io.kimos.talentpipe.repository.SearchTypeRepository;
 import io.kimos.talentpipe.repository.search.SearchTypeSearchRepository;
 import io.kimos.talentpipe.service.SearchTypeService;
+import io.kimos.talentpipe.service.pagination.ApproximateCountPager;
+import io.kimos.talentpipe.service.reference.ReferenceDataService;
+import io.kimos.talentpipe.service.reference.ReferenceTable;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -28,9 +32,18 @@ public class SearchTypeServiceImpl implements SearchTypeService {
 
     private final SearchTypeSearchRepository searchTypeSearchRepository;
 
-    public SearchTypeServiceImpl(SearchTypeRepository searchTypeRepository, SearchTypeSearchRepository searchTypeSearchRepository) {
+    private final SearchIndexer searchIndexer;
+
+    private final ApproximateCountPager approximateCountPager;
+
+    private final ReferenceDataService referenceDataService;
+
+    public SearchTypeServiceImpl(SearchTypeRepository searchTypeRepository, SearchTypeSearchRepository searchTypeSearchRepository, SearchIndexer searchIndexer, ApproximateCountPager approximateCountPager, ReferenceDataService referenceDataService) {
         this.searchTypeRepository = searchTypeRepository;
         this.searchTypeSearchRepository = searchTypeSearchRepository;
+        this.searchIndexer = searchIndexer;
+        this.approximateCountPager = approximateCountPager;
+        this.referenceDataService = referenceDataService;
     }
 
     /**
@@ -43,7 +56,7 @@ public class SearchTypeServiceImpl implements SearchTypeService {
     public SearchType save(SearchType searchType) {
         log.debug("Request to save SearchType : {}", searchType);
         SearchType result = searchTypeRepository.save(searchType);
-        searchTypeSearchRepository.save(result);
+        searchIndexer.index(result);
         return result;
     }
 
@@ -57,7 +70,8 @@ public class SearchTypeServiceImpl implements SearchTypeService {
     @Transactional(readOnly = true)
     public Page<SearchType> findAll(Pageable pageable) {
         log.debug("Request to get all SearchTypes");
-        return searchTypeRepository.findAll(pageable);
+        return referenceDataService.table(SearchType.class).map(table -> table.findAll(pageable))
+            .orElseGet(() -> approximateCountPager.findPage(searchTypeRepository, SearchType.class, null, ApproximateCountPager.ALL, pageable));
     }
 
     /**
@@ -70,7 +84,22 @@ public class SearchTypeServiceImpl implements SearchTypeService {
     @Transactional(readOnly = true)
     public Optional<SearchType> findOne(Long id) {
         log.debug("Request to get SearchType : {}", id);
-        return searchTypeRepository.findById(id);
+        return referenceDataService.table(SearchType.class).map(table -> table.findOne(id))
+            .orElseGet(() -> searchTypeRepository.findById(id));
+    }
+
+    /**
+     * Get one searchType by name.
+     *
+     * @param name the name of the entity, compared once normalized
+     * @return the entity
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<SearchType> findByName(String name) {
+        log.debug("Request to get SearchType by name : {}", name);
+        return referenceDataService.table(SearchType.class).map(table -> table.findByName(name))
+            .orElseGet(() -> searchTypeRepository.findFirstByNormalizedNameOrderByIdAsc(ReferenceTable.normalize(name)));
     }
 
     /**
@@ -82,7 +111,7 @@ public class SearchTypeServiceImpl implements SearchTypeService {
     public void delete(Long id) {
         log.debug("Request to delete SearchType : {}", id);
         searchTypeRepository.deleteById(id);
-        searchTypeSearchRepository.deleteById(id);
+        searchIndexer.delete(SearchType.class, id);
     }
 
     /**
@@ -4,6 +4,10 @@ import io.kimos.talentpipe.domain.Sector;
 import io.kimos.talentpipe.repository.SectorRepository;
 import io.kimos.talentpipe.repository.search.SectorSearchRepository;
 import io.kimos.talentpipe.service.SectorService;
+import io.kimos.talentpipe.service.pagination.ApproximateCountPager;
+import io.kimos.talentpipe.service.reference.ReferenceDataService;
+import io.kimos.talentpipe.service.reference.ReferenceTable;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -28,9 +32,18 @@ public class SectorServiceImpl implements SectorService {
 
     private final SectorSearchRepository sectorSearchRepository;
 
-    public SectorServiceImpl(SectorRepository sectorRepository, SectorSearchRepository sectorSearchRepository) {
+    private final SearchIndexer searchIndexer;
+
+    private final ApproximateCountPager approximateCountPager;
+
+    private final ReferenceDataService referenceDataService;
+
+    public SectorServiceImpl(SectorRepository sectorRepository, SectorSearchRepository sectorSearchRepository, SearchIndexer searchIndexer, ApproximateCountPager approximateCountPager, ReferenceDataService referenceDataService) {
         this.sectorRepository = sectorRepository;
         this.sectorSearchRepository = sectorSearchRepository;
+        this.searchIndexer = searchIndexer;
+        this.approximateCountPager = approximateCountPager;
+        this.referenceDataService = referenceDataService;
     }
 
     /**
@@ -43,7 +56,7 @@ public class SectorServiceImpl implements SectorService {
     public Sector save(Sector sector) {
         log.debug("Request to save Sector : {}", sector);
         Sector result = sectorRepository.save(sector);
-        sectorSearchRepository.save(result);
+        searchIndexer.index(result);
         return result;
     }
 
@@ -57,7 +70,8 @@ public class SectorServiceImpl implements SectorService {
     @Transactional(readOnly = true)
     public Page<Sector> findAll(Pageable pageable) {
         log.debug("Request to get all Sectors");
-        return sectorRepository.findAll(pageable);
+        return referenceDataService.table(Sector.class).map(table -> table.findAll(pageable))
+            .orElseGet(() -> approximateCountPager.findPage(sectorRepository, Sector.class, null, ApproximateCountPager.ALL, pageable));
     }
 
     /**
@@ -70,7 +84,22 @@ public class SectorServiceImpl implements SectorService {
     @Transactional(readOnly = true)
     public Optional<Sector> findOne(Long id) {
         log.debug("Request to get Sector : {}", id);
-        return sectorRepository.findById(id);
+        return referenceDataService.table(Sector.class).map(table -> table.findOne(id))
+            .orElseGet(() -> sectorRepository.findById(id));
+    }
+
+    /**
+     * Get one sector by name.
+     *
+     * @param name the name of the entity, compared once normalized
+     * @return the entity
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Sector> findByName(String name) {
+        log.debug("Request to get Sector by name : {}", name);
+        return referenceDataService.table(Sector.class).map(table -> table.findByName(name))
+            .orElseGet(() -> sectorRepository.findFirstByNormalizedNameOrderByIdAsc(ReferenceTable.normalize(name)));
     }
 
     /**
@@ -82,7 +111,7 @@ public class SectorServiceImpl implements SectorService {
     public void delete(Long id) {
         log.debug("Request to delete Sector : {}", id);
         sectorRepository.deleteById(id);
-        sectorSearchRepository.deleteById(id);
+        searchIndexer.delete(Sector.class, id);
     }
 
     /**
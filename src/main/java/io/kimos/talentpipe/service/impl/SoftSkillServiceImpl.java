@@ -4,6 +4,10 @@ import io.kimos.talentpipe.domain.SoftSkill;
 import io.kimos.talentpipe.repository.SoftSkillRepository;
 import io.kimos.talentpipe.repository.search.SoftSkillSearchRepository;
 import io.kimos.talentpipe.service.SoftSkillService;
+import io.kimos.talentpipe.service.pagination.ApproximateCountPager;
+import io.kimos.talentpipe.service.reference.ReferenceDataService;
+import io.kimos.talentpipe.service.reference.ReferenceTable;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -28,9 +32,18 @@ public class SoftSkillServiceImpl implements SoftSkillService {
 
     private final SoftSkillSearchRepository softSkillSearchRepository;
 
-    public SoftSkillServiceImpl(SoftSkillRepository softSkillRepository, SoftSkillSearchRepository softSkillSearchRepository) {
+    private final SearchIndexer searchIndexer;
+
+    private final ApproximateCountPager approximateCountPager;
+
+    private final ReferenceDataService referenceDataService;
+
+    public SoftSkillServiceImpl(SoftSkillRepository softSkillRepository, SoftSkillSearchRepository softSkillSearchRepository, SearchIndexer searchIndexer, ApproximateCountPager approximateCountPager, ReferenceDataService referenceDataService) {
         this.softSkillRepository = softSkillRepository;
         this.softSkillSearchRepository = softSkillSearchRepository;
+        this.searchIndexer = searchIndexer;
+        this.approximateCountPager = approximateCountPager;
+        this.referenceDataService = referenceDataService;
     }
 
     /**
@@ -43,7 +56,7 @@ public class SoftSkillServiceImpl implements SoftSkillService {
     public SoftSkill save(SoftSkill softSkill) {
         log.debug("Request to save SoftSkill : {}", softSkill);
         SoftSkill result = softSkillRepository.save(softSkill);
-        softSkillSearchRepository.save(result);
+        searchIndexer.index(result);
         return result;
     }
 
@@ -57,7 +70,8 @@ public class SoftSkillServiceImpl implements SoftSkillService {
     @Transactional(readOnly = true)
     public Page<SoftSkill> findAll(Pageable pageable) {
         log.debug("Request to get all SoftSkills");
-        return softSkillRepository.findAll(pageable);
+        return referenceDataService.table(SoftSkill.class).map(table -> table.findAll(pageable))
+            .orElseGet(() -> approximateCountPager.findPage(softSkillRepository, SoftSkill.class, null, ApproximateCountPager.ALL, pageable));
     }
 
     /**
@@ -70,7 +84,22 @@ public class SoftSkillServiceImpl implements SoftSkillService {
     @Transactional(readOnly = true)
     public Optional<SoftSkill> findOne(Long id) {
         log.debug("Request to get SoftSkill : {}", id);
-        return softSkillRepository.findById(id);
+        return referenceDataService.table(SoftSkill.class).map(table -> table.findOne(id))
+            .orElseGet(() -> softSkillRepository.findById(id));
+    }
+
+    /**
+     * Get one softSkill by name.
+     *
+     * @param name the name of the entity, compared once normalized
+     * @return the entity
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<SoftSkill> findByName(String name) {
+        log.debug("Request to get SoftSkill by name : {}", name);
+        return referenceDataService.table(SoftSkill.class).map(table -> table.findByName(name))
+            .orElseGet(() -> softSkillRepository.findFirstByNormalizedNameOrderByIdAsc(ReferenceTable.normalize(name)));
     }
 
     /**
@@ -82,7 +111,7 @@ public class SoftSkillServiceImpl implements SoftSkillService {
     public void delete(Long id) {
         log.debug("Request to delete SoftSkill : {}", id);
         softSkillRepository.deleteById(id);
-        softSkillSearchRepository.deleteById(id);
+        searchIndexer.delete(SoftSkill.class, id);
     }
 
     /**
@@ -4,6 +4,10 @@ import io.kimos.talentpipe.domain.StateBeforeTax;
 import io.kimos.talentpipe.repository.StateBeforeTaxRepository;
 import io.kimos.talentpipe.repository.search.StateBeforeTaxSearchRepository;
 import io.kimos.talentpipe.service.StateBeforeTaxService;
+import io.kimos.talentpipe.service.pagination.ApproximateCountPager;
+import io.kimos.talentpipe.service.reference.ReferenceDataService;
+import io.kimos.talentpipe.service.reference.ReferenceTable;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -28,9 +32,18 @@ public class StateBeforeTaxServiceImpl implements StateBeforeTaxService {
 
     private final StateBeforeTaxSearchRepository stateBeforeTaxSearchRepository;
 
-    public StateBeforeTaxServiceImpl(StateBeforeTaxRepository stateBeforeTaxRepository, StateBeforeTaxSearchRepository stateBeforeTaxSearchRepository) {
+    private final SearchIndexer searchIndexer;
+
+    private final ApproximateCountPager approximateCountPager;
+
+    private final ReferenceDataService referenceDataService;
+
+    public StateBeforeTaxServiceImpl(StateBeforeTaxRepository stateBeforeTaxRepository, StateBeforeTaxSearchRepository stateBeforeTaxSearchRepository, SearchIndexer searchIndexer, ApproximateCountPager approximateCountPager, ReferenceDataService referenceDataService) {
         this.stateBeforeTaxRepository = stateBeforeTaxRepository;
         this.stateBeforeTaxSearchRepository = stateBeforeTaxSearchRepository;
+        this.searchIndexer = searchIndexer;
+        this.approximateCountPager = approximateCountPager;
+        this.referenceDataService = referenceDataService;
     }
 
     /**
@@ -43,7 +56,7 @@ public class StateBeforeTaxServiceImpl implements StateBeforeTaxService {
     public StateBeforeTax save(StateBeforeTax stateBeforeTax) {
         log.debug("Request to save StateBeforeTax : {}", stateBeforeTax);
         StateBeforeTax result = stateBeforeTaxRepository.save(stateBeforeTax);
-        stateBeforeTaxSearchRepository.save(result);
+        searchIndexer.index(result);
         return result;
     }
 
@@ -57,7 +70,8 @@ public class StateBeforeTaxServiceImpl implements StateBeforeTaxService {
     @Transactional(readOnly = true)
     public Page<StateBeforeTax> findAll(Pageable pageable) {
         log.debug("Request to get all StateBeforeTaxes");
-        return stateBeforeTaxRepository.findAll(pageable);
+        return referenceDataService.table(StateBeforeTax.class).map(table -> table.findAll(pageable))
+            .orElseGet(() -> approximateCountPager.findPage(stateBeforeTaxRepository, StateBeforeTax.class, null, ApproximateCountPager.ALL, pageable));
     }
 
     /**
@@ -70,7 +84,22 @@ public class StateBeforeTaxServiceImpl implements StateBeforeTaxService {
     @Transactional(readOnly = true)
     public Optional<StateBeforeTax> findOne(Long id) {
         log.debug("Request to get StateBeforeTax : {}", id);
-        return stateBeforeTaxRepository.findById(id);
+        return referenceDataService.table(StateBeforeTax.class).map(table -> table.findOne(id))
+            .orElseGet(() -> stateBeforeTaxRepository.findById(id));
+    }
+
+    /**
+     * Get one stateBeforeTax by name.
+     *
+     * @param name the name of the entity, compared once normalized
+     * @return the entity
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<StateBeforeTax> findByName(String name) {
+        log.debug("Request to get StateBeforeTax by name : {}", name);
+        return referenceDataService.table(StateBeforeTax.class).map(table -> table.findByName(name))
+            .orElseGet(() -> stateBeforeTaxRepository.findFirstByNormalizedNameOrderByIdAsc(ReferenceTable.normalize(name)));
     }
 
     /**
@@ -82,7 +111,7 @@ public class StateBeforeTaxServiceImpl implements StateBeforeTaxService {
     public void delete(Long id) {
         log.debug("Request to delete StateBeforeTax : {}", id);
         stateBeforeTaxRepository.deleteById(id);
-        stateBeforeTaxSearchRepository.deleteById(id);
+        searchIndexer.delete(StateBeforeTax.class, id);
     }
 
     /**
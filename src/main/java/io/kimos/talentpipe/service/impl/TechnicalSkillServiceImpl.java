@@ -4,6 +4,10 @@ import io.kimos.talentpipe.domain.TechnicalSkill;
 import io.kimos.talentpipe.repository.TechnicalSkillRepository;
 import io.kimos.talentpipe.repository.search.TechnicalSkillSearchRepository;
 import io.kimos.talentpipe.service.TechnicalSkillService;
+import io.kimos.talentpipe.service.pagination.ApproximateCountPager;
+import io.kimos.talentpipe.service.reference.ReferenceDataService;
+import io.kimos.talentpipe.service.reference.ReferenceTable;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -28,9 +32,18 @@ public class TechnicalSkillServiceImpl implements TechnicalSkillService {
 
     private final TechnicalSkillSearchRepository technicalSkillSearchRepository;
 
-    public TechnicalSkillServiceImpl(TechnicalSkillRepository technicalSkillRepository, TechnicalSkillSearchRepository technicalSkillSearchRepository) {
+    private final SearchIndexer searchIndexer;
+
+    private final ApproximateCountPager approximateCountPager;
+
+    private final ReferenceDataService referenceDataService;
+
+    public TechnicalSkillServiceImpl(TechnicalSkillRepository technicalSkillRepository, TechnicalSkillSearchRepository technicalSkillSearchRepository, SearchIndexer searchIndexer, ApproximateCountPager approximateCountPager, ReferenceDataService referenceDataService) {
         this.technicalSkillRepository = technicalSkillRepository;
         this.technicalSkillSearchRepository = technicalSkillSearchRepository;
+        this.searchIndexer = searchIndexer;
+        this.approximateCountPager = approximateCountPager;
+        this.referenceDataService = referenceDataService;
     }
 
     /**
@@ -43,7 +56,7 @@ public class TechnicalSkillServiceImpl implements TechnicalSkillService {
     public TechnicalSkill save(TechnicalSkill technicalSkill) {
         log.debug("Request to save TechnicalSkill : {}", technicalSkill);
         TechnicalSkill result = technicalSkillRepository.save(technicalSkill);
-        technicalSkillSearchRepository.save(result);
+        searchIndexer.index(result);
         return result;
     }
 
@@ -57,7 +70,8 @@ public class TechnicalSkillServiceImpl implements TechnicalSkillService {
     @Transactional(readOnly = true)
     public Page<TechnicalSkill> findAll(Pageable pageable) {
         log.debug("Request to get all TechnicalSkills");
-        return technicalSkillRepository.findAll(pageable);
+        return referenceDataService.table(TechnicalSkill.class).map(table -> table.findAll(pageable))
+            .orElseGet(() -> approximateCountPager.findPage(technicalSkillRepository, TechnicalSkill.class, null, ApproximateCountPager.ALL, pageable));
     }
 
     /**
@@ -70,7 +84,22 @@ public class TechnicalSkillServiceImpl implements TechnicalSkillService {
     @Transactional(readOnly = true)
     public Optional<TechnicalSkill> findOne(Long id) {
         log.debug("Request to get TechnicalSkill : {}", id);
-        return technicalSkillRepository.findById(id);
+        return referenceDataService.table(TechnicalSkill.class).map(table -> table.findOne(id))
+            .orElseGet(() -> technicalSkillRepository.findById(id));
+    }
+
+    /**
+     * Get one technicalSkill by name.
+     *
+     * @param name the name of the entity, compared once normalized
+     * @return the entity
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<TechnicalSkill> findByName(String name) {
+        log.debug("Request to get TechnicalSkill by name : {}", name);
+        return referenceDataService.table(TechnicalSkill.class).map(table -> table.findByName(name))
+            .orElseGet(() -> technicalSkillRepository.findFirstByNormalizedNameOrderByIdAsc(ReferenceTable.normalize(name)));
     }
 
     /**
@@ -82,7 +111,7 @@ public class TechnicalSkillServiceImpl implements TechnicalSkillService {
     public void delete(Long id) {
         log.debug("Request to delete TechnicalSkill : {}", id);
         technicalSkillRepository.deleteById(id);
-        technicalSkillSearchRepository.deleteById(id);
+        searchIndexer.delete(TechnicalSkill.class, id);
     }
 
     /**
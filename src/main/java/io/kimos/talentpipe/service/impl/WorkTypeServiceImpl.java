@@ -4,6 +4,9 @@ import io.kimos.talentpipe.domain.WorkType;
 import io.kimos.talentpipe.repository.WorkTypeRepository;
 import io.kimos.talentpipe.repository.search.WorkTypeSearchRepository;
 import io.kimos.talentpipe.service.WorkTypeService;
+import io.kimos.talentpipe.service.reference.ReferenceDataService;
+import io.kimos.talentpipe.service.reference.ReferenceTable;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -29,9 +32,15 @@ public class WorkTypeServiceImpl implements WorkTypeService {
 
     private final WorkTypeSearchRepository workTypeSearchRepository;
 
-    public WorkTypeServiceImpl(WorkTypeRepository workTypeRepository, WorkTypeSearchRepository workTypeSearchRepository) {
+    private final SearchIndexer searchIndexer;
+
+    private final ReferenceDataService referenceDataService;
+
+    public WorkTypeServiceImpl(WorkTypeRepository workTypeRepository, WorkTypeSearchRepository workTypeSearchRepository, SearchIndexer searchIndexer, ReferenceDataService referenceDataService) {
         this.workTypeRepository = workTypeRepository;
         this.workTypeSearchRepository = workTypeSearchRepository;
+        this.searchIndexer = searchIndexer;
+        this.referenceDataService = referenceDataService;
     }
 
     /**
@@ -44,7 +53,7 @@ public class WorkTypeServiceImpl implements WorkTypeService {
     public WorkType save(WorkType workType) {
         log.debug("Request to save WorkType : {}", workType);
         WorkType result = workTypeRepository.save(workType);
-        workTypeSearchRepository.save(result);
+        searchIndexer.index(result);
         return result;
     }
 
@@ -57,7 +66,8 @@ public class WorkTypeServiceImpl implements WorkTypeService {
     @Transactional(readOnly = true)
     public List<WorkType> findAll() {
         log.debug("Request to get all WorkTypes");
-        return workTypeRepository.findAll();
+        return referenceDataService.table(WorkType.class).map(ReferenceTable::findAll)
+            .orElseGet(workTypeRepository::findAll);
     }
 
     /**
@@ -70,7 +80,22 @@ public class WorkTypeServiceImpl implements WorkTypeService {
     @Transactional(readOnly = true)
     public Optional<WorkType> findOne(Long id) {
         log.debug("Request to get WorkType : {}", id);
-        return workTypeRepository.findById(id);
+        return referenceDataService.table(WorkType.class).map(table -> table.findOne(id))
+            .orElseGet(() -> workTypeRepository.findById(id));
+    }
+
+    /**
+     * Get one workType by name.
+     *
+     * @param name the name of the entity, compared once normalized
+     * @return the entity
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<WorkType> findByName(String name) {
+        log.debug("Request to get WorkType by name : {}", name);
+        return referenceDataService.table(WorkType.class).map(table -> table.findByName(name))
+            .orElseGet(() -> workTypeRepository.findFirstByNormalizedNameOrderByIdAsc(ReferenceTable.normalize(name)));
     }
 
     /**
@@ -82,7 +107,7 @@ public class WorkTypeServiceImpl implements WorkTypeService {
     public void delete(Long id) {
         log.debug("Request to delete WorkType : {}", id);
         workTypeRepository.deleteById(id);
-        workTypeSearchRepository.deleteById(id);
+        searchIndexer.delete(WorkType.class, id);
     }
 
     /**
@@ -0,0 +1,128 @@
+package io.kimos.talentpipe.service.index;
+
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Base class of the in-memory SearchRequest indexes.
+ * <p>
+ * The state of an index is only ever mutated under the write lock, by the {@link SearchRequestChangedEvent}s
+ * of committed transactions, and read under the read lock. When the {@link SearchRequestIndexLoader}
+ * rebuilds the indexes, the new state is built aside from a database snapshot, then the changes committed
+ * since the rebuild started are replayed on it before it replaces the current one.
+ *
+ * @param <S> the type of the state of the index
+ */
+public abstract class AbstractSearchRequestIndex<S extends AbstractSearchRequestIndex.State> {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private S state;
+
+    private List<SearchRequestChangedEvent> changesDuringRebuild;
+
+    protected AbstractSearchRequestIndex(S initialState) {
+        this.state = initialState;
+    }
+
+    /**
+     * Create an empty state for a rebuild.
+     */
+    protected abstract S newState();
+
+    /**
+     * Apply a committed change of a SearchRequest to the index.
+     *
+     * @param event the change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSearchRequestChanged(SearchRequestChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            state.apply(event);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of indexed SearchRequests
+     */
+    public int size() {
+        return read(State::size);
+    }
+
+    /**
+     * Run a query against the current state, under the read lock. The result must not share mutable
+     * structures with the state.
+     */
+    protected <R> R read(Function<S, R> query) {
+        lock.readLock().lock();
+        try {
+            return query.apply(state);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void completeRebuild(List<SearchRequestChangedEvent> snapshot) {
+        S rebuilt = newState();
+        snapshot.forEach(rebuilt::apply);
+        rebuilt.optimize();
+        lock.writeLock().lock();
+        try {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.forEach(rebuilt::apply);
+            }
+            state = rebuilt;
+            changesDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void abortRebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Mutable state of an index. Implementations need not be thread-safe.
+     */
+    protected interface State {
+
+        /**
+         * Index, re-index or remove a SearchRequest.
+         */
+        void apply(SearchRequestChangedEvent event);
+
+        /**
+         * Compact the state once it has been bulk loaded.
+         */
+        default void optimize() {
+        }
+
+        int size();
+    }
+}
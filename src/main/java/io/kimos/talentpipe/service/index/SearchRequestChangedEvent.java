@@ -0,0 +1,134 @@
+package io.kimos.talentpipe.service.index;
+
+import io.kimos.talentpipe.domain.SearchRequest;
+import io.kimos.talentpipe.domain.SoftSkill;
+import io.kimos.talentpipe.domain.TechnicalSkill;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Published when a SearchRequest is saved or deleted, and delivered to the in-memory indexes once
+ * the transaction commits.
+ * <p>
+ * The event holds a snapshot of the indexed state taken while the transaction was still open, so
+ * listeners never touch the entity or its lazy collections after the commit. The same snapshots are
+ * read from the database when the indexes are rebuilt, see {@link SearchRequestIndexLoader}.
+ */
+public final class SearchRequestChangedEvent {
+
+    private static final long[] NO_IDS = new long[0];
+
+    private final Long id;
+
+    private final boolean deleted;
+
+    private final Long companyId;
+
+    private final Long expertiseLevelId;
+
+    private final BigDecimal minSalary;
+
+    private final BigDecimal maxSalary;
+
+    private final long[] requiredTechnicalSkillIds;
+
+    private final long[] nonRequiredTechnicalSkillIds;
+
+    private final long[] requiredSoftSkillIds;
+
+    private final long[] nonRequiredSoftSkillIds;
+
+    SearchRequestChangedEvent(Long id, boolean deleted, Long companyId, Long expertiseLevelId,
+                              BigDecimal minSalary, BigDecimal maxSalary,
+                              long[] requiredTechnicalSkillIds, long[] nonRequiredTechnicalSkillIds,
+                              long[] requiredSoftSkillIds, long[] nonRequiredSoftSkillIds) {
+        this.id = id;
+        this.deleted = deleted;
+        this.companyId = companyId;
+        this.expertiseLevelId = expertiseLevelId;
+        this.minSalary = minSalary;
+        this.maxSalary = maxSalary;
+        this.requiredTechnicalSkillIds = requiredTechnicalSkillIds;
+        this.nonRequiredTechnicalSkillIds = nonRequiredTechnicalSkillIds;
+        this.requiredSoftSkillIds = requiredSoftSkillIds;
+        this.nonRequiredSoftSkillIds = nonRequiredSoftSkillIds;
+    }
+
+    public static SearchRequestChangedEvent saved(SearchRequest searchRequest) {
+        return new SearchRequestChangedEvent(
+            searchRequest.getId(),
+            false,
+            searchRequest.getCompany() != null ? searchRequest.getCompany().getId() : null,
+            searchRequest.getExpertiseLevel() != null ? searchRequest.getExpertiseLevel().getId() : null,
+            searchRequest.getMinSalary(),
+            searchRequest.getMaxSalary(),
+            ids(searchRequest.getRequiredTechnicalSkills(), TechnicalSkill::getId),
+            ids(searchRequest.getNonRequiredTechnicalSkills(), TechnicalSkill::getId),
+            ids(searchRequest.getRequiredSoftSkills(), SoftSkill::getId),
+            ids(searchRequest.getNonRequiredSoftSkills(), SoftSkill::getId));
+    }
+
+    public static SearchRequestChangedEvent deleted(Long id) {
+        return new SearchRequestChangedEvent(id, true, null, null, null, null, NO_IDS, NO_IDS, NO_IDS, NO_IDS);
+    }
+
+    private static <T> long[] ids(Collection<T> skills, Function<T, Long> id) {
+        return skills.stream()
+            .map(id)
+            .filter(Objects::nonNull)
+            .mapToLong(Long::longValue)
+            .distinct()
+            .toArray();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public Long getCompanyId() {
+        return companyId;
+    }
+
+    public Long getExpertiseLevelId() {
+        return expertiseLevelId;
+    }
+
+    public BigDecimal getMinSalary() {
+        return minSalary;
+    }
+
+    public BigDecimal getMaxSalary() {
+        return maxSalary;
+    }
+
+    public long[] getRequiredTechnicalSkillIds() {
+        return requiredTechnicalSkillIds;
+    }
+
+    public long[] getNonRequiredTechnicalSkillIds() {
+        return nonRequiredTechnicalSkillIds;
+    }
+
+    public long[] getRequiredSoftSkillIds() {
+        return requiredSoftSkillIds;
+    }
+
+    public long[] getNonRequiredSoftSkillIds() {
+        return nonRequiredSoftSkillIds;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchRequestChangedEvent{" +
+            "id=" + id +
+            ", deleted=" + deleted +
+            "}";
+    }
+}
@@ -0,0 +1,137 @@
+package io.kimos.talentpipe.service.index;
+
+import io.kimos.talentpipe.config.ApplicationProperties;
+import io.kimos.talentpipe.repository.SearchRequestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Rebuilds all the in-memory SearchRequest indexes from the database at startup.
+ * <p>
+ * The SearchRequest id range is split in chunks, which are scanned in parallel, each in its own
+ * read-only transaction, with one query for the SearchRequest columns and one per skill join table.
+ * The resulting snapshot is shared by all the indexes, so the database is only scanned once.
+ */
+@Component
+public class SearchRequestIndexLoader {
+
+    private static final long[] NO_IDS = new long[0];
+
+    private final Logger log = LoggerFactory.getLogger(SearchRequestIndexLoader.class);
+
+    private final SearchRequestRepository searchRequestRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.SearchRequestIndex properties;
+
+    private final List<AbstractSearchRequestIndex<?>> indexes;
+
+    public SearchRequestIndexLoader(SearchRequestRepository searchRequestRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    ApplicationProperties applicationProperties,
+                                    List<AbstractSearchRequestIndex<?>> indexes) {
+        this.searchRequestRepository = searchRequestRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.properties = applicationProperties.getSearchRequestIndex();
+        this.indexes = indexes;
+    }
+
+    /**
+     * Rebuild all the indexes from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        indexes.forEach(AbstractSearchRequestIndex::beginRebuild);
+        List<SearchRequestChangedEvent> snapshot;
+        try {
+            snapshot = scan();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            indexes.forEach(AbstractSearchRequestIndex::abortRebuild);
+            return;
+        } catch (RuntimeException | ExecutionException e) {
+            log.error("Could not rebuild the search request indexes, keeping the incrementally maintained ones", e);
+            indexes.forEach(AbstractSearchRequestIndex::abortRebuild);
+            return;
+        }
+        indexes.forEach(index -> index.completeRebuild(snapshot));
+        log.info("Rebuilt {} search request indexes from {} search requests in {} ms",
+            indexes.size(), snapshot.size(), System.currentTimeMillis() - start);
+    }
+
+    List<SearchRequestChangedEvent> scan() throws InterruptedException, ExecutionException {
+        Optional<Long> minId = searchRequestRepository.findMinId();
+        Optional<Long> maxId = searchRequestRepository.findMaxId();
+        List<SearchRequestChangedEvent> snapshot = new ArrayList<>();
+        if (!minId.isPresent() || !maxId.isPresent()) {
+            return snapshot;
+        }
+        long chunkSize = Math.max(1, properties.getRebuildChunkSize());
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("search-request-index-rebuild-");
+        threadFactory.setDaemon(true);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, properties.getRebuildParallelism()), threadFactory);
+        try {
+            List<Future<List<SearchRequestChangedEvent>>> chunks = new ArrayList<>();
+            for (long fromId = minId.get(); fromId <= maxId.get(); fromId += chunkSize) {
+                long chunkStart = fromId;
+                long chunkEnd = Math.min(maxId.get(), fromId + chunkSize - 1);
+                chunks.add(executor.submit(() -> transactionTemplate.execute(status -> scanChunk(chunkStart, chunkEnd))));
+            }
+            for (Future<List<SearchRequestChangedEvent>> chunk : chunks) {
+                snapshot.addAll(chunk.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return snapshot;
+    }
+
+    private List<SearchRequestChangedEvent> scanChunk(long fromId, long toId) {
+        List<Object[]> rows = searchRequestRepository.findIndexedColumnsByIdBetween(fromId, toId);
+        Map<Long, long[]> requiredTechnicalSkills = group(searchRequestRepository.findRequiredTechnicalSkillIdsByIdBetween(fromId, toId));
+        Map<Long, long[]> nonRequiredTechnicalSkills = group(searchRequestRepository.findNonRequiredTechnicalSkillIdsByIdBetween(fromId, toId));
+        Map<Long, long[]> requiredSoftSkills = group(searchRequestRepository.findRequiredSoftSkillIdsByIdBetween(fromId, toId));
+        Map<Long, long[]> nonRequiredSoftSkills = group(searchRequestRepository.findNonRequiredSoftSkillIdsByIdBetween(fromId, toId));
+        List<SearchRequestChangedEvent> chunk = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            chunk.add(new SearchRequestChangedEvent(id, false, (Long) row[1], (Long) row[2],
+                (BigDecimal) row[3], (BigDecimal) row[4],
+                requiredTechnicalSkills.getOrDefault(id, NO_IDS),
+                nonRequiredTechnicalSkills.getOrDefault(id, NO_IDS),
+                requiredSoftSkills.getOrDefault(id, NO_IDS),
+                nonRequiredSoftSkills.getOrDefault(id, NO_IDS)));
+        }
+        return chunk;
+    }
+
+    private static Map<Long, long[]> group(List<Object[]> rows) {
+        Map<Long, List<Long>> grouped = new HashMap<>();
+        for (Object[] row : rows) {
+            grouped.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((Long) row[1]);
+        }
+        Map<Long, long[]> ids = new HashMap<>(grouped.size());
+        grouped.forEach((id, values) -> ids.put(id, values.stream().mapToLong(Long::longValue).toArray()));
+        return ids;
+    }
+}
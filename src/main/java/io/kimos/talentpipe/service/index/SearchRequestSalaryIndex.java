@@ -0,0 +1,310 @@
+package io.kimos.talentpipe.service.index;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Interval index of the salary bands of the SearchRequests, answering "which bands overlap 3000-4500"
+ * or "which bands contain 4000" without a range scan.
+ * <p>
+ * The bands are kept in an AVL tree ordered by minimum salary, where each node also holds the highest
+ * maximum salary of its subtree: a whole subtree is skipped as soon as its highest maximum is below the
+ * queried range, and the traversal stops at the first minimum above it. Salaries are stored as longs
+ * scaled to the precision of the salary columns. A SearchRequest without maximum salary has an open-ended
+ * band, and one without minimum salary is not indexed.
+ */
+@Component
+public class SearchRequestSalaryIndex extends AbstractSearchRequestIndex<SearchRequestSalaryIndex.IntervalTree> {
+
+    /**
+     * Scale of the {@code min_salary} and {@code max_salary} columns.
+     */
+    static final int SALARY_SCALE = 2;
+
+    private static final BigDecimal HIGHEST_SALARY = BigDecimal.valueOf(Long.MAX_VALUE, SALARY_SCALE);
+
+    private static final BigDecimal LOWEST_SALARY = BigDecimal.valueOf(Long.MIN_VALUE, SALARY_SCALE);
+
+    public SearchRequestSalaryIndex() {
+        super(new IntervalTree());
+    }
+
+    @Override
+    protected IntervalTree newState() {
+        return new IntervalTree();
+    }
+
+    /**
+     * Find the ids of the SearchRequests whose salary band overlaps a salary range, by increasing minimum salary.
+     *
+     * @param from             the lowest salary of the range
+     * @param to               the highest salary of the range, equal to {@code from} to find the bands containing a salary
+     * @param expertiseLevelId the expertise level the SearchRequests must ask for, or null for all expertise levels
+     * @param companyId        the company the SearchRequests must belong to, or null for all companies
+     * @param pageable         the pagination information, its sort is ignored
+     * @return the page of ids, with the total number of matches
+     */
+    public Page<Long> query(BigDecimal from, BigDecimal to, Long expertiseLevelId, Long companyId, Pageable pageable) {
+        long skip = pageable.isPaged() ? pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+        PageCollector collector = new PageCollector(skip, limit);
+        read(tree -> {
+            tree.overlapping(scaleBound(from), scaleBound(to), expertiseLevelId, companyId, collector);
+            return null;
+        });
+        return new PageImpl<>(collector.ids, pageable, collector.total);
+    }
+
+    static long scale(BigDecimal salary) {
+        return salary.setScale(SALARY_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Scale a bound of a queried range, clamped to the scaled salaries: no band lies beyond them, so the matches
+     * are the same, and a huge bound is not rescaled.
+     */
+    static long scaleBound(BigDecimal salary) {
+        if (salary.compareTo(HIGHEST_SALARY) >= 0) {
+            return Long.MAX_VALUE;
+        }
+        if (salary.compareTo(LOWEST_SALARY) <= 0) {
+            return Long.MIN_VALUE;
+        }
+        return scale(salary);
+    }
+
+    /**
+     * Receives the ids of the matching SearchRequests, in the order of the tree.
+     */
+    interface Collector {
+
+        void accept(int id);
+    }
+
+    private static final class PageCollector implements Collector {
+
+        private final List<Long> ids = new ArrayList<>();
+
+        private long skip;
+
+        private final int limit;
+
+        private long total;
+
+        private PageCollector(long skip, int limit) {
+            this.skip = skip;
+            this.limit = limit;
+        }
+
+        @Override
+        public void accept(int id) {
+            total++;
+            if (skip > 0) {
+                skip--;
+            } else if (ids.size() < limit) {
+                ids.add((long) id);
+            }
+        }
+    }
+
+    private static final class Node {
+
+        private final int id;
+
+        private final long low;
+
+        private final long high;
+
+        private final Long expertiseLevelId;
+
+        private final Long companyId;
+
+        private Node left;
+
+        private Node right;
+
+        private int height = 1;
+
+        private long maxHigh;
+
+        private Node(int id, long low, long high, Long expertiseLevelId, Long companyId) {
+            this.id = id;
+            this.low = low;
+            this.high = high;
+            this.expertiseLevelId = expertiseLevelId;
+            this.companyId = companyId;
+            this.maxHigh = high;
+        }
+    }
+
+    /**
+     * AVL tree of the salary bands, ordered by minimum salary then id, augmented with the highest maximum
+     * salary of each subtree.
+     */
+    static final class IntervalTree implements AbstractSearchRequestIndex.State {
+
+        private final Map<Integer, Node> nodes = new HashMap<>();
+
+        private Node root;
+
+        @Override
+        public void apply(SearchRequestChangedEvent event) {
+            int id = Math.toIntExact(event.getId());
+            Node previous = nodes.remove(id);
+            if (previous != null) {
+                root = delete(root, previous.low, id);
+            }
+            if (event.isDeleted() || event.getMinSalary() == null) {
+                return;
+            }
+            long low = scale(event.getMinSalary());
+            long high = event.getMaxSalary() != null ? Math.max(low, scale(event.getMaxSalary())) : Long.MAX_VALUE;
+            Node node = new Node(id, low, high, event.getExpertiseLevelId(), event.getCompanyId());
+            nodes.put(id, node);
+            root = insert(root, node);
+        }
+
+        @Override
+        public int size() {
+            return nodes.size();
+        }
+
+        /**
+         * Feed the ids of the bands overlapping {@code [from, to]} to the collector, by increasing minimum salary.
+         */
+        void overlapping(long from, long to, Long expertiseLevelId, Long companyId, Collector collector) {
+            overlapping(root, from, to, expertiseLevelId, companyId, collector);
+        }
+
+        private static void overlapping(Node node, long from, long to, Long expertiseLevelId, Long companyId, Collector collector) {
+            if (node == null || node.maxHigh < from) {
+                return;
+            }
+            overlapping(node.left, from, to, expertiseLevelId, companyId, collector);
+            if (node.low > to) {
+                // The right subtree only holds higher minimums
+                return;
+            }
+            if (node.high >= from
+                && (expertiseLevelId == null || Objects.equals(expertiseLevelId, node.expertiseLevelId))
+                && (companyId == null || Objects.equals(companyId, node.companyId))) {
+                collector.accept(node.id);
+            }
+            overlapping(node.right, from, to, expertiseLevelId, companyId, collector);
+        }
+
+        private static int compare(long low, int id, Node node) {
+            int byLow = Long.compare(low, node.low);
+            return byLow != 0 ? byLow : Integer.compare(id, node.id);
+        }
+
+        private static Node insert(Node node, Node added) {
+            if (node == null) {
+                return added;
+            }
+            if (compare(added.low, added.id, node) < 0) {
+                node.left = insert(node.left, added);
+            } else {
+                node.right = insert(node.right, added);
+            }
+            return rebalance(node);
+        }
+
+        private static Node delete(Node node, long low, int id) {
+            if (node == null) {
+                return null;
+            }
+            int comparison = compare(low, id, node);
+            if (comparison < 0) {
+                node.left = delete(node.left, low, id);
+            } else if (comparison > 0) {
+                node.right = delete(node.right, low, id);
+            } else {
+                if (node.left == null) {
+                    return node.right;
+                }
+                if (node.right == null) {
+                    return node.left;
+                }
+                Node successor = node.right;
+                while (successor.left != null) {
+                    successor = successor.left;
+                }
+                successor.right = deleteMin(node.right);
+                successor.left = node.left;
+                return rebalance(successor);
+            }
+            return rebalance(node);
+        }
+
+        private static Node deleteMin(Node node) {
+            if (node.left == null) {
+                return node.right;
+            }
+            node.left = deleteMin(node.left);
+            return rebalance(node);
+        }
+
+        private static Node rebalance(Node node) {
+            update(node);
+            int balance = height(node.left) - height(node.right);
+            if (balance > 1) {
+                if (height(node.left.left) < height(node.left.right)) {
+                    node.left = rotateLeft(node.left);
+                }
+                return rotateRight(node);
+            }
+            if (balance < -1) {
+                if (height(node.right.right) < height(node.right.left)) {
+                    node.right = rotateRight(node.right);
+                }
+                return rotateLeft(node);
+            }
+            return node;
+        }
+
+        private static Node rotateRight(Node node) {
+            Node pivot = node.left;
+            node.left = pivot.right;
+            pivot.right = node;
+            update(node);
+            update(pivot);
+            return pivot;
+        }
+
+        private static Node rotateLeft(Node node) {
+            Node pivot = node.right;
+            node.right = pivot.left;
+            pivot.left = node;
+            update(node);
+            update(pivot);
+            return pivot;
+        }
+
+        private static void update(Node node) {
+            node.height = 1 + Math.max(height(node.left), height(node.right));
+            long maxHigh = node.high;
+            if (node.left != null) {
+                maxHigh = Math.max(maxHigh, node.left.maxHigh);
+            }
+            if (node.right != null) {
+                maxHigh = Math.max(maxHigh, node.right.maxHigh);
+            }
+            node.maxHigh = maxHigh;
+        }
+
+        private static int height(Node node) {
+            return node == null ? 0 : node.height;
+        }
+    }
+}
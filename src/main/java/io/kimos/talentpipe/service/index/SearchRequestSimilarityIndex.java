@@ -0,0 +1,412 @@
+package io.kimos.talentpipe.service.index;
+
+import io.kimos.talentpipe.config.ApplicationProperties;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.function.LongConsumer;
+
+/**
+ * Finds the SearchRequests most similar to a given one, without comparing it to all the others.
+ * <p>
+ * The similarity of two SearchRequests is the weighted Jaccard similarity of their features: required
+ * and non required technical and soft skills, expertise level and salary band, see {@link #similarity}.
+ * Each SearchRequest gets a MinHash signature of its features, split in LSH bands: only the SearchRequests
+ * sharing at least one band with the queried one are candidates, and only the candidates are scored
+ * exactly. The probability for a SearchRequest of similarity {@code s} to be a candidate is
+ * {@code 1 - (1 - s^rows)^bands}.
+ */
+@Component
+public class SearchRequestSimilarityIndex extends AbstractSearchRequestIndex<SearchRequestSimilarityIndex.Signatures> {
+
+    static final int REQUIRED_TECHNICAL_SKILL_WEIGHT = 4;
+    static final int NON_REQUIRED_TECHNICAL_SKILL_WEIGHT = 2;
+    static final int REQUIRED_SOFT_SKILL_WEIGHT = 2;
+    static final int NON_REQUIRED_SOFT_SKILL_WEIGHT = 1;
+    static final int EXPERTISE_LEVEL_WEIGHT = 3;
+    static final int SALARY_WEIGHT = 3;
+
+    private static final int REQUIRED_TECHNICAL_SKILL = 1;
+    private static final int NON_REQUIRED_TECHNICAL_SKILL = 2;
+    private static final int REQUIRED_SOFT_SKILL = 3;
+    private static final int NON_REQUIRED_SOFT_SKILL = 4;
+    private static final int EXPERTISE_LEVEL = 5;
+    private static final int SALARY = 6;
+
+    /**
+     * Above this number of salary buckets, the bucket width is doubled until the band fits.
+     */
+    private static final int MAX_SALARY_BUCKETS = 8;
+
+    private final ApplicationProperties.SearchRequestIndex.Similarity properties;
+
+    public SearchRequestSimilarityIndex(ApplicationProperties applicationProperties) {
+        super(new Signatures(applicationProperties.getSearchRequestIndex().getSimilarity()));
+        this.properties = applicationProperties.getSearchRequestIndex().getSimilarity();
+    }
+
+    @Override
+    protected Signatures newState() {
+        return new Signatures(properties);
+    }
+
+    /**
+     * Find the SearchRequests most similar to a given one, most similar first.
+     *
+     * @param id        the id of the SearchRequest to compare to
+     * @param companyId the company the similar SearchRequests must belong to, or null for all companies
+     * @param size      the maximum number of SearchRequests to return
+     * @return the similar SearchRequests, empty if the SearchRequest is not indexed
+     */
+    public List<Match> findSimilar(Long id, Long companyId, int size) {
+        return read(signatures -> signatures.findSimilar(id, companyId, size));
+    }
+
+    /**
+     * Weighted Jaccard similarity of two SearchRequests: the total weight of their shared features divided
+     * by the total weight of all their features. The salary bands count as one feature, shared in proportion
+     * of the overlap of the bands.
+     */
+    static double similarity(Features a, Features b) {
+        double shared = 0;
+        double all = 0;
+        int[] weights = {REQUIRED_TECHNICAL_SKILL_WEIGHT, NON_REQUIRED_TECHNICAL_SKILL_WEIGHT,
+            REQUIRED_SOFT_SKILL_WEIGHT, NON_REQUIRED_SOFT_SKILL_WEIGHT};
+        for (int i = 0; i < weights.length; i++) {
+            int intersection = intersectionSize(a.skills[i], b.skills[i]);
+            shared += weights[i] * intersection;
+            all += weights[i] * (a.skills[i].length + b.skills[i].length - intersection);
+        }
+        if (a.expertiseLevelId != null && a.expertiseLevelId.equals(b.expertiseLevelId)) {
+            shared += EXPERTISE_LEVEL_WEIGHT;
+            all += EXPERTISE_LEVEL_WEIGHT;
+        } else {
+            all += EXPERTISE_LEVEL_WEIGHT * ((a.expertiseLevelId != null ? 1 : 0) + (b.expertiseLevelId != null ? 1 : 0));
+        }
+        if (a.hasSalary() && b.hasSalary()) {
+            double overlap = salaryOverlap(a, b);
+            shared += SALARY_WEIGHT * overlap;
+            all += SALARY_WEIGHT * (2 - overlap);
+        } else if (a.hasSalary() || b.hasSalary()) {
+            all += SALARY_WEIGHT;
+        }
+        return all == 0 ? 0 : shared / all;
+    }
+
+    private static double salaryOverlap(Features a, Features b) {
+        double span = Math.max(a.maxSalary, b.maxSalary) - Math.min(a.minSalary, b.minSalary);
+        if (span == 0) {
+            return 1;
+        }
+        double overlap = Math.min(a.maxSalary, b.maxSalary) - Math.max(a.minSalary, b.minSalary);
+        return Math.max(0, overlap) / span;
+    }
+
+    private static int intersectionSize(long[] a, long[] b) {
+        int count = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] == b[j]) {
+                count++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * The splitmix64 finalizer, a cheap and well distributed 64-bit hash.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * A SearchRequest similar to the queried one.
+     */
+    public static final class Match {
+
+        private final Long id;
+
+        private final double similarity;
+
+        Match(Long id, double similarity) {
+            this.id = id;
+            this.similarity = similarity;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public double getSimilarity() {
+            return similarity;
+        }
+
+        @Override
+        public String toString() {
+            return "Match{" +
+                "id=" + id +
+                ", similarity=" + similarity +
+                "}";
+        }
+    }
+
+    /**
+     * The features of a SearchRequest, with sorted skill ids.
+     */
+    static final class Features {
+
+        private final Long companyId;
+
+        private final long[][] skills;
+
+        private final Long expertiseLevelId;
+
+        private final double minSalary;
+
+        private final double maxSalary;
+
+        Features(SearchRequestChangedEvent event) {
+            this.companyId = event.getCompanyId();
+            this.skills = new long[][]{
+                sorted(event.getRequiredTechnicalSkillIds()),
+                sorted(event.getNonRequiredTechnicalSkillIds()),
+                sorted(event.getRequiredSoftSkillIds()),
+                sorted(event.getNonRequiredSoftSkillIds())};
+            this.expertiseLevelId = event.getExpertiseLevelId();
+            BigDecimal min = event.getMinSalary() != null ? event.getMinSalary() : event.getMaxSalary();
+            BigDecimal max = event.getMaxSalary() != null ? event.getMaxSalary() : event.getMinSalary();
+            this.minSalary = min != null ? Math.min(min.doubleValue(), max.doubleValue()) : Double.NaN;
+            this.maxSalary = max != null ? Math.max(min.doubleValue(), max.doubleValue()) : Double.NaN;
+        }
+
+        private static long[] sorted(long[] ids) {
+            long[] sorted = Arrays.copyOf(ids, ids.length);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+
+        boolean hasSalary() {
+            return !Double.isNaN(minSalary);
+        }
+
+        /**
+         * Feed the hashed features to the consumer, each repeated as many times as its weight so that
+         * the MinHash of the tokens estimates the weighted similarity.
+         */
+        void forEachToken(long salaryBucketWidth, LongConsumer consumer) {
+            int[] types = {REQUIRED_TECHNICAL_SKILL, NON_REQUIRED_TECHNICAL_SKILL, REQUIRED_SOFT_SKILL, NON_REQUIRED_SOFT_SKILL};
+            int[] weights = {REQUIRED_TECHNICAL_SKILL_WEIGHT, NON_REQUIRED_TECHNICAL_SKILL_WEIGHT,
+                REQUIRED_SOFT_SKILL_WEIGHT, NON_REQUIRED_SOFT_SKILL_WEIGHT};
+            for (int i = 0; i < types.length; i++) {
+                for (long skillId : skills[i]) {
+                    tokens(types[i], skillId, weights[i], consumer);
+                }
+            }
+            if (expertiseLevelId != null) {
+                tokens(EXPERTISE_LEVEL, expertiseLevelId, EXPERTISE_LEVEL_WEIGHT, consumer);
+            }
+            if (hasSalary()) {
+                long width = Math.max(1, salaryBucketWidth);
+                int level = 0;
+                while ((long) (maxSalary / width) - (long) (minSalary / width) >= MAX_SALARY_BUCKETS) {
+                    width *= 2;
+                    level++;
+                }
+                for (long bucket = (long) (minSalary / width); bucket <= (long) (maxSalary / width); bucket++) {
+                    tokens(SALARY, ((long) level << 40) | bucket, SALARY_WEIGHT, consumer);
+                }
+            }
+        }
+
+        private static void tokens(int type, long value, int weight, LongConsumer consumer) {
+            for (int replica = 0; replica < weight; replica++) {
+                consumer.accept(((long) type << 56) | ((long) replica << 48) | (value & 0xFFFFFFFFFFFFL));
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        private final Features features;
+
+        private final long[] bandKeys;
+
+        private Entry(Features features, long[] bandKeys) {
+            this.features = features;
+            this.bandKeys = bandKeys;
+        }
+    }
+
+    /**
+     * The features and band keys of each SearchRequest, and for each band the SearchRequests per band key.
+     */
+    static final class Signatures implements AbstractSearchRequestIndex.State {
+
+        private final int bands;
+
+        private final int rows;
+
+        private final long salaryBucketWidth;
+
+        private final int maxCandidates;
+
+        private final long[] seeds;
+
+        private final List<Map<Long, RoaringBitmap>> buckets;
+
+        private final Map<Integer, Entry> entries = new HashMap<>();
+
+        Signatures(ApplicationProperties.SearchRequestIndex.Similarity properties) {
+            this.bands = Math.max(1, properties.getBands());
+            this.rows = Math.max(1, properties.getRows());
+            this.salaryBucketWidth = properties.getSalaryBucketWidth();
+            this.maxCandidates = Math.max(1, properties.getMaxCandidates());
+            this.seeds = new long[bands * rows];
+            for (int i = 0; i < seeds.length; i++) {
+                seeds[i] = mix(0x9E3779B97F4A7C15L * (i + 1));
+            }
+            this.buckets = new ArrayList<>(bands);
+            for (int band = 0; band < bands; band++) {
+                buckets.add(new HashMap<>());
+            }
+        }
+
+        @Override
+        public void apply(SearchRequestChangedEvent event) {
+            int id = Math.toIntExact(event.getId());
+            remove(id);
+            if (event.isDeleted()) {
+                return;
+            }
+            Features features = new Features(event);
+            long[] bandKeys = bandKeys(features);
+            entries.put(id, new Entry(features, bandKeys));
+            if (bandKeys != null) {
+                for (int band = 0; band < bands; band++) {
+                    buckets.get(band).computeIfAbsent(bandKeys[band], key -> new RoaringBitmap()).add(id);
+                }
+            }
+        }
+
+        private void remove(int id) {
+            Entry entry = entries.remove(id);
+            if (entry == null || entry.bandKeys == null) {
+                return;
+            }
+            for (int band = 0; band < bands; band++) {
+                Map<Long, RoaringBitmap> bucketsOfBand = buckets.get(band);
+                RoaringBitmap bucket = bucketsOfBand.get(entry.bandKeys[band]);
+                if (bucket != null) {
+                    bucket.remove(id);
+                    if (bucket.isEmpty()) {
+                        bucketsOfBand.remove(entry.bandKeys[band]);
+                    }
+                }
+            }
+        }
+
+        /**
+         * @return the key of each band of the MinHash signature, or null if there are no features to hash
+         */
+        private long[] bandKeys(Features features) {
+            long[] signature = new long[seeds.length];
+            Arrays.fill(signature, Long.MAX_VALUE);
+            boolean[] hashed = {false};
+            features.forEachToken(salaryBucketWidth, token -> {
+                hashed[0] = true;
+                for (int i = 0; i < seeds.length; i++) {
+                    long hash = mix(token ^ seeds[i]);
+                    if (hash < signature[i]) {
+                        signature[i] = hash;
+                    }
+                }
+            });
+            if (!hashed[0]) {
+                return null;
+            }
+            long[] bandKeys = new long[bands];
+            for (int band = 0; band < bands; band++) {
+                long key = band;
+                for (int row = 0; row < rows; row++) {
+                    key = mix(key ^ signature[band * rows + row]);
+                }
+                bandKeys[band] = key;
+            }
+            return bandKeys;
+        }
+
+        @Override
+        public void optimize() {
+            buckets.forEach(bucketsOfBand -> bucketsOfBand.values().forEach(RoaringBitmap::runOptimize));
+        }
+
+        @Override
+        public int size() {
+            return entries.size();
+        }
+
+        List<Match> findSimilar(Long id, Long companyId, int size) {
+            Entry source = entries.get(Math.toIntExact(id));
+            if (source == null || source.bandKeys == null || size <= 0) {
+                return Collections.emptyList();
+            }
+            // Union the colliding buckets, most selective first, until there are enough candidates
+            List<RoaringBitmap> collisions = new ArrayList<>(bands);
+            for (int band = 0; band < bands; band++) {
+                RoaringBitmap bucket = buckets.get(band).get(source.bandKeys[band]);
+                if (bucket != null) {
+                    collisions.add(bucket);
+                }
+            }
+            collisions.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+            RoaringBitmap candidates = new RoaringBitmap();
+            for (RoaringBitmap bucket : collisions) {
+                if (candidates.getCardinality() > maxCandidates) {
+                    break;
+                }
+                candidates.or(bucket);
+            }
+            candidates.remove(Math.toIntExact(id));
+
+            Comparator<Match> bySimilarity = Comparator.comparingDouble(Match::getSimilarity).thenComparing(Match::getId);
+            PriorityQueue<Match> best = new PriorityQueue<>(size + 1, bySimilarity);
+            IntIterator it = candidates.getIntIterator();
+            for (int scored = 0; it.hasNext() && scored < maxCandidates; scored++) {
+                int candidateId = it.next();
+                Features candidate = entries.get(candidateId).features;
+                if (companyId != null && !Objects.equals(companyId, candidate.companyId)) {
+                    continue;
+                }
+                double similarity = similarity(source.features, candidate);
+                if (similarity > 0) {
+                    best.add(new Match((long) candidateId, similarity));
+                    if (best.size() > size) {
+                        best.poll();
+                    }
+                }
+            }
+            List<Match> matches = new ArrayList<>(best);
+            matches.sort(bySimilarity.reversed());
+            return matches;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package io.kimos.talentpipe.service.index;
+
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inverted index of the technical skills of the SearchRequests: for each skill id, a compressed
+ * bitmap of the ids of the SearchRequests asking for it.
+ * <p>
+ * Boolean skill queries are answered by intersecting and subtracting bitmaps in memory, without
+ * any join over the skill tables.
+ */
+@Component
+public class SearchRequestSkillIndex extends AbstractSearchRequestIndex<SearchRequestSkillIndex.Postings> {
+
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+    public SearchRequestSkillIndex() {
+        super(new Postings());
+    }
+
+    @Override
+    protected Postings newState() {
+        return new Postings();
+    }
+
+    /**
+     * Find the ids of the SearchRequests matching a skill query, newest first.
+     *
+     * @param query     the skill query
+     * @param companyId the company the SearchRequests must belong to, or null for all companies
+     * @param pageable  the pagination information, its sort is ignored
+     * @return the page of ids, with the total number of matches
+     */
+    public Page<Long> query(SkillQuery query, Long companyId, Pageable pageable) {
+        RoaringBitmap matches = read(postings -> postings.match(query, companyId));
+        int total = matches.getCardinality();
+        long skip = pageable.isPaged() ? pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() : total;
+        List<Long> ids = new ArrayList<>(Math.min(limit, total));
+        IntIterator it = matches.getReverseIntIterator();
+        while (it.hasNext() && ids.size() < limit) {
+            int id = it.next();
+            if (skip > 0) {
+                skip--;
+            } else {
+                ids.add((long) id);
+            }
+        }
+        return new PageImpl<>(ids, pageable, total);
+    }
+
+    /**
+     * The bitmaps of the index, with the indexed state of each SearchRequest to be able to unset its bits.
+     */
+    static final class Postings implements AbstractSearchRequestIndex.State {
+
+        private final RoaringBitmap searchRequests = new RoaringBitmap();
+
+        private final Map<Long, RoaringBitmap> required = new HashMap<>();
+
+        private final Map<Long, RoaringBitmap> nonRequired = new HashMap<>();
+
+        private final Map<Long, RoaringBitmap> byCompany = new HashMap<>();
+
+        private final Map<Integer, SearchRequestChangedEvent> entries = new HashMap<>();
+
+        @Override
+        public void apply(SearchRequestChangedEvent event) {
+            int id = Math.toIntExact(event.getId());
+            remove(id);
+            if (event.isDeleted()) {
+                return;
+            }
+            entries.put(id, event);
+            searchRequests.add(id);
+            if (event.getCompanyId() != null) {
+                set(byCompany, event.getCompanyId(), id);
+            }
+            for (long skillId : event.getRequiredTechnicalSkillIds()) {
+                set(required, skillId, id);
+            }
+            for (long skillId : event.getNonRequiredTechnicalSkillIds()) {
+                set(nonRequired, skillId, id);
+            }
+        }
+
+        private void remove(int id) {
+            SearchRequestChangedEvent entry = entries.remove(id);
+            if (entry == null) {
+                return;
+            }
+            searchRequests.remove(id);
+            if (entry.getCompanyId() != null) {
+                unset(byCompany, entry.getCompanyId(), id);
+            }
+            for (long skillId : entry.getRequiredTechnicalSkillIds()) {
+                unset(required, skillId, id);
+            }
+            for (long skillId : entry.getNonRequiredTechnicalSkillIds()) {
+                unset(nonRequired, skillId, id);
+            }
+        }
+
+        @Override
+        public void optimize() {
+            searchRequests.runOptimize();
+            required.values().forEach(RoaringBitmap::runOptimize);
+            nonRequired.values().forEach(RoaringBitmap::runOptimize);
+            byCompany.values().forEach(RoaringBitmap::runOptimize);
+        }
+
+        @Override
+        public int size() {
+            return entries.size();
+        }
+
+        /**
+         * @return a new bitmap of the matching SearchRequest ids, safe to use outside of the lock
+         */
+        RoaringBitmap match(SkillQuery query, Long companyId) {
+            List<RoaringBitmap> intersected = new ArrayList<>();
+            intersected.add(companyId == null ? searchRequests : byCompany.getOrDefault(companyId, EMPTY));
+            for (Long skillId : query.getAll()) {
+                intersected.add(skill(skillId, query.isIncludeNonRequired()));
+            }
+            if (!query.getAny().isEmpty()) {
+                intersected.add(union(query.getAny(), query.isIncludeNonRequired()));
+            }
+            // Start from the smallest bitmap so that every intersection is as cheap as possible
+            intersected.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+            RoaringBitmap result = intersected.get(0).clone();
+            for (int i = 1; i < intersected.size() && !result.isEmpty(); i++) {
+                result.and(intersected.get(i));
+            }
+            if (!query.getNone().isEmpty() && !result.isEmpty()) {
+                result.andNot(union(query.getNone(), query.isIncludeNonRequired()));
+            }
+            return result;
+        }
+
+        private RoaringBitmap skill(Long skillId, boolean includeNonRequired) {
+            RoaringBitmap requiredBy = required.getOrDefault(skillId, EMPTY);
+            if (!includeNonRequired) {
+                return requiredBy;
+            }
+            return RoaringBitmap.or(requiredBy, nonRequired.getOrDefault(skillId, EMPTY));
+        }
+
+        private RoaringBitmap union(Collection<Long> skillIds, boolean includeNonRequired) {
+            RoaringBitmap union = new RoaringBitmap();
+            for (Long skillId : skillIds) {
+                union.or(required.getOrDefault(skillId, EMPTY));
+                if (includeNonRequired) {
+                    union.or(nonRequired.getOrDefault(skillId, EMPTY));
+                }
+            }
+            return union;
+        }
+
+        private static void set(Map<Long, RoaringBitmap> postings, Long key, int id) {
+            postings.computeIfAbsent(key, k -> new RoaringBitmap()).add(id);
+        }
+
+        private static void unset(Map<Long, RoaringBitmap> postings, Long key, int id) {
+            RoaringBitmap bitmap = postings.get(key);
+            if (bitmap != null) {
+                bitmap.remove(id);
+                if (bitmap.isEmpty()) {
+                    postings.remove(key);
+                }
+            }
+        }
+    }
+}
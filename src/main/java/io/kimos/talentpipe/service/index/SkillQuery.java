@@ -0,0 +1,61 @@
+package io.kimos.talentpipe.service.index;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Boolean query over the technical skills of the SearchRequests.
+ * <p>
+ * A SearchRequest matches when it asks for every skill of {@code all}, for at least one skill of
+ * {@code any} (if any is given) and for none of the skills of {@code none}. Only the required skills
+ * are considered, unless {@code includeNonRequired} is set.
+ */
+public final class SkillQuery {
+
+    private final Set<Long> all;
+
+    private final Set<Long> any;
+
+    private final Set<Long> none;
+
+    private final boolean includeNonRequired;
+
+    public SkillQuery(Collection<Long> all, Collection<Long> any, Collection<Long> none, boolean includeNonRequired) {
+        this.all = copyOf(all);
+        this.any = copyOf(any);
+        this.none = copyOf(none);
+        this.includeNonRequired = includeNonRequired;
+    }
+
+    private static Set<Long> copyOf(Collection<Long> ids) {
+        return ids == null ? Collections.emptySet() : Collections.unmodifiableSet(new LinkedHashSet<>(ids));
+    }
+
+    public Set<Long> getAll() {
+        return all;
+    }
+
+    public Set<Long> getAny() {
+        return any;
+    }
+
+    public Set<Long> getNone() {
+        return none;
+    }
+
+    public boolean isIncludeNonRequired() {
+        return includeNonRequired;
+    }
+
+    @Override
+    public String toString() {
+        return "SkillQuery{" +
+            "all=" + all +
+            ", any=" + any +
+            ", none=" + none +
+            ", includeNonRequired=" + includeNonRequired +
+            "}";
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * In-memory indexes answering SearchRequest lookups without hitting the database.
+ */
+package io.kimos.talentpipe.service.index;
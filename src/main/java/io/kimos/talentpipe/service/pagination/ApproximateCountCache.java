@@ -0,0 +1,183 @@
+package io.kimos.talentpipe.service.pagination;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import io.kimos.talentpipe.config.ApplicationProperties;
+import io.kimos.talentpipe.service.event.EntityCommittedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache of the number of entities matching a criteria, used as the total count of count-free pages.
+ * <p>
+ * Only the first request for a criteria waits for a count query. Afterwards the cached count is returned
+ * straight away, and refreshed in the background once it is older than the configured TTL or once an entity
+ * of the same type was committed, see {@link EntityCommittedEvent}. Counts are therefore approximate:
+ * they can lag behind the writes of the last few moments, or of the other nodes of the cluster.
+ */
+@Component
+public class ApproximateCountCache {
+
+    private final Logger log = LoggerFactory.getLogger(ApproximateCountCache.class);
+
+    private final ApplicationProperties.Pagination properties;
+
+    private final Executor executor;
+
+    private final ConcurrentMap<Class<?>, EntityCounts> counts = new ConcurrentHashMap<>();
+
+    private final Meter hits;
+
+    private final Meter misses;
+
+    private final Meter refreshes;
+
+    public ApproximateCountCache(ApplicationProperties applicationProperties, @Qualifier("taskExecutor") Executor executor,
+                                 MetricRegistry metricRegistry) {
+        this.properties = applicationProperties.getPagination();
+        this.executor = executor;
+        this.hits = metricRegistry.meter("pagination.count.hits");
+        this.misses = metricRegistry.meter("pagination.count.misses");
+        this.refreshes = metricRegistry.meter("pagination.count.refreshes");
+    }
+
+    /**
+     * @return whether the list endpoints should use count-free pages
+     */
+    public boolean isEnabled() {
+        return properties.isApproximateCount();
+    }
+
+    /**
+     * Return the cached count of the entities matching a criteria, counting them on the first call.
+     *
+     * @param entityType the type of the entities
+     * @param criteria   the key of the criteria, equal for criteria matching the same entities
+     * @param counter    the count query
+     * @return the approximate number of matching entities
+     */
+    public long get(Class<?> entityType, String criteria, LongSupplier counter) {
+        EntityCounts entityCounts = entityCounts(entityType);
+        Count count = entityCounts.counts.get(criteria);
+        if (count == null) {
+            misses.mark();
+            long generation = entityCounts.generation.get();
+            long value = counter.getAsLong();
+            put(entityCounts, criteria, value, generation);
+            return value;
+        }
+        hits.mark();
+        if (count.isStale(System.currentTimeMillis() - properties.getCountTtlMs(), entityCounts.generation.get())) {
+            refresh(entityType, entityCounts, criteria, count, counter);
+        }
+        return count.value;
+    }
+
+    /**
+     * Record the exact count of the entities matching a criteria, when it is known without a count query.
+     *
+     * @param entityType the type of the entities
+     * @param criteria   the key of the criteria
+     * @param value      the number of matching entities
+     * @param generation the {@link #generation(Class) generation} of the entity type before the entities were read
+     */
+    public void put(Class<?> entityType, String criteria, long value, long generation) {
+        put(entityCounts(entityType), criteria, value, generation);
+    }
+
+    /**
+     * @return the current generation of an entity type, increased by each write
+     */
+    public long generation(Class<?> entityType) {
+        return entityCounts(entityType).generation.get();
+    }
+
+    @EventListener
+    public void onEntityCommitted(EntityCommittedEvent event) {
+        invalidate(event.getEntityType());
+    }
+
+    /**
+     * Mark all the cached counts of an entity type as stale, after one of its entities was written.
+     *
+     * @param entityType the type of the written entity
+     */
+    public void invalidate(Class<?> entityType) {
+        EntityCounts entityCounts = counts.get(entityType);
+        if (entityCounts != null) {
+            entityCounts.generation.incrementAndGet();
+        }
+    }
+
+    private EntityCounts entityCounts(Class<?> entityType) {
+        return counts.computeIfAbsent(entityType, type -> new EntityCounts());
+    }
+
+    private void put(EntityCounts entityCounts, String criteria, long value, long generation) {
+        if (entityCounts.counts.size() >= properties.getMaxCountsPerEntity() && !entityCounts.counts.containsKey(criteria)) {
+            entityCounts.counts.clear();
+        }
+        entityCounts.counts.put(criteria, new Count(value, System.currentTimeMillis(), generation));
+    }
+
+    private void refresh(Class<?> entityType, EntityCounts entityCounts, String criteria, Count count, LongSupplier counter) {
+        if (!count.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    long generation = entityCounts.generation.get();
+                    put(entityCounts, criteria, counter.getAsLong(), generation);
+                    refreshes.mark();
+                } catch (RuntimeException e) {
+                    log.warn("Could not refresh the count of {} matching {}: {}", entityType.getSimpleName(), criteria, e.getMessage());
+                } finally {
+                    count.refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Count refresh of {} rejected, keeping the cached count", entityType.getSimpleName());
+            count.refreshing.set(false);
+        }
+    }
+
+    private static final class EntityCounts {
+
+        private final AtomicLong generation = new AtomicLong();
+
+        private final ConcurrentMap<String, Count> counts = new ConcurrentHashMap<>();
+    }
+
+    private static final class Count {
+
+        private final long value;
+
+        private final long countedAt;
+
+        private final long generation;
+
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Count(long value, long countedAt, long generation) {
+            this.value = value;
+            this.countedAt = countedAt;
+            this.generation = generation;
+        }
+
+        private boolean isStale(long expiredBefore, long currentGeneration) {
+            return countedAt < expiredBefore || generation != currentGeneration;
+        }
+    }
+}
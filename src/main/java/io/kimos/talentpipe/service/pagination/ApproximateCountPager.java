@@ -0,0 +1,69 @@
+package io.kimos.talentpipe.service.pagination;
+
+import io.kimos.talentpipe.repository.JpaSliceExecutor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the pages of the list endpoints.
+ * <p>
+ * When approximate counts are enabled, a page is read as a {@link Slice}, fetching one more row than the page
+ * size instead of running a count query, and its total count comes from the {@link ApproximateCountCache}.
+ * The total is kept consistent with what the slice shows: it is exact on the last page, and never lower than
+ * the rows seen so far. Otherwise, the page is read with its exact count.
+ */
+@Component
+public class ApproximateCountPager {
+
+    /**
+     * Key of the count of all the entities, without filter.
+     */
+    public static final String ALL = "";
+
+    private final ApproximateCountCache approximateCountCache;
+
+    public ApproximateCountPager(ApproximateCountCache approximateCountCache) {
+        this.approximateCountCache = approximateCountCache;
+    }
+
+    /**
+     * Return a page of the entities matching a {@link Specification}.
+     *
+     * @param repository    the repository of the entities
+     * @param entityType    the type of the entities
+     * @param specification the filters the entities must match, or null for all the entities
+     * @param criteria      the key of the filters in the count cache, equal for filters matching the same entities
+     * @param pageable      the pagination information
+     * @return the page, with an approximate total count
+     */
+    public <T> Page<T> findPage(JpaSliceExecutor<T> repository, Class<T> entityType, @Nullable Specification<T> specification,
+                                String criteria, Pageable pageable) {
+        if (!approximateCountCache.isEnabled() || pageable.isUnpaged()) {
+            return repository.findAll(specification, pageable);
+        }
+        long generation = approximateCountCache.generation(entityType);
+        Slice<T> slice = repository.findSlice(specification, pageable);
+        long seen = pageable.getOffset() + slice.getNumberOfElements();
+        long total;
+        if (slice.hasNext()) {
+            total = Math.max(count(repository, entityType, specification, criteria), seen + 1);
+        } else if (slice.hasContent() || pageable.getOffset() == 0) {
+            total = seen;
+            approximateCountCache.put(entityType, criteria, total, generation);
+        } else {
+            // Past the last page: all that is known is that there are fewer entities than the offset
+            total = Math.min(count(repository, entityType, specification, criteria), pageable.getOffset());
+        }
+        return new PageImpl<>(slice.getContent(), pageable, total);
+    }
+
+    private <T> long count(JpaSliceExecutor<T> repository, Class<T> entityType, @Nullable Specification<T> specification,
+                           String criteria) {
+        return approximateCountCache.get(entityType, criteria, () -> repository.count(specification));
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Count-free pagination of the list endpoints, with cached approximate totals.
+ */
+package io.kimos.talentpipe.service.pagination;
@@ -0,0 +1,42 @@
+package io.kimos.talentpipe.service.reference;
+
+import java.io.Serializable;
+
+/**
+ * Message broadcast to the cluster when a reference data table changed.
+ */
+public final class ReferenceDataChange implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String entityName;
+
+    private final long version;
+
+    public ReferenceDataChange(String entityName, long version) {
+        this.entityName = entityName;
+        this.version = version;
+    }
+
+    /**
+     * @return the class name of the entity of the table
+     */
+    public String getEntityName() {
+        return entityName;
+    }
+
+    /**
+     * @return the new version of the table
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public String toString() {
+        return "ReferenceDataChange{" +
+            "entityName='" + entityName + "'" +
+            ", version=" + version +
+            "}";
+    }
+}
@@ -0,0 +1,312 @@
+package io.kimos.talentpipe.service.reference;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IAtomicLong;
+import com.hazelcast.core.ITopic;
+import com.hazelcast.core.Message;
+import io.kimos.talentpipe.domain.Area;
+import io.kimos.talentpipe.domain.Benefit;
+import io.kimos.talentpipe.domain.Company;
+import io.kimos.talentpipe.domain.CompanyType;
+import io.kimos.talentpipe.domain.Country;
+import io.kimos.talentpipe.domain.ExpertiseLevel;
+import io.kimos.talentpipe.domain.SearchStatus;
+import io.kimos.talentpipe.domain.SearchType;
+import io.kimos.talentpipe.domain.Sector;
+import io.kimos.talentpipe.domain.SoftSkill;
+import io.kimos.talentpipe.domain.StateBeforeTax;
+import io.kimos.talentpipe.domain.TechnicalSkill;
+import io.kimos.talentpipe.domain.WorkType;
+import io.kimos.talentpipe.service.event.EntityCommittedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/**
+ * Versioned in-memory snapshot of the reference data tables, serving their reads without hitting the database.
+ * <p>
+ * The tables are loaded once the application is ready. When a transaction writing to a table commits, the table
+ * is dropped from the snapshot, so the next reads go to the database, and reloaded in the background. The other
+ * nodes of the cluster are told through a Hazelcast topic, with a cluster-wide version number, so that each table
+ * is reloaded everywhere, once per transaction however many of its rows were written. The snapshot itself is never modified: each change swaps in a new copy of it.
+ * <p>
+ * A read-write transaction may hold uncommitted changes to the reference data, so it never reads the snapshot.
+ */
+@Service
+public class ReferenceDataService {
+
+    static final String VERSION_NAME = "reference-data-version";
+
+    static final String TOPIC_NAME = "reference-data-changes";
+
+    private final Logger log = LoggerFactory.getLogger(ReferenceDataService.class);
+
+    private final Map<Class<?>, Definition<?>> definitions = new LinkedHashMap<>();
+
+    private final Map<String, Class<?>> typesByName = new HashMap<>();
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final HazelcastInstance hazelcastInstance;
+
+    private final Executor executor;
+
+    /**
+     * Latest version of each table, guarded by this.
+     */
+    private final Map<Class<?>, Long> requestedVersions = new HashMap<>();
+
+    /**
+     * Tables waiting to be reloaded, guarded by this.
+     */
+    private final Set<Class<?>> queued = new HashSet<>();
+
+    /**
+     * Key of the tables changed by the committing transaction, among its resources.
+     */
+    private final Object changedTypesKey = new Object();
+
+    private volatile Map<Class<?>, ReferenceTable<?>> tables = Collections.emptyMap();
+
+    private IAtomicLong version;
+
+    private ITopic<ReferenceDataChange> topic;
+
+    private String listenerId;
+
+    public ReferenceDataService(EntityManager entityManager, PlatformTransactionManager transactionManager,
+                                HazelcastInstance hazelcastInstance, @Qualifier("taskExecutor") Executor executor) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.hazelcastInstance = hazelcastInstance;
+        this.executor = executor;
+        define(Area.class, Area::getId, Area::getNormalizedName);
+        // Benefits embed their eagerly fetched company
+        define(Benefit.class, Benefit::getId, Benefit::getNormalizedName, Company.class);
+        define(CompanyType.class, CompanyType::getId, CompanyType::getNormalizedName);
+        define(Country.class, Country::getId, Country::getNormalizedName);
+        define(ExpertiseLevel.class, ExpertiseLevel::getId, ExpertiseLevel::getNormalizedName);
+        define(SearchStatus.class, SearchStatus::getId, SearchStatus::getNormalizedName);
+        define(SearchType.class, SearchType::getId, SearchType::getNormalizedName);
+        define(Sector.class, Sector::getId, Sector::getNormalizedName);
+        define(SoftSkill.class, SoftSkill::getId, SoftSkill::getNormalizedName);
+        define(StateBeforeTax.class, StateBeforeTax::getId, StateBeforeTax::getNormalizedName);
+        define(TechnicalSkill.class, TechnicalSkill::getId, TechnicalSkill::getNormalizedName);
+        define(WorkType.class, WorkType::getId, WorkType::getNormalizedName);
+    }
+
+    private <T> void define(Class<T> type, Function<T, Long> id, Function<T, String> normalizedName, Class<?>... dependencies) {
+        definitions.put(type, new Definition<>(type, id, normalizedName, dependencies));
+        typesByName.put(type.getName(), type);
+    }
+
+    @PostConstruct
+    public void start() {
+        version = hazelcastInstance.getAtomicLong(VERSION_NAME);
+        topic = hazelcastInstance.getTopic(TOPIC_NAME);
+        listenerId = topic.addMessageListener(this::onMessage);
+    }
+
+    @PreDestroy
+    public void stop() {
+        topic.removeMessageListener(listenerId);
+    }
+
+    /**
+     * Load all the tables.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long current = version.get();
+        definitions.keySet().forEach(type -> invalidate(type, current));
+    }
+
+    /**
+     * Return the snapshot of a table, if it can be read in the current transaction.
+     *
+     * @param type the type of the entity of the table
+     * @return the table, or empty if it is not loaded yet, is being reloaded after a change, or if the current
+     * transaction is a read-write one
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Optional<ReferenceTable<T>> table(Class<T> type) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+            && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable((ReferenceTable<T>) tables.get(type));
+    }
+
+    /**
+     * @return the types of the entities of the reference data tables
+     */
+    public Set<Class<?>> types() {
+        return Collections.unmodifiableSet(definitions.keySet());
+    }
+
+    @EventListener
+    public void onEntityCommitted(EntityCommittedEvent event) {
+        for (Definition<?> definition : definitions.values()) {
+            if (definition.isChangedBy(event.getEntityType())) {
+                changed(definition.type);
+            }
+        }
+    }
+
+    /**
+     * Collect the tables changed by the committing transaction, which is told of each row it wrote, so that each
+     * table is versioned and reloaded once after the commit.
+     */
+    private void changed(Class<?> type) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publishChange(type);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<Class<?>> changedTypes = (Set<Class<?>>) TransactionSynchronizationManager.getResource(changedTypesKey);
+        if (changedTypes == null) {
+            Set<Class<?>> types = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(changedTypesKey, types);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    types.forEach(ReferenceDataService.this::publishChange);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(changedTypesKey);
+                }
+            });
+            changedTypes = types;
+        }
+        changedTypes.add(type);
+    }
+
+    private void publishChange(Class<?> type) {
+        long changed = version.incrementAndGet();
+        invalidate(type, changed);
+        topic.publish(new ReferenceDataChange(type.getName(), changed));
+    }
+
+    private void onMessage(Message<ReferenceDataChange> message) {
+        if (message.getPublishingMember() != null && message.getPublishingMember().localMember()) {
+            return;
+        }
+        ReferenceDataChange change = message.getMessageObject();
+        Class<?> type = typesByName.get(change.getEntityName());
+        if (type == null) {
+            log.warn("Ignoring change of unknown reference data {}", change);
+            return;
+        }
+        invalidate(type, change.getVersion());
+    }
+
+    /**
+     * Drop a table from the snapshot, and reload it at a newer version.
+     */
+    void invalidate(Class<?> type, long newVersion) {
+        synchronized (this) {
+            if (requestedVersions.getOrDefault(type, -1L) >= newVersion) {
+                return;
+            }
+            requestedVersions.put(type, newVersion);
+            Map<Class<?>, ReferenceTable<?>> copy = new HashMap<>(tables);
+            copy.remove(type);
+            tables = Collections.unmodifiableMap(copy);
+            if (!queued.add(type)) {
+                return;
+            }
+        }
+        try {
+            executor.execute(() -> reload(type));
+        } catch (RejectedExecutionException e) {
+            synchronized (this) {
+                queued.remove(type);
+            }
+            log.warn("Could not schedule the reload of {}, it is read from the database until its next change",
+                type.getSimpleName());
+        }
+    }
+
+    private void reload(Class<?> type) {
+        long requested;
+        synchronized (this) {
+            queued.remove(type);
+            requested = requestedVersions.get(type);
+        }
+        ReferenceTable<?> table;
+        try {
+            table = transactionTemplate.execute(status -> definitions.get(type).load(entityManager, requested));
+        } catch (RuntimeException e) {
+            log.warn("Could not load {}, it is read from the database until its next change: {}",
+                type.getSimpleName(), e.getMessage());
+            return;
+        }
+        synchronized (this) {
+            // A newer change dropped the table while it was loading, its own reload installs it
+            if (requestedVersions.get(type) == requested) {
+                Map<Class<?>, ReferenceTable<?>> copy = new HashMap<>(tables);
+                copy.put(type, table);
+                tables = Collections.unmodifiableMap(copy);
+            }
+        }
+        log.debug("Loaded {} {} at version {}", table.size(), type.getSimpleName(), requested);
+    }
+
+    private static final class Definition<T> {
+
+        private final Class<T> type;
+
+        private final Function<T, Long> id;
+
+        private final Function<T, String> normalizedName;
+
+        private final List<Class<?>> dependencies;
+
+        private Definition(Class<T> type, Function<T, Long> id, Function<T, String> normalizedName, Class<?>[] dependencies) {
+            this.type = type;
+            this.id = id;
+            this.normalizedName = normalizedName;
+            this.dependencies = Arrays.asList(dependencies);
+        }
+
+        private boolean isChangedBy(Class<?> entityType) {
+            return type.equals(entityType) || dependencies.contains(entityType);
+        }
+
+        private ReferenceTable<T> load(EntityManager entityManager, long version) {
+            List<T> rows = entityManager
+                .createQuery("select entity from " + type.getSimpleName() + " entity order by entity.id", type)
+                .getResultList();
+            return new ReferenceTable<>(type, version, rows, id, normalizedName);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package io.kimos.talentpipe.service.reference;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.data.mapping.PropertyReferenceException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Immutable copy of the rows of a reference data table, at a given version.
+ * <p>
+ * The entities are shared by all the readers of the table, they must not be modified. The rows sorted by the
+ * most recently requested sorts are kept, up to {@value #MAX_SORTS} of them. Strings are compared ignoring their
+ * case, as with the default collation of MySQL.
+ *
+ * @param <T> the type of the entity
+ */
+public final class ReferenceTable<T> {
+
+    static final int MAX_SORTS = 16;
+
+    private final Class<T> type;
+
+    private final long version;
+
+    private final List<T> rows;
+
+    private final Function<T, Long> id;
+
+    private final Map<Long, T> byId;
+
+    private final Map<String, T> byName;
+
+    private final Map<Sort, List<T>> sorted = new LinkedHashMap<Sort, List<T>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Sort, List<T>> eldest) {
+            return size() > MAX_SORTS;
+        }
+    };
+
+    /**
+     * @param type           the type of the entity
+     * @param version        the version of the table
+     * @param rows           the rows of the table, by increasing id
+     * @param id             the id of a row
+     * @param normalizedName the normalized name of a row
+     */
+    public ReferenceTable(Class<T> type, long version, List<T> rows, Function<T, Long> id,
+                          Function<T, String> normalizedName) {
+        this.type = type;
+        this.version = version;
+        this.rows = Collections.unmodifiableList(new ArrayList<>(rows));
+        this.id = id;
+        Map<Long, T> byId = new HashMap<>(rows.size() * 2);
+        Map<String, T> byName = new HashMap<>(rows.size() * 2);
+        for (T row : rows) {
+            byId.put(id.apply(row), row);
+            String name = normalizedName.apply(row);
+            if (name != null) {
+                byName.putIfAbsent(name, row);
+            }
+        }
+        this.byId = byId;
+        this.byName = byName;
+    }
+
+    /**
+     * Normalize a name the way the reference entities normalize theirs.
+     */
+    public static String normalize(String name) {
+        return name == null ? null : name.trim().toLowerCase();
+    }
+
+    /**
+     * @return the version of the table, increased by each committed change to the table in the cluster
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return all the rows, by increasing id
+     */
+    public List<T> findAll() {
+        return rows;
+    }
+
+    /**
+     * Return a page of the rows, sorted by the sort of the {@code pageable} then by id.
+     *
+     * @param pageable the pagination information
+     * @return the page of rows, with the exact total count
+     * @throws PropertyReferenceException if the entity has no property to sort by
+     */
+    public Page<T> findAll(Pageable pageable) {
+        for (Sort.Order order : pageable.getSort()) {
+            PropertyPath.from(order.getProperty(), type);
+        }
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(sorted(pageable.getSort()), pageable, rows.size());
+        }
+        List<T> sortedRows = sorted(pageable.getSort());
+        int from = (int) Math.min(pageable.getOffset(), sortedRows.size());
+        int to = Math.min(from + pageable.getPageSize(), sortedRows.size());
+        return new PageImpl<>(sortedRows.subList(from, to), pageable, sortedRows.size());
+    }
+
+    public Optional<T> findOne(Long id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    /**
+     * Find the row with the lowest id having a name, compared once normalized.
+     *
+     * @param name the name of the row
+     * @return the row, if any
+     */
+    public Optional<T> findByName(String name) {
+        return Optional.ofNullable(byName.get(normalize(name)));
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    int sortCount() {
+        synchronized (sorted) {
+            return sorted.size();
+        }
+    }
+
+    private List<T> sorted(Sort sort) {
+        if (sort.isUnsorted()) {
+            return rows;
+        }
+        synchronized (sorted) {
+            List<T> sortedRows = sorted.get(sort);
+            if (sortedRows != null) {
+                return sortedRows;
+            }
+        }
+        List<T> sortedRows = sort(sort);
+        synchronized (sorted) {
+            List<T> concurrentlySorted = sorted.putIfAbsent(sort, sortedRows);
+            return concurrentlySorted != null ? concurrentlySorted : sortedRows;
+        }
+    }
+
+    /**
+     * Sort the rows, reading the properties to sort by once per row.
+     */
+    private List<T> sort(Sort sort) {
+        List<Sort.Order> orders = new ArrayList<>();
+        sort.forEach(orders::add);
+        List<SortKey<T>> keys = new ArrayList<>(rows.size());
+        for (T row : rows) {
+            BeanWrapper wrapper = new BeanWrapperImpl(row);
+            Object[] values = new Object[orders.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = property(wrapper, orders.get(i).getProperty());
+            }
+            keys.add(new SortKey<>(row, id.apply(row), values));
+        }
+        keys.sort(comparator(orders));
+        List<T> sortedRows = new ArrayList<>(keys.size());
+        for (SortKey<T> key : keys) {
+            sortedRows.add(key.row);
+        }
+        return Collections.unmodifiableList(sortedRows);
+    }
+
+    /**
+     * Compare the sort keys by the values of each order, then by increasing id.
+     */
+    private static <T> Comparator<SortKey<T>> comparator(List<Sort.Order> orders) {
+        Comparator<SortKey<T>> comparator = null;
+        for (int i = 0; i < orders.size(); i++) {
+            int index = i;
+            Sort.Order order = orders.get(i);
+            Comparator<Object> values = ReferenceTable::compare;
+            if (order.isDescending()) {
+                values = values.reversed();
+            }
+            values = nullsFirst(order) ? Comparator.nullsFirst(values) : Comparator.nullsLast(values);
+            Comparator<SortKey<T>> byProperty = Comparator.comparing(key -> key.values[index], values);
+            comparator = comparator == null ? byProperty : comparator.thenComparing(byProperty);
+        }
+        Comparator<SortKey<T>> byId = Comparator.comparing(key -> key.id);
+        return comparator == null ? byId : comparator.thenComparing(byId);
+    }
+
+    /**
+     * Without an explicit null handling, nulls are the lowest values, as in MySQL and H2: first for an ascending
+     * order and last for a descending one.
+     */
+    private static boolean nullsFirst(Sort.Order order) {
+        switch (order.getNullHandling()) {
+            case NULLS_FIRST:
+                return true;
+            case NULLS_LAST:
+                return false;
+            default:
+                return order.isAscending();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compare(Object a, Object b) {
+        if (a instanceof String && b instanceof String) {
+            return String.CASE_INSENSITIVE_ORDER.compare((String) a, (String) b);
+        }
+        return ((Comparable<Object>) a).compareTo(b);
+    }
+
+    private static Object property(BeanWrapper wrapper, String property) {
+        if (!wrapper.isReadableProperty(property)) {
+            // A nested property of a null value
+            return null;
+        }
+        return wrapper.getPropertyValue(property);
+    }
+
+    /**
+     * A row with the values it is sorted by.
+     */
+    private static final class SortKey<T> {
+
+        private final T row;
+
+        private final Long id;
+
+        private final Object[] values;
+
+        private SortKey(T row, Long id, Object[] values) {
+            this.row = row;
+            this.id = id;
+            this.values = values;
+        }
+    }
+}
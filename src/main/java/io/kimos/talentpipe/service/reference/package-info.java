@@ -0,0 +1,4 @@
+/**
+ * In-memory snapshot of the reference data tables.
+ */
+package io.kimos.talentpipe.service.reference;
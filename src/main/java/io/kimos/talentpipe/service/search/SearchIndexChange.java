@@ -0,0 +1,110 @@
+package io.kimos.talentpipe.service.search;
+
+import java.util.Objects;
+
+/**
+ * A pending change of one Elasticsearch document, identified by the type and id of its entity.
+ */
+public final class SearchIndexChange {
+
+    public enum Operation {
+        INDEX, DELETE
+    }
+
+    private final Key key;
+
+    private final Operation operation;
+
+    private final long enqueuedAt;
+
+    private final int attempts;
+
+    public SearchIndexChange(Class<?> entityType, Long id, Operation operation) {
+        this(new Key(entityType, id), operation, System.currentTimeMillis(), 0);
+    }
+
+    private SearchIndexChange(Key key, Operation operation, long enqueuedAt, int attempts) {
+        this.key = key;
+        this.operation = operation;
+        this.enqueuedAt = enqueuedAt;
+        this.attempts = attempts;
+    }
+
+    public Key getKey() {
+        return key;
+    }
+
+    public Class<?> getEntityType() {
+        return key.entityType;
+    }
+
+    public Long getId() {
+        return key.id;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    /**
+     * @return the time in milliseconds at which the oldest change coalesced into this one was recorded
+     */
+    public long getEnqueuedAt() {
+        return enqueuedAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * Merge this change over an older pending change of the same document: the latest operation
+     * wins, but the original timestamp is kept so that lag is measured from the first change.
+     */
+    SearchIndexChange coalesce(SearchIndexChange previous) {
+        return new SearchIndexChange(key, operation, Math.min(enqueuedAt, previous.enqueuedAt), 0);
+    }
+
+    SearchIndexChange retried() {
+        return new SearchIndexChange(key, operation, enqueuedAt, attempts + 1);
+    }
+
+    @Override
+    public String toString() {
+        return "SearchIndexChange{" +
+            "entityType=" + key.entityType.getSimpleName() +
+            ", id=" + key.id +
+            ", operation=" + operation +
+            ", attempts=" + attempts +
+            "}";
+    }
+
+    public static final class Key {
+
+        private final Class<?> entityType;
+
+        private final Long id;
+
+        public Key(Class<?> entityType, Long id) {
+            this.entityType = Objects.requireNonNull(entityType);
+            this.id = Objects.requireNonNull(id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return entityType.equals(key.entityType) && id.equals(key.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * entityType.hashCode() + id.hashCode();
+        }
+    }
+}
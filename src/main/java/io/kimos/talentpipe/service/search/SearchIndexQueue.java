@@ -0,0 +1,137 @@
+package io.kimos.talentpipe.service.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded FIFO of pending search index changes, coalesced per document.
+ * <p>
+ * A change for a document that is already queued replaces the queued one in place, so a burst
+ * of updates to the same entity only costs one slot and one bulk action.
+ */
+class SearchIndexQueue {
+
+    private final int capacity;
+
+    private final LinkedHashMap<SearchIndexChange.Key, SearchIndexChange> pending = new LinkedHashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition notEmpty = lock.newCondition();
+
+    private final Condition notFull = lock.newCondition();
+
+    SearchIndexQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Search index queue capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Queue a change, waiting up to the given time for room if the queue is full.
+     *
+     * @return false if the queue stayed full and the change was not queued
+     */
+    boolean offer(SearchIndexChange change, long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (!coalesce(change) && pending.size() >= capacity) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            pending.putIfAbsent(change.getKey(), change);
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Put back a change that failed to ship, unless a newer change of the same document has been
+     * queued in the meantime. Retries may temporarily exceed the capacity so that the worker never
+     * blocks on its own queue.
+     */
+    void retry(SearchIndexChange change) {
+        lock.lock();
+        try {
+            pending.putIfAbsent(change.getKey(), change);
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Take up to {@code maxChanges} changes, oldest first. Waits up to {@code linger} for the batch
+     * to fill up, and returns whatever is queued at that point, possibly nothing.
+     */
+    List<SearchIndexChange> poll(int maxChanges, long linger, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(linger);
+        lock.lockInterruptibly();
+        try {
+            while (pending.size() < maxChanges && nanos > 0) {
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            if (pending.isEmpty()) {
+                return Collections.emptyList();
+            }
+            List<SearchIndexChange> batch = new ArrayList<>(Math.min(maxChanges, pending.size()));
+            Iterator<SearchIndexChange> it = pending.values().iterator();
+            while (it.hasNext() && batch.size() < maxChanges) {
+                batch.add(it.next());
+                it.remove();
+            }
+            notFull.signalAll();
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the timestamp of the oldest queued change, or -1 if the queue is empty
+     */
+    long oldestEnqueuedAt() {
+        lock.lock();
+        try {
+            long oldest = -1;
+            for (SearchIndexChange change : pending.values()) {
+                if (oldest < 0 || change.getEnqueuedAt() < oldest) {
+                    oldest = change.getEnqueuedAt();
+                }
+            }
+            return oldest;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean coalesce(SearchIndexChange change) {
+        SearchIndexChange previous = pending.get(change.getKey());
+        if (previous == null) {
+            return false;
+        }
+        pending.put(change.getKey(), change.coalesce(previous));
+        return true;
+    }
+}
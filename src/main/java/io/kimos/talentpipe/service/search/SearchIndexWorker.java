@@ -0,0 +1,343 @@
+package io.kimos.talentpipe.service.search;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.kimos.talentpipe.config.ApplicationProperties;
+import io.searchbox.action.BulkableAction;
+import io.searchbox.client.JestClient;
+import io.searchbox.core.Bulk;
+import io.searchbox.core.BulkResult;
+import io.searchbox.core.Delete;
+import io.searchbox.core.DocumentResult;
+import io.searchbox.core.Index;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.EntityMapper;
+import org.springframework.data.elasticsearch.core.mapping.ElasticsearchPersistentEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import javax.persistence.metamodel.Attribute;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Ships queued search index changes to Elasticsearch in bulk requests, from a single background thread.
+ * <p>
+ * Documents are rebuilt from the database when they are shipped rather than when they are changed, so the
+ * index always receives the last committed state of an entity, however many times it was saved in between.
+ */
+@Component
+public class SearchIndexWorker {
+
+    private final Logger log = LoggerFactory.getLogger(SearchIndexWorker.class);
+
+    private final ApplicationProperties.SearchIndexer properties;
+
+    private final SearchIndexQueue queue;
+
+    private final JestClient jestClient;
+
+    private final ElasticsearchOperations elasticsearchOperations;
+
+    private final EntityMapper entityMapper;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final MetricRegistry metricRegistry;
+
+    private final Map<Class<?>, List<Field>> associationFields = new ConcurrentHashMap<>();
+
+    private Meter indexed;
+
+    private Meter deleted;
+
+    private Meter retried;
+
+    private Meter dropped;
+
+    private Timer bulkRequests;
+
+    private Timer delay;
+
+    private volatile boolean running;
+
+    private Thread thread;
+
+    public SearchIndexWorker(ApplicationProperties applicationProperties, JestClient jestClient,
+                             ElasticsearchOperations elasticsearchOperations, EntityMapper entityMapper,
+                             EntityManager entityManager, PlatformTransactionManager transactionManager,
+                             MetricRegistry metricRegistry) {
+        this.properties = applicationProperties.getSearchIndexer();
+        this.queue = new SearchIndexQueue(properties.getQueueCapacity());
+        this.jestClient = jestClient;
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.entityMapper = entityMapper;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.metricRegistry = metricRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        metricRegistry.register("search.indexer.queue.size", (Gauge<Integer>) queue::size);
+        metricRegistry.register("search.indexer.lag", (Gauge<Long>) () -> {
+            long oldest = queue.oldestEnqueuedAt();
+            return oldest < 0 ? 0L : System.currentTimeMillis() - oldest;
+        });
+        indexed = metricRegistry.meter("search.indexer.indexed");
+        deleted = metricRegistry.meter("search.indexer.deleted");
+        retried = metricRegistry.meter("search.indexer.retried");
+        dropped = metricRegistry.meter("search.indexer.dropped");
+        bulkRequests = metricRegistry.timer("search.indexer.bulk");
+        delay = metricRegistry.timer("search.indexer.delay");
+
+        running = true;
+        thread = new Thread(this::run, "monolith-search-indexer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        log.info("Stopping search indexer, {} changes pending", queue.size());
+        running = false;
+        thread.interrupt();
+        thread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Queue a committed change for shipping. Never blocks longer than the configured offer timeout:
+     * if Elasticsearch is so far behind that the queue stays full, the change is dropped and counted.
+     */
+    public void submit(SearchIndexChange change) {
+        try {
+            if (queue.offer(change, properties.getOfferTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                return;
+            }
+            log.error("Search index queue is full, dropping {}", change);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while queueing {}, dropping it", change);
+        }
+        dropped.mark();
+    }
+
+    private void run() {
+        int consecutiveFailures = 0;
+        while (running) {
+            try {
+                List<SearchIndexChange> batch = queue.poll(properties.getBatchSize(), properties.getLingerMs(), TimeUnit.MILLISECONDS);
+                if (batch.isEmpty()) {
+                    continue;
+                }
+                if (ship(batch)) {
+                    consecutiveFailures = 0;
+                } else {
+                    consecutiveFailures++;
+                    TimeUnit.MILLISECONDS.sleep(backoff(consecutiveFailures));
+                }
+            } catch (InterruptedException e) {
+                break;
+            } catch (RuntimeException e) {
+                log.error("Unexpected error in search indexer", e);
+            }
+        }
+        flushOnShutdown();
+    }
+
+    private void flushOnShutdown() {
+        try {
+            List<SearchIndexChange> batch;
+            while (!(batch = queue.poll(properties.getBatchSize(), 0, TimeUnit.MILLISECONDS)).isEmpty()) {
+                if (!ship(batch)) {
+                    break;
+                }
+            }
+        } catch (InterruptedException | RuntimeException e) {
+            log.warn("Could not flush search index changes on shutdown: {}", e.getMessage());
+        }
+        int lost = queue.size();
+        if (lost > 0) {
+            log.warn("{} search index changes were not shipped before shutdown", lost);
+        }
+    }
+
+    private long backoff(int consecutiveFailures) {
+        long backoff = properties.getRetryBackoffMs() << Math.min(consecutiveFailures - 1, 16);
+        return Math.min(backoff, properties.getMaxRetryBackoffMs());
+    }
+
+    /**
+     * @return false if the bulk request failed as a whole, meaning Elasticsearch is unavailable
+     */
+    private boolean ship(List<SearchIndexChange> batch) {
+        Map<String, SearchIndexChange> changesByDocument = new LinkedHashMap<>();
+        List<BulkableAction<DocumentResult>> actions = new ArrayList<>(batch.size());
+        try {
+            transactionTemplate.execute(status -> {
+                buildActions(batch, changesByDocument, actions);
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not load {} entities to index: {}", batch.size(), e.getMessage());
+            retry(batch);
+            return false;
+        }
+        if (actions.isEmpty()) {
+            return true;
+        }
+
+        BulkResult result;
+        try (Timer.Context ignored = bulkRequests.time()) {
+            result = jestClient.execute(new Bulk.Builder().addAction(actions).build());
+        } catch (IOException e) {
+            log.warn("Elasticsearch bulk request of {} actions failed: {}", actions.size(), e.getMessage());
+            retry(changesByDocument.values());
+            return false;
+        }
+        if (!result.isSucceeded() && result.getItems().isEmpty()) {
+            log.warn("Elasticsearch bulk request of {} actions failed: {}", actions.size(), result.getErrorMessage());
+            retry(changesByDocument.values());
+            return false;
+        }
+
+        List<SearchIndexChange> failed = new ArrayList<>();
+        for (BulkResult.BulkResultItem item : result.getFailedItems()) {
+            SearchIndexChange change = changesByDocument.remove(documentKey(item.index, item.id));
+            if (change != null) {
+                log.debug("Elasticsearch rejected {}: {}", change, item.error);
+                failed.add(change);
+            }
+        }
+        retry(failed);
+
+        long now = System.currentTimeMillis();
+        for (SearchIndexChange change : changesByDocument.values()) {
+            (change.getOperation() == SearchIndexChange.Operation.INDEX ? indexed : deleted).mark();
+            delay.update(now - change.getEnqueuedAt(), TimeUnit.MILLISECONDS);
+        }
+        return true;
+    }
+
+    private void buildActions(List<SearchIndexChange> batch, Map<String, SearchIndexChange> changesByDocument,
+                              List<BulkableAction<DocumentResult>> actions) {
+        Map<Class<?>, List<SearchIndexChange>> byType = batch.stream()
+            .collect(Collectors.groupingBy(SearchIndexChange::getEntityType, LinkedHashMap::new, Collectors.toList()));
+        byType.forEach((entityType, changes) -> {
+            ElasticsearchPersistentEntity<?> document = elasticsearchOperations.getPersistentEntityFor(entityType);
+            Map<Long, Object> entities = loadEntities(entityType, changes);
+            for (SearchIndexChange change : changes) {
+                String id = change.getId().toString();
+                Object entity = entities.get(change.getId());
+                BulkableAction<DocumentResult> action;
+                if (change.getOperation() == SearchIndexChange.Operation.INDEX && entity != null) {
+                    String source = toSource(change, entity);
+                    if (source == null) {
+                        continue;
+                    }
+                    action = new Index.Builder(source).index(document.getIndexName()).type(document.getIndexType()).id(id).build();
+                } else {
+                    // Deleted, or removed after the change was recorded
+                    action = new Delete.Builder(id).index(document.getIndexName()).type(document.getIndexType()).build();
+                }
+                changesByDocument.put(documentKey(document.getIndexName(), id), change);
+                actions.add(action);
+            }
+        });
+    }
+
+    private Map<Long, Object> loadEntities(Class<?> entityType, List<SearchIndexChange> changes) {
+        List<Long> ids = changes.stream()
+            .filter(change -> change.getOperation() == SearchIndexChange.Operation.INDEX)
+            .map(SearchIndexChange::getId)
+            .collect(Collectors.toList());
+        Map<Long, Object> entities = new HashMap<>();
+        if (ids.isEmpty()) {
+            return entities;
+        }
+        String entityName = entityManager.getMetamodel().entity(entityType).getName();
+        List<?> loaded = entityManager.createQuery("select e from " + entityName + " e where e.id in :ids", entityType)
+            .setParameter("ids", ids)
+            .getResultList();
+        for (Object entity : loaded) {
+            initializeAssociations(entity);
+            entities.put((Long) entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity), entity);
+        }
+        return entities;
+    }
+
+    /**
+     * Lazy associations are serialized as null once the session is closed, so load the ones that end
+     * up in the document while we still have it.
+     */
+    private void initializeAssociations(Object entity) {
+        for (Field field : associationFields.computeIfAbsent(entity.getClass(), this::findAssociationFields)) {
+            try {
+                Hibernate.initialize(field.get(entity));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot read association " + field, e);
+            }
+        }
+    }
+
+    private List<Field> findAssociationFields(Class<?> entityType) {
+        List<Field> fields = new ArrayList<>();
+        for (Attribute<?, ?> attribute : entityManager.getMetamodel().entity(entityType).getAttributes()) {
+            if (attribute.isAssociation() && attribute.getJavaMember() instanceof Field) {
+                Field field = (Field) attribute.getJavaMember();
+                if (!field.isAnnotationPresent(JsonIgnore.class)) {
+                    field.setAccessible(true);
+                    fields.add(field);
+                }
+            }
+        }
+        return fields;
+    }
+
+    private String toSource(SearchIndexChange change, Object entity) {
+        try {
+            return entityMapper.mapToString(entity);
+        } catch (IOException e) {
+            log.error("Cannot serialize {}, dropping it: {}", change, e.getMessage());
+            dropped.mark();
+            return null;
+        }
+    }
+
+    private void retry(Iterable<SearchIndexChange> changes) {
+        for (SearchIndexChange change : changes) {
+            if (change.getAttempts() >= properties.getMaxRetries()) {
+                log.error("Giving up on {} after {} attempts", change, change.getAttempts() + 1);
+                dropped.mark();
+            } else {
+                queue.retry(change.retried());
+                retried.mark();
+            }
+        }
+    }
+
+    private static String documentKey(String index, String id) {
+        return index + '/' + id;
+    }
+}
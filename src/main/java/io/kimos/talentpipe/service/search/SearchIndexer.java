@@ -0,0 +1,96 @@
+package io.kimos.talentpipe.service.search;
+
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceUnitUtil;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Records the Elasticsearch documents that have to be refreshed after a write.
+ * <p>
+ * Changes are collected on the current transaction and only handed over to the {@link SearchIndexWorker}
+ * once it commits, so a rolled back write never reaches the index and the write itself never waits
+ * on Elasticsearch. Outside of a transaction, changes are handed over immediately.
+ */
+@Service
+public class SearchIndexer {
+
+    private final SearchIndexWorker worker;
+
+    private final PersistenceUnitUtil persistenceUnitUtil;
+
+    public SearchIndexer(SearchIndexWorker worker, EntityManagerFactory entityManagerFactory) {
+        this.worker = worker;
+        this.persistenceUnitUtil = entityManagerFactory.getPersistenceUnitUtil();
+    }
+
+    /**
+     * Index, or re-index, the document of a saved entity.
+     *
+     * @param entity the persisted entity
+     */
+    public void index(Object entity) {
+        Long id = (Long) persistenceUnitUtil.getIdentifier(entity);
+        record(new SearchIndexChange(Hibernate.getClass(entity), id, SearchIndexChange.Operation.INDEX));
+    }
+
+    /**
+     * Delete the document of a deleted entity.
+     *
+     * @param entityType the type of the entity
+     * @param id         the id of the entity
+     */
+    public void delete(Class<?> entityType, Long id) {
+        record(new SearchIndexChange(entityType, id, SearchIndexChange.Operation.DELETE));
+    }
+
+    /**
+     * Delete the documents of several deleted entities, which the worker ships together in bulk requests.
+     *
+     * @param entityType the type of the entities
+     * @param ids        the ids of the entities
+     */
+    public void delete(Class<?> entityType, Collection<Long> ids) {
+        ids.forEach(id -> delete(entityType, id));
+    }
+
+    private void record(SearchIndexChange change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            worker.submit(change);
+            return;
+        }
+        PendingChanges pending = null;
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingChanges) {
+                pending = (PendingChanges) synchronization;
+                break;
+            }
+        }
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.add(change);
+    }
+
+    private class PendingChanges extends TransactionSynchronizationAdapter {
+
+        private final Map<SearchIndexChange.Key, SearchIndexChange> changes = new LinkedHashMap<>();
+
+        void add(SearchIndexChange change) {
+            changes.merge(change.getKey(), change, (previous, latest) -> latest.coalesce(previous));
+        }
+
+        @Override
+        public void afterCommit() {
+            changes.values().forEach(worker::submit);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Asynchronous Elasticsearch indexing.
+ */
+package io.kimos.talentpipe.service.search;
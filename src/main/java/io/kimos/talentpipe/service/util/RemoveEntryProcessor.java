@@ -0,0 +1,20 @@
+package io.kimos.talentpipe.service.util;
+
+import com.hazelcast.map.AbstractEntryProcessor;
+
+import java.util.Map;
+
+/**
+ * Hazelcast entry processor removing the entries it runs on, so that a set of keys is removed from a map with
+ * one operation per partition instead of one per key.
+ */
+public class RemoveEntryProcessor extends AbstractEntryProcessor<Object, Object> {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public Object process(Map.Entry<Object, Object> entry) {
+        entry.setValue(null);
+        return null;
+    }
+}
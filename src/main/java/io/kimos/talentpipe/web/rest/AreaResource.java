@@ -9,6 +9,7 @@ import io.kimos.talentpipe.web.rest.dto.UpdateAreaDTO;
 import io.kimos.talentpipe.web.rest.errors.BadRequestAlertException;
 import io.kimos.talentpipe.web.rest.util.HeaderUtil;
 import io.kimos.talentpipe.web.rest.util.PaginationUtil;
+import io.kimos.talentpipe.web.rest.util.ReferenceDataResponses;
 import ma.glasnost.orika.MapperFacade;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,10 +37,13 @@ public class AreaResource {
     private final Logger log = LoggerFactory.getLogger(AreaResource.class);
     private final AreaService areaService;
     private final MapperFacade orikaMapper;
+    private final ReferenceDataResponses referenceDataResponses;
 
-    public AreaResource(AreaService areaService, MapperFacade orikaMapper) {
+    public AreaResource(AreaService areaService, MapperFacade orikaMapper,
+                        ReferenceDataResponses referenceDataResponses) {
         this.areaService = areaService;
         this.orikaMapper = orikaMapper;
+        this.referenceDataResponses = referenceDataResponses;
     }
 
     /**
@@ -85,15 +89,19 @@ public class AreaResource {
      * GET  /areas : get all the areas.
      *
      * @param pageable the pagination information
-     * @return the ResponseEntity with status 200 (OK) and the list of areas in body
+     * @param acceptEncoding the Accept-Encoding header of the request
+     * @return the ResponseEntity with status 200 (OK) and the list of areas in body, or with status 304 (Not Modified) if it has not changed since the ETag of the If-None-Match header
      */
     @GetMapping("/areas")
     @Timed
-    public ResponseEntity<List<Area>> getAllAreas(Pageable pageable) {
+    public ResponseEntity<?> getAllAreas(Pageable pageable,
+                                         @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         log.debug("REST request to get a page of Areas");
-        Page<Area> page = areaService.findAll(pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/areas");
-        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+        return referenceDataResponses.page(Area.class, pageable, "/api/areas", acceptEncoding).orElseGet(() -> {
+            Page<Area> page = areaService.findAll(pageable);
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/areas");
+            return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+        });
     }
 
     /**
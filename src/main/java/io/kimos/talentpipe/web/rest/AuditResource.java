@@ -2,6 +2,9 @@ package io.kimos.talentpipe.web.rest;
 
 import io.github.jhipster.web.util.ResponseUtil;
 import io.kimos.talentpipe.service.AuditEventService;
+import io.kimos.talentpipe.service.audit.AuditEventExporter;
+import io.kimos.talentpipe.service.audit.AuditExportFormat;
+import io.kimos.talentpipe.web.rest.errors.BadRequestAlertException;
 import io.kimos.talentpipe.web.rest.util.PaginationUtil;
 import org.springframework.boot.actuate.audit.AuditEvent;
 import org.springframework.data.domain.Page;
@@ -11,9 +14,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * REST controller for getting the audit events.
@@ -24,8 +31,11 @@ public class AuditResource {
 
     private final AuditEventService auditEventService;
 
-    public AuditResource(AuditEventService auditEventService) {
+    private final AuditEventExporter auditEventExporter;
+
+    public AuditResource(AuditEventService auditEventService, AuditEventExporter auditEventExporter) {
         this.auditEventService = auditEventService;
+        this.auditEventExporter = auditEventExporter;
     }
 
     /**
@@ -63,6 +73,57 @@ public class AuditResource {
         return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
     }
 
+    /**
+     * GET  /audits : get the AuditEvents after a date, optionally of a principal and of a type.
+     *
+     * @param principal the principal of the AuditEvents to get, if any
+     * @param after     the date after which the AuditEvents to get happened
+     * @param type      the type of the AuditEvents to get, if any
+     * @return the ResponseEntity with status 200 (OK) and the list of AuditEvents in body, oldest first
+     */
+    @GetMapping(params = "after")
+    public ResponseEntity<List<AuditEvent>> getRecent(
+        @RequestParam(value = "principal", required = false) String principal,
+        @RequestParam(value = "after") Instant after,
+        @RequestParam(value = "type", required = false) String type) {
+
+        return ResponseEntity.ok(auditEventService.findRecent(principal, after, type));
+    }
+
+    /**
+     * GET  /audits/export : stream the AuditEvents between the fromDate and toDate, oldest first.
+     * <p>
+     * The events are written to the response as they are read from the database, from the request thread, so
+     * the export is not subject to the timeout of asynchronous requests.
+     *
+     * @param fromDate the start of the time period of AuditEvents to export
+     * @param toDate   the end of the time period of AuditEvents to export
+     * @param format   ndjson (the default) or csv
+     * @param response the response the AuditEvents are written to
+     * @throws IOException if the response could not be written
+     */
+    @GetMapping("/export")
+    public void export(
+        @RequestParam(value = "fromDate") LocalDate fromDate,
+        @RequestParam(value = "toDate") LocalDate toDate,
+        @RequestParam(value = "format", defaultValue = "ndjson") String format,
+        HttpServletResponse response) throws IOException {
+
+        AuditExportFormat exportFormat;
+        try {
+            exportFormat = AuditExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Unknown export format " + format, "audit", "exportformat");
+        }
+        response.setContentType(exportFormat.getContentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"audits-" + fromDate + "-" + toDate + "." + exportFormat.getExtension() + "\"");
+        auditEventExporter.export(
+            fromDate.atStartOfDay(ZoneId.systemDefault()).toInstant(),
+            toDate.atStartOfDay(ZoneId.systemDefault()).plusDays(1).toInstant(),
+            exportFormat, response.getOutputStream());
+    }
+
     /**
      * GET  /audits/:id : get an AuditEvent by id.
      *
@@ -9,6 +9,7 @@ import io.kimos.talentpipe.web.rest.dto.UpdateBenefitDTO;
 import io.kimos.talentpipe.web.rest.errors.BadRequestAlertException;
 import io.kimos.talentpipe.web.rest.util.HeaderUtil;
 import io.kimos.talentpipe.web.rest.util.PaginationUtil;
+import io.kimos.talentpipe.web.rest.util.ReferenceDataResponses;
 import ma.glasnost.orika.MapperFacade;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,10 +37,13 @@ public class BenefitResource {
     private final Logger log = LoggerFactory.getLogger(BenefitResource.class);
     private final BenefitService benefitService;
     private final MapperFacade orikaMapper;
+    private final ReferenceDataResponses referenceDataResponses;
 
-    public BenefitResource(BenefitService benefitService, MapperFacade orikaMapper) {
+    public BenefitResource(BenefitService benefitService, MapperFacade orikaMapper,
+                           ReferenceDataResponses referenceDataResponses) {
         this.benefitService = benefitService;
         this.orikaMapper = orikaMapper;
+        this.referenceDataResponses = referenceDataResponses;
     }
 
     /**
@@ -85,15 +89,19 @@ public class BenefitResource {
      * GET  /benefits : get all the benefits.
      *
      * @param pageable the pagination information
-     * @return the ResponseEntity with status 200 (OK) and the list of benefits in body
+     * @param acceptEncoding the Accept-Encoding header of the request
+     * @return the ResponseEntity with status 200 (OK) and the list of benefits in body, or with status 304 (Not Modified) if it has not changed since the ETag of the If-None-Match header
      */
     @GetMapping("/benefits")
     @Timed
-    public ResponseEntity<List<Benefit>> getAllBenefits(Pageable pageable) {
+    public ResponseEntity<?> getAllBenefits(Pageable pageable,
+                                            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         log.debug("REST request to get a page of Benefits");
-        Page<Benefit> page = benefitService.findAll(pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/benefits");
-        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+        return referenceDataResponses.page(Benefit.class, pageable, "/api/benefits", acceptEncoding).orElseGet(() -> {
+            Page<Benefit> page = benefitService.findAll(pageable);
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/benefits");
+            return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+        });
     }
 
     /**
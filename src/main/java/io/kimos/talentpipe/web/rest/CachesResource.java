@@ -0,0 +1,35 @@
+package io.kimos.talentpipe.web.rest;
+
+import com.codahale.metrics.annotation.Timed;
+import io.kimos.talentpipe.config.CacheRegionStatistics;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller for viewing the settings and statistics of the second level cache regions, and of the cached queries.
+ */
+@RestController
+@RequestMapping("/management")
+public class CachesResource {
+
+    private final CacheRegionStatistics cacheRegionStatistics;
+
+    public CachesResource(CacheRegionStatistics cacheRegionStatistics) {
+        this.cacheRegionStatistics = cacheRegionStatistics;
+    }
+
+    @GetMapping("/caches")
+    @Timed
+    public List<CacheRegionStatistics.RegionStatistics> getCaches() {
+        return cacheRegionStatistics.getRegionStatistics();
+    }
+
+    @GetMapping("/caches/queries")
+    @Timed
+    public List<CacheRegionStatistics.CachedQueryStatistics> getCachedQueries() {
+        return cacheRegionStatistics.getQueryStatistics();
+    }
+}
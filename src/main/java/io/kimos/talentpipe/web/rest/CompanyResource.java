@@ -7,6 +7,8 @@ import io.kimos.talentpipe.security.SecurityUtils;
 import io.kimos.talentpipe.service.CompanyQueryService;
 import io.kimos.talentpipe.service.CompanyService;
 import io.kimos.talentpipe.service.dto.CompanyCriteria;
+import io.kimos.talentpipe.service.dto.KeysetPageRequest;
+import io.kimos.talentpipe.service.dto.KeysetSlice;
 import io.kimos.talentpipe.web.rest.dto.CreateCompanyRequest;
 import io.kimos.talentpipe.web.rest.dto.UpdateCompanyDTO;
 import io.kimos.talentpipe.web.rest.errors.BadRequestAlertException;
@@ -103,15 +105,26 @@ public class CompanyResource {
 
     /**
      * GET  /companies : get all the companies.
+     * <p>
+     * With the "after" parameter, the companies are paged by keyset: the page starts after the cursor of the "next" Link,
+     * and the empty cursor gives the first page. The sort is limited to a single property and no total count is returned.
      *
      * @param pageable the pagination information
      * @param criteria the criterias which the requested entities should match
-     * @return the ResponseEntity with status 200 (OK) and the list of companies in body
+     * @param after    the cursor of a keyset page, if any
+     * @return the ResponseEntity with status 200 (OK) and the list of companies in body,
+     * or with status 400 (Bad Request) if the cursor or the sort of the keyset page is invalid
      */
     @GetMapping("/companies")
     @Timed
-    public ResponseEntity<List<Company>> getAllCompanies(CompanyCriteria criteria, Pageable pageable) {
+    public ResponseEntity<List<Company>> getAllCompanies(CompanyCriteria criteria, Pageable pageable,
+                                                         @RequestParam(required = false) String after) {
         log.debug("REST request to get Companies by criteria: {}", criteria);
+        if (after != null) {
+            KeysetSlice<Company> slice = companyQueryService.findByCriteria(criteria, keysetPageRequest(after, pageable));
+            HttpHeaders headers = PaginationUtil.generateKeysetPaginationHttpHeaders(slice, "/api/companies");
+            return new ResponseEntity<>(slice.getContent(), headers, HttpStatus.OK);
+        }
         Page<Company> page = companyQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/companies");
         return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
@@ -177,4 +190,12 @@ public class CompanyResource {
         return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
     }
 
+    private KeysetPageRequest keysetPageRequest(String after, Pageable pageable) {
+        try {
+            return KeysetPageRequest.of(after, pageable, CompanyQueryService.KEYSET_SORTABLE_PROPERTIES);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "cursorinvalid");
+        }
+    }
+
 }
@@ -9,6 +9,7 @@ import io.kimos.talentpipe.web.rest.dto.UpdateCompanyTypeDTO;
 import io.kimos.talentpipe.web.rest.errors.BadRequestAlertException;
 import io.kimos.talentpipe.web.rest.util.HeaderUtil;
 import io.kimos.talentpipe.web.rest.util.PaginationUtil;
+import io.kimos.talentpipe.web.rest.util.ReferenceDataResponses;
 import ma.glasnost.orika.MapperFacade;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,10 +37,13 @@ public class CompanyTypeResource {
     private final Logger log = LoggerFactory.getLogger(CompanyTypeResource.class);
     private final CompanyTypeService companyTypeService;
     private final MapperFacade orikaMapper;
+    private final ReferenceDataResponses referenceDataResponses;
 
-    public CompanyTypeResource(CompanyTypeService companyTypeService, MapperFacade orikaMapper) {
+    public CompanyTypeResource(CompanyTypeService companyTypeService, MapperFacade orikaMapper,
+                               ReferenceDataResponses referenceDataResponses) {
         this.companyTypeService = companyTypeService;
         this.orikaMapper = orikaMapper;
+        this.referenceDataResponses = referenceDataResponses;
     }
 
     /**
@@ -85,15 +89,19 @@ public class CompanyTypeResource {
      * GET  /company-types : get all the companyTypes.
      *
      * @param pageable the pagination information
-     * @return the ResponseEntity with status 200 (OK) and the list of companyTypes in body
+     * @param acceptEncoding the Accept-Encoding header of the request
+     * @return the ResponseEntity with status 200 (OK) and the list of companyTypes in body, or with status 304 (Not Modified) if it has not changed since the ETag of the If-None-Match header
      */
     @GetMapping("/company-types")
     @Timed
-    public ResponseEntity<List<CompanyType>> getAllCompanyTypes(Pageable pageable) {
+    public ResponseEntity<?> getAllCompanyTypes(Pageable pageable,
+                                                @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         log.debug("REST request to get a page of CompanyTypes");
-        Page<CompanyType> page = companyTypeService.findAll(pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/company-types");
-        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+        return referenceDataResponses.page(CompanyType.class, pageable, "/api/company-types", acceptEncoding).orElseGet(() -> {
+            Page<CompanyType> page = companyTypeService.findAll(pageable);
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/company-types");
+            return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+        });
     }
 
     /**
@@ -9,6 +9,7 @@ import io.kimos.talentpipe.web.rest.dto.UpdateCountryDTO;
 import io.kimos.talentpipe.web.rest.errors.BadRequestAlertException;
 import io.kimos.talentpipe.web.rest.util.HeaderUtil;
 import io.kimos.talentpipe.web.rest.util.PaginationUtil;
+import io.kimos.talentpipe.web.rest.util.ReferenceDataResponses;
 import ma.glasnost.orika.MapperFacade;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,10 +37,13 @@ public class CountryResource {
     private final Logger log = LoggerFactory.getLogger(CountryResource.class);
     private final CountryService countryService;
     private final MapperFacade orikaMapper;
+    private final ReferenceDataResponses referenceDataResponses;
 
-    public CountryResource(CountryService countryService, MapperFacade orikaMapper) {
+    public CountryResource(CountryService countryService, MapperFacade orikaMapper,
+                           ReferenceDataResponses referenceDataResponses) {
         this.countryService = countryService;
         this.orikaMapper = orikaMapper;
+        this.referenceDataResponses = referenceDataResponses;
     }
 
     /**
@@ -85,15 +89,19 @@ public class CountryResource {
      * GET  /countries : get all the countries.
      *
      * @param pageable the pagination information
-     * @return the ResponseEntity with status 200 (OK) and the list of countries in body
+     * @param acceptEncoding the Accept-Encoding header of the request
+     * @return the ResponseEntity with status 200 (OK) and the list of countries in body, or with status 304 (Not Modified) if it has not changed since the ETag of the If-None-Match header
      */
     @GetMapping("/countries")
     @Timed
-    public ResponseEntity<List<Country>> getAllCountries(Pageable pageable) {
+    public ResponseEntity<?> getAllCountries(Pageable pageable,
+                                             @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         log.debug("REST request to get a page of Countries");
-        Page<Country> page = countryService.findAll(pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/countries");
-        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+        return referenceDataResponses.page(Country.class, pageable, "/api/countries", acceptEncoding).orElseGet(() -> {
+            Page<Country> page = countryService.findAll(pageable);
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/countries");
+            return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+        });
     }
 
     /**
@@ -8,9 +8,11 @@ import io.kimos.talentpipe.web.rest.dto.CreateExpertiseLevelDTO;
 import io.kimos.talentpipe.web.rest.dto.UpdateExpertiseLevelDTO;
 import io.kimos.talentpipe.web.rest.errors.BadRequestAlertException;
 import io.kimos.talentpipe.web.rest.util.HeaderUtil;
+import io.kimos.talentpipe.web.rest.util.ReferenceDataResponses;
 import ma.glasnost.orika.MapperFacade;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -31,10 +33,13 @@ public class ExpertiseLevelResource {
     private final Logger log = LoggerFactory.getLogger(ExpertiseLevelResource.class);
     private final ExpertiseLevelService expertiseLevelService;
     private final MapperFacade orikaMapper;
+    private final ReferenceDataResponses referenceDataResponses;
 
-    public ExpertiseLevelResource(ExpertiseLevelService expertiseLevelService, MapperFacade orikaMapper) {
+    public ExpertiseLevelResource(ExpertiseLevelService expertiseLevelService, MapperFacade orikaMapper,
+                                  ReferenceDataResponses referenceDataResponses) {
         this.expertiseLevelService = expertiseLevelService;
         this.orikaMapper = orikaMapper;
+        this.referenceDataResponses = referenceDataResponses;
     }
 
     /**
@@ -79,13 +84,15 @@ public class ExpertiseLevelResource {
     /**
      * GET  /expertise-levels : get all the expertiseLevels.
      *
-     * @return the ResponseEntity with status 200 (OK) and the list of expertiseLevels in body
+     * @param acceptEncoding the Accept-Encoding header of the request
+     * @return the ResponseEntity with status 200 (OK) and the list of expertiseLevels in body, or with status 304 (Not Modified) if it has not changed since the ETag of the If-None-Match header
      */
     @GetMapping("/expertise-levels")
     @Timed
-    public List<ExpertiseLevel> getAllExpertiseLevels() {
+    public ResponseEntity<?> getAllExpertiseLevels(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         log.debug("REST request to get all ExpertiseLevels");
-        return expertiseLevelService.findAll();
+        return referenceDataResponses.list(ExpertiseLevel.class, acceptEncoding)
+            .orElseGet(() -> ResponseEntity.ok(expertiseLevelService.findAll()));
     }
 
     /**
@@ -5,6 +5,8 @@ import io.github.jhipster.web.util.ResponseUtil;
 import io.kimos.talentpipe.domain.Recruiter;
 import io.kimos.talentpipe.service.RecruiterQueryService;
 import io.kimos.talentpipe.service.RecruiterService;
+import io.kimos.talentpipe.service.dto.KeysetPageRequest;
+import io.kimos.talentpipe.service.dto.KeysetSlice;
 import io.kimos.talentpipe.service.dto.RecruiterCriteria;
 import io.kimos.talentpipe.web.rest.dto.RegistryRecruiterRequest;
 import io.kimos.talentpipe.web.rest.errors.BadRequestAlertException;
@@ -98,15 +100,26 @@ public class RecruiterResource {
 
     /**
      * GET  /recruiters : get all the recruiters.
+     * <p>
+     * With the "after" parameter, the recruiters are paged by keyset: the page starts after the cursor of the "next" Link,
+     * and the empty cursor gives the first page. The sort is limited to a single property and no total count is returned.
      *
      * @param pageable the pagination information
      * @param criteria the criterias which the requested entities should match
-     * @return the ResponseEntity with status 200 (OK) and the list of recruiters in body
+     * @param after    the cursor of a keyset page, if any
+     * @return the ResponseEntity with status 200 (OK) and the list of recruiters in body,
+     * or with status 400 (Bad Request) if the cursor or the sort of the keyset page is invalid
      */
     @GetMapping("/recruiters")
     @Timed
-    public ResponseEntity<List<Recruiter>> getAllRecruiters(RecruiterCriteria criteria, Pageable pageable) {
+    public ResponseEntity<List<Recruiter>> getAllRecruiters(RecruiterCriteria criteria, Pageable pageable,
+                                                            @RequestParam(required = false) String after) {
         log.debug("REST request to get Recruiters by criteria: {}", criteria);
+        if (after != null) {
+            KeysetSlice<Recruiter> slice = recruiterQueryService.findByCriteria(criteria, keysetPageRequest(after, pageable));
+            HttpHeaders headers = PaginationUtil.generateKeysetPaginationHttpHeaders(slice, "/api/recruiters");
+            return new ResponseEntity<>(slice.getContent(), headers, HttpStatus.OK);
+        }
         Page<Recruiter> page = recruiterQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/recruiters");
         return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
@@ -157,4 +170,12 @@ public class RecruiterResource {
         return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
     }
 
+    private KeysetPageRequest keysetPageRequest(String after, Pageable pageable) {
+        try {
+            return KeysetPageRequest.of(after, pageable, RecruiterQueryService.KEYSET_SORTABLE_PROPERTIES);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "cursorinvalid");
+        }
+    }
+
 }
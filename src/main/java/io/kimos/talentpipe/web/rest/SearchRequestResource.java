@@ -3,15 +3,18 @@ package io.kimos.talentpipe.web.rest;
 import com.codahale.metrics.annotation.Timed;
 import io.github.jhipster.web.util.ResponseUtil;
 import io.kimos.talentpipe.domain.*;
+import io.kimos.talentpipe.service.CompanyService;
+import io.kimos.talentpipe.service.CurrentUserService;
 import io.kimos.talentpipe.service.SearchRequestService;
-import io.kimos.talentpipe.service.UserService;
+import io.kimos.talentpipe.service.dto.CurrentUserDTO;
+import io.kimos.talentpipe.service.dto.SimilarSearchRequestDTO;
+import io.kimos.talentpipe.service.index.SkillQuery;
 import io.kimos.talentpipe.web.rest.dto.CreateSearchRequestDTO;
 import io.kimos.talentpipe.web.rest.errors.BadRequestAlertException;
 import io.kimos.talentpipe.web.rest.errors.UserNotAuthenticatedException;
 import io.kimos.talentpipe.web.rest.util.HeaderUtil;
 import io.kimos.talentpipe.web.rest.util.PaginationUtil;
 import ma.glasnost.orika.MapperFacade;
-import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -19,17 +22,16 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.math.BigDecimal;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * REST controller for managing SearchRequest.
@@ -39,15 +41,19 @@ import java.util.stream.Collectors;
 public class SearchRequestResource {
 
     private static final String ENTITY_NAME = "searchRequest";
+    private static final int MAX_SIMILAR_SIZE = 100;
     private final Logger log = LoggerFactory.getLogger(SearchRequestResource.class);
     private final SearchRequestService searchRequestService;
     private final MapperFacade orikaMapper;
-    private final UserService userService;
+    private final CurrentUserService currentUserService;
+    private final CompanyService companyService;
 
-    public SearchRequestResource(SearchRequestService searchRequestService, MapperFacade orikaMapper, UserService userService) {
+    public SearchRequestResource(SearchRequestService searchRequestService, MapperFacade orikaMapper,
+                                 CurrentUserService currentUserService, CompanyService companyService) {
         this.searchRequestService = searchRequestService;
         this.orikaMapper = orikaMapper;
-        this.userService = userService;
+        this.currentUserService = currentUserService;
+        this.companyService = companyService;
     }
 
     /**
@@ -77,9 +83,9 @@ public class SearchRequestResource {
     @Timed
     public ResponseEntity<SearchRequest> createSearchRequest(@Valid @RequestBody CreateSearchRequestDTO searchRequest) throws URISyntaxException {
         log.debug("REST request to save SearchRequest : {}", searchRequest);
-        User user = userService.getUserWithAuthorities().orElseThrow(UserNotAuthenticatedException::new);
+        CurrentUserDTO user = currentUserService.getCurrentUser().orElseThrow(UserNotAuthenticatedException::new);
         SearchRequest entity = orikaMapper.map(searchRequest, SearchRequest.class);
-        entity.setCompany(user.getCompany());
+        entity.setCompany(Optional.ofNullable(user.getCompanyId()).flatMap(companyService::findOne).orElse(null));
         SearchRequest result = searchRequestService.save(entity);
         return ResponseEntity.created(new URI("/api/search-requests/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(ENTITY_NAME, result.getId().toString()))
@@ -118,16 +124,72 @@ public class SearchRequestResource {
     @Timed
     public ResponseEntity<List<SearchRequest>> getAllSearchRequests(Pageable pageable) {
         log.debug("REST request to get a page of SearchRequests");
-        User user = userService.getUserWithAuthorities().orElseThrow(UserNotAuthenticatedException::new);
-        Page<SearchRequest> page = user.getRoles().stream().map(Role::getAuthorities)
-            .flatMap(Collection::stream).map(Authority::getAuthority)
-            .collect(Collectors.toSet())
-            .contains(BaseAuthorities.ROLE_ADMIN.getAuthority())
-            ? searchRequestService.findAll(pageable) : searchRequestService.findAllForCompany(pageable, user);
+        CurrentUserDTO user = currentUserService.getCurrentUser().orElseThrow(UserNotAuthenticatedException::new);
+        Page<SearchRequest> page = isAdmin(user)
+            ? searchRequestService.findAll(pageable) : searchRequestService.findAllForCompany(pageable, user.getCompanyId());
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/search-requests");
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * GET  /search-requests/by-skills : get the searchRequests matching a boolean query on their technical skills,
+     * newest first.
+     *
+     * @param all                the ids of the skills the searchRequests must all ask for
+     * @param any                the ids of the skills the searchRequests must ask for at least one of
+     * @param none               the ids of the skills the searchRequests must not ask for
+     * @param includeNonRequired whether the non required skills of the searchRequests count too
+     * @param pageable           the pagination information
+     * @return the ResponseEntity with status 200 (OK) and the list of searchRequests in body,
+     * or with status 403 (Forbidden) if the user is not an admin and has no company
+     */
+    @GetMapping("/search-requests/by-skills")
+    @Timed
+    public ResponseEntity<List<SearchRequest>> getSearchRequestsBySkills(@RequestParam(required = false) List<Long> all,
+                                                                         @RequestParam(required = false) List<Long> any,
+                                                                         @RequestParam(required = false) List<Long> none,
+                                                                         @RequestParam(defaultValue = "false") boolean includeNonRequired,
+                                                                         Pageable pageable) {
+        SkillQuery skillQuery = new SkillQuery(all, any, none, includeNonRequired);
+        log.debug("REST request to get a page of SearchRequests for {}", skillQuery);
+        CurrentUserDTO user = currentUserService.getCurrentUser().orElseThrow(UserNotAuthenticatedException::new);
+        Page<SearchRequest> page = searchRequestService.findAllBySkills(skillQuery, companyScope(user), pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/search-requests/by-skills");
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * GET  /search-requests/by-salary : get the searchRequests whose salary band overlaps a salary range,
+     * by increasing minimum salary. A searchRequest without maximum salary has no upper bound.
+     *
+     * @param from             the lowest salary of the range
+     * @param to               the highest salary of the range, defaults to from to get the searchRequests offering that salary
+     * @param expertiseLevelId the expertise level the searchRequests must ask for
+     * @param companyId        the company the searchRequests must belong to, ignored for non admins who only get their company's
+     * @param pageable         the pagination information
+     * @return the ResponseEntity with status 200 (OK) and the list of searchRequests in body,
+     * or with status 400 (Bad Request) if the salary range is not valid,
+     * or with status 403 (Forbidden) if the user is not an admin and has no company
+     */
+    @GetMapping("/search-requests/by-salary")
+    @Timed
+    public ResponseEntity<List<SearchRequest>> getSearchRequestsBySalary(@RequestParam BigDecimal from,
+                                                                         @RequestParam(required = false) BigDecimal to,
+                                                                         @RequestParam(required = false) Long expertiseLevelId,
+                                                                         @RequestParam(required = false) Long companyId,
+                                                                         Pageable pageable) {
+        log.debug("REST request to get a page of SearchRequests with a salary between {} and {}", from, to);
+        BigDecimal upTo = to != null ? to : from;
+        if (upTo.compareTo(from) < 0) {
+            throw new BadRequestAlertException("Invalid salary range", ENTITY_NAME, "salaryrangeinvalid");
+        }
+        CurrentUserDTO user = currentUserService.getCurrentUser().orElseThrow(UserNotAuthenticatedException::new);
+        Long company = isAdmin(user) ? companyId : companyScope(user);
+        Page<SearchRequest> page = searchRequestService.findAllBySalary(from, upTo, expertiseLevelId, company, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/search-requests/by-salary");
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
     /**
      * GET  /search-requests/:id : get the "id" searchRequest.
      *
@@ -142,6 +204,27 @@ public class SearchRequestResource {
         return ResponseUtil.wrapOrNotFound(searchRequest);
     }
 
+    /**
+     * GET  /search-requests/:id/similar : get the searchRequests most similar to the "id" searchRequest.
+     *
+     * @param id   the id of the searchRequest to compare to
+     * @param size the maximum number of similar searchRequests, at most 100
+     * @return the ResponseEntity with status 200 (OK) and the similar searchRequests, most similar first, in body,
+     * or with status 400 (Bad Request) if the size is not valid,
+     * or with status 403 (Forbidden) if the user is not an admin and has no company, or with status 404 (Not Found)
+     */
+    @GetMapping("/search-requests/{id}/similar")
+    @Timed
+    public ResponseEntity<List<SimilarSearchRequestDTO>> getSimilarSearchRequests(@PathVariable Long id,
+                                                                                  @RequestParam(defaultValue = "10") int size) {
+        log.debug("REST request to get the SearchRequests similar to SearchRequest : {}", id);
+        if (size < 1 || size > MAX_SIMILAR_SIZE) {
+            throw new BadRequestAlertException("Invalid size", ENTITY_NAME, "sizeinvalid");
+        }
+        CurrentUserDTO user = currentUserService.getCurrentUser().orElseThrow(UserNotAuthenticatedException::new);
+        return ResponseUtil.wrapOrNotFound(searchRequestService.findSimilar(id, companyScope(user), size));
+    }
+
     /**
      * DELETE  /search-requests/:id : delete the "id" searchRequest.
      *
@@ -173,4 +256,23 @@ public class SearchRequestResource {
         return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
     }
 
+    private boolean isAdmin(CurrentUserDTO user) {
+        return user.hasAuthority(BaseAuthorities.ROLE_ADMIN.getAuthority());
+    }
+
+    /**
+     * The company the searchRequests visible to a user belong to, or null for an admin, who sees all of them.
+     *
+     * @throws AccessDeniedException if the user is not an admin and has no company
+     */
+    private Long companyScope(CurrentUserDTO user) {
+        if (isAdmin(user)) {
+            return null;
+        }
+        if (user.getCompanyId() == null) {
+            throw new AccessDeniedException("User " + user.getLogin() + " has no company");
+        }
+        return user.getCompanyId();
+    }
+
 }
@@ -9,9 +9,11 @@ import io.kimos.talentpipe.web.dto.CreateSearchStatusRequest;
 import io.kimos.talentpipe.web.rest.errors.BadRequestAlertException;
 import io.kimos.talentpipe.web.rest.errors.UserNotAuthenticatedException;
 import io.kimos.talentpipe.web.rest.util.HeaderUtil;
+import io.kimos.talentpipe.web.rest.util.ReferenceDataResponses;
 import ma.glasnost.orika.MapperFacade;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
@@ -37,6 +39,8 @@ public class SearchStatusResource {
 
     private final MapperFacade orikaMapper;
 
+    private final ReferenceDataResponses referenceDataResponses;
+
     /**
      * POST  /search-statuses : Create a new searchStatus.
      *
@@ -57,10 +61,12 @@ public class SearchStatusResource {
             .body(searchStatus);
     }
 
-    public SearchStatusResource(SearchStatusService searchStatusService, MapperFacade orikaMapper, UserService userService) {
+    public SearchStatusResource(SearchStatusService searchStatusService, MapperFacade orikaMapper, UserService userService,
+                                ReferenceDataResponses referenceDataResponses) {
         this.searchStatusService = searchStatusService;
         this.orikaMapper = orikaMapper;
         this.userService = userService;
+        this.referenceDataResponses = referenceDataResponses;
     }
 
     /**
@@ -88,13 +94,15 @@ public class SearchStatusResource {
     /**
      * GET  /search-statuses : get all the searchStatuses.
      *
-     * @return the ResponseEntity with status 200 (OK) and the list of searchStatuses in body
+     * @param acceptEncoding the Accept-Encoding header of the request
+     * @return the ResponseEntity with status 200 (OK) and the list of searchStatuses in body, or with status 304 (Not Modified) if it has not changed since the ETag of the If-None-Match header
      */
     @GetMapping("/search-statuses")
     @Timed
-    public List<SearchStatus> getAllSearchStatuses() {
+    public ResponseEntity<?> getAllSearchStatuses(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         log.debug("REST request to get all SearchStatuses");
-        return searchStatusService.findAll();
+        return referenceDataResponses.list(SearchStatus.class, acceptEncoding)
+            .orElseGet(() -> ResponseEntity.ok(searchStatusService.findAll()));
     }
 
     /**
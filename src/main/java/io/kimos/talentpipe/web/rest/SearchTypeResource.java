@@ -9,6 +9,7 @@ import io.kimos.talentpipe.web.rest.dto.UpdateSearchTypeDTO;
 import io.kimos.talentpipe.web.rest.errors.BadRequestAlertException;
 import io.kimos.talentpipe.web.rest.util.HeaderUtil;
 import io.kimos.talentpipe.web.rest.util.PaginationUtil;
+import io.kimos.talentpipe.web.rest.util.ReferenceDataResponses;
 import ma.glasnost.orika.MapperFacade;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,10 +37,13 @@ public class SearchTypeResource {
     private final Logger log = LoggerFactory.getLogger(SearchTypeResource.class);
     private final SearchTypeService searchTypeService;
     private final MapperFacade orikaMapper;
+    private final ReferenceDataResponses referenceDataResponses;
 
-    public SearchTypeResource(SearchTypeService searchTypeService, MapperFacade orikaMapper) {
+    public SearchTypeResource(SearchTypeService searchTypeService, MapperFacade orikaMapper,
+                              ReferenceDataResponses referenceDataResponses) {
         this.searchTypeService = searchTypeService;
         this.orikaMapper = orikaMapper;
+        this.referenceDataResponses = referenceDataResponses;
     }
 
     /**
@@ -85,15 +89,19 @@ public class SearchTypeResource {
      * GET  /search-types : get all the searchTypes.
      *
      * @param pageable the pagination information
-     * @return the ResponseEntity with status 200 (OK) and the list of searchTypes in body
+     * @param acceptEncoding the Accept-Encoding header of the request
+     * @return the ResponseEntity with status 200 (OK) and the list of searchTypes in body, or with status 304 (Not Modified) if it has not changed since the ETag of the If-None-Match header
      */
     @GetMapping("/search-types")
     @Timed
-    public ResponseEntity<List<SearchType>> getAllSearchTypes(Pageable pageable) {
+    public ResponseEntity<?> getAllSearchTypes(Pageable pageable,
+                                               @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         log.debug("REST request to get a page of SearchTypes");
-        Page<SearchType> page = searchTypeService.findAll(pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/search-types");
-        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+        return referenceDataResponses.page(SearchType.class, pageable, "/api/search-types", acceptEncoding).orElseGet(() -> {
+            Page<SearchType> page = searchTypeService.findAll(pageable);
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/search-types");
+            return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+        });
     }
 
     /**
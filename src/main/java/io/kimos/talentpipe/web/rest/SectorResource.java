@@ -9,6 +9,7 @@ import io.kimos.talentpipe.web.rest.dto.UpdateSectorDTO;
 import io.kimos.talentpipe.web.rest.errors.BadRequestAlertException;
 import io.kimos.talentpipe.web.rest.util.HeaderUtil;
 import io.kimos.talentpipe.web.rest.util.PaginationUtil;
+import io.kimos.talentpipe.web.rest.util.ReferenceDataResponses;
 import ma.glasnost.orika.MapperFacade;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,10 +37,13 @@ public class SectorResource {
     private final Logger log = LoggerFactory.getLogger(SectorResource.class);
     private final SectorService sectorService;
     private final MapperFacade orikaMapper;
+    private final ReferenceDataResponses referenceDataResponses;
 
-    public SectorResource(SectorService sectorService, MapperFacade orikaMapper) {
+    public SectorResource(SectorService sectorService, MapperFacade orikaMapper,
+                          ReferenceDataResponses referenceDataResponses) {
         this.sectorService = sectorService;
         this.orikaMapper = orikaMapper;
+        this.referenceDataResponses = referenceDataResponses;
     }
 
     /**
@@ -85,15 +89,19 @@ public class SectorResource {
      * GET  /sectors : get all the sectors.
      *
      * @param pageable the pagination information
-     * @return the ResponseEntity with status 200 (OK) and the list of sectors in body
+     * @param acceptEncoding the Accept-Encoding header of the request
+     * @return the ResponseEntity with status 200 (OK) and the list of sectors in body, or with status 304 (Not Modified) if it has not changed since the ETag of the If-None-Match header
      */
     @GetMapping("/sectors")
     @Timed
-    public ResponseEntity<List<Sector>> getAllSectors(Pageable pageable) {
+    public ResponseEntity<?> getAllSectors(Pageable pageable,
+                                           @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         log.debug("REST request to get a page of Sectors");
-        Page<Sector> page = sectorService.findAll(pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/sectors");
-        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+        return referenceDataResponses.page(Sector.class, pageable, "/api/sectors", acceptEncoding).orElseGet(() -> {
+            Page<Sector> page = sectorService.findAll(pageable);
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/sectors");
+            return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+        });
     }
 
     /**
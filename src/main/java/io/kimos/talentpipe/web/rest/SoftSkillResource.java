@@ -9,6 +9,7 @@ import io.kimos.talentpipe.web.rest.dto.UpdateSoftSkillDTO;
 import io.kimos.talentpipe.web.rest.errors.BadRequestAlertException;
 import io.kimos.talentpipe.web.rest.util.HeaderUtil;
 import io.kimos.talentpipe.web.rest.util.PaginationUtil;
+import io.kimos.talentpipe.web.rest.util.ReferenceDataResponses;
 import ma.glasnost.orika.MapperFacade;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,10 +37,13 @@ public class SoftSkillResource {
     private final Logger log = LoggerFactory.getLogger(SoftSkillResource.class);
     private final SoftSkillService softSkillService;
     private final MapperFacade orikaMapper;
+    private final ReferenceDataResponses referenceDataResponses;
 
-    public SoftSkillResource(SoftSkillService softSkillService, MapperFacade orikaMapper) {
+    public SoftSkillResource(SoftSkillService softSkillService, MapperFacade orikaMapper,
+                             ReferenceDataResponses referenceDataResponses) {
         this.softSkillService = softSkillService;
         this.orikaMapper = orikaMapper;
+        this.referenceDataResponses = referenceDataResponses;
     }
 
     /**
@@ -85,15 +89,19 @@ public class SoftSkillResource {
      * GET  /soft-skills : get all the softSkills.
      *
      * @param pageable the pagination information
-     * @return the ResponseEntity with status 200 (OK) and the list of softSkills in body
+     * @param acceptEncoding the Accept-Encoding header of the request
+     * @return the ResponseEntity with status 200 (OK) and the list of softSkills in body, or with status 304 (Not Modified) if it has not changed since the ETag of the If-None-Match header
      */
     @GetMapping("/soft-skills")
     @Timed
-    public ResponseEntity<List<SoftSkill>> getAllSoftSkills(Pageable pageable) {
+    public ResponseEntity<?> getAllSoftSkills(Pageable pageable,
+                                              @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         log.debug("REST request to get a page of SoftSkills");
-        Page<SoftSkill> page = softSkillService.findAll(pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/soft-skills");
-        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+        return referenceDataResponses.page(SoftSkill.class, pageable, "/api/soft-skills", acceptEncoding).orElseGet(() -> {
+            Page<SoftSkill> page = softSkillService.findAll(pageable);
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/soft-skills");
+            return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+        });
     }
 
     /**
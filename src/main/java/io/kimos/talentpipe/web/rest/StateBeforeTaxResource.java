@@ -9,6 +9,7 @@ import io.kimos.talentpipe.web.rest.dto.UpdateStateBeforeTaxDTO;
 import io.kimos.talentpipe.web.rest.errors.BadRequestAlertException;
 import io.kimos.talentpipe.web.rest.util.HeaderUtil;
 import io.kimos.talentpipe.web.rest.util.PaginationUtil;
+import io.kimos.talentpipe.web.rest.util.ReferenceDataResponses;
 import ma.glasnost.orika.MapperFacade;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,10 +37,13 @@ public class StateBeforeTaxResource {
     private final Logger log = LoggerFactory.getLogger(StateBeforeTaxResource.class);
     private final StateBeforeTaxService stateBeforeTaxService;
     private final MapperFacade orikaMapper;
+    private final ReferenceDataResponses referenceDataResponses;
 
-    public StateBeforeTaxResource(StateBeforeTaxService stateBeforeTaxService, MapperFacade orikaMapper) {
+    public StateBeforeTaxResource(StateBeforeTaxService stateBeforeTaxService, MapperFacade orikaMapper,
+                                  ReferenceDataResponses referenceDataResponses) {
         this.stateBeforeTaxService = stateBeforeTaxService;
         this.orikaMapper = orikaMapper;
+        this.referenceDataResponses = referenceDataResponses;
     }
 
     /**
@@ -85,15 +89,19 @@ public class StateBeforeTaxResource {
      * GET  /state-before-taxes : get all the stateBeforeTaxes.
      *
      * @param pageable the pagination information
-     * @return the ResponseEntity with status 200 (OK) and the list of stateBeforeTaxes in body
+     * @param acceptEncoding the Accept-Encoding header of the request
+     * @return the ResponseEntity with status 200 (OK) and the list of stateBeforeTaxes in body, or with status 304 (Not Modified) if it has not changed since the ETag of the If-None-Match header
      */
     @GetMapping("/state-before-taxes")
     @Timed
-    public ResponseEntity<List<StateBeforeTax>> getAllStateBeforeTaxes(Pageable pageable) {
+    public ResponseEntity<?> getAllStateBeforeTaxes(Pageable pageable,
+                                                    @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         log.debug("REST request to get a page of StateBeforeTaxes");
-        Page<StateBeforeTax> page = stateBeforeTaxService.findAll(pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/state-before-taxes");
-        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+        return referenceDataResponses.page(StateBeforeTax.class, pageable, "/api/state-before-taxes", acceptEncoding).orElseGet(() -> {
+            Page<StateBeforeTax> page = stateBeforeTaxService.findAll(pageable);
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/state-before-taxes");
+            return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+        });
     }
 
     /**
@@ -9,6 +9,7 @@ import io.kimos.talentpipe.web.rest.dto.UpdateTechnicalSkillDTO;
 import io.kimos.talentpipe.web.rest.errors.BadRequestAlertException;
 import io.kimos.talentpipe.web.rest.util.HeaderUtil;
 import io.kimos.talentpipe.web.rest.util.PaginationUtil;
+import io.kimos.talentpipe.web.rest.util.ReferenceDataResponses;
 import ma.glasnost.orika.MapperFacade;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,10 +37,13 @@ public class TechnicalSkillResource {
     private final Logger log = LoggerFactory.getLogger(TechnicalSkillResource.class);
     private final TechnicalSkillService technicalSkillService;
     private final MapperFacade orikaMapper;
+    private final ReferenceDataResponses referenceDataResponses;
 
-    public TechnicalSkillResource(TechnicalSkillService technicalSkillService, MapperFacade orikaMapper) {
+    public TechnicalSkillResource(TechnicalSkillService technicalSkillService, MapperFacade orikaMapper,
+                                  ReferenceDataResponses referenceDataResponses) {
         this.technicalSkillService = technicalSkillService;
         this.orikaMapper = orikaMapper;
+        this.referenceDataResponses = referenceDataResponses;
     }
 
     /**
@@ -85,15 +89,19 @@ public class TechnicalSkillResource {
      * GET  /technical-skills : get all the technicalSkills.
      *
      * @param pageable the pagination information
-     * @return the ResponseEntity with status 200 (OK) and the list of technicalSkills in body
+     * @param acceptEncoding the Accept-Encoding header of the request
+     * @return the ResponseEntity with status 200 (OK) and the list of technicalSkills in body, or with status 304 (Not Modified) if it has not changed since the ETag of the If-None-Match header
      */
     @GetMapping("/technical-skills")
     @Timed
-    public ResponseEntity<List<TechnicalSkill>> getAllTechnicalSkills(Pageable pageable) {
+    public ResponseEntity<?> getAllTechnicalSkills(Pageable pageable,
+                                                   @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         log.debug("REST request to get a page of TechnicalSkills");
-        Page<TechnicalSkill> page = technicalSkillService.findAll(pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/technical-skills");
-        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+        return referenceDataResponses.page(TechnicalSkill.class, pageable, "/api/technical-skills", acceptEncoding).orElseGet(() -> {
+            Page<TechnicalSkill> page = technicalSkillService.findAll(pageable);
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/technical-skills");
+            return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+        });
     }
 
     /**
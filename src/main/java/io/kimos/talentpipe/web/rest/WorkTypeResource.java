@@ -8,9 +8,11 @@ import io.kimos.talentpipe.web.rest.dto.CreateWorkTypeDTO;
 import io.kimos.talentpipe.web.rest.dto.UpdateWorkTypeDTO;
 import io.kimos.talentpipe.web.rest.errors.BadRequestAlertException;
 import io.kimos.talentpipe.web.rest.util.HeaderUtil;
+import io.kimos.talentpipe.web.rest.util.ReferenceDataResponses;
 import ma.glasnost.orika.MapperFacade;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -33,9 +35,13 @@ public class WorkTypeResource {
 
     private final MapperFacade orikaMapper;
 
-    public WorkTypeResource(WorkTypeService workTypeService, MapperFacade orikaMapper) {
+    private final ReferenceDataResponses referenceDataResponses;
+
+    public WorkTypeResource(WorkTypeService workTypeService, MapperFacade orikaMapper,
+                            ReferenceDataResponses referenceDataResponses) {
         this.workTypeService = workTypeService;
         this.orikaMapper = orikaMapper;
+        this.referenceDataResponses = referenceDataResponses;
     }
 
     /**
@@ -80,13 +86,15 @@ public class WorkTypeResource {
     /**
      * GET  /work-types : get all the workTypes.
      *
-     * @return the ResponseEntity with status 200 (OK) and the list of workTypes in body
+     * @param acceptEncoding the Accept-Encoding header of the request
+     * @return the ResponseEntity with status 200 (OK) and the list of workTypes in body, or with status 304 (Not Modified) if it has not changed since the ETag of the If-None-Match header
      */
     @GetMapping("/work-types")
     @Timed
-    public List<WorkType> getAllWorkTypes() {
+    public ResponseEntity<?> getAllWorkTypes(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         log.debug("REST request to get all WorkTypes");
-        return workTypeService.findAll();
+        return referenceDataResponses.list(WorkType.class, acceptEncoding)
+            .orElseGet(() -> ResponseEntity.ok(workTypeService.findAll()));
     }
 
     /**
@@ -18,6 +18,7 @@ public final class ErrorConstants {
     public static final URI USER_NOT_AUTHENTICATED_EXCEPTION = URI.create(PROBLEM_BASE_URL + "/user-not-authenticated");
     public static final URI USER_NOT_FOUND_EXCEPTION = URI.create(PROBLEM_BASE_URL + "/user-not-found-exception");
     public static final URI COMPANY_NOT_FOUND_EXCEPTION = URI.create(PROBLEM_BASE_URL + "/company-not-found-exception");
+    public static final URI PASSWORD_HASHING_UNAVAILABLE_TYPE = URI.create(PROBLEM_BASE_URL + "/password-hashing-unavailable");
 
     private ErrorConstants() {
     }
@@ -0,0 +1,14 @@
+package io.kimos.talentpipe.web.rest.errors;
+
+import org.zalando.problem.AbstractThrowableProblem;
+import org.zalando.problem.Status;
+
+public class PasswordHashingUnavailableException extends AbstractThrowableProblem {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingUnavailableException() {
+        super(ErrorConstants.PASSWORD_HASHING_UNAVAILABLE_TYPE, "Too many passwords are being checked, retry later",
+            Status.SERVICE_UNAVAILABLE);
+    }
+}
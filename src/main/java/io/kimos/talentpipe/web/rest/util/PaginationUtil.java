@@ -1,6 +1,8 @@
 package io.kimos.talentpipe.web.rest.util;
 
+import io.kimos.talentpipe.service.dto.KeysetSlice;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpHeaders;
 import org.springframework.web.util.UriComponentsBuilder;
 
@@ -46,6 +48,29 @@ public final class PaginationUtil {
         return UriComponentsBuilder.fromUriString(baseUrl).queryParam("page", page).queryParam("size", size).toUriString();
     }
 
+    /**
+     * Generate the Link header of a keyset page, with the "next" page when there is one and the "first" page.
+     * There is no "prev" or "last" page, nor X-Total-Count header, as they would need to count the entities.
+     */
+    public static <T> HttpHeaders generateKeysetPaginationHttpHeaders(KeysetSlice<T> slice, String baseUrl) {
+        HttpHeaders headers = new HttpHeaders();
+        String link = "";
+        if (slice.hasNext()) {
+            link = "<" + generateKeysetUri(baseUrl, slice.getNext().encode(), slice.getSize(), null) + ">; rel=\"next\",";
+        }
+        link += "<" + generateKeysetUri(baseUrl, "", slice.getSize(), slice.getOrder()) + ">; rel=\"first\"";
+        headers.add(HttpHeaders.LINK, link);
+        return headers;
+    }
+
+    private static String generateKeysetUri(String baseUrl, String after, int size, Sort.Order order) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(baseUrl).queryParam("after", after).queryParam("size", size);
+        if (order != null) {
+            builder.queryParam("sort", order.getProperty() + "," + order.getDirection().name().toLowerCase());
+        }
+        return builder.toUriString();
+    }
+
     public static <T> HttpHeaders generateSearchPaginationHttpHeaders(String query, Page<T> page, String baseUrl) {
         String escapedQuery;
         try {
@@ -0,0 +1,211 @@
+package io.kimos.talentpipe.web.rest.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.kimos.talentpipe.service.reference.ReferenceDataService;
+import io.kimos.talentpipe.service.reference.ReferenceTable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Pre-encoded responses of the reference data list endpoints.
+ * <p>
+ * The JSON of a page of a reference table, and a gzipped copy of it, are encoded once per version of the table
+ * and then served as they are, each with a strong ETag: Spring MVC answers 304 (Not Modified) to a request whose
+ * {@code If-None-Match} holds the ETag. The encoded pages are dropped as soon as a newer version of the table
+ * is read from the {@link ReferenceDataService}. When the table is not in its snapshot, no response is returned
+ * and the caller falls back to the database.
+ */
+@Component
+public class ReferenceDataResponses {
+
+    /**
+     * Highest number of encoded pages kept for a version of a table, as the page, size and sort are chosen by the client.
+     */
+    static final int MAX_RESPONSES_PER_TABLE = 256;
+
+    private static final String GZIP = "gzip";
+
+    private static final String UNPAGED = "unpaged";
+
+    private final Map<Class<?>, TableResponses> responses = new ConcurrentHashMap<>();
+
+    private final ReferenceDataService referenceDataService;
+
+    private final ObjectMapper objectMapper;
+
+    public ReferenceDataResponses(ReferenceDataService referenceDataService, ObjectMapper objectMapper) {
+        this.referenceDataService = referenceDataService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Get the response holding a page of a reference table, with its pagination headers.
+     *
+     * @param type           the type of the entity
+     * @param pageable       the pagination information
+     * @param baseUrl        the url of the endpoint, for the pagination links
+     * @param acceptEncoding the {@code Accept-Encoding} header of the request, if any
+     * @return the response, or empty if the table is not in the snapshot
+     */
+    public <T> Optional<ResponseEntity<?>> page(Class<T> type, Pageable pageable, String baseUrl, String acceptEncoding) {
+        return referenceDataService.table(type).map(table -> respond(type, table, key(pageable), acceptEncoding, () -> {
+            Page<T> page = table.findAll(pageable);
+            return encode(page.getContent(), PaginationUtil.generatePaginationHttpHeaders(page, baseUrl));
+        }));
+    }
+
+    /**
+     * Get the response holding all the rows of a reference table.
+     *
+     * @param type           the type of the entity
+     * @param acceptEncoding the {@code Accept-Encoding} header of the request, if any
+     * @return the response, or empty if the table is not in the snapshot
+     */
+    public <T> Optional<ResponseEntity<?>> list(Class<T> type, String acceptEncoding) {
+        return referenceDataService.table(type).map(table -> respond(type, table, UNPAGED, acceptEncoding,
+            () -> encode(table.findAll(), new HttpHeaders())));
+    }
+
+    private ResponseEntity<?> respond(Class<?> type, ReferenceTable<?> table, String key, String acceptEncoding,
+                                      Supplier<EncodedResponse> encoder) {
+        EncodedResponse encoded = encoded(type, table.getVersion(), key, encoder);
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(encoded.headers);
+        headers.setContentType(MediaType.APPLICATION_JSON_UTF8);
+        headers.setVary(Collections.singletonList(HttpHeaders.ACCEPT_ENCODING));
+        if (acceptsGzip(acceptEncoding)) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+            headers.setETag(encoded.gzippedETag);
+            return new ResponseEntity<>(encoded.gzipped, headers, HttpStatus.OK);
+        }
+        headers.setETag(encoded.jsonETag);
+        return new ResponseEntity<>(encoded.json, headers, HttpStatus.OK);
+    }
+
+    private EncodedResponse encoded(Class<?> type, long version, String key, Supplier<EncodedResponse> encoder) {
+        TableResponses current = responses.compute(type,
+            (t, previous) -> previous == null || previous.version < version ? new TableResponses(version) : previous);
+        if (current.version != version) {
+            // An older copy of the table, read while the newer one was being installed: not worth keeping
+            return encoder.get();
+        }
+        EncodedResponse encoded = current.byKey.get(key);
+        if (encoded == null) {
+            if (current.byKey.size() >= MAX_RESPONSES_PER_TABLE) {
+                current.byKey.clear();
+            }
+            encoded = current.byKey.computeIfAbsent(key, k -> encoder.get());
+        }
+        return encoded;
+    }
+
+    private EncodedResponse encode(List<?> content, HttpHeaders headers) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(content);
+            ByteArrayOutputStream gzipped = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream out = new GZIPOutputStream(gzipped)) {
+                out.write(json);
+            }
+            return new EncodedResponse(json, gzipped.toByteArray(), headers);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String key(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return UNPAGED + "|" + pageable.getSort();
+        }
+        return pageable.getPageNumber() + "|" + pageable.getPageSize() + "|" + pageable.getSort();
+    }
+
+    /**
+     * Whether an {@code Accept-Encoding} header accepts gzip, either by name or through {@code *}.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            String name = parameters[0].trim();
+            if (GZIP.equalsIgnoreCase(name) || "*".equals(name)) {
+                return quality(parameters) > 0;
+            }
+        }
+        return false;
+    }
+
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static String eTag(byte[] body) {
+        return "\"0" + DigestUtils.md5DigestAsHex(body) + "\"";
+    }
+
+    /**
+     * The encoded pages of a version of a table, by page, size and sort.
+     */
+    private static final class TableResponses {
+
+        private final long version;
+
+        private final Map<String, EncodedResponse> byKey = new ConcurrentHashMap<>();
+
+        private TableResponses(long version) {
+            this.version = version;
+        }
+    }
+
+    /**
+     * The JSON of a page and its gzipped copy, with their ETags and the headers of the page.
+     */
+    static final class EncodedResponse {
+
+        private final byte[] json;
+
+        private final String jsonETag;
+
+        private final byte[] gzipped;
+
+        private final String gzippedETag;
+
+        private final HttpHeaders headers;
+
+        private EncodedResponse(byte[] json, byte[] gzipped, HttpHeaders headers) {
+            this.json = json;
+            this.jsonETag = eTag(json);
+            this.gzipped = gzipped;
+            this.gzippedETag = eTag(gzipped);
+            this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        }
+    }
+}
@@ -6,44 +6,51 @@ import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationListener;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
-import org.springframework.messaging.handler.annotation.SendTo;
-import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 
 import java.security.Principal;
 import java.time.Instant;
+import java.util.List;
 
 import static io.kimos.talentpipe.config.WebsocketConfiguration.IP_ADDRESS;
 
+/**
+ * Tracks the activity of the users, see {@link ActivityTracker}.
+ * <p>
+ * Subscribers to {@link ActivityTracker#TRACKER_TOPIC} first get the activity of every open session, then the
+ * changes on every tick; both are lists of activities, to be applied by session id.
+ */
 @Controller
 public class ActivityService implements ApplicationListener<SessionDisconnectEvent> {
 
     private static final Logger log = LoggerFactory.getLogger(ActivityService.class);
 
-    private final SimpMessageSendingOperations messagingTemplate;
+    private final ActivityTracker activityTracker;
 
-    public ActivityService(SimpMessageSendingOperations messagingTemplate) {
-        this.messagingTemplate = messagingTemplate;
+    public ActivityService(ActivityTracker activityTracker) {
+        this.activityTracker = activityTracker;
     }
 
     @MessageMapping("/topic/activity")
-    @SendTo("/topic/tracker")
-    public ActivityDTO sendActivity(@Payload ActivityDTO activityDTO, StompHeaderAccessor stompHeaderAccessor, Principal principal) {
+    public void sendActivity(@Payload ActivityDTO activityDTO, StompHeaderAccessor stompHeaderAccessor, Principal principal) {
         activityDTO.setUserLogin(principal.getName());
         activityDTO.setSessionId(stompHeaderAccessor.getSessionId());
         activityDTO.setIpAddress(stompHeaderAccessor.getSessionAttributes().get(IP_ADDRESS).toString());
         activityDTO.setTime(Instant.now());
-        log.debug("Sending user tracking data {}", activityDTO);
-        return activityDTO;
+        log.debug("Tracking user data {}", activityDTO);
+        activityTracker.update(activityDTO);
+    }
+
+    @SubscribeMapping(ActivityTracker.TRACKER_TOPIC)
+    public List<ActivityDTO> subscribeTracker() {
+        return activityTracker.snapshot();
     }
 
     @Override
     public void onApplicationEvent(SessionDisconnectEvent event) {
-        ActivityDTO activityDTO = new ActivityDTO();
-        activityDTO.setSessionId(event.getSessionId());
-        activityDTO.setPage("logout");
-        messagingTemplate.convertAndSend("/topic/tracker", activityDTO);
+        activityTracker.remove(event.getSessionId());
     }
 }
@@ -0,0 +1,110 @@
+package io.kimos.talentpipe.web.websocket;
+
+import io.kimos.talentpipe.web.websocket.dto.ActivityDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Presence table of the websocket sessions of this node: the user, page, IP address and last activity of each.
+ * <p>
+ * Changes are not sent as they happen: the last change of each session is kept, and the changes since the
+ * previous tick are sent together to {@link #TRACKER_TOPIC} on every tick, so the number of messages depends on
+ * the tick rate rather than on the activity of the users. A closed session is sent as an activity on the
+ * {@link #LOGOUT_PAGE} page. New subscribers get the whole table, see {@link #snapshot()}.
+ * <p>
+ * An activity message may be handled after the disconnection of its session, so closed sessions are remembered
+ * for {@link #CLOSED_SESSION_RETENTION} and their late activities ignored.
+ */
+@Component
+public class ActivityTracker {
+
+    public static final String TRACKER_TOPIC = "/topic/tracker";
+
+    public static final String LOGOUT_PAGE = "logout";
+
+    static final Duration CLOSED_SESSION_RETENTION = Duration.ofMinutes(1);
+
+    private final Logger log = LoggerFactory.getLogger(ActivityTracker.class);
+
+    private final SimpMessageSendingOperations messagingTemplate;
+
+    private final ConcurrentMap<String, ActivityDTO> activities = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, ActivityDTO> changes = new ConcurrentHashMap<>();
+
+    /**
+     * The closing time of each recently closed session.
+     */
+    private final ConcurrentMap<String, Instant> closedSessions = new ConcurrentHashMap<>();
+
+    public ActivityTracker(SimpMessageSendingOperations messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    /**
+     * Record the last activity of a session, unless the session is closed.
+     */
+    public void update(ActivityDTO activityDTO) {
+        // Computed on the session, so that the activity cannot be recorded while the session is being removed
+        activities.compute(activityDTO.getSessionId(), (sessionId, previous) -> {
+            if (closedSessions.containsKey(sessionId)) {
+                return null;
+            }
+            changes.put(sessionId, activityDTO);
+            return activityDTO;
+        });
+    }
+
+    /**
+     * Remove a closed session.
+     */
+    public void remove(String sessionId) {
+        ActivityDTO activityDTO = new ActivityDTO();
+        activityDTO.setSessionId(sessionId);
+        activityDTO.setPage(LOGOUT_PAGE);
+        activityDTO.setTime(Instant.now());
+        activities.compute(sessionId, (id, previous) -> {
+            closedSessions.put(id, activityDTO.getTime());
+            changes.put(id, activityDTO);
+            return null;
+        });
+    }
+
+    /**
+     * @return the last activity of every open session
+     */
+    public List<ActivityDTO> snapshot() {
+        return new ArrayList<>(activities.values());
+    }
+
+    /**
+     * Send the last change of each session since the previous tick, if any, and forget the sessions closed for
+     * longer than the retention.
+     */
+    @Scheduled(fixedDelayString = "${application.activity-tracking.tick-ms:500}")
+    public void publishChanges() {
+        Instant closedBefore = Instant.now().minus(CLOSED_SESSION_RETENTION);
+        closedSessions.values().removeIf(closed -> closed.isBefore(closedBefore));
+        List<ActivityDTO> delta = new ArrayList<>();
+        for (String sessionId : changes.keySet()) {
+            ActivityDTO activityDTO = changes.remove(sessionId);
+            if (activityDTO != null) {
+                delta.add(activityDTO);
+            }
+        }
+        if (!delta.isEmpty()) {
+            log.debug("Sending {} user tracking changes", delta.size());
+            messagingTemplate.convertAndSend(TRACKER_TOPIC, delta);
+        }
+    }
+}
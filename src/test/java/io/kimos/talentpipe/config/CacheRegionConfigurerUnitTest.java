@@ -0,0 +1,96 @@
+package io.kimos.talentpipe.config;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapConfig;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for the CacheRegionConfigurer.
+ *
+ * @see CacheRegionConfigurer
+ */
+public class CacheRegionConfigurerUnitTest {
+
+    private static final String USER_REGION = CacheRegionConfigurer.DOMAIN_PACKAGE + ".User";
+
+    private static final String USER_ROLES_REGION = CacheRegionConfigurer.DOMAIN_PACKAGE + ".User.roles";
+
+    private static final List<String> REGION_NAMES = Arrays.asList(USER_REGION, USER_ROLES_REGION);
+
+    private ApplicationProperties.CacheRegions properties;
+
+    @Before
+    public void setup() {
+        properties = new ApplicationProperties.CacheRegions();
+    }
+
+    @Test
+    public void findsTheRegionsOfTheDomain() {
+        assertThat(CacheRegionConfigurer.findRegionNames(CacheRegionConfigurer.DOMAIN_PACKAGE))
+            .contains(USER_REGION, USER_ROLES_REGION, CacheRegionConfigurer.DOMAIN_PACKAGE + ".Role.authorities");
+    }
+
+    @Test
+    public void completesTheSettingsOfARegionWithTheDefaults() {
+        ApplicationProperties.CacheRegions.Region user = new ApplicationProperties.CacheRegions.Region();
+        user.setMaxSize(500);
+        user.setTimeToLiveSeconds(60);
+        user.setNearCache(true);
+        properties.getRegions().put("User", user);
+
+        CacheRegionConfigurer configurer = new CacheRegionConfigurer(REGION_NAMES, properties, 3600);
+        Config config = new Config();
+        configurer.configure(config, properties);
+
+        MapConfig userConfig = config.getMapConfigs().get(USER_REGION);
+        assertThat(userConfig.getMaxSizeConfig().getSize()).isEqualTo(500);
+        assertThat(userConfig.getTimeToLiveSeconds()).isEqualTo(60);
+        assertThat(userConfig.getEvictionPolicy()).isEqualTo(EvictionPolicy.LRU);
+        assertThat(userConfig.getInMemoryFormat()).isEqualTo(InMemoryFormat.BINARY);
+        assertThat(userConfig.getNearCacheConfig()).isNotNull();
+        assertThat(userConfig.getNearCacheConfig().getEvictionConfig().getSize()).isEqualTo(1000);
+
+        MapConfig rolesConfig = config.getMapConfigs().get(USER_ROLES_REGION);
+        assertThat(rolesConfig.getMaxSizeConfig().getSize()).isEqualTo(10000);
+        assertThat(rolesConfig.getTimeToLiveSeconds()).isEqualTo(3600);
+        assertThat(rolesConfig.getNearCacheConfig()).isNull();
+
+        assertThat(config.getMapConfigs()).containsKey(CacheRegionConfigurer.DOMAIN_PACKAGE + ".*");
+        assertThat(configurer.getRegions()).containsOnlyKeys(USER_REGION, USER_ROLES_REGION);
+    }
+
+    @Test
+    public void rejectsUnknownRegions() {
+        properties.getRegions().put("Usr", new ApplicationProperties.CacheRegions.Region());
+
+        assertThatThrownBy(() -> new CacheRegionConfigurer(REGION_NAMES, properties, 3600))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("Usr");
+    }
+
+    @Test
+    public void rejectsInconsistentSettings() {
+        ApplicationProperties.CacheRegions.Region user = new ApplicationProperties.CacheRegions.Region();
+        user.setEvictionPolicy(EvictionPolicy.NONE);
+        properties.getRegions().put("User", user);
+
+        assertThatThrownBy(() -> new CacheRegionConfigurer(REGION_NAMES, properties, 3600))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("User has a max-size but no eviction policy");
+    }
+
+    @Test
+    public void shortensTheRegionNames() {
+        assertThat(CacheRegionConfigurer.shortName(USER_ROLES_REGION)).isEqualTo("User.roles");
+        assertThat(CacheRegionConfigurer.shortName("other")).isEqualTo("other");
+    }
+}
@@ -0,0 +1,102 @@
+package io.kimos.talentpipe.config;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Test class for the CacheSnapshotFile.
+ *
+ * @see CacheSnapshotFile
+ */
+public class CacheSnapshotFileUnitTest {
+
+    private static final byte[] SCHEMA_HASH = {1, 2, 3};
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path file;
+
+    private Map<String, List<Map.Entry<byte[], byte[]>>> caches;
+
+    @Before
+    public void setup() {
+        file = temporaryFolder.getRoot().toPath().resolve("cache-snapshot.bin");
+        caches = new LinkedHashMap<>();
+        caches.put("City", Arrays.asList(entry("1", "Paris"), entry("2", "Lyon")));
+        caches.put("usersByLogin", Collections.emptyList());
+    }
+
+    @Test
+    public void readsTheEntriesItWrote() throws Exception {
+        CacheSnapshotFile snapshotFile = new CacheSnapshotFile("1.0", SCHEMA_HASH);
+        snapshotFile.write(file, 1000, caches);
+
+        Map<String, List<Map.Entry<byte[], byte[]>>> read = snapshotFile.read(file, 1000);
+
+        assertThat(read).containsOnlyKeys("City", "usersByLogin");
+        assertThat(read.get("City")).hasSize(2);
+        assertThat(new String(read.get("City").get(1).getKey())).isEqualTo("2");
+        assertThat(new String(read.get("City").get(1).getValue())).isEqualTo("Lyon");
+        assertThat(read.get("usersByLogin")).isEmpty();
+        assertThat(Files.exists(file.resolveSibling("cache-snapshot.bin.tmp"))).isFalse();
+    }
+
+    @Test
+    public void canOnlyBeReadByItsOwner() throws Exception {
+        assumeTrue(file.getFileSystem().supportedFileAttributeViews().contains("posix"));
+
+        new CacheSnapshotFile("1.0", SCHEMA_HASH).write(file, 1000, caches);
+
+        assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(file))).isEqualTo("rw-------");
+    }
+
+    @Test
+    public void discardsSnapshotsOfOtherVersions() throws Exception {
+        new CacheSnapshotFile("1.0", SCHEMA_HASH).write(file, 1000, caches);
+
+        assertThat(new CacheSnapshotFile("1.1", SCHEMA_HASH).read(file, 0)).isEmpty();
+        assertThat(new CacheSnapshotFile("1.0", new byte[]{1, 2, 4}).read(file, 0)).isEmpty();
+    }
+
+    @Test
+    public void discardsOldSnapshots() throws Exception {
+        CacheSnapshotFile snapshotFile = new CacheSnapshotFile("1.0", SCHEMA_HASH);
+        snapshotFile.write(file, 1000, caches);
+
+        assertThat(snapshotFile.read(file, 1001)).isEmpty();
+    }
+
+    @Test
+    public void discardsMissingAndCorruptedSnapshots() throws Exception {
+        CacheSnapshotFile snapshotFile = new CacheSnapshotFile("1.0", SCHEMA_HASH);
+        assertThat(snapshotFile.read(file, 0)).isEmpty();
+
+        snapshotFile.write(file, 1000, caches);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+        assertThat(snapshotFile.read(file, 0)).isEmpty();
+
+        Files.write(file, new byte[]{0, 0, 0, 0, 0, 0, 0, 1});
+        assertThat(snapshotFile.read(file, 0)).isEmpty();
+    }
+
+    private static Map.Entry<byte[], byte[]> entry(String key, String value) {
+        return new AbstractMap.SimpleImmutableEntry<>(key.getBytes(), value.getBytes());
+    }
+}
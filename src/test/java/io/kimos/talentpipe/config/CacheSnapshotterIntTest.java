@@ -0,0 +1,112 @@
+package io.kimos.talentpipe.config;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import io.kimos.talentpipe.MonolithApp;
+import org.hibernate.SessionFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the CacheSnapshotter.
+ *
+ * @see CacheSnapshotter
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = MonolithApp.class)
+public class CacheSnapshotterIntTest {
+
+    private static final String CACHE_NAME = "cache-snapshotter-test";
+
+    private static final String OTHER_CACHE_NAME = "cache-snapshotter-other-test";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Autowired
+    private HazelcastInstance hazelcastInstance;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheRegionConfigurer cacheRegionConfigurer;
+
+    private ApplicationProperties applicationProperties;
+
+    @Before
+    public void setup() {
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getCacheSnapshot().setEnabled(true);
+        applicationProperties.getCacheSnapshot().setFile(temporaryFolder.getRoot().toPath().resolve("cache-snapshot.bin").toString());
+        applicationProperties.getCacheSnapshot().setRegions(Arrays.asList(CACHE_NAME, OTHER_CACHE_NAME));
+    }
+
+    @After
+    public void tearDown() {
+        hazelcastInstance.getMap(CACHE_NAME).destroy();
+        hazelcastInstance.getMap(OTHER_CACHE_NAME).destroy();
+    }
+
+    @Test
+    public void loadsTheEntriesItWrote() {
+        IMap<Long, String> cache = hazelcastInstance.getMap(CACHE_NAME);
+        cache.put(1L, "Paris");
+        cache.put(2L, "Lyon");
+        newSnapshotter().write();
+        cache.clear();
+
+        newSnapshotter().load();
+
+        assertThat(cache).hasSize(2).containsEntry(1L, "Paris").containsEntry(2L, "Lyon");
+        assertThat(hazelcastInstance.getMap(OTHER_CACHE_NAME)).isEmpty();
+    }
+
+    @Test
+    public void doesNotLoadTheCachesWhichAreAlreadyFilled() {
+        IMap<Long, String> cache = hazelcastInstance.getMap(CACHE_NAME);
+        cache.put(1L, "Paris");
+        newSnapshotter().write();
+        cache.put(1L, "Marseille");
+
+        newSnapshotter().load();
+
+        assertThat(cache).hasSize(1).containsEntry(1L, "Marseille");
+    }
+
+    @Test
+    public void doesNotLoadSnapshotsOlderThanTheMaximumAge() {
+        IMap<Long, String> cache = hazelcastInstance.getMap(CACHE_NAME);
+        cache.put(1L, "Paris");
+        newSnapshotter().write();
+        cache.clear();
+        applicationProperties.getCacheSnapshot().setMaxAgeMs(-1);
+
+        newSnapshotter().load();
+
+        assertThat(cache).isEmpty();
+    }
+
+    @Test
+    public void hasAStableSchemaHash() {
+        assertThat(CacheSnapshotter.schemaHash(entityManagerFactory.unwrap(SessionFactory.class)))
+            .isEqualTo(CacheSnapshotter.schemaHash(entityManagerFactory.unwrap(SessionFactory.class)))
+            .hasSize(32);
+    }
+
+    private CacheSnapshotter newSnapshotter() {
+        return new CacheSnapshotter(hazelcastInstance, entityManagerFactory, cacheRegionConfigurer, applicationProperties);
+    }
+}
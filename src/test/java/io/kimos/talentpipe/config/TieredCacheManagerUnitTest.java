@@ -0,0 +1,148 @@
+package io.kimos.talentpipe.config;
+
+import com.hazelcast.core.ITopic;
+import com.hazelcast.core.Member;
+import com.hazelcast.core.Message;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for the TieredCacheManager and the TieredCache.
+ *
+ * @see TieredCacheManager
+ */
+public class TieredCacheManagerUnitTest {
+
+    private static final String CACHE_NAME = "users";
+
+    private CacheManager remoteCacheManager;
+
+    private ITopic<TieredCacheManager.CacheInvalidation> topic;
+
+    private Clock clock;
+
+    private TieredCacheManager tieredCacheManager;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        remoteCacheManager = new ConcurrentMapCacheManager(CACHE_NAME);
+        topic = mock(ITopic.class);
+        when(topic.addMessageListener(any())).thenReturn("listener");
+        clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(0L);
+        ApplicationProperties.LocalCache properties = new ApplicationProperties.LocalCache();
+        properties.setMaxSize(2);
+        properties.setMaxStalenessMs(1000);
+        tieredCacheManager = new TieredCacheManager(remoteCacheManager, topic, properties, clock);
+    }
+
+    @Test
+    public void servesRemoteEntriesFromTheLocalTier() {
+        Object value = new Object();
+        remoteCache().put("john", value);
+
+        assertThat(cache().get("john").get()).isSameAs(value);
+        remoteCache().evict("john");
+        assertThat(cache().get("john").get()).isSameAs(value);
+        assertThat(cache().get("jane")).isNull();
+    }
+
+    @Test
+    public void writesThroughAndPublishesTheKeys() {
+        cache().put("john", "v1");
+
+        assertThat(remoteCache().get("john").get()).isEqualTo("v1");
+        ArgumentCaptor<TieredCacheManager.CacheInvalidation> invalidation = ArgumentCaptor.forClass(TieredCacheManager.CacheInvalidation.class);
+        verify(topic).publish(invalidation.capture());
+        assertThat(invalidation.getValue().getCacheName()).isEqualTo(CACHE_NAME);
+        assertThat(invalidation.getValue().getKeys()).containsOnly("john");
+
+        cache().evict("john");
+        assertThat(cache().get("john")).isNull();
+        assertThat(remoteCache().get("john")).isNull();
+    }
+
+    @Test
+    public void dropsTheKeysWrittenByOtherNodes() {
+        cache().put("john", "v1");
+        remoteCache().put("john", "v2");
+
+        tieredCacheManager.onMessage(message(false, Collections.<Object>singleton("john")));
+        assertThat(cache().get("john").get()).isEqualTo("v2");
+
+        remoteCache().put("john", "v3");
+        tieredCacheManager.onMessage(message(true, Collections.<Object>singleton("john")));
+        assertThat(cache().get("john").get()).isEqualTo("v2");
+
+        tieredCacheManager.onMessage(message(false, null));
+        assertThat(cache().get("john").get()).isEqualTo("v3");
+    }
+
+    @Test
+    public void readsStaleEntriesAgainFromTheRemoteCache() {
+        cache().put("john", "v1");
+        remoteCache().put("john", "v2");
+
+        when(clock.millis()).thenReturn(999L);
+        assertThat(cache().get("john").get()).isEqualTo("v1");
+        when(clock.millis()).thenReturn(1000L);
+        assertThat(cache().get("john").get()).isEqualTo("v2");
+    }
+
+    @Test
+    public void boundsTheLocalTier() {
+        cache().put("john", "v1");
+        cache().put("jane", "v1");
+        cache().get("john");
+        cache().put("jim", "v1");
+
+        TieredCache cache = (TieredCache) cache();
+        assertThat(cache.localSize()).isEqualTo(2);
+        remoteCache().put("jane", "v2");
+        remoteCache().put("john", "v2");
+        assertThat(cache.get("jane").get()).isEqualTo("v2");
+        assertThat(cache.get("john").get()).isEqualTo("v1");
+    }
+
+    @Test
+    public void evictsSeveralKeysWithOneMessage() {
+        cache().put("john", "v1");
+        cache().put("jane", "v1");
+
+        ((TieredCache) cache()).evictAll(Arrays.asList("john", "jane"));
+
+        assertThat(cache().get("john")).isNull();
+        assertThat(cache().get("jane")).isNull();
+        assertThat(remoteCache().get("john")).isNull();
+    }
+
+    private Cache cache() {
+        return tieredCacheManager.getCache(CACHE_NAME);
+    }
+
+    private Cache remoteCache() {
+        return remoteCacheManager.getCache(CACHE_NAME);
+    }
+
+    private static Message<TieredCacheManager.CacheInvalidation> message(boolean local, Set<Object> keys) {
+        Member member = mock(Member.class);
+        when(member.localMember()).thenReturn(local);
+        return new Message<>(TieredCacheManager.TOPIC_NAME, new TieredCacheManager.CacheInvalidation(CACHE_NAME, keys), 0, member);
+    }
+}
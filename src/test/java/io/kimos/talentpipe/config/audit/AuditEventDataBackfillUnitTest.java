@@ -0,0 +1,146 @@
+package io.kimos.talentpipe.config.audit;
+
+import io.kimos.talentpipe.domain.AuditEventDataConverter;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for the AuditEventDataBackfill, against the audit tables of the initial schema in an H2 database.
+ *
+ * @see AuditEventDataBackfill
+ */
+public class AuditEventDataBackfillUnitTest {
+
+    private Connection connection;
+
+    private Database database;
+
+    private AuditEventDataBackfill backfill;
+
+    @Before
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:audit-event-data-backfill");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table persistent_audit_event (event_id bigint primary key," +
+                " principal varchar(50) not null, event_date timestamp, event_type varchar(255)," +
+                " event_data varchar(" + AuditEventDataConverter.DATA_COLUMN_MAX_LENGTH + "))");
+            statement.execute("create table persistent_audit_evt_data (event_id bigint not null," +
+                " name varchar(150) not null, value varchar(255), primary key (event_id, name))");
+        }
+        database = mock(Database.class);
+        when(database.getConnection()).thenReturn(new JdbcConnection(connection));
+        backfill = new AuditEventDataBackfill();
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    public void copiesTheDataOfEachEvent() throws Exception {
+        insertEvent(1);
+        insertData(1, "remoteAddress", "127.0.0.1");
+        insertData(1, "sessionId", "abc");
+        insertEvent(2);
+        insertEvent(3);
+        insertData(3, "message", "Bad credentials");
+        insertData(3, "type", "org.springframework.security.authentication.BadCredentialsException");
+
+        backfill.execute(database);
+
+        Map<String, String> first = new HashMap<>();
+        first.put("remoteAddress", "127.0.0.1");
+        first.put("sessionId", "abc");
+        assertThat(AuditEventDataConverter.fromJson(eventData(1))).isEqualTo(first);
+        assertThat(eventData(2)).isNull();
+        Map<String, String> third = new HashMap<>();
+        third.put("message", "Bad credentials");
+        third.put("type", "org.springframework.security.authentication.BadCredentialsException");
+        assertThat(AuditEventDataConverter.fromJson(eventData(3))).isEqualTo(third);
+        assertThat(backfill.getConfirmationMessage()).contains(" 2 ");
+    }
+
+    @Test
+    public void dropsTheEntriesOverTheColumnLength() throws Exception {
+        insertEvent(1);
+        Map<String, String> data = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            data.put("entry" + i, StringUtils.repeat((char) ('a' + i), 250));
+            insertData(1, "entry" + i, data.get("entry" + i));
+        }
+        insertEvent(2);
+        insertData(2, "remoteAddress", "127.0.0.1");
+
+        backfill.execute(database);
+
+        String json = eventData(1);
+        assertThat(json.length()).isLessThanOrEqualTo(AuditEventDataConverter.DATA_COLUMN_MAX_LENGTH);
+        Map<String, String> kept = AuditEventDataConverter.fromJson(json);
+        assertThat(kept).isNotEmpty().hasSizeLessThan(data.size());
+        assertThat(data).containsAllEntriesOf(kept);
+        assertThat(AuditEventDataConverter.fromJson(eventData(2))).containsOnlyKeys("remoteAddress");
+    }
+
+    @Test
+    public void copiesTheEventsOverSeveralBatches() throws Exception {
+        int events = 1201;
+        for (int id = 1; id <= events; id++) {
+            insertEvent(id);
+            insertData(id, "id", String.valueOf(id));
+        }
+
+        backfill.execute(database);
+
+        for (int id = 1; id <= events; id++) {
+            assertThat(AuditEventDataConverter.fromJson(eventData(id))).containsEntry("id", String.valueOf(id));
+        }
+        assertThat(backfill.getConfirmationMessage()).contains(" " + events + " ");
+    }
+
+    private void insertEvent(long id) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+            "insert into persistent_audit_event (event_id, principal, event_type) values (?, 'admin', 'AUTHENTICATION_SUCCESS')")) {
+            insert.setLong(1, id);
+            insert.executeUpdate();
+        }
+    }
+
+    private void insertData(long eventId, String name, String value) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+            "insert into persistent_audit_evt_data (event_id, name, value) values (?, ?, ?)")) {
+            insert.setLong(1, eventId);
+            insert.setString(2, name);
+            insert.setString(3, value);
+            insert.executeUpdate();
+        }
+    }
+
+    private String eventData(long eventId) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement(
+            "select event_data from persistent_audit_event where event_id = ?")) {
+            select.setLong(1, eventId);
+            try (ResultSet row = select.executeQuery()) {
+                assertThat(row.next()).isTrue();
+                return row.getString(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package io.kimos.talentpipe.domain;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the AuditEventDataConverter.
+ *
+ * @see AuditEventDataConverter
+ */
+public class AuditEventDataConverterUnitTest {
+
+    private final AuditEventDataConverter converter = new AuditEventDataConverter();
+
+    @Test
+    public void readsTheDataItWrote() {
+        Map<String, String> data = new HashMap<>();
+        data.put("remoteAddress", "1.2.3.4");
+        data.put("message", "Bad\t\"credentials\"\n");
+        data.put("sessionId", null);
+
+        String json = converter.convertToDatabaseColumn(data);
+
+        assertThat(json).doesNotContainPattern("\\s");
+        assertThat(converter.convertToEntityAttribute(json)).isEqualTo(data);
+    }
+
+    @Test
+    public void storesNoDataAsNull() {
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToDatabaseColumn(Collections.emptyMap())).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isEmpty();
+    }
+
+    @Test
+    public void dropsTheEntriesThatDoNotFit() {
+        Map<String, String> data = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            data.put("key" + i, String.join("", Collections.nCopies(255, "x")));
+        }
+
+        String json = converter.convertToDatabaseColumn(data);
+
+        assertThat(json.length()).isLessThanOrEqualTo(AuditEventDataConverter.DATA_COLUMN_MAX_LENGTH);
+        assertThat(converter.convertToEntityAttribute(json)).hasSize(15);
+    }
+}
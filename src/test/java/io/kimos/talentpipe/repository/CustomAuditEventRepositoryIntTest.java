@@ -1,21 +1,30 @@
 package io.kimos.talentpipe.repository;
 
+import com.codahale.metrics.MetricRegistry;
+import com.hazelcast.core.HazelcastInstance;
 import io.kimos.talentpipe.MonolithApp;
+import io.kimos.talentpipe.config.ApplicationProperties;
 import io.kimos.talentpipe.config.Constants;
 import io.kimos.talentpipe.config.audit.AuditEventConverter;
 import io.kimos.talentpipe.domain.PersistentAuditEvent;
+import io.kimos.talentpipe.service.audit.AuditEventWriter;
+import io.kimos.talentpipe.service.audit.RecentAuditEvents;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.actuate.audit.AuditEvent;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpSession;
 import org.springframework.security.web.authentication.WebAuthenticationDetails;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
 import javax.servlet.http.HttpSession;
 import java.time.Instant;
 import java.util.HashMap;
@@ -41,6 +50,22 @@ public class CustomAuditEventRepositoryIntTest {
     @Autowired
     private AuditEventConverter auditEventConverter;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private HazelcastInstance hazelcastInstance;
+
+    private AuditEventWriter auditEventWriter;
+
+    private RecentAuditEvents recentAuditEvents;
+
     private CustomAuditEventRepository customAuditEventRepository;
 
     private PersistentAuditEvent testUserEvent;
@@ -51,7 +76,12 @@ public class CustomAuditEventRepositoryIntTest {
 
     @Before
     public void setup() {
-        customAuditEventRepository = new CustomAuditEventRepository(persistenceAuditEventRepository, auditEventConverter);
+        // Not started, so that the events are written by flush(), within the test transaction
+        auditEventWriter = new AuditEventWriter(new ApplicationProperties(), jdbcTemplate, transactionManager, new MetricRegistry());
+        recentAuditEvents = new RecentAuditEvents(new ApplicationProperties(), hazelcastInstance);
+        recentAuditEvents.start();
+        customAuditEventRepository = new CustomAuditEventRepository(persistenceAuditEventRepository, auditEventConverter,
+            auditEventWriter, recentAuditEvents);
         persistenceAuditEventRepository.deleteAll();
         Instant oneHourAgo = Instant.now().minusSeconds(3600);
 
@@ -74,12 +104,18 @@ public class CustomAuditEventRepositoryIntTest {
         testOtherUserEvent.setAuditEventDate(oneHourAgo);
     }
 
+    @After
+    public void tearDown() {
+        recentAuditEvents.stop();
+    }
+
     @Test
     public void addAuditEvent() {
         Map<String, Object> data = new HashMap<>();
         data.put("test-key", "test-value");
         AuditEvent event = new AuditEvent("test-user", "test-type", data);
         customAuditEventRepository.add(event);
+        flush();
         List<PersistentAuditEvent> persistentAuditEvents = persistenceAuditEventRepository.findAll();
         assertThat(persistentAuditEvents).hasSize(1);
         PersistentAuditEvent persistentAuditEvent = persistentAuditEvents.get(0);
@@ -100,6 +136,7 @@ public class CustomAuditEventRepositoryIntTest {
         data.put("test-key", largeData);
         AuditEvent event = new AuditEvent("test-user", "test-type", data);
         customAuditEventRepository.add(event);
+        flush();
         List<PersistentAuditEvent> persistentAuditEvents = persistenceAuditEventRepository.findAll();
         assertThat(persistentAuditEvents).hasSize(1);
         PersistentAuditEvent persistentAuditEvent = persistentAuditEvents.get(0);
@@ -123,6 +160,7 @@ public class CustomAuditEventRepositoryIntTest {
         data.put("test-key", details);
         AuditEvent event = new AuditEvent("test-user", "test-type", data);
         customAuditEventRepository.add(event);
+        flush();
         List<PersistentAuditEvent> persistentAuditEvents = persistenceAuditEventRepository.findAll();
         assertThat(persistentAuditEvents).hasSize(1);
         PersistentAuditEvent persistentAuditEvent = persistentAuditEvents.get(0);
@@ -136,6 +174,7 @@ public class CustomAuditEventRepositoryIntTest {
         data.put("test-key", null);
         AuditEvent event = new AuditEvent("test-user", "test-type", data);
         customAuditEventRepository.add(event);
+        flush();
         List<PersistentAuditEvent> persistentAuditEvents = persistenceAuditEventRepository.findAll();
         assertThat(persistentAuditEvents).hasSize(1);
         PersistentAuditEvent persistentAuditEvent = persistentAuditEvents.get(0);
@@ -148,6 +187,7 @@ public class CustomAuditEventRepositoryIntTest {
         data.put("test-key", "test-value");
         AuditEvent event = new AuditEvent(Constants.ANONYMOUS_USER, "test-type", data);
         customAuditEventRepository.add(event);
+        flush();
         List<PersistentAuditEvent> persistentAuditEvents = persistenceAuditEventRepository.findAll();
         assertThat(persistentAuditEvents).hasSize(0);
     }
@@ -158,8 +198,57 @@ public class CustomAuditEventRepositoryIntTest {
         data.put("test-key", "test-value");
         AuditEvent event = new AuditEvent("test-user", "AUTHORIZATION_FAILURE", data);
         customAuditEventRepository.add(event);
+        flush();
         List<PersistentAuditEvent> persistentAuditEvents = persistenceAuditEventRepository.findAll();
         assertThat(persistentAuditEvents).hasSize(0);
     }
 
+    @Test
+    public void findRecentEventsInMemory() {
+        Instant before = Instant.now();
+        customAuditEventRepository.add(new AuditEvent(before.plusSeconds(1), "test-user", "test-type", new HashMap<>()));
+        customAuditEventRepository.add(new AuditEvent(before.plusSeconds(2), "other-test-user", "test-type", new HashMap<>()));
+
+        // Not written yet, so only in memory
+        assertThat(customAuditEventRepository.find("test-user", before, "test-type"))
+            .extracting(AuditEvent::getPrincipal).containsExactly("test-user");
+        assertThat(customAuditEventRepository.find(null, before, "test-type")).hasSize(2);
+        assertThat(customAuditEventRepository.find("test-user", before, "other-type")).isEmpty();
+    }
+
+    @Test
+    public void findRecentEventsAddedByAnotherNode() {
+        RecentAuditEvents otherNode = new RecentAuditEvents(new ApplicationProperties(), hazelcastInstance);
+        otherNode.start();
+        try {
+            Instant before = Instant.now();
+            customAuditEventRepository.add(new AuditEvent(before.plusSeconds(1), "test-user", "test-type", new HashMap<>()));
+            // Waits for the event to be in the ringbuffer
+            assertThat(customAuditEventRepository.find("test-user", before, null)).hasSize(1);
+
+            assertThat(otherNode.find("test-user", before, null)).hasValueSatisfying(events ->
+                assertThat(events).extracting(AuditEvent::getPrincipal).containsExactly("test-user"));
+        } finally {
+            otherNode.stop();
+        }
+    }
+
+    @Test
+    public void findOlderEventsInDatabase() {
+        persistenceAuditEventRepository.save(testUserEvent);
+        persistenceAuditEventRepository.save(testOldUserEvent);
+        persistenceAuditEventRepository.save(testOtherUserEvent);
+
+        Instant after = testOldUserEvent.getAuditEventDate().minusSeconds(3600);
+        assertThat(customAuditEventRepository.find("test-user", after, null))
+            .extracting(AuditEvent::getTimestamp)
+            .containsExactly(testOldUserEvent.getAuditEventDate(), testUserEvent.getAuditEventDate());
+        assertThat(customAuditEventRepository.find(null, after, "test-type")).hasSize(3);
+        assertThat(customAuditEventRepository.find("test-user", testOldUserEvent.getAuditEventDate(), "test-type")).hasSize(1);
+    }
+
+    private void flush() {
+        auditEventWriter.flush();
+        entityManager.clear();
+    }
 }
@@ -0,0 +1,163 @@
+package io.kimos.talentpipe.repository;
+
+import io.kimos.talentpipe.MonolithApp;
+import io.kimos.talentpipe.domain.Company;
+import io.kimos.talentpipe.domain.SearchRequest;
+import io.kimos.talentpipe.domain.SoftSkill;
+import io.kimos.talentpipe.domain.TechnicalSkill;
+import io.kimos.talentpipe.web.rest.SearchRequestResourceIntTest;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the eager loading of the SearchRequestRepository.
+ *
+ * @see SearchRequestRepositoryImpl
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = MonolithApp.class)
+@Transactional
+public class SearchRequestRepositoryIntTest {
+
+    private static final int PAGE_SIZE = 3;
+
+    @Autowired
+    private SearchRequestRepository searchRequestRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private Statistics statistics;
+
+    private Company company;
+
+    @Before
+    public void setup() {
+        statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        SearchRequest searchRequest = SearchRequestResourceIntTest.createEntity(em);
+        company = searchRequest.getCompany();
+    }
+
+    @Test
+    public void findAllWithEagerRelationshipsUsesConstantNumberOfQueries() {
+        long statementsWithOneSkill = loadPageWithSkills(1).statements;
+        long statementsWithManySkills = loadPageWithSkills(20).statements;
+
+        assertThat(statementsWithManySkills).isEqualTo(statementsWithOneSkill);
+    }
+
+    @Test
+    public void findAllWithEagerRelationshipsDoesNotMultiplyRows() {
+        int skills = 20;
+        PageLoad load = loadPageWithSkills(skills);
+
+        // One row per request for the page of ids, the to-one associations and each empty collection,
+        // plus one row per skill for both skill collections. A cartesian product would be skills^2 per request.
+        long linearRows = PAGE_SIZE * (1 + 1 + 3 + 2L * skills);
+        assertThat(load.rows).isLessThanOrEqualTo(linearRows + 1);
+        assertThat(load.page.getContent()).hasSize(PAGE_SIZE);
+        for (SearchRequest searchRequest : load.page.getContent()) {
+            assertThat(Hibernate.isInitialized(searchRequest.getRequiredTechnicalSkills())).isTrue();
+            assertThat(Hibernate.isInitialized(searchRequest.getBenefits())).isTrue();
+            assertThat(searchRequest.getRequiredTechnicalSkills()).hasSize(skills);
+            assertThat(searchRequest.getRequiredSoftSkills()).hasSize(skills);
+        }
+    }
+
+    @Test
+    public void findAllWithEagerRelationshipsKeepsPageOrder() {
+        List<SearchRequest> searchRequests = createSearchRequests(PAGE_SIZE + 1, 2);
+
+        Page<SearchRequest> page = searchRequestRepository.findAllWithEagerRelationships(
+            PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "id")));
+
+        assertThat(page.getContent()).extracting(SearchRequest::getId).containsExactly(
+            searchRequests.get(PAGE_SIZE).getId(),
+            searchRequests.get(PAGE_SIZE - 1).getId(),
+            searchRequests.get(PAGE_SIZE - 2).getId());
+        assertThat(page.getTotalElements()).isEqualTo(searchRequestRepository.count());
+    }
+
+    @Test
+    public void findOneWithEagerRelationships() {
+        SearchRequest searchRequest = createSearchRequests(1, 5).get(0);
+
+        Optional<SearchRequest> result = searchRequestRepository.findOneWithEagerRelationships(searchRequest.getId());
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getRequiredTechnicalSkills()).hasSize(5);
+        assertThat(result.get().getRequiredSoftSkills()).hasSize(5);
+        assertThat(searchRequestRepository.findOneWithEagerRelationships(Long.MAX_VALUE)).isNotPresent();
+    }
+
+    private PageLoad loadPageWithSkills(int skills) {
+        createSearchRequests(PAGE_SIZE, skills);
+        statistics.clear();
+
+        PageLoad load = new PageLoad();
+        load.page = searchRequestRepository.findAllWithEagerRelationships(
+            PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "id")));
+        load.statements = statistics.getPrepareStatementCount();
+        for (String query : statistics.getQueries()) {
+            load.rows += statistics.getQueryStatistics(query).getExecutionRowCount();
+        }
+        return load;
+    }
+
+    private List<SearchRequest> createSearchRequests(int count, int skills) {
+        List<TechnicalSkill> technicalSkills = new ArrayList<>();
+        List<SoftSkill> softSkills = new ArrayList<>();
+        for (int i = 0; i < skills; i++) {
+            TechnicalSkill technicalSkill = new TechnicalSkill().name("technical-" + i);
+            em.persist(technicalSkill);
+            technicalSkills.add(technicalSkill);
+            SoftSkill softSkill = new SoftSkill().name("soft-" + i);
+            em.persist(softSkill);
+            softSkills.add(softSkill);
+        }
+        List<SearchRequest> searchRequests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            SearchRequest searchRequest = new SearchRequest()
+                .name("search-" + i)
+                .description("description")
+                .minSalary(BigDecimal.ONE)
+                .position("position")
+                .company(company);
+            technicalSkills.forEach(searchRequest::addRequiredTechnicalSkills);
+            softSkills.forEach(searchRequest::addRequiredSoftSkills);
+            em.persist(searchRequest);
+            searchRequests.add(searchRequest);
+        }
+        em.flush();
+        em.clear();
+        return searchRequests;
+    }
+
+    private static class PageLoad {
+
+        private Page<SearchRequest> page;
+
+        private long statements;
+
+        private long rows;
+    }
+}
@@ -0,0 +1,107 @@
+package io.kimos.talentpipe.security;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ITopic;
+import io.kimos.talentpipe.domain.Role;
+import io.kimos.talentpipe.domain.Sector;
+import io.kimos.talentpipe.service.event.EntityCommittedEvent;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for the AuthorityRegistry and the BitsetMethodSecurityExpressionHandler.
+ *
+ * @see AuthorityRegistry
+ */
+public class AuthorityRegistryUnitTest {
+
+    private AuthorityRegistry authorityRegistry;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        ITopic<String> topic = mock(ITopic.class);
+        when(topic.addMessageListener(any())).thenReturn("listener");
+        HazelcastInstance hazelcastInstance = mock(HazelcastInstance.class);
+        when(hazelcastInstance.<String>getTopic(AuthorityRegistry.TOPIC_NAME)).thenReturn(topic);
+        authorityRegistry = new AuthorityRegistry(hazelcastInstance);
+        authorityRegistry.start();
+    }
+
+    @Test
+    public void compilesAuthoritiesIntoABitset() {
+        long[] bits = authorityRegistry.compile(Arrays.asList(
+            new SimpleGrantedAuthority(AuthoritiesConstants.USER), new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN)));
+
+        assertThat(authorityRegistry.has(bits, AuthoritiesConstants.USER)).isTrue();
+        assertThat(authorityRegistry.has(bits, AuthoritiesConstants.ADMIN)).isTrue();
+        assertThat(authorityRegistry.has(bits, AuthoritiesConstants.ANONYMOUS)).isFalse();
+        assertThat(authorityRegistry.has(bits, "ROLE_UNKNOWN")).isFalse();
+        assertThat(authorityRegistry.authorities(bits)).extracting(GrantedAuthority::getAuthority)
+            .containsOnly(AuthoritiesConstants.USER, AuthoritiesConstants.ADMIN);
+    }
+
+    @Test
+    public void keepsTheBitOfAnAuthority() {
+        int bit = authorityRegistry.bit(AuthoritiesConstants.USER);
+        IntStream.range(0, 100).forEach(i -> authorityRegistry.bit("ROLE_" + i));
+
+        assertThat(authorityRegistry.bit(AuthoritiesConstants.USER)).isEqualTo(bit);
+        long[] bits = authorityRegistry.compile(Collections.singletonList(new SimpleGrantedAuthority("ROLE_99")));
+        assertThat(bits).hasSize(2);
+        assertThat(authorityRegistry.has(bits, "ROLE_99")).isTrue();
+        assertThat(authorityRegistry.has(bits, AuthoritiesConstants.USER)).isFalse();
+    }
+
+    @Test
+    public void recompilesRolesOnceTheyChange() {
+        assertThat(authorityRegistry.has(authorityRegistry.compileRoles(role(1L, AuthoritiesConstants.USER)), AuthoritiesConstants.USER)).isTrue();
+
+        long[] stale = authorityRegistry.compileRoles(role(1L, AuthoritiesConstants.ADMIN));
+        assertThat(authorityRegistry.has(stale, AuthoritiesConstants.ADMIN)).isFalse();
+
+        authorityRegistry.onEntityCommitted(new EntityCommittedEvent(Sector.class));
+        assertThat(authorityRegistry.has(authorityRegistry.compileRoles(role(1L, AuthoritiesConstants.ADMIN)), AuthoritiesConstants.ADMIN)).isFalse();
+
+        authorityRegistry.onEntityCommitted(new EntityCommittedEvent(Role.class));
+        long[] bits = authorityRegistry.compileRoles(role(1L, AuthoritiesConstants.ADMIN));
+        assertThat(authorityRegistry.has(bits, AuthoritiesConstants.ADMIN)).isTrue();
+        assertThat(authorityRegistry.has(bits, AuthoritiesConstants.USER)).isFalse();
+    }
+
+    @Test
+    public void checksRolesOfExpressionsAgainstTheBitset() {
+        Map<Long, Set<String>> roles = new HashMap<>();
+        roles.put(1L, Collections.singleton(AuthoritiesConstants.USER));
+        roles.put(2L, Collections.singleton("ROLE_COMPANY_ADMIN"));
+        long[] bits = authorityRegistry.compileRoles(roles);
+        BitsetUser user = new BitsetUser("john", "", bits, authorityRegistry);
+        MethodSecurityExpressionOperations root = new BitsetMethodSecurityExpressionHandler.BitsetSecurityExpressionRoot(
+            new UsernamePasswordAuthenticationToken(user, "", user.getAuthorities()), null, authorityRegistry, null, null);
+
+        assertThat(root.hasAnyRole("COMPANY_ADMIN")).isTrue();
+        assertThat(root.hasAnyRole("ROLE_COMPANY_ADMIN")).isTrue();
+        assertThat(root.hasRole(AuthoritiesConstants.ADMIN)).isFalse();
+        assertThat(root.hasAnyAuthority(AuthoritiesConstants.ADMIN, AuthoritiesConstants.USER)).isTrue();
+    }
+
+    private static Map<Long, Set<String>> role(Long id, String authority) {
+        return Collections.singletonMap(id, Collections.singleton(authority));
+    }
+}
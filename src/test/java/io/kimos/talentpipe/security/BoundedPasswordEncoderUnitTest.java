@@ -0,0 +1,120 @@
+package io.kimos.talentpipe.security;
+
+import com.codahale.metrics.MetricRegistry;
+import io.kimos.talentpipe.config.ApplicationProperties;
+import io.kimos.talentpipe.web.rest.errors.PasswordHashingUnavailableException;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for the BoundedPasswordEncoder.
+ *
+ * @see BoundedPasswordEncoder
+ */
+public class BoundedPasswordEncoderUnitTest {
+
+    private final CountDownLatch started = new CountDownLatch(2);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+
+    private BoundedPasswordEncoder encoder;
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        encoder.destroy();
+    }
+
+    @Test
+    public void delegatesToTheEncoder() {
+        encoder = new BoundedPasswordEncoder(new ReversingPasswordEncoder(), properties(1, 1), metricRegistry);
+
+        assertThat(encoder.encode("password")).isEqualTo("drowssap");
+        assertThat(encoder.matches("password", "drowssap")).isTrue();
+        assertThat(encoder.matches("password", "password")).isFalse();
+        assertThat(metricRegistry.timer("security.password.hashing.time").getCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void rejectsPasswordsOnceThePoolAndTheQueueAreFull() throws Exception {
+        encoder = new BoundedPasswordEncoder(new BlockingPasswordEncoder(), properties(1, 1), metricRegistry);
+
+        callers.submit(() -> encoder.encode("first"));
+        assertThat(waitForQueue(0)).isTrue();
+        callers.submit(() -> encoder.encode("second"));
+        assertThat(waitForQueue(1)).isTrue();
+
+        assertThatThrownBy(() -> encoder.encode("third")).isInstanceOf(PasswordHashingUnavailableException.class);
+        assertThat(metricRegistry.meter("security.password.hashing.rejected").getCount()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(encoder.encode("fourth")).isEqualTo("fourth");
+    }
+
+    private boolean waitForQueue(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            int active = (Integer) metricRegistry.getGauges().get("security.password.hashing.active").getValue();
+            int queued = (Integer) metricRegistry.getGauges().get("security.password.hashing.queue").getValue();
+            if (active == 1 && queued == expected) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return false;
+    }
+
+    private static ApplicationProperties.PasswordHashing properties(int poolSize, int queueCapacity) {
+        ApplicationProperties.PasswordHashing properties = new ApplicationProperties.PasswordHashing();
+        properties.setPoolSize(poolSize);
+        properties.setQueueCapacity(queueCapacity);
+        return properties;
+    }
+
+    private static class ReversingPasswordEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return new StringBuilder(rawPassword).reverse().toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+
+    private class BlockingPasswordEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
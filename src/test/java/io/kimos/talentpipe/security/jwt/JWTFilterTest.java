@@ -1,11 +1,16 @@
 package io.kimos.talentpipe.security.jwt;
 
+import com.codahale.metrics.MetricRegistry;
+import com.hazelcast.core.HazelcastInstance;
 import io.github.jhipster.config.JHipsterProperties;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.kimos.talentpipe.config.ApplicationProperties;
 import io.kimos.talentpipe.security.AuthoritiesConstants;
+import io.kimos.talentpipe.security.AuthorityRegistry;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.Mockito;
 import org.springframework.http.HttpStatus;
 import org.springframework.mock.web.MockFilterChain;
 import org.springframework.mock.web.MockHttpServletRequest;
@@ -28,7 +33,8 @@ public class JWTFilterTest {
     @Before
     public void setup() {
         JHipsterProperties jHipsterProperties = new JHipsterProperties();
-        tokenProvider = new TokenProvider(jHipsterProperties);
+        tokenProvider = new TokenProvider(jHipsterProperties, new ApplicationProperties(), new MetricRegistry(),
+            new AuthorityRegistry(Mockito.mock(HazelcastInstance.class)));
         ReflectionTestUtils.setField(tokenProvider, "key",
             Keys.hmacShaKeyFor(Decoders.BASE64
                 .decode("fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8")));
@@ -1,11 +1,15 @@
 package io.kimos.talentpipe.security.jwt;
 
+import com.codahale.metrics.MetricRegistry;
+import com.hazelcast.core.HazelcastInstance;
 import io.github.jhipster.config.JHipsterProperties;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.kimos.talentpipe.config.ApplicationProperties;
 import io.kimos.talentpipe.security.AuthoritiesConstants;
+import io.kimos.talentpipe.security.AuthorityRegistry;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -30,11 +34,14 @@ public class TokenProviderTest {
     private Key key;
     private JHipsterProperties jHipsterProperties;
     private TokenProvider tokenProvider;
+    private MetricRegistry metricRegistry;
 
     @Before
     public void setup() {
         jHipsterProperties = Mockito.mock(JHipsterProperties.class);
-        tokenProvider = new TokenProvider(jHipsterProperties);
+        metricRegistry = new MetricRegistry();
+        tokenProvider = new TokenProvider(jHipsterProperties, new ApplicationProperties(), metricRegistry,
+            new AuthorityRegistry(Mockito.mock(HazelcastInstance.class)));
         key = Keys.hmacShaKeyFor(Decoders.BASE64
             .decode("fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8"));
 
@@ -87,6 +94,30 @@ public class TokenProviderTest {
         assertThat(isTokenValid).isEqualTo(false);
     }
 
+    @Test
+    public void testVerifiesAValidTokenOnce() {
+        Authentication authentication = createAuthentication();
+        String token = tokenProvider.createToken(authentication, false);
+
+        Authentication first = tokenProvider.getValidAuthentication(token).get();
+        Authentication second = tokenProvider.getAuthentication(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.getName()).isEqualTo("anonymous");
+        assertThat(second.getCredentials()).isEqualTo(token);
+        assertThat(metricRegistry.meter("security.jwt.cache.misses").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.meter("security.jwt.cache.hits").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testDoesNotCacheInvalidTokens() {
+        String token = createTokenWithDifferentSignature();
+
+        assertThat(tokenProvider.validateToken(token)).isFalse();
+        assertThat(tokenProvider.validateToken(token)).isFalse();
+        assertThat(metricRegistry.meter("security.jwt.cache.misses").getCount()).isEqualTo(2);
+    }
+
     private Authentication createAuthentication() {
         Collection<GrantedAuthority> authorities = new ArrayList<>();
         authorities.add(new SimpleGrantedAuthority(AuthoritiesConstants.ANONYMOUS));
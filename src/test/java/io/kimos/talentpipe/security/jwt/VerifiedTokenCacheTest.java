@@ -0,0 +1,61 @@
+package io.kimos.talentpipe.security.jwt;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VerifiedTokenCacheTest {
+
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    @Test
+    public void testVerifiesExpiredTokensAgain() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, new MetricRegistry());
+        long now = System.currentTimeMillis();
+
+        cache.get("valid", verifier(now + 60000));
+        cache.get("valid", verifier(now + 60000));
+        cache.get("expired", verifier(now - 1000));
+        cache.get("expired", verifier(now - 1000));
+
+        assertThat(verifications.get()).isEqualTo(3);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testStaysBounded() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(3, new MetricRegistry());
+        long expiresAt = System.currentTimeMillis() + 60000;
+
+        for (int i = 0; i < 10; i++) {
+            cache.get("token-" + i, verifier(expiresAt));
+            assertThat(cache.size()).isLessThanOrEqualTo(3);
+        }
+    }
+
+    @Test
+    public void testVerifiesEveryTimeWhenDisabled() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(0, new MetricRegistry());
+        long expiresAt = System.currentTimeMillis() + 60000;
+
+        cache.get("token", verifier(expiresAt));
+        cache.get("token", verifier(expiresAt));
+
+        assertThat(verifications.get()).isEqualTo(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    private Function<String, VerifiedTokenCache.VerifiedToken> verifier(long expiresAt) {
+        return token -> {
+            verifications.incrementAndGet();
+            Authentication authentication = new UsernamePasswordAuthenticationToken(token, token);
+            return new VerifiedTokenCache.VerifiedToken(authentication, expiresAt);
+        };
+    }
+}
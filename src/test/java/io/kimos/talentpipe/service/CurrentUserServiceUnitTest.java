@@ -0,0 +1,145 @@
+package io.kimos.talentpipe.service;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IAtomicLong;
+import com.hazelcast.core.IMap;
+import io.kimos.talentpipe.domain.Role;
+import io.kimos.talentpipe.domain.Sector;
+import io.kimos.talentpipe.repository.UserRepository;
+import io.kimos.talentpipe.service.dto.CurrentUserDTO;
+import io.kimos.talentpipe.service.event.EntityCommittedEvent;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for the CurrentUserService.
+ *
+ * @see CurrentUserService
+ */
+public class CurrentUserServiceUnitTest {
+
+    private final Map<String, CurrentUserDTO> map = new HashMap<>();
+
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    private UserRepository userRepository;
+
+    private CurrentUserService currentUserService;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        userRepository = mock(UserRepository.class);
+        IMap<String, CurrentUserDTO> currentUsers = mock(IMap.class);
+        when(currentUsers.get(any())).thenAnswer(invocation -> map.get(invocation.<String>getArgument(0)));
+        doAnswer(invocation -> map.put(invocation.getArgument(0), invocation.getArgument(1)))
+            .when(currentUsers).set(anyString(), any(CurrentUserDTO.class));
+        doAnswer(invocation -> map.remove(invocation.<String>getArgument(0))).when(currentUsers).delete(any());
+        when(currentUsers.remove(any(), any())).thenAnswer(invocation -> map.remove(invocation.getArgument(0), invocation.getArgument(1)));
+        doAnswer(invocation -> {
+            map.clear();
+            return null;
+        }).when(currentUsers).clear();
+        HazelcastInstance hazelcastInstance = mock(HazelcastInstance.class);
+        when(hazelcastInstance.<String, CurrentUserDTO>getMap(CurrentUserService.CURRENT_USERS_MAP)).thenReturn(currentUsers);
+        IAtomicLong evictions = mock(IAtomicLong.class);
+        when(evictions.get()).thenAnswer(invocation -> evictionCount.get());
+        when(evictions.incrementAndGet()).thenAnswer(invocation -> evictionCount.incrementAndGet());
+        when(hazelcastInstance.getAtomicLong(CurrentUserService.CURRENT_USERS_EVICTIONS)).thenReturn(evictions);
+        currentUserService = new CurrentUserService(userRepository, hazelcastInstance);
+
+        when(userRepository.findCurrentUserColumnsByLogin("john")).thenReturn(rows(
+            row(1L, 10L, "ROLE_USER"), row(1L, 10L, "ROLE_COMPANY_ADMIN"), row(1L, 10L, "ROLE_USER")));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("john", "john"));
+    }
+
+    @After
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void resolvesTheUserWithItsFlattenedAuthorities() {
+        CurrentUserDTO currentUser = currentUserService.getCurrentUser().get();
+
+        assertThat(currentUser.getId()).isEqualTo(1L);
+        assertThat(currentUser.getCompanyId()).isEqualTo(10L);
+        assertThat(currentUser.getAuthorities()).containsOnly("ROLE_USER", "ROLE_COMPANY_ADMIN");
+        assertThat(currentUser.hasAuthority("ROLE_ADMIN")).isFalse();
+    }
+
+    @Test
+    public void queriesOnceAcrossRequestsUntilEvicted() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        CurrentUserDTO first = currentUserService.getCurrentUser().get();
+        assertThat(currentUserService.getCurrentUser().get()).isSameAs(first);
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertThat(currentUserService.getCurrentUser().get().getId()).isEqualTo(1L);
+        verify(userRepository, times(1)).findCurrentUserColumnsByLogin("john");
+
+        currentUserService.evict("john");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        currentUserService.getCurrentUser();
+        verify(userRepository, times(2)).findCurrentUserColumnsByLogin("john");
+    }
+
+    @Test
+    public void doesNotKeepAUserEvictedWhileItWasLoaded() {
+        when(userRepository.findCurrentUserColumnsByLogin("john")).thenAnswer(invocation -> {
+            currentUserService.evict("john");
+            return rows(row(1L, 10L, "ROLE_USER"));
+        });
+
+        assertThat(currentUserService.getCurrentUser().get().getId()).isEqualTo(1L);
+        assertThat(map).doesNotContainKey("john");
+    }
+
+    @Test
+    public void roleChangesClearAllTheUsers() {
+        currentUserService.getCurrentUser();
+
+        currentUserService.onEntityCommitted(new EntityCommittedEvent(Sector.class));
+        assertThat(map).containsKey("john");
+
+        currentUserService.onEntityCommitted(new EntityCommittedEvent(Role.class));
+        assertThat(map).isEmpty();
+    }
+
+    @Test
+    public void anonymousRequestsHaveNoUser() {
+        SecurityContextHolder.clearContext();
+
+        assertThat(currentUserService.getCurrentUser()).isEmpty();
+    }
+
+    private static Object[] row(Object... columns) {
+        return columns;
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return Arrays.asList(rows);
+    }
+}
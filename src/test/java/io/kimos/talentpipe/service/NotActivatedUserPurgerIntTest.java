@@ -0,0 +1,250 @@
+package io.kimos.talentpipe.service;
+
+import com.codahale.metrics.MetricRegistry;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ILock;
+import io.kimos.talentpipe.MonolithApp;
+import io.kimos.talentpipe.config.ApplicationProperties;
+import io.kimos.talentpipe.domain.Company;
+import io.kimos.talentpipe.domain.Recruiter;
+import io.kimos.talentpipe.domain.Role;
+import io.kimos.talentpipe.domain.User;
+import io.kimos.talentpipe.repository.RoleRepository;
+import io.kimos.talentpipe.repository.UserRepository;
+import io.kimos.talentpipe.service.search.SearchIndexer;
+import io.kimos.talentpipe.web.rest.CompanyResourceIntTest;
+import io.kimos.talentpipe.web.rest.RecruiterResourceIntTest;
+import io.kimos.talentpipe.web.rest.UserResourceIntTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.auditing.AuditingHandler;
+import org.springframework.data.auditing.CurrentDateTimeProvider;
+import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for the NotActivatedUserPurger, with a chunk size of 2 and users created long ago, so that only
+ * the users of each test are purged.
+ *
+ * @see NotActivatedUserPurger
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = MonolithApp.class)
+@Transactional
+public class NotActivatedUserPurgerIntTest {
+
+    private static final Instant CREATED_DATE = Instant.parse("2000-01-01T00:00:00Z");
+
+    private static final Instant CREATED_BEFORE = CREATED_DATE.plus(1, ChronoUnit.DAYS);
+
+    private static final int CHUNK_SIZE = 2;
+
+    @Mock
+    private DateTimeProvider dateTimeProvider;
+
+    @Autowired
+    private AuditingHandler auditingHandler;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * This indexer is mocked in the io.kimos.talentpipe.service.search test package.
+     *
+     * @see io.kimos.talentpipe.service.search.SearchIndexerMockConfiguration
+     */
+    @Autowired
+    private SearchIndexer mockSearchIndexer;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CurrentUserService currentUserService;
+
+    @Autowired
+    private HazelcastInstance hazelcastInstance;
+
+    private NotActivatedUserPurger notActivatedUserPurger;
+
+    private Role role;
+
+    @Before
+    public void setup() {
+        when(dateTimeProvider.getNow()).thenReturn(Optional.of(CREATED_DATE));
+        auditingHandler.setDateTimeProvider(dateTimeProvider);
+
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getUserPurge().setChunkSize(CHUNK_SIZE);
+        notActivatedUserPurger = new NotActivatedUserPurger(userRepository, em, transactionManager,
+            mockSearchIndexer, cacheManager, currentUserService, hazelcastInstance, applicationProperties,
+            new MetricRegistry());
+        role = roleRepository.findById(2L).get();
+    }
+
+    @After
+    public void tearDown() {
+        auditingHandler.setDateTimeProvider(CurrentDateTimeProvider.INSTANCE);
+    }
+
+    @Test
+    public void purgesTheUsersChunkByChunk() {
+        List<Long> ids = createNotActivatedUsers(5);
+
+        int deleted = notActivatedUserPurger.purge(CREATED_BEFORE);
+
+        assertThat(deleted).isEqualTo(5);
+        assertThat(countUsers(ids)).isZero();
+        InOrder inOrder = inOrder(mockSearchIndexer);
+        inOrder.verify(mockSearchIndexer).delete(User.class, ids.subList(0, 2));
+        inOrder.verify(mockSearchIndexer).delete(User.class, ids.subList(2, 4));
+        inOrder.verify(mockSearchIndexer).delete(User.class, ids.subList(4, 5));
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    public void stopsAfterAnEmptyChunkWhenTheLastChunkIsFull() {
+        List<Long> ids = createNotActivatedUsers(4);
+
+        int deleted = notActivatedUserPurger.purge(CREATED_BEFORE);
+
+        assertThat(deleted).isEqualTo(4);
+        assertThat(countUsers(ids)).isZero();
+        InOrder inOrder = inOrder(mockSearchIndexer);
+        inOrder.verify(mockSearchIndexer).delete(User.class, ids.subList(0, 2));
+        inOrder.verify(mockSearchIndexer).delete(User.class, ids.subList(2, 4));
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    public void deletesTheRolesOfTheUsers() {
+        List<Long> ids = createNotActivatedUsers(3);
+        assertThat(countUserRoles(ids)).isEqualTo(3);
+
+        notActivatedUserPurger.purge(CREATED_BEFORE);
+
+        assertThat(countUserRoles(ids)).isZero();
+        assertThat(roleRepository.findById(role.getId())).isPresent();
+    }
+
+    @Test
+    public void skipsTheUsersOfARecruiterOrACompany() {
+        List<Long> ids = new ArrayList<>(createNotActivatedUsers(1));
+        Recruiter recruiter = RecruiterResourceIntTest.createEntity(em);
+        recruiter.getUser().setActivated(false);
+        em.persist(recruiter);
+        Company company = CompanyResourceIntTest.createEntity(em);
+        company.getMainUser().setActivated(false);
+        em.persist(company);
+        em.flush();
+        ids.addAll(createNotActivatedUsers(2));
+
+        int deleted = notActivatedUserPurger.purge(CREATED_BEFORE);
+
+        assertThat(deleted).isEqualTo(3);
+        assertThat(countUsers(ids)).isZero();
+        assertThat(countUsers(Arrays.asList(recruiter.getUser().getId(), company.getMainUser().getId()))).isEqualTo(2);
+        InOrder inOrder = inOrder(mockSearchIndexer);
+        inOrder.verify(mockSearchIndexer).delete(User.class, ids.subList(0, 2));
+        inOrder.verify(mockSearchIndexer).delete(User.class, ids.subList(2, 3));
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    public void holdsTheLockWhileDeleting() {
+        List<Long> ids = createNotActivatedUsers(3);
+        ILock lock = hazelcastInstance.getLock(NotActivatedUserPurger.LOCK_NAME);
+        List<Boolean> lockedWhileDeleting = new ArrayList<>();
+        doAnswer(invocation -> lockedWhileDeleting.add(lock.isLocked()))
+            .when(mockSearchIndexer).delete(eq(User.class), anyList());
+
+        notActivatedUserPurger.purge(CREATED_BEFORE);
+
+        assertThat(lockedWhileDeleting).containsExactly(true, true);
+        assertThat(lock.isLocked()).isFalse();
+        assertThat(countUsers(ids)).isZero();
+    }
+
+    @Test
+    public void leavesTheUsersToTheNodeHoldingTheLock() throws Exception {
+        List<Long> ids = createNotActivatedUsers(3);
+        ILock lock = hazelcastInstance.getLock(NotActivatedUserPurger.LOCK_NAME);
+        ExecutorService otherNode = Executors.newSingleThreadExecutor();
+        try {
+            otherNode.submit(lock::lock).get();
+
+            int deleted = notActivatedUserPurger.purge(CREATED_BEFORE);
+
+            assertThat(deleted).isZero();
+            assertThat(countUsers(ids)).isEqualTo(3);
+            verify(mockSearchIndexer, never()).delete(eq(User.class), anyList());
+        } finally {
+            otherNode.submit(lock::unlock).get();
+            otherNode.shutdown();
+        }
+    }
+
+    private List<Long> createNotActivatedUsers(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = UserResourceIntTest.createEntity(em);
+            user.setActivated(false);
+            user.setRoles(new HashSet<>(Collections.singleton(role)));
+            em.persist(user);
+            ids.add(user.getId());
+        }
+        em.flush();
+        return ids;
+    }
+
+    private long countUsers(List<Long> ids) {
+        return em.createQuery("select count(user) from User user where user.id in :ids", Long.class)
+            .setParameter("ids", ids)
+            .getSingleResult();
+    }
+
+    private long countUserRoles(List<Long> ids) {
+        return ((Number) em.createNativeQuery("select count(*) from user_role where user_id in (:ids)")
+            .setParameter("ids", ids)
+            .getSingleResult()).longValue();
+    }
+}
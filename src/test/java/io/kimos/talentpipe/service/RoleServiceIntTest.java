@@ -0,0 +1,130 @@
+package io.kimos.talentpipe.service;
+
+import io.kimos.talentpipe.MonolithApp;
+import io.kimos.talentpipe.domain.Authority;
+import io.kimos.talentpipe.domain.Role;
+import io.kimos.talentpipe.domain.User;
+import io.kimos.talentpipe.repository.AuthorityRepository;
+import io.kimos.talentpipe.repository.RoleRepository;
+import io.kimos.talentpipe.repository.UserRepository;
+import io.kimos.talentpipe.security.AuthoritiesConstants;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the RoleService, with committed transactions, as the caches of the users are only cleared
+ * once the roles are committed.
+ *
+ * @see RoleService
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = MonolithApp.class)
+public class RoleServiceIntTest {
+
+    private static final String LOGIN = "role-service-test";
+
+    @Autowired
+    private RoleService roleService;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CurrentUserService currentUserService;
+
+    @Autowired
+    private UserPrincipalService userPrincipalService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Long roleId;
+
+    @Before
+    public void setup() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.execute(status -> {
+            Role role = new Role().name(LOGIN)
+                .authorities(new HashSet<>(Collections.singleton(authority(AuthoritiesConstants.USER))));
+            roleId = roleRepository.save(role).getId();
+            User user = new User();
+            user.setLogin(LOGIN);
+            user.setPassword(RandomStringUtils.random(60));
+            user.setActivated(true);
+            user.setEmail(LOGIN + "@localhost");
+            user.setLangKey("en");
+            user.setAcceptTermsOfService(true);
+            user.setRoles(new HashSet<>(Collections.singleton(role)));
+            return userRepository.save(user);
+        });
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(LOGIN, LOGIN));
+    }
+
+    @After
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        transactionTemplate.execute(status -> {
+            userRepository.findOneByLogin(LOGIN).ifPresent(userRepository::delete);
+            roleRepository.deleteById(roleId);
+            return null;
+        });
+        currentUserService.evict(LOGIN);
+        userPrincipalService.evict(LOGIN, LOGIN + "@localhost");
+    }
+
+    @Test
+    public void changingOnlyTheAuthoritiesOfARoleClearsTheCurrentUsers() {
+        assertThat(currentUserService.getCurrentUser().get().getAuthorities()).containsOnly(AuthoritiesConstants.USER);
+
+        grantAdmin();
+
+        assertThat(currentUserService.getCurrentUser().get().getAuthorities())
+            .containsOnly(AuthoritiesConstants.USER, AuthoritiesConstants.ADMIN);
+    }
+
+    @Test
+    public void changingOnlyTheAuthoritiesOfARoleClearsTheUserPrincipals() {
+        assertThat(userPrincipalService.findOneByLogin(LOGIN).get().getAuthoritiesByRole().get(roleId))
+            .containsOnly(AuthoritiesConstants.USER);
+
+        grantAdmin();
+
+        assertThat(userPrincipalService.findOneByLogin(LOGIN).get().getAuthoritiesByRole().get(roleId))
+            .containsOnly(AuthoritiesConstants.USER, AuthoritiesConstants.ADMIN);
+    }
+
+    private void grantAdmin() {
+        transactionTemplate.execute(status -> {
+            Role role = roleService.findOne(roleId).get();
+            role.getAuthorities().add(authority(AuthoritiesConstants.ADMIN));
+            return roleService.save(role);
+        });
+    }
+
+    private Authority authority(String name) {
+        return authorityRepository.findByName(name).get();
+    }
+}
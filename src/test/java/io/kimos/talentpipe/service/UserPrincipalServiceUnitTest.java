@@ -0,0 +1,144 @@
+package io.kimos.talentpipe.service;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IAtomicLong;
+import io.kimos.talentpipe.domain.Authority;
+import io.kimos.talentpipe.domain.Role;
+import io.kimos.talentpipe.domain.Sector;
+import io.kimos.talentpipe.domain.User;
+import io.kimos.talentpipe.repository.UserRepository;
+import io.kimos.talentpipe.security.AuthoritiesConstants;
+import io.kimos.talentpipe.service.dto.UserPrincipalDTO;
+import io.kimos.talentpipe.service.event.EntityCommittedEvent;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for the UserPrincipalService.
+ *
+ * @see UserPrincipalService
+ */
+public class UserPrincipalServiceUnitTest {
+
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    private UserRepository userRepository;
+
+    private CacheManager cacheManager;
+
+    private UserPrincipalService userPrincipalService;
+
+    @Before
+    public void setup() {
+        userRepository = mock(UserRepository.class);
+        cacheManager = new ConcurrentMapCacheManager(UserRepository.USERS_BY_LOGIN_CACHE, UserRepository.USERS_BY_EMAIL_CACHE);
+        HazelcastInstance hazelcastInstance = mock(HazelcastInstance.class);
+        IAtomicLong evictions = mock(IAtomicLong.class);
+        when(evictions.get()).thenAnswer(invocation -> evictionCount.get());
+        when(evictions.incrementAndGet()).thenAnswer(invocation -> evictionCount.incrementAndGet());
+        when(hazelcastInstance.getAtomicLong(UserPrincipalService.USER_PRINCIPALS_EVICTIONS)).thenReturn(evictions);
+        userPrincipalService = new UserPrincipalService(userRepository, cacheManager, hazelcastInstance);
+
+        Role role = new Role().authorities(new HashSet<>(Collections.singleton(new Authority().name(AuthoritiesConstants.USER))));
+        role.setId(1L);
+        User user = new User();
+        user.setId(10L);
+        user.setLogin("john");
+        user.setEmail("john@localhost");
+        user.setPassword("hash");
+        user.setActivated(true);
+        user.setRoles(Collections.singleton(role));
+        when(userRepository.findOneWithAuthoritiesByLogin("john")).thenReturn(Optional.of(user));
+        when(userRepository.findOneWithAuthoritiesByEmail("john@localhost")).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    public void cachesACompactPrincipal() {
+        UserPrincipalDTO principal = userPrincipalService.findOneByLogin("john").get();
+
+        assertThat(principal.getId()).isEqualTo(10L);
+        assertThat(principal.getPassword()).isEqualTo("hash");
+        assertThat(principal.isActivated()).isTrue();
+        assertThat(principal.getAuthoritiesByRole()).containsOnlyKeys(1L);
+        assertThat(principal.getAuthoritiesByRole().get(1L)).containsOnly(AuthoritiesConstants.USER);
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get("john").get()).isSameAs(principal);
+
+        assertThat(userPrincipalService.findOneByLogin("john").get()).isSameAs(principal);
+        verify(userRepository, times(1)).findOneWithAuthoritiesByLogin("john");
+    }
+
+    @Test
+    public void looksUpEmailsInLowerCase() {
+        userPrincipalService.findOneByEmail("John@Localhost");
+        userPrincipalService.findOneByEmail("john@localhost");
+
+        verify(userRepository, times(1)).findOneWithAuthoritiesByEmail("john@localhost");
+    }
+
+    @Test
+    public void doesNotCacheUnknownUsers() {
+        when(userRepository.findOneWithAuthoritiesByLogin("jane")).thenReturn(Optional.empty());
+
+        assertThat(userPrincipalService.findOneByLogin("jane")).isEmpty();
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get("jane")).isNull();
+    }
+
+    @Test
+    public void evictsThePrincipalsOfAUserAgainOnceTheWriteCommits() {
+        userPrincipalService.findOneByLogin("john");
+        userPrincipalService.findOneByEmail("john@localhost");
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userPrincipalService.evict("john", "John@Localhost");
+            assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get("john")).isNull();
+            assertThat(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE).get("john@localhost")).isNull();
+
+            userPrincipalService.findOneByLogin("john");
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get("john")).isNull();
+    }
+
+    @Test
+    public void doesNotKeepAPrincipalEvictedWhileItWasLoaded() {
+        User user = userRepository.findOneWithAuthoritiesByLogin("john").get();
+        when(userRepository.findOneWithAuthoritiesByLogin("john")).thenAnswer(invocation -> {
+            userPrincipalService.evict("john", "john@localhost");
+            return Optional.of(user);
+        });
+
+        assertThat(userPrincipalService.findOneByLogin("john")).isPresent();
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get("john")).isNull();
+    }
+
+    @Test
+    public void roleChangesClearThePrincipals() {
+        userPrincipalService.findOneByLogin("john");
+        userPrincipalService.findOneByEmail("john@localhost");
+
+        userPrincipalService.onEntityCommitted(new EntityCommittedEvent(Sector.class));
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get("john")).isNotNull();
+
+        userPrincipalService.onEntityCommitted(new EntityCommittedEvent(Authority.class));
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get("john")).isNull();
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE).get("john@localhost")).isNull();
+    }
+}
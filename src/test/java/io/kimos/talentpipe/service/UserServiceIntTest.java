@@ -4,8 +4,8 @@ import io.kimos.talentpipe.MonolithApp;
 import io.kimos.talentpipe.config.Constants;
 import io.kimos.talentpipe.domain.User;
 import io.kimos.talentpipe.repository.UserRepository;
-import io.kimos.talentpipe.repository.search.UserSearchRepository;
 import io.kimos.talentpipe.service.dto.UserDTO;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import io.kimos.talentpipe.service.util.RandomUtil;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.Before;
@@ -24,6 +24,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -47,12 +48,12 @@ public class UserServiceIntTest {
     @Autowired
     private UserService userService;
     /**
-     * This repository is mocked in the io.kimos.talentppe.repository.search test package.
+     * This indexer is mocked in the io.kimos.talentpipe.service.search test package.
      *
-     * @see io.kimos.talentpipe.repository.search.UserSearchRepositoryMockConfiguration
+     * @see io.kimos.talentpipe.service.search.SearchIndexerMockConfiguration
      */
     @Autowired
-    private UserSearchRepository mockUserSearchRepository;
+    private SearchIndexer mockSearchIndexer;
     @Autowired
     private AuditingHandler auditingHandler;
     private User user;
@@ -164,7 +165,7 @@ public class UserServiceIntTest {
         assertThat(users).isEmpty();
 
         // Verify Elasticsearch mock
-        verify(mockUserSearchRepository, times(1)).delete(user);
+        verify(mockSearchIndexer, times(1)).delete(User.class, Collections.singletonList(user.getId()));
     }
 
     @Test
@@ -196,7 +197,7 @@ public class UserServiceIntTest {
         assertThat(userRepository.findOneByLogin("johndoe")).isNotPresent();
 
         // Verify Elasticsearch mock
-        verify(mockUserSearchRepository, times(1)).delete(user);
+        verify(mockSearchIndexer, times(1)).delete(User.class, Collections.singletonList(user.getId()));
     }
 
 }
@@ -0,0 +1,70 @@
+package io.kimos.talentpipe.service.audit;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the AuditEventBuffer.
+ *
+ * @see AuditEventBuffer
+ */
+public class AuditEventBufferUnitTest {
+
+    @Test
+    public void pollReturnsTheOldestEventsFirst() throws Exception {
+        AuditEventBuffer<Integer> buffer = new AuditEventBuffer<>(3);
+        for (int i = 1; i <= 3; i++) {
+            buffer.offer(i, 0, TimeUnit.MILLISECONDS);
+        }
+
+        assertThat(buffer.poll(2, 0, TimeUnit.MILLISECONDS)).containsExactly(1, 2);
+        buffer.offer(4, 0, TimeUnit.MILLISECONDS);
+        buffer.offer(5, 0, TimeUnit.MILLISECONDS);
+        assertThat(buffer.poll(10, 0, TimeUnit.MILLISECONDS)).containsExactly(3, 4, 5);
+        assertThat(buffer.poll(10, 0, TimeUnit.MILLISECONDS)).isEmpty();
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    public void fullBufferRejectsEventsAfterTheTimeout() throws Exception {
+        AuditEventBuffer<Integer> buffer = new AuditEventBuffer<>(1);
+        assertThat(buffer.offer(1, 0, TimeUnit.MILLISECONDS)).isTrue();
+
+        assertThat(buffer.offer(2, 0, TimeUnit.MILLISECONDS)).isFalse();
+        assertThat(buffer.offer(2, 10, TimeUnit.MILLISECONDS)).isFalse();
+        assertThat(buffer.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void blockedEventsAreAddedOnceThereIsRoom() throws Exception {
+        AuditEventBuffer<Integer> buffer = new AuditEventBuffer<>(1);
+        buffer.offer(1, 0, TimeUnit.MILLISECONDS);
+
+        CompletableFuture<Boolean> blocked = CompletableFuture.supplyAsync(() -> {
+            try {
+                return buffer.offer(2, 10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                return false;
+            }
+        });
+        assertThat(buffer.poll(1, 0, TimeUnit.MILLISECONDS)).containsExactly(1);
+        assertThat(blocked.get(10, TimeUnit.SECONDS)).isTrue();
+        List<Integer> batch = buffer.poll(1, 0, TimeUnit.MILLISECONDS);
+        assertThat(batch).containsExactly(2);
+    }
+
+    @Test
+    public void pollWaitsForTheBatchToFillUp() throws Exception {
+        AuditEventBuffer<Integer> buffer = new AuditEventBuffer<>(10);
+        buffer.offer(1, 0, TimeUnit.MILLISECONDS);
+
+        long start = System.nanoTime();
+        assertThat(buffer.poll(2, 50, TimeUnit.MILLISECONDS)).containsExactly(1);
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+    }
+}
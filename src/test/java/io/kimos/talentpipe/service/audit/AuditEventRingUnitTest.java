@@ -0,0 +1,102 @@
+package io.kimos.talentpipe.service.audit;
+
+import org.junit.Test;
+import org.springframework.boot.actuate.audit.AuditEvent;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the AuditEventRing.
+ *
+ * @see AuditEventRing
+ */
+public class AuditEventRingUnitTest {
+
+    private static final Instant START = Instant.parse("2019-01-01T10:00:00Z");
+
+    @Test
+    public void findsTheEventsOfAPrincipalAndOfAType() {
+        AuditEventRing ring = new AuditEventRing(10);
+        ring.add(event(1, "admin", "AUTHENTICATION_SUCCESS"));
+        ring.add(event(2, "user", "AUTHENTICATION_FAILURE"));
+        ring.add(event(3, "admin", "AUTHENTICATION_FAILURE"));
+        ring.add(event(4, "user", "AUTHENTICATION_SUCCESS"));
+
+        assertThat(seconds(ring.find("admin", START, null))).containsExactly(1, 3);
+        assertThat(seconds(ring.find("user", START, "AUTHENTICATION_SUCCESS"))).containsExactly(4);
+        assertThat(seconds(ring.find(null, START, "AUTHENTICATION_FAILURE"))).containsExactly(2, 3);
+        assertThat(seconds(ring.find(null, START.plusSeconds(2), null))).containsExactly(3, 4);
+        assertThat(ring.find("nobody", START, null)).isEmpty();
+    }
+
+    @Test
+    public void overwritesTheOldestEvents() {
+        AuditEventRing ring = new AuditEventRing(3);
+        assertThat(ring.add(event(1, "admin", "AUTHENTICATION_SUCCESS"))).isNull();
+        ring.add(event(2, "user", "AUTHENTICATION_SUCCESS"));
+        ring.add(event(3, "user", "AUTHENTICATION_SUCCESS"));
+
+        AuditEvent evicted = ring.add(event(4, "user", "AUTHENTICATION_SUCCESS"));
+
+        assertThat(evicted.getPrincipal()).isEqualTo("admin");
+        assertThat(ring.find("admin", START, null)).isEmpty();
+        assertThat(seconds(ring.find("user", START, null))).containsExactly(2, 3, 4);
+        assertThat(seconds(ring.find(null, START, "AUTHENTICATION_SUCCESS"))).containsExactly(2, 3, 4);
+        assertThat(seconds(ring.find(null, START, null))).containsExactly(2, 3, 4);
+    }
+
+    @Test
+    public void keepsTheLastEventsAddedConcurrently() {
+        AuditEventRing ring = new AuditEventRing(100);
+        CompletableFuture<?>[] writers = IntStream.range(0, 4)
+            .mapToObj(writer -> CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    ring.add(event(i, "user" + writer, "AUTHENTICATION_SUCCESS"));
+                }
+            }))
+            .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(writers).join();
+
+        List<AuditEvent> events = ring.find(null, START.minusSeconds(1), null);
+        assertThat(events).hasSize(ring.capacity());
+        int fromIndexes = IntStream.range(0, 4)
+            .map(writer -> ring.find("user" + writer, START.minusSeconds(1), null).size())
+            .sum();
+        assertThat(fromIndexes).isEqualTo(ring.capacity());
+    }
+
+    @Test
+    public void linksTheEventsOfAPrincipalAddedConcurrentlyInOrder() {
+        AuditEventRing ring = new AuditEventRing(100);
+        CompletableFuture<?>[] writers = IntStream.range(0, 8)
+            .mapToObj(writer -> CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    ring.add(event(i, "user", "AUTHENTICATION_SUCCESS"));
+                }
+            }))
+            .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(writers).join();
+
+        List<AuditEvent> events = ring.find(null, START.minusSeconds(1), null);
+        assertThat(events).hasSize(ring.capacity());
+        assertThat(ring.find("user", START.minusSeconds(1), null)).containsExactlyElementsOf(events);
+        assertThat(ring.find(null, START.minusSeconds(1), "AUTHENTICATION_SUCCESS")).containsExactlyElementsOf(events);
+    }
+
+    private static AuditEvent event(int second, String principal, String type) {
+        return new AuditEvent(START.plusSeconds(second), principal, type, Collections.emptyMap());
+    }
+
+    private static List<Integer> seconds(List<AuditEvent> events) {
+        return events.stream()
+            .map(event -> (int) (event.getTimestamp().getEpochSecond() - START.getEpochSecond()))
+            .collect(Collectors.toList());
+    }
+}
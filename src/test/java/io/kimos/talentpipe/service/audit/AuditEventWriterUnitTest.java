@@ -0,0 +1,96 @@
+package io.kimos.talentpipe.service.audit;
+
+import com.codahale.metrics.MetricRegistry;
+import io.kimos.talentpipe.config.ApplicationProperties;
+import io.kimos.talentpipe.domain.PersistentAuditEvent;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for the AuditEventWriter.
+ *
+ * @see AuditEventWriter
+ */
+public class AuditEventWriterUnitTest {
+
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private AuditEventWriter writer;
+
+    @Before
+    public void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getAuditWriter().setMaxRetries(2);
+        applicationProperties.getAuditWriter().setRetryBackoffMs(0);
+        transactionManager = mock(PlatformTransactionManager.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        writer = new AuditEventWriter(applicationProperties, jdbcTemplate, transactionManager, metricRegistry);
+    }
+
+    @Test
+    public void retriesThenDropsTheBatchesWhichGetNoTransaction() {
+        when(transactionManager.getTransaction(any())).thenThrow(new CannotCreateTransactionException("No connection"));
+        writer.submit(event("john"));
+        writer.submit(event("jane"));
+
+        writer.flush();
+
+        verify(transactionManager, times(3)).getTransaction(any());
+        assertThat(metricRegistry.meter("audit.writer.dropped").getCount()).isEqualTo(2);
+        assertThat(metricRegistry.meter("audit.writer.written").getCount()).isZero();
+    }
+
+    @Test
+    public void datesTheEventsWithoutADate() throws Exception {
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+            .thenAnswer(invocation -> invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
+        PersistentAuditEvent event = event("john");
+        event.setAuditEventDate(null);
+        Instant before = Instant.now();
+
+        writer.submit(event);
+        writer.flush();
+
+        assertThat(event.getAuditEventDate()).isBetween(before, Instant.now());
+        verify(statement).setTimestamp(2, Timestamp.from(event.getAuditEventDate()));
+        verify(statement, never()).setNull(eq(2), anyInt());
+        assertThat(metricRegistry.meter("audit.writer.written").getCount()).isEqualTo(1);
+    }
+
+    private static PersistentAuditEvent event(String principal) {
+        PersistentAuditEvent event = new PersistentAuditEvent();
+        event.setPrincipal(principal);
+        event.setAuditEventType("AUTHENTICATION_SUCCESS");
+        event.setAuditEventDate(Instant.now());
+        return event;
+    }
+}
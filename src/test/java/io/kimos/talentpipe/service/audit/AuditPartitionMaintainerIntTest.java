@@ -0,0 +1,152 @@
+package io.kimos.talentpipe.service.audit;
+
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hazelcast.core.HazelcastInstance;
+import io.kimos.talentpipe.MonolithApp;
+import io.kimos.talentpipe.config.ApplicationProperties;
+import io.kimos.talentpipe.domain.PersistentAuditEvent;
+import io.kimos.talentpipe.repository.PersistenceAuditEventRepository;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the AuditPartitionMaintainer, with the range delete partitions of H2.
+ *
+ * @see AuditPartitionMaintainer
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = MonolithApp.class)
+@Transactional
+public class AuditPartitionMaintainerIntTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Autowired
+    private PersistenceAuditEventRepository persistenceAuditEventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JpaProperties jpaProperties;
+
+    @Autowired
+    private HazelcastInstance hazelcastInstance;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private ApplicationProperties applicationProperties;
+
+    @Before
+    public void setup() {
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getAuditRetention().setRetentionMonths(12);
+        applicationProperties.getAuditRetention().setArchiveChunkSize(2);
+        applicationProperties.getAuditRetention().setArchiveDirectory(temporaryFolder.getRoot().getPath());
+        persistenceAuditEventRepository.deleteAll();
+        save("2018-01-05T10:00:00Z", "first-user");
+        save("2018-01-20T10:00:00Z", "second-user");
+        save("2018-01-31T23:59:59Z", "third-user");
+        save("2018-02-10T10:00:00Z", "first-user");
+        save("2018-03-01T00:00:00Z", "first-user");
+        save("2019-03-10T10:00:00Z", "first-user");
+    }
+
+    @Test
+    public void archivesAndDropsTheExpiredMonths() throws Exception {
+        newMaintainer().maintain(YearMonth.of(2019, 3));
+
+        List<JsonNode> january = readArchive("audit-2018-01.ndjson.gz");
+        assertThat(january).extracting(line -> line.get("principal").asText())
+            .containsExactly("first-user", "second-user", "third-user");
+        assertThat(january.get(0).get("date").asText()).isEqualTo("2018-01-05T10:00:00Z");
+        assertThat(january.get(0).get("type").asText()).isEqualTo("AUTHENTICATION_SUCCESS");
+        assertThat(january.get(0).get("data").get("remoteAddress").asText()).isEqualTo("1.2.3.4");
+        assertThat(readArchive("audit-2018-02.ndjson.gz")).hasSize(1);
+        assertThat(Files.exists(temporaryFolder.getRoot().toPath().resolve("audit-2018-03.ndjson.gz"))).isFalse();
+        assertThat(persistenceAuditEventRepository.findAll())
+            .extracting(PersistentAuditEvent::getAuditEventDate)
+            .containsExactlyInAnyOrder(Instant.parse("2018-03-01T00:00:00Z"), Instant.parse("2019-03-10T10:00:00Z"));
+    }
+
+    @Test
+    public void dropsWithoutArchiving() {
+        applicationProperties.getAuditRetention().setArchive(false);
+
+        newMaintainer().maintain(YearMonth.of(2019, 3));
+
+        assertThat(temporaryFolder.getRoot().list()).isEmpty();
+        assertThat(persistenceAuditEventRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    public void keepsTheMonthsWhichCouldNotBeArchived() throws Exception {
+        applicationProperties.getAuditRetention().setArchiveDirectory(temporaryFolder.newFile().getPath());
+
+        newMaintainer().maintain(YearMonth.of(2019, 3));
+
+        assertThat(persistenceAuditEventRepository.count()).isEqualTo(6);
+    }
+
+    private AuditPartitionMaintainer newMaintainer() {
+        return new AuditPartitionMaintainer(applicationProperties, jdbcTemplate, transactionManager, jpaProperties,
+            hazelcastInstance, objectMapper, new MetricRegistry());
+    }
+
+    private void save(String date, String principal) {
+        PersistentAuditEvent event = new PersistentAuditEvent();
+        event.setPrincipal(principal);
+        event.setAuditEventType("AUTHENTICATION_SUCCESS");
+        event.setAuditEventDate(Instant.parse(date));
+        event.setData(Collections.singletonMap("remoteAddress", "1.2.3.4"));
+        persistenceAuditEventRepository.saveAndFlush(event);
+    }
+
+    private List<JsonNode> readArchive(String fileName) throws IOException {
+        Path file = temporaryFolder.getRoot().toPath().resolve(fileName);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+            new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            return reader.lines().map(this::readLine).collect(Collectors.toList());
+        }
+    }
+
+    private JsonNode readLine(String line) {
+        try {
+            return objectMapper.readTree(line);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
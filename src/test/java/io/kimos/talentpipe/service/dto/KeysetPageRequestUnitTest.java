@@ -0,0 +1,65 @@
+package io.kimos.talentpipe.service.dto;
+
+import org.junit.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.Collections;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for the KeysetPageRequest and KeysetCursor.
+ *
+ * @see KeysetPageRequest
+ * @see KeysetCursor
+ */
+public class KeysetPageRequestUnitTest {
+
+    private static final Set<String> SORTABLE = Collections.singleton("name");
+
+    @Test
+    public void cursorRoundTrips() {
+        KeysetCursor cursor = new KeysetCursor(Sort.Order.desc("name"), "Acme | Co", 42L);
+
+        assertThat(KeysetCursor.decode(cursor.encode())).isEqualTo(cursor);
+        assertThat(cursor.encode()).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    public void firstPageDefaultsToTheId() {
+        KeysetPageRequest request = KeysetPageRequest.of("", PageRequest.of(3, 20), SORTABLE);
+
+        assertThat(request.getAfter()).isNull();
+        assertThat(request.getOrder()).isEqualTo(Sort.Order.asc("id"));
+        assertThat(request.getSize()).isEqualTo(20);
+    }
+
+    @Test
+    public void followingPagesUseTheSortOfTheCursor() {
+        KeysetCursor cursor = new KeysetCursor(Sort.Order.desc("name"), "Acme", 42L);
+
+        KeysetPageRequest request = KeysetPageRequest.of(cursor.encode(), PageRequest.of(0, 20), SORTABLE);
+
+        assertThat(request.getAfter()).isEqualTo(cursor);
+        assertThat(request.getOrder()).isEqualTo(Sort.Order.desc("name"));
+    }
+
+    @Test
+    public void rejectsInvalidRequests() {
+        String cursor = new KeysetCursor(Sort.Order.desc("name"), "Acme", 42L).encode();
+
+        assertThatThrownBy(() -> KeysetPageRequest.of("not-a-cursor", PageRequest.of(0, 20), SORTABLE))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetPageRequest.of(cursor, PageRequest.of(0, 20, Sort.by("name")), SORTABLE))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetPageRequest.of("", PageRequest.of(0, 20, Sort.by("street")), SORTABLE))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetPageRequest.of("", PageRequest.of(0, 20, Sort.by("name", "id")), SORTABLE))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetPageRequest.of(new KeysetCursor(Sort.Order.asc("name"), null, 1L).encode(),
+            PageRequest.of(0, 20), SORTABLE)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
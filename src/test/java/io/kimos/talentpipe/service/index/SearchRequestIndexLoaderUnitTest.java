@@ -0,0 +1,107 @@
+package io.kimos.talentpipe.service.index;
+
+import io.kimos.talentpipe.config.ApplicationProperties;
+import io.kimos.talentpipe.repository.SearchRequestRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for the SearchRequestIndexLoader.
+ *
+ * @see SearchRequestIndexLoader
+ */
+public class SearchRequestIndexLoaderUnitTest {
+
+    private static final long JAVA = 1L;
+    private static final long KAFKA = 2L;
+
+    private SearchRequestRepository searchRequestRepository;
+
+    private SearchRequestSkillIndex skillIndex;
+
+    private SearchRequestIndexLoader loader;
+
+    @Before
+    public void setup() {
+        searchRequestRepository = mock(SearchRequestRepository.class);
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getSearchRequestIndex().setRebuildChunkSize(2);
+        skillIndex = new SearchRequestSkillIndex();
+        loader = new SearchRequestIndexLoader(searchRequestRepository, mock(PlatformTransactionManager.class),
+            applicationProperties, Collections.singletonList(skillIndex));
+    }
+
+    @Test
+    public void scansTheDatabaseInChunks() throws Exception {
+        when(searchRequestRepository.findMinId()).thenReturn(Optional.of(1L));
+        when(searchRequestRepository.findMaxId()).thenReturn(Optional.of(3L));
+        when(searchRequestRepository.findIndexedColumnsByIdBetween(1L, 2L)).thenReturn(rows(
+            row(1L, 10L, 100L, BigDecimal.ONE, BigDecimal.TEN),
+            row(2L, 10L, null, BigDecimal.ONE, null)));
+        when(searchRequestRepository.findIndexedColumnsByIdBetween(3L, 3L)).thenReturn(rows(
+            row(3L, 20L, 100L, BigDecimal.ONE, null)));
+        when(searchRequestRepository.findRequiredTechnicalSkillIdsByIdBetween(1L, 2L)).thenReturn(rows(
+            row(1L, JAVA), row(2L, JAVA), row(2L, KAFKA)));
+        when(searchRequestRepository.findRequiredTechnicalSkillIdsByIdBetween(3L, 3L)).thenReturn(rows(row(3L, KAFKA)));
+        when(searchRequestRepository.findNonRequiredTechnicalSkillIdsByIdBetween(anyLong(), anyLong())).thenReturn(rows());
+        when(searchRequestRepository.findRequiredSoftSkillIdsByIdBetween(anyLong(), anyLong())).thenReturn(rows());
+        when(searchRequestRepository.findNonRequiredSoftSkillIdsByIdBetween(anyLong(), anyLong())).thenReturn(rows());
+
+        List<SearchRequestChangedEvent> snapshot = loader.scan();
+
+        assertThat(snapshot).extracting(SearchRequestChangedEvent::getId).containsExactly(1L, 2L, 3L);
+        assertThat(snapshot.get(0).getExpertiseLevelId()).isEqualTo(100L);
+        assertThat(snapshot.get(0).getMaxSalary()).isEqualTo(BigDecimal.TEN);
+        assertThat(snapshot.get(1).getRequiredTechnicalSkillIds()).containsExactly(JAVA, KAFKA);
+        assertThat(snapshot.get(2).getCompanyId()).isEqualTo(20L);
+    }
+
+    @Test
+    public void rebuildsTheIndexes() {
+        when(searchRequestRepository.findMinId()).thenReturn(Optional.of(1L));
+        when(searchRequestRepository.findMaxId()).thenReturn(Optional.of(1L));
+        when(searchRequestRepository.findIndexedColumnsByIdBetween(1L, 1L)).thenReturn(rows(
+            row(1L, 10L, null, BigDecimal.ONE, null)));
+        when(searchRequestRepository.findRequiredTechnicalSkillIdsByIdBetween(1L, 1L)).thenReturn(rows(row(1L, JAVA)));
+        when(searchRequestRepository.findNonRequiredTechnicalSkillIdsByIdBetween(anyLong(), anyLong())).thenReturn(rows());
+        when(searchRequestRepository.findRequiredSoftSkillIdsByIdBetween(anyLong(), anyLong())).thenReturn(rows());
+        when(searchRequestRepository.findNonRequiredSoftSkillIdsByIdBetween(anyLong(), anyLong())).thenReturn(rows());
+
+        loader.rebuild();
+
+        assertThat(skillIndex.size()).isEqualTo(1);
+        assertThat(skillIndex.query(new SkillQuery(Collections.singletonList(JAVA), null, null, false), null, PageRequest.of(0, 10))
+            .getContent()).containsExactly(1L);
+    }
+
+    @Test
+    public void emptyDatabaseClearsTheIndexes() {
+        when(searchRequestRepository.findMinId()).thenReturn(Optional.empty());
+        when(searchRequestRepository.findMaxId()).thenReturn(Optional.empty());
+
+        loader.rebuild();
+
+        assertThat(skillIndex.size()).isZero();
+    }
+
+    private static Object[] row(Object... columns) {
+        return columns;
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return rows.length == 0 ? Collections.emptyList() : Arrays.asList(rows);
+    }
+}
@@ -0,0 +1,140 @@
+package io.kimos.talentpipe.service.index;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the SearchRequestSalaryIndex.
+ *
+ * @see SearchRequestSalaryIndex
+ */
+public class SearchRequestSalaryIndexUnitTest {
+
+    private static final Pageable ALL = PageRequest.of(0, 1000);
+
+    private SearchRequestSalaryIndex index;
+
+    @Before
+    public void setup() {
+        index = new SearchRequestSalaryIndex();
+    }
+
+    @Test
+    public void findsOverlappingBandsByIncreasingMinimum() {
+        save(1L, "2000", "2999.99", 1L, 10L);
+        save(2L, "4000", "5000", 1L, 10L);
+        save(3L, "2500", "3000", 1L, 10L);
+        save(4L, "4600", "6000", 1L, 10L);
+        save(5L, "3500", null, 1L, 10L);
+
+        assertThat(query("3000", "4500", null, null).getContent()).containsExactly(3L, 5L, 2L);
+        assertThat(query("4000", "4000", null, null).getContent()).containsExactly(5L, 2L);
+        assertThat(query("100000", "100000", null, null).getContent()).containsExactly(5L);
+        assertThat(query("0", "1999.99", null, null).getContent()).isEmpty();
+    }
+
+    @Test
+    public void clampsTheBoundsBeyondTheScaledSalaries() {
+        save(1L, "2000", "3000", 1L, 10L);
+        save(2L, "3500", null, 1L, 10L);
+
+        assertThat(query("1E+30", "1E+30", null, null).getContent()).containsExactly(2L);
+        assertThat(query("-1E+999999999", "2500", null, null).getContent()).containsExactly(1L);
+        assertThat(query("92233720368547758.07", "1E+999999999", null, null).getContent()).containsExactly(2L);
+    }
+
+    @Test
+    public void filtersByExpertiseLevelAndCompany() {
+        save(1L, "3000", "4000", 1L, 10L);
+        save(2L, "3000", "4000", 2L, 10L);
+        save(3L, "3000", "4000", 1L, 20L);
+
+        assertThat(query("3500", "3500", 1L, null).getContent()).containsExactly(1L, 3L);
+        assertThat(query("3500", "3500", 1L, 20L).getContent()).containsExactly(3L);
+        assertThat(query("3500", "3500", null, 10L).getContent()).containsExactly(1L, 2L);
+    }
+
+    @Test
+    public void updatesAndDeletesBands() {
+        save(1L, "3000", "4000", 1L, 10L);
+        save(1L, "5000", "6000", 1L, 10L);
+        save(2L, null, null, 1L, 10L);
+
+        assertThat(query("3500", "3500", null, null).getContent()).isEmpty();
+        assertThat(query("5500", "5500", null, null).getContent()).containsExactly(1L);
+
+        index.onSearchRequestChanged(SearchRequestChangedEvent.deleted(1L));
+
+        assertThat(query("5500", "5500", null, null).getContent()).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    public void pagesThroughMatches() {
+        for (long id = 1; id <= 5; id++) {
+            save(id, String.valueOf(1000 * id), null, 1L, 10L);
+        }
+
+        Page<Long> page = index.query(new BigDecimal("6000"), new BigDecimal("6000"), null, null, PageRequest.of(1, 2));
+
+        assertThat(page.getContent()).containsExactly(3L, 4L);
+        assertThat(page.getTotalElements()).isEqualTo(5);
+    }
+
+    @Test
+    public void matchesBruteForceAfterRandomChanges() {
+        Random random = new Random(42);
+        Map<Long, long[]> bands = new HashMap<>();
+        for (int i = 0; i < 20000; i++) {
+            long id = 1 + random.nextInt(2000);
+            if (random.nextInt(4) == 0) {
+                index.onSearchRequestChanged(SearchRequestChangedEvent.deleted(id));
+                bands.remove(id);
+            } else {
+                long min = random.nextInt(10000);
+                long max = min + random.nextInt(3000);
+                save(id, String.valueOf(min), String.valueOf(max), 1L, 10L);
+                bands.put(id, new long[]{min, max});
+            }
+        }
+
+        for (int i = 0; i < 100; i++) {
+            long from = random.nextInt(12000);
+            long to = from + random.nextInt(2000);
+            List<Long> expected = bands.entrySet().stream()
+                .filter(band -> band.getValue()[0] <= to && band.getValue()[1] >= from)
+                .sorted(Comparator.<Map.Entry<Long, long[]>>comparingLong(band -> band.getValue()[0]).thenComparing(Map.Entry::getKey))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+
+            Page<Long> page = query(String.valueOf(from), String.valueOf(to), null, null);
+
+            assertThat(page.getTotalElements()).isEqualTo(expected.size());
+            assertThat(page.getContent()).isEqualTo(expected.subList(0, Math.min(expected.size(), ALL.getPageSize())));
+        }
+        assertThat(index.size()).isEqualTo(bands.size());
+    }
+
+    private void save(Long id, String minSalary, String maxSalary, Long expertiseLevelId, Long companyId) {
+        index.onSearchRequestChanged(new SearchRequestChangedEvent(id, false, companyId, expertiseLevelId,
+            minSalary != null ? new BigDecimal(minSalary) : null, maxSalary != null ? new BigDecimal(maxSalary) : null,
+            new long[0], new long[0], new long[0], new long[0]));
+    }
+
+    private Page<Long> query(String from, String to, Long expertiseLevelId, Long companyId) {
+        return index.query(new BigDecimal(from), new BigDecimal(to), expertiseLevelId, companyId, ALL);
+    }
+}
@@ -0,0 +1,133 @@
+package io.kimos.talentpipe.service.index;
+
+import io.kimos.talentpipe.config.ApplicationProperties;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Test class for the SearchRequestSimilarityIndex.
+ *
+ * @see SearchRequestSimilarityIndex
+ */
+public class SearchRequestSimilarityIndexUnitTest {
+
+    private SearchRequestSimilarityIndex index;
+
+    @Before
+    public void setup() {
+        index = new SearchRequestSimilarityIndex(new ApplicationProperties());
+    }
+
+    @Test
+    public void identicalSearchRequestsAreTheMostSimilar() {
+        index.onSearchRequestChanged(event(1L, 10L, 5L, 3000, 4500, ids(1, 2, 3), ids(4)));
+        index.onSearchRequestChanged(event(2L, 10L, 5L, 3000, 4500, ids(1, 2, 3), ids(4)));
+        index.onSearchRequestChanged(event(3L, 10L, 6L, 9000, 9000, ids(7, 8, 9), ids()));
+
+        List<SearchRequestSimilarityIndex.Match> matches = index.findSimilar(1L, null, 10);
+
+        assertThat(matches).isNotEmpty();
+        assertThat(matches.get(0).getId()).isEqualTo(2L);
+        assertThat(matches.get(0).getSimilarity()).isEqualTo(1.0);
+        assertThat(matches).extracting(SearchRequestSimilarityIndex.Match::getId).doesNotContain(1L, 3L);
+    }
+
+    @Test
+    public void similarityWeighsSkillsExpertiseLevelAndSalary() {
+        SearchRequestSimilarityIndex.Features a = features(5L, 3000, 4500, ids(1, 2, 3), ids());
+        SearchRequestSimilarityIndex.Features b = features(5L, 3000, 4000, ids(1, 2), ids());
+
+        // 2 shared required skills out of 3, the same expertise level, and salary bands overlapping for 1000 out of 1500
+        double shared = 2 * SearchRequestSimilarityIndex.REQUIRED_TECHNICAL_SKILL_WEIGHT
+            + SearchRequestSimilarityIndex.EXPERTISE_LEVEL_WEIGHT
+            + SearchRequestSimilarityIndex.SALARY_WEIGHT * (2.0 / 3);
+        double all = 3 * SearchRequestSimilarityIndex.REQUIRED_TECHNICAL_SKILL_WEIGHT
+            + SearchRequestSimilarityIndex.EXPERTISE_LEVEL_WEIGHT
+            + SearchRequestSimilarityIndex.SALARY_WEIGHT * (2 - 2.0 / 3);
+        assertThat(SearchRequestSimilarityIndex.similarity(a, b)).isCloseTo(shared / all, within(1e-9));
+        assertThat(SearchRequestSimilarityIndex.similarity(a, a)).isEqualTo(1.0);
+        assertThat(SearchRequestSimilarityIndex.similarity(a, features(6L, 9000, 9000, ids(7), ids()))).isZero();
+    }
+
+    @Test
+    public void deletedAndOtherCompaniesSearchRequestsAreNotReturned() {
+        index.onSearchRequestChanged(event(1L, 10L, 5L, 3000, 4500, ids(1, 2, 3), ids()));
+        index.onSearchRequestChanged(event(2L, 10L, 5L, 3000, 4500, ids(1, 2, 3), ids()));
+        index.onSearchRequestChanged(event(3L, 20L, 5L, 3000, 4500, ids(1, 2, 3), ids()));
+
+        assertThat(index.findSimilar(1L, 10L, 10)).extracting(SearchRequestSimilarityIndex.Match::getId).containsExactly(2L);
+
+        index.onSearchRequestChanged(SearchRequestChangedEvent.deleted(2L));
+
+        assertThat(index.findSimilar(1L, 10L, 10)).isEmpty();
+        assertThat(index.findSimilar(2L, null, 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void findsTheNeighboursFoundByBruteForce() {
+        Random random = new Random(42);
+        List<SearchRequestChangedEvent> events = new ArrayList<>();
+        for (int template = 0; template < 30; template++) {
+            long[] skills = random.longs(6, 1, 200).distinct().toArray();
+            long expertiseLevel = 1 + random.nextInt(5);
+            int minSalary = 1000 + 500 * random.nextInt(10);
+            for (int copy = 0; copy < 30; copy++) {
+                long[] copySkills = skills.clone();
+                if (random.nextInt(5) == 0) {
+                    copySkills[random.nextInt(copySkills.length)] = 200 + random.nextInt(200);
+                }
+                long id = events.size() + 1;
+                events.add(event(id, 10L, expertiseLevel, minSalary, minSalary + 1500, copySkills, ids()));
+            }
+        }
+        events.forEach(index::onSearchRequestChanged);
+
+        int expected = 0;
+        int found = 0;
+        for (int query = 0; query < 20; query++) {
+            SearchRequestChangedEvent source = events.get(random.nextInt(events.size()));
+            Set<Long> similar = index.findSimilar(source.getId(), null, 100).stream()
+                .map(SearchRequestSimilarityIndex.Match::getId).collect(Collectors.toSet());
+            SearchRequestSimilarityIndex.Features sourceFeatures = new SearchRequestSimilarityIndex.Features(source);
+            for (SearchRequestChangedEvent other : events) {
+                if (!other.getId().equals(source.getId())
+                    && SearchRequestSimilarityIndex.similarity(sourceFeatures, new SearchRequestSimilarityIndex.Features(other)) >= 0.8) {
+                    expected++;
+                    if (similar.contains(other.getId())) {
+                        found++;
+                    }
+                }
+            }
+        }
+        assertThat(expected).isPositive();
+        assertThat((double) found / expected).isGreaterThanOrEqualTo(0.9);
+    }
+
+    private static SearchRequestSimilarityIndex.Features features(Long expertiseLevelId, int minSalary, int maxSalary,
+                                                                  long[] requiredTechnicalSkills, long[] requiredSoftSkills) {
+        return new SearchRequestSimilarityIndex.Features(
+            event(1L, 10L, expertiseLevelId, minSalary, maxSalary, requiredTechnicalSkills, requiredSoftSkills));
+    }
+
+    private static SearchRequestChangedEvent event(Long id, Long companyId, Long expertiseLevelId, int minSalary, int maxSalary,
+                                                   long[] requiredTechnicalSkills, long[] requiredSoftSkills) {
+        return new SearchRequestChangedEvent(id, false, companyId, expertiseLevelId,
+            BigDecimal.valueOf(minSalary), BigDecimal.valueOf(maxSalary),
+            requiredTechnicalSkills, ids(), requiredSoftSkills, ids());
+    }
+
+    private static long[] ids(long... ids) {
+        return ids;
+    }
+}
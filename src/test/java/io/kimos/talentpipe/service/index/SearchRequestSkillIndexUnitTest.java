@@ -0,0 +1,143 @@
+package io.kimos.talentpipe.service.index;
+
+import io.kimos.talentpipe.domain.Company;
+import io.kimos.talentpipe.domain.SearchRequest;
+import io.kimos.talentpipe.domain.TechnicalSkill;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the SearchRequestSkillIndex.
+ *
+ * @see SearchRequestSkillIndex
+ */
+public class SearchRequestSkillIndexUnitTest {
+
+    private static final long JAVA = 1L;
+    private static final long KAFKA = 2L;
+    private static final long PHP = 3L;
+    private static final long SCALA = 4L;
+
+    private static final Pageable ALL = PageRequest.of(0, 100);
+
+    private SearchRequestSkillIndex index;
+
+    @Before
+    public void setup() {
+        index = new SearchRequestSkillIndex();
+    }
+
+    @Test
+    public void combinesAllAnyAndNone() {
+        save(1L, 10L, skills(JAVA, KAFKA), skills());
+        save(2L, 10L, skills(JAVA, KAFKA, PHP), skills());
+        save(3L, 10L, skills(JAVA), skills(KAFKA));
+        save(4L, 10L, skills(SCALA, KAFKA), skills());
+
+        assertThat(ids(query(list(JAVA, KAFKA), null, list(PHP), false))).containsExactly(1L);
+        assertThat(ids(query(list(JAVA, KAFKA), null, list(PHP), true))).containsExactly(3L, 1L);
+        assertThat(ids(query(list(KAFKA), list(JAVA, SCALA), null, false))).containsExactly(4L, 2L, 1L);
+        assertThat(ids(query(null, null, list(PHP), false))).containsExactly(4L, 3L, 1L);
+        assertThat(ids(query(list(JAVA, 99L), null, null, false))).isEmpty();
+    }
+
+    @Test
+    public void savingReplacesPreviousSkillsAndDeletingRemovesThem() {
+        save(1L, 10L, skills(JAVA, PHP), skills());
+        save(1L, 10L, skills(KAFKA), skills());
+
+        assertThat(ids(query(list(JAVA), null, null, false))).isEmpty();
+        assertThat(ids(query(list(KAFKA), null, null, false))).containsExactly(1L);
+
+        index.onSearchRequestChanged(SearchRequestChangedEvent.deleted(1L));
+
+        assertThat(ids(query(list(KAFKA), null, null, false))).isEmpty();
+        assertThat(ids(query(null, null, null, false))).isEmpty();
+    }
+
+    @Test
+    public void restrictsToCompany() {
+        save(1L, 10L, skills(JAVA), skills());
+        save(2L, 20L, skills(JAVA), skills());
+
+        Page<Long> page = index.query(new SkillQuery(list(JAVA), null, null, false), 20L, ALL);
+
+        assertThat(page.getContent()).containsExactly(2L);
+        assertThat(index.query(new SkillQuery(list(JAVA), null, null, false), 30L, ALL).getContent()).isEmpty();
+    }
+
+    @Test
+    public void pagesNewestFirst() {
+        for (long id = 1; id <= 5; id++) {
+            save(id, 10L, skills(JAVA), skills());
+        }
+
+        Page<Long> page = index.query(new SkillQuery(list(JAVA), null, null, false), null, PageRequest.of(1, 2));
+
+        assertThat(page.getContent()).containsExactly(3L, 2L);
+        assertThat(page.getTotalElements()).isEqualTo(5);
+    }
+
+    @Test
+    public void rebuildReplacesTheIndexAndReplaysConcurrentChanges() {
+        save(7L, 10L, skills(PHP), skills());
+        index.beginRebuild();
+        save(2L, 10L, skills(KAFKA), skills());
+
+        index.completeRebuild(Collections.singletonList(event(1L, 10L, skills(JAVA))));
+
+        assertThat(ids(query(list(JAVA), null, null, false))).containsExactly(1L);
+        assertThat(ids(query(list(KAFKA), null, null, false))).containsExactly(2L);
+        assertThat(ids(query(list(PHP), null, null, false))).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    private void save(Long id, Long companyId, List<TechnicalSkill> required, List<TechnicalSkill> nonRequired) {
+        SearchRequest searchRequest = searchRequest(id, companyId, required);
+        nonRequired.forEach(searchRequest::addNonRequiredTechnicalSkills);
+        index.onSearchRequestChanged(SearchRequestChangedEvent.saved(searchRequest));
+    }
+
+    private static SearchRequestChangedEvent event(Long id, Long companyId, List<TechnicalSkill> required) {
+        return SearchRequestChangedEvent.saved(searchRequest(id, companyId, required));
+    }
+
+    private static SearchRequest searchRequest(Long id, Long companyId, List<TechnicalSkill> required) {
+        Company company = new Company();
+        company.setId(companyId);
+        SearchRequest searchRequest = new SearchRequest().company(company);
+        searchRequest.setId(id);
+        required.forEach(searchRequest::addRequiredTechnicalSkills);
+        return searchRequest;
+    }
+
+    private Page<Long> query(List<Long> all, List<Long> any, List<Long> none, boolean includeNonRequired) {
+        return index.query(new SkillQuery(all, any, none, includeNonRequired), null, ALL);
+    }
+
+    private static List<Long> ids(Page<Long> page) {
+        return page.getContent();
+    }
+
+    private static List<TechnicalSkill> skills(long... ids) {
+        TechnicalSkill[] skills = new TechnicalSkill[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            skills[i] = new TechnicalSkill();
+            skills[i].setId(ids[i]);
+        }
+        return Arrays.asList(skills);
+    }
+
+    private static List<Long> list(Long... ids) {
+        return Arrays.asList(ids);
+    }
+}
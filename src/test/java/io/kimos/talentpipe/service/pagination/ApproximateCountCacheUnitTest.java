@@ -0,0 +1,113 @@
+package io.kimos.talentpipe.service.pagination;
+
+import com.codahale.metrics.MetricRegistry;
+import io.kimos.talentpipe.config.ApplicationProperties;
+import io.kimos.talentpipe.domain.Company;
+import io.kimos.talentpipe.domain.Recruiter;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the ApproximateCountCache.
+ *
+ * @see ApproximateCountCache
+ */
+public class ApproximateCountCacheUnitTest {
+
+    private ApplicationProperties applicationProperties;
+
+    private List<Runnable> refreshes;
+
+    private ApproximateCountCache cache;
+
+    private AtomicLong rows;
+
+    private AtomicLong countQueries;
+
+    @Before
+    public void setup() {
+        applicationProperties = new ApplicationProperties();
+        refreshes = new ArrayList<>();
+        cache = new ApproximateCountCache(applicationProperties, refreshes::add, new MetricRegistry());
+        rows = new AtomicLong(10);
+        countQueries = new AtomicLong();
+    }
+
+    @Test
+    public void countsOnlyOnTheFirstCall() {
+        assertThat(count()).isEqualTo(10);
+        rows.set(11);
+
+        assertThat(count()).isEqualTo(10);
+        assertThat(countQueries.get()).isEqualTo(1);
+        assertThat(refreshes).isEmpty();
+    }
+
+    @Test
+    public void writesRefreshTheCountInTheBackground() {
+        count();
+        rows.set(11);
+        cache.invalidate(Recruiter.class);
+        assertThat(count()).isEqualTo(10);
+        assertThat(refreshes).isEmpty();
+
+        cache.invalidate(Company.class);
+
+        // The stale count is returned while a single refresh is scheduled
+        assertThat(count()).isEqualTo(10);
+        assertThat(count()).isEqualTo(10);
+        assertThat(refreshes).hasSize(1);
+
+        refreshes.get(0).run();
+
+        assertThat(count()).isEqualTo(11);
+        assertThat(countQueries.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void expiredCountsAreRefreshed() {
+        applicationProperties.getPagination().setCountTtlMs(-1);
+        count();
+        rows.set(12);
+
+        assertThat(count()).isEqualTo(10);
+        refreshes.get(0).run();
+
+        assertThat(count()).isEqualTo(12);
+    }
+
+    @Test
+    public void exactCountsRecordedBeforeAWriteStayStale() {
+        long generation = cache.generation(Company.class);
+        cache.invalidate(Company.class);
+        cache.put(Company.class, "name=Acme", 3, generation);
+
+        assertThat(count()).isEqualTo(3);
+        assertThat(refreshes).hasSize(1);
+    }
+
+    @Test
+    public void criteriaAreCountedSeparately() {
+        applicationProperties.getPagination().setMaxCountsPerEntity(2);
+        assertThat(cache.get(Company.class, "name=Acme", () -> 1)).isEqualTo(1);
+        assertThat(cache.get(Company.class, "name=Kimos", () -> 2)).isEqualTo(2);
+        assertThat(cache.get(Company.class, "name=Acme", () -> 3)).isEqualTo(1);
+
+        // A third criteria evicts the previous counts
+        assertThat(cache.get(Company.class, "name=Talent", () -> 4)).isEqualTo(4);
+        assertThat(cache.get(Company.class, "name=Acme", () -> 5)).isEqualTo(5);
+    }
+
+    private long count() {
+        return cache.get(Company.class, "name=Acme", () -> {
+            countQueries.incrementAndGet();
+            return rows.get();
+        });
+    }
+}
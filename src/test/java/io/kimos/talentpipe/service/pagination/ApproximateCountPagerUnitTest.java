@@ -0,0 +1,111 @@
+package io.kimos.talentpipe.service.pagination;
+
+import com.codahale.metrics.MetricRegistry;
+import io.kimos.talentpipe.config.ApplicationProperties;
+import io.kimos.talentpipe.domain.Sector;
+import io.kimos.talentpipe.repository.SectorRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for the ApproximateCountPager.
+ *
+ * @see ApproximateCountPager
+ */
+public class ApproximateCountPagerUnitTest {
+
+    private ApplicationProperties applicationProperties;
+
+    private SectorRepository sectorRepository;
+
+    private ApproximateCountPager pager;
+
+    @Before
+    public void setup() {
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getPagination().setApproximateCount(true);
+        sectorRepository = mock(SectorRepository.class);
+        pager = new ApproximateCountPager(new ApproximateCountCache(applicationProperties, Runnable::run, new MetricRegistry()));
+    }
+
+    @Test
+    public void countsOnceAndThenOnlyFetchesSlices() {
+        Pageable first = PageRequest.of(0, 2);
+        Pageable second = PageRequest.of(1, 2);
+        when(sectorRepository.findSlice(noSpecification(), any())).thenReturn(
+            new SliceImpl<>(sectors(1L, 2L), first, true), new SliceImpl<>(sectors(3L, 4L), second, true));
+        when(sectorRepository.count(noSpecification())).thenReturn(7L);
+
+        assertThat(findPage(first).getTotalElements()).isEqualTo(7);
+        assertThat(findPage(second).getTotalElements()).isEqualTo(7);
+
+        verify(sectorRepository).count(noSpecification());
+    }
+
+    @Test
+    public void lastPageGivesTheExactCount() {
+        Pageable last = PageRequest.of(1, 2);
+        when(sectorRepository.findSlice(noSpecification(), any())).thenReturn(new SliceImpl<>(sectors(3L), last, false));
+
+        Page<Sector> page = findPage(last);
+
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).hasSize(1);
+        verify(sectorRepository, never()).count(noSpecification());
+    }
+
+    @Test
+    public void totalIsNeverBelowTheRowsSeen() {
+        Pageable third = PageRequest.of(2, 2);
+        when(sectorRepository.findSlice(noSpecification(), any())).thenReturn(new SliceImpl<>(sectors(5L, 6L), third, true));
+        when(sectorRepository.count(noSpecification())).thenReturn(3L);
+
+        assertThat(findPage(third).getTotalElements()).isEqualTo(7);
+    }
+
+    @Test
+    public void disabledApproximateCountsRunTheCountQuery() {
+        applicationProperties.getPagination().setApproximateCount(false);
+        Pageable first = PageRequest.of(0, 2);
+        when(sectorRepository.findAll(noSpecification(), any(Pageable.class)))
+            .thenReturn(new PageImpl<>(sectors(1L, 2L), first, 9));
+
+        assertThat(findPage(first).getTotalElements()).isEqualTo(9);
+        verify(sectorRepository, never()).findSlice(any(), any());
+    }
+
+    private static Specification<Sector> noSpecification() {
+        return isNull();
+    }
+
+    private Page<Sector> findPage(Pageable pageable) {
+        return pager.findPage(sectorRepository, Sector.class, null, ApproximateCountPager.ALL, pageable);
+    }
+
+    private static List<Sector> sectors(Long... ids) {
+        Sector[] sectors = new Sector[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            sectors[i] = new Sector();
+            sectors[i].setId(ids[i]);
+        }
+        return ids.length == 0 ? Collections.emptyList() : Arrays.asList(sectors);
+    }
+}
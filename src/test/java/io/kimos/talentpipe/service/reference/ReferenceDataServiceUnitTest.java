@@ -0,0 +1,195 @@
+package io.kimos.talentpipe.service.reference;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IAtomicLong;
+import com.hazelcast.core.ITopic;
+import com.hazelcast.core.Member;
+import com.hazelcast.core.Message;
+import com.hazelcast.core.MessageListener;
+import io.kimos.talentpipe.domain.Benefit;
+import io.kimos.talentpipe.domain.Company;
+import io.kimos.talentpipe.domain.Sector;
+import io.kimos.talentpipe.service.event.EntityCommittedEvent;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for the ReferenceDataService.
+ *
+ * @see ReferenceDataService
+ */
+public class ReferenceDataServiceUnitTest {
+
+    private final Map<Class<?>, List<?>> rows = new HashMap<>();
+
+    private final List<Runnable> reloads = new ArrayList<>();
+
+    private IAtomicLong version;
+
+    private ITopic<ReferenceDataChange> topic;
+
+    private MessageListener<ReferenceDataChange> listener;
+
+    private ReferenceDataService referenceDataService;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        EntityManager entityManager = mock(EntityManager.class);
+        when(entityManager.createQuery(anyString(), any(Class.class))).thenAnswer(invocation -> {
+            TypedQuery<Object> query = mock(TypedQuery.class);
+            List<?> result = rows.getOrDefault(invocation.<Class<?>>getArgument(1), Collections.emptyList());
+            when(query.getResultList()).thenReturn(new ArrayList<>(result));
+            return query;
+        });
+        version = mock(IAtomicLong.class);
+        topic = mock(ITopic.class);
+        HazelcastInstance hazelcastInstance = mock(HazelcastInstance.class);
+        when(hazelcastInstance.getAtomicLong(ReferenceDataService.VERSION_NAME)).thenReturn(version);
+        when(hazelcastInstance.<ReferenceDataChange>getTopic(ReferenceDataService.TOPIC_NAME)).thenReturn(topic);
+
+        referenceDataService = new ReferenceDataService(entityManager, mock(PlatformTransactionManager.class),
+            hazelcastInstance, reloads::add);
+        referenceDataService.start();
+        ArgumentCaptor<MessageListener<ReferenceDataChange>> listenerCaptor = ArgumentCaptor.forClass(MessageListener.class);
+        verify(topic).addMessageListener(listenerCaptor.capture());
+        listener = listenerCaptor.getValue();
+
+        rows.put(Sector.class, Collections.singletonList(sector(1L, "Retail")));
+        when(version.get()).thenReturn(7L);
+        referenceDataService.load();
+        runReloads();
+    }
+
+    @After
+    public void cleanup() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    public void servesTheLoadedTables() {
+        assertThat(referenceDataService.table(Sector.class)).hasValueSatisfying(table -> {
+            assertThat(table.getVersion()).isEqualTo(7L);
+            assertThat(table.findByName("retail").map(Sector::getId)).contains(1L);
+        });
+        assertThat(referenceDataService.table(Benefit.class)).hasValueSatisfying(table -> assertThat(table.size()).isZero());
+    }
+
+    @Test
+    public void committedChangesDropTheTableUntilItIsReloaded() {
+        rows.put(Sector.class, Arrays.asList(sector(1L, "Retail"), sector(2L, "Banking")));
+        when(version.incrementAndGet()).thenReturn(8L);
+
+        referenceDataService.onEntityCommitted(new EntityCommittedEvent(Sector.class));
+
+        assertThat(referenceDataService.table(Sector.class)).isEmpty();
+        verify(topic).publish(argThat(change -> change.getEntityName().equals(Sector.class.getName()) && change.getVersion() == 8L));
+
+        runReloads();
+
+        assertThat(referenceDataService.table(Sector.class)).hasValueSatisfying(table -> {
+            assertThat(table.getVersion()).isEqualTo(8L);
+            assertThat(table.findOne(2L)).isPresent();
+        });
+    }
+
+    @Test
+    public void changesAreVersionedOncePerTableAndTransaction() {
+        when(version.incrementAndGet()).thenReturn(8L, 9L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        referenceDataService.onEntityCommitted(new EntityCommittedEvent(Sector.class));
+        referenceDataService.onEntityCommitted(new EntityCommittedEvent(Sector.class));
+        referenceDataService.onEntityCommitted(new EntityCommittedEvent(Company.class));
+
+        verify(topic, never()).publish(any());
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertThat(synchronizations).hasSize(1);
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        verify(version, times(2)).incrementAndGet();
+        verify(topic).publish(argThat(change -> change.getEntityName().equals(Sector.class.getName()) && change.getVersion() == 8L));
+        verify(topic).publish(argThat(change -> change.getEntityName().equals(Benefit.class.getName()) && change.getVersion() == 9L));
+        assertThat(referenceDataService.table(Sector.class)).isEmpty();
+        assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+    }
+
+    @Test
+    public void companyChangesReloadTheBenefits() {
+        when(version.incrementAndGet()).thenReturn(8L);
+
+        referenceDataService.onEntityCommitted(new EntityCommittedEvent(Company.class));
+
+        assertThat(referenceDataService.table(Benefit.class)).isEmpty();
+        assertThat(referenceDataService.table(Sector.class)).isPresent();
+    }
+
+    @Test
+    public void otherNodesChangesReloadTheTable() {
+        Member member = mock(Member.class);
+
+        listener.onMessage(new Message<>(ReferenceDataService.TOPIC_NAME, new ReferenceDataChange(Sector.class.getName(), 6L), 0, member));
+
+        assertThat(referenceDataService.table(Sector.class)).isPresent();
+
+        listener.onMessage(new Message<>(ReferenceDataService.TOPIC_NAME, new ReferenceDataChange(Sector.class.getName(), 9L), 0, member));
+
+        assertThat(referenceDataService.table(Sector.class)).isEmpty();
+        runReloads();
+        assertThat(referenceDataService.table(Sector.class).map(ReferenceTable::getVersion)).contains(9L);
+        verify(topic, never()).publish(any());
+    }
+
+    @Test
+    public void readWriteTransactionsReadTheDatabase() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        assertThat(referenceDataService.table(Sector.class)).isEmpty();
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(referenceDataService.table(Sector.class)).isPresent();
+    }
+
+    private void runReloads() {
+        List<Runnable> pending = new ArrayList<>(reloads);
+        reloads.clear();
+        pending.forEach(Runnable::run);
+    }
+
+    private static Sector sector(Long id, String name) {
+        Sector sector = new Sector().name(name);
+        sector.setId(id);
+        return sector;
+    }
+}
@@ -0,0 +1,102 @@
+package io.kimos.talentpipe.service.reference;
+
+import io.kimos.talentpipe.domain.Sector;
+import org.junit.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PropertyReferenceException;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for the ReferenceTable.
+ *
+ * @see ReferenceTable
+ */
+public class ReferenceTableUnitTest {
+
+    private final ReferenceTable<Sector> table = new ReferenceTable<>(Sector.class, 3L, Arrays.asList(
+        sector(1L, "Retail"), sector(2L, "Banking"), sector(3L, " retail "), sector(4L, "Agro")),
+        Sector::getId, Sector::getNormalizedName);
+
+    @Test
+    public void findsById() {
+        assertThat(table.findOne(2L).map(Sector::getName)).contains("Banking");
+        assertThat(table.findOne(5L)).isEmpty();
+        assertThat(table.getVersion()).isEqualTo(3L);
+    }
+
+    @Test
+    public void findsTheLowestIdByNormalizedName() {
+        assertThat(table.findByName("RETAIL ").map(Sector::getId)).contains(1L);
+        assertThat(table.findByName("Mining")).isEmpty();
+    }
+
+    @Test
+    public void pagesBySortThenId() {
+        Page<Sector> page = table.findAll(PageRequest.of(0, 3, Sort.by("normalizedName")));
+
+        assertThat(page.getContent()).extracting(Sector::getId).containsExactly(4L, 2L, 1L);
+        assertThat(page.getTotalElements()).isEqualTo(4);
+
+        page = table.findAll(PageRequest.of(1, 3, Sort.by("normalizedName")));
+
+        assertThat(page.getContent()).extracting(Sector::getId).containsExactly(3L);
+        assertThat(table.findAll(PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "id"))).getContent())
+            .extracting(Sector::getId).containsExactly(4L, 3L);
+        assertThat(table.findAll(PageRequest.of(2, 2)).getContent()).isEmpty();
+    }
+
+    @Test
+    public void sortsTheNullsAsTheDatabaseDoes() {
+        ReferenceTable<Sector> withNull = new ReferenceTable<>(Sector.class, 1L, Arrays.asList(
+            sector(1L, "Retail"), sector(2L, null), sector(3L, "Agro")),
+            Sector::getId, Sector::getNormalizedName);
+
+        assertThat(withNull.findAll(PageRequest.of(0, 3, Sort.by("name"))).getContent())
+            .extracting(Sector::getId).containsExactly(2L, 3L, 1L);
+        assertThat(withNull.findAll(PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "name"))).getContent())
+            .extracting(Sector::getId).containsExactly(1L, 3L, 2L);
+        assertThat(withNull.findAll(PageRequest.of(0, 3, Sort.by(Sort.Order.asc("name").nullsLast()))).getContent())
+            .extracting(Sector::getId).containsExactly(3L, 1L, 2L);
+    }
+
+    @Test
+    public void sortsTheStringsIgnoringTheirCaseThenById() {
+        ReferenceTable<Sector> mixedCase = new ReferenceTable<>(Sector.class, 1L, Arrays.asList(
+            sector(5L, "java"), sector(2L, "Kotlin"), sector(3L, "Java")),
+            Sector::getId, Sector::getNormalizedName);
+
+        assertThat(mixedCase.findAll(PageRequest.of(0, 3, Sort.by("name"))).getContent())
+            .extracting(Sector::getId).containsExactly(3L, 5L, 2L);
+        assertThat(mixedCase.findAll(PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "name"))).getContent())
+            .extracting(Sector::getId).containsExactly(2L, 3L, 5L);
+    }
+
+    @Test
+    public void keepsABoundedNumberOfSorts() {
+        for (int i = 1; i <= 2 * ReferenceTable.MAX_SORTS; i++) {
+            String[] properties = Collections.nCopies(i, "name").toArray(new String[0]);
+            table.findAll(PageRequest.of(0, 1, Sort.by(properties)));
+        }
+
+        assertThat(table.sortCount()).isEqualTo(ReferenceTable.MAX_SORTS);
+    }
+
+    @Test
+    public void rejectsTheUnknownSortProperties() {
+        assertThatThrownBy(() -> table.findAll(PageRequest.of(0, 3, Sort.by("salary"))))
+            .isInstanceOf(PropertyReferenceException.class);
+    }
+
+    private static Sector sector(Long id, String name) {
+        Sector sector = new Sector().name(name);
+        sector.setId(id);
+        return sector;
+    }
+}
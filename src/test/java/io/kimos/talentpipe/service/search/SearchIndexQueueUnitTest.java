@@ -0,0 +1,72 @@
+package io.kimos.talentpipe.service.search;
+
+import io.kimos.talentpipe.domain.City;
+import io.kimos.talentpipe.domain.Company;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the SearchIndexQueue.
+ *
+ * @see SearchIndexQueue
+ */
+public class SearchIndexQueueUnitTest {
+
+    @Test
+    public void changesOfTheSameDocumentAreCoalesced() throws Exception {
+        SearchIndexQueue queue = new SearchIndexQueue(10);
+        SearchIndexChange first = new SearchIndexChange(City.class, 1L, SearchIndexChange.Operation.INDEX);
+        queue.offer(first, 0, TimeUnit.MILLISECONDS);
+        queue.offer(new SearchIndexChange(Company.class, 1L, SearchIndexChange.Operation.INDEX), 0, TimeUnit.MILLISECONDS);
+        queue.offer(new SearchIndexChange(City.class, 1L, SearchIndexChange.Operation.DELETE), 0, TimeUnit.MILLISECONDS);
+
+        assertThat(queue.size()).isEqualTo(2);
+        List<SearchIndexChange> batch = queue.poll(10, 0, TimeUnit.MILLISECONDS);
+        assertThat(batch).hasSize(2);
+        assertThat(batch.get(0).getEntityType()).isEqualTo(City.class);
+        assertThat(batch.get(0).getOperation()).isEqualTo(SearchIndexChange.Operation.DELETE);
+        assertThat(batch.get(0).getEnqueuedAt()).isEqualTo(first.getEnqueuedAt());
+        assertThat(batch.get(1).getEntityType()).isEqualTo(Company.class);
+        assertThat(queue.size()).isZero();
+    }
+
+    @Test
+    public void fullQueueRejectsNewDocumentsButAcceptsQueuedOnes() throws Exception {
+        SearchIndexQueue queue = new SearchIndexQueue(1);
+        assertThat(queue.offer(new SearchIndexChange(City.class, 1L, SearchIndexChange.Operation.INDEX), 0, TimeUnit.MILLISECONDS)).isTrue();
+
+        assertThat(queue.offer(new SearchIndexChange(City.class, 2L, SearchIndexChange.Operation.INDEX), 10, TimeUnit.MILLISECONDS)).isFalse();
+        assertThat(queue.offer(new SearchIndexChange(City.class, 1L, SearchIndexChange.Operation.DELETE), 0, TimeUnit.MILLISECONDS)).isTrue();
+        assertThat(queue.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void pollReturnsAtMostOneBatch() throws Exception {
+        SearchIndexQueue queue = new SearchIndexQueue(10);
+        for (long id = 1; id <= 5; id++) {
+            queue.offer(new SearchIndexChange(City.class, id, SearchIndexChange.Operation.INDEX), 0, TimeUnit.MILLISECONDS);
+        }
+
+        assertThat(queue.poll(3, 0, TimeUnit.MILLISECONDS)).extracting(SearchIndexChange::getId).containsExactly(1L, 2L, 3L);
+        assertThat(queue.poll(3, 0, TimeUnit.MILLISECONDS)).extracting(SearchIndexChange::getId).containsExactly(4L, 5L);
+        assertThat(queue.poll(3, 0, TimeUnit.MILLISECONDS)).isEmpty();
+    }
+
+    @Test
+    public void retryDoesNotOverrideNewerChanges() throws Exception {
+        SearchIndexQueue queue = new SearchIndexQueue(10);
+        SearchIndexChange failed = new SearchIndexChange(City.class, 1L, SearchIndexChange.Operation.INDEX).retried();
+        queue.offer(new SearchIndexChange(City.class, 1L, SearchIndexChange.Operation.DELETE), 0, TimeUnit.MILLISECONDS);
+
+        queue.retry(failed);
+
+        List<SearchIndexChange> batch = queue.poll(10, 0, TimeUnit.MILLISECONDS);
+        assertThat(batch).hasSize(1);
+        assertThat(batch.get(0).getOperation()).isEqualTo(SearchIndexChange.Operation.DELETE);
+        assertThat(batch.get(0).getAttempts()).isZero();
+    }
+}
@@ -0,0 +1,16 @@
+package io.kimos.talentpipe.service.search;
+
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configure a Mock version of SearchIndexer to verify which documents the
+ * services send to Elasticsearch without waiting for transactions to commit.
+ */
+@Configuration
+public class SearchIndexerMockConfiguration {
+
+    @MockBean
+    private SearchIndexer mockSearchIndexer;
+
+}
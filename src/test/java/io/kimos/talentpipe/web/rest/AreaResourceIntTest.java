@@ -5,7 +5,9 @@ import io.kimos.talentpipe.domain.Area;
 import io.kimos.talentpipe.repository.AreaRepository;
 import io.kimos.talentpipe.repository.search.AreaSearchRepository;
 import io.kimos.talentpipe.service.AreaService;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import io.kimos.talentpipe.web.rest.errors.ExceptionTranslator;
+import io.kimos.talentpipe.web.rest.util.ReferenceDataResponses;
 import ma.glasnost.orika.MapperFacade;
 import org.junit.Before;
 import org.junit.Test;
@@ -67,6 +69,14 @@ public class AreaResourceIntTest {
     @Autowired
     private AreaSearchRepository mockAreaSearchRepository;
 
+    /**
+     * This indexer is mocked in the io.kimos.talentpipe.service.search test package.
+     *
+     * @see io.kimos.talentpipe.service.search.SearchIndexerMockConfiguration
+     */
+    @Autowired
+    private SearchIndexer mockSearchIndexer;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -85,6 +95,9 @@ public class AreaResourceIntTest {
     @Autowired
     private MapperFacade orikaMapper;
 
+    @Autowired
+    private ReferenceDataResponses referenceDataResponses;
+
     /**
      * Create an entity for this test.
      * <p>
@@ -101,7 +114,7 @@ public class AreaResourceIntTest {
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final AreaResource areaResource = new AreaResource(areaService, orikaMapper);
+        final AreaResource areaResource = new AreaResource(areaService, orikaMapper, referenceDataResponses);
         this.restAreaMockMvc = MockMvcBuilders.standaloneSetup(areaResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -133,7 +146,7 @@ public class AreaResourceIntTest {
         assertThat(testArea.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
 
         // Validate the Area in Elasticsearch
-        verify(mockAreaSearchRepository, times(1)).save(testArea);
+        verify(mockSearchIndexer, times(1)).index(testArea);
     }
 
     @Test
@@ -197,8 +210,8 @@ public class AreaResourceIntTest {
     public void updateArea() throws Exception {
         // Initialize the database
         areaService.save(area);
-        // As the test used the service layer, reset the Elasticsearch mock repository
-        reset(mockAreaSearchRepository);
+        // As the test used the service layer, reset the search indexer mock
+        reset(mockSearchIndexer);
 
         int databaseSizeBeforeUpdate = areaRepository.findAll().size();
 
@@ -223,7 +236,7 @@ public class AreaResourceIntTest {
         assertThat(testArea.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
 
         // Validate the Area in Elasticsearch
-        verify(mockAreaSearchRepository, times(1)).save(testArea);
+        verify(mockSearchIndexer, times(1)).index(testArea);
     }
 
     @Test
@@ -244,7 +257,7 @@ public class AreaResourceIntTest {
         assertThat(areaList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Area in Elasticsearch
-        verify(mockAreaSearchRepository, times(0)).save(area);
+        verify(mockSearchIndexer, times(0)).index(area);
     }
 
     @Test
@@ -265,7 +278,7 @@ public class AreaResourceIntTest {
         assertThat(areaList).hasSize(databaseSizeBeforeDelete - 1);
 
         // Validate the Area in Elasticsearch
-        verify(mockAreaSearchRepository, times(1)).deleteById(area.getId());
+        verify(mockSearchIndexer, times(1)).delete(Area.class, area.getId());
     }
 
     @Test
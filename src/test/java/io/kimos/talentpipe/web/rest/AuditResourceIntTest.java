@@ -5,11 +5,14 @@ import io.kimos.talentpipe.config.audit.AuditEventConverter;
 import io.kimos.talentpipe.domain.PersistentAuditEvent;
 import io.kimos.talentpipe.repository.PersistenceAuditEventRepository;
 import io.kimos.talentpipe.service.AuditEventService;
+import io.kimos.talentpipe.service.audit.AuditEventExporter;
+import io.kimos.talentpipe.web.rest.errors.ExceptionTranslator;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.audit.AuditEventRepository;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.format.support.FormattingConversionService;
@@ -22,7 +25,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -47,6 +52,12 @@ public class AuditResourceIntTest {
     @Autowired
     private AuditEventConverter auditEventConverter;
 
+    @Autowired
+    private AuditEventRepository customAuditEventRepository;
+
+    @Autowired
+    private AuditEventExporter auditEventExporter;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -56,6 +67,9 @@ public class AuditResourceIntTest {
     @Autowired
     private PageableHandlerMethodArgumentResolver pageableArgumentResolver;
 
+    @Autowired
+    private ExceptionTranslator exceptionTranslator;
+
     private PersistentAuditEvent auditEvent;
 
     private MockMvc restAuditMockMvc;
@@ -64,11 +78,12 @@ public class AuditResourceIntTest {
     public void setup() {
         MockitoAnnotations.initMocks(this);
         AuditEventService auditEventService =
-            new AuditEventService(auditEventRepository, auditEventConverter);
-        AuditResource auditResource = new AuditResource(auditEventService);
+            new AuditEventService(auditEventRepository, auditEventConverter, customAuditEventRepository);
+        AuditResource auditResource = new AuditResource(auditEventService, auditEventExporter);
         this.restAuditMockMvc = MockMvcBuilders.standaloneSetup(auditResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setConversionService(formattingConversionService)
+            .setControllerAdvice(exceptionTranslator)
             .setMessageConverters(jacksonMessageConverter).build();
     }
 
@@ -143,4 +158,49 @@ public class AuditResourceIntTest {
         restAuditMockMvc.perform(get("/management/audits/{id}", Long.MAX_VALUE))
             .andExpect(status().isNotFound());
     }
+
+    @Test
+    public void getAuditsAfterDate() throws Exception {
+        // Initialize the database
+        auditEventRepository.saveAndFlush(auditEvent);
+
+        // Older than the events in memory, so read from the database
+        String after = SAMPLE_TIMESTAMP.minusSeconds(SECONDS_PER_DAY).toString();
+
+        restAuditMockMvc.perform(get("/management/audits?after=" + after + "&principal=" + SAMPLE_PRINCIPAL))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.[*].principal").value(hasItem(SAMPLE_PRINCIPAL)));
+        restAuditMockMvc.perform(get("/management/audits?after=" + after + "&type=OTHER_TYPE"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    public void exportAudits() throws Exception {
+        // Initialize the database
+        auditEventRepository.saveAndFlush(auditEvent);
+
+        String fromDate = SAMPLE_TIMESTAMP.minusSeconds(SECONDS_PER_DAY).toString().substring(0, 10);
+        String toDate = SAMPLE_TIMESTAMP.plusSeconds(SECONDS_PER_DAY).toString().substring(0, 10);
+
+        restAuditMockMvc.perform(get("/management/audits/export?fromDate=" + fromDate + "&toDate=" + toDate))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+            .andExpect(header().string("Content-Disposition", containsString(".ndjson")))
+            .andExpect(content().string(containsString("\"principal\":\"" + SAMPLE_PRINCIPAL + "\"")))
+            .andExpect(content().string(containsString("\"date\":\"" + SAMPLE_TIMESTAMP + "\"")));
+
+        restAuditMockMvc.perform(get("/management/audits/export?fromDate=" + fromDate + "&toDate=" + toDate + "&format=csv"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("text/csv;charset=UTF-8"))
+            .andExpect(content().string(startsWith("id,principal,date,type,data\n")))
+            .andExpect(content().string(containsString("," + SAMPLE_PRINCIPAL + "," + SAMPLE_TIMESTAMP + "," + SAMPLE_TYPE + ",{}\n")));
+    }
+
+    @Test
+    public void exportAuditsInUnknownFormat() throws Exception {
+        restAuditMockMvc.perform(get("/management/audits/export?fromDate=2015-08-03&toDate=2015-08-05&format=xml"))
+            .andExpect(status().isBadRequest());
+    }
 }
@@ -6,6 +6,7 @@ import io.kimos.talentpipe.domain.Authority;
 import io.kimos.talentpipe.repository.AuthorityRepository;
 import io.kimos.talentpipe.repository.search.AuthoritySearchRepository;
 import io.kimos.talentpipe.service.AuthorityService;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import io.kimos.talentpipe.web.rest.errors.ExceptionTranslator;
 
 import org.junit.Before;
@@ -66,6 +67,14 @@ public class AuthorityResourceIntTest {
     @Autowired
     private AuthoritySearchRepository mockAuthoritySearchRepository;
 
+    /**
+     * This indexer is mocked in the io.kimos.talentpipe.service.search test package.
+     *
+     * @see io.kimos.talentpipe.service.search.SearchIndexerMockConfiguration
+     */
+    @Autowired
+    private SearchIndexer mockSearchIndexer;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -130,7 +139,7 @@ public class AuthorityResourceIntTest {
         assertThat(testAuthority.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
 
         // Validate the Authority in Elasticsearch
-        verify(mockAuthoritySearchRepository, times(1)).save(testAuthority);
+        verify(mockSearchIndexer, times(1)).index(testAuthority);
     }
 
     @Test
@@ -152,7 +161,7 @@ public class AuthorityResourceIntTest {
         assertThat(authorityList).hasSize(databaseSizeBeforeCreate);
 
         // Validate the Authority in Elasticsearch
-        verify(mockAuthoritySearchRepository, times(0)).save(authority);
+        verify(mockSearchIndexer, times(0)).index(authority);
     }
 
     @Test
@@ -216,8 +225,8 @@ public class AuthorityResourceIntTest {
     public void updateAuthority() throws Exception {
         // Initialize the database
         authorityService.save(authority);
-        // As the test used the service layer, reset the Elasticsearch mock repository
-        reset(mockAuthoritySearchRepository);
+        // As the test used the service layer, reset the search indexer mock
+        reset(mockSearchIndexer);
 
         int databaseSizeBeforeUpdate = authorityRepository.findAll().size();
 
@@ -242,7 +251,7 @@ public class AuthorityResourceIntTest {
         assertThat(testAuthority.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
 
         // Validate the Authority in Elasticsearch
-        verify(mockAuthoritySearchRepository, times(1)).save(testAuthority);
+        verify(mockSearchIndexer, times(1)).index(testAuthority);
     }
 
     @Test
@@ -263,7 +272,7 @@ public class AuthorityResourceIntTest {
         assertThat(authorityList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Authority in Elasticsearch
-        verify(mockAuthoritySearchRepository, times(0)).save(authority);
+        verify(mockSearchIndexer, times(0)).index(authority);
     }
 
     @Test
@@ -284,7 +293,7 @@ public class AuthorityResourceIntTest {
         assertThat(authorityList).hasSize(databaseSizeBeforeDelete - 1);
 
         // Validate the Authority in Elasticsearch
-        verify(mockAuthoritySearchRepository, times(1)).deleteById(authority.getId());
+        verify(mockSearchIndexer, times(1)).delete(Authority.class, authority.getId());
     }
 
     @Test
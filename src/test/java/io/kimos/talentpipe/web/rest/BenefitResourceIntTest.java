@@ -5,7 +5,9 @@ import io.kimos.talentpipe.domain.Benefit;
 import io.kimos.talentpipe.repository.BenefitRepository;
 import io.kimos.talentpipe.repository.search.BenefitSearchRepository;
 import io.kimos.talentpipe.service.BenefitService;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import io.kimos.talentpipe.web.rest.errors.ExceptionTranslator;
+import io.kimos.talentpipe.web.rest.util.ReferenceDataResponses;
 import ma.glasnost.orika.MapperFacade;
 import org.junit.Before;
 import org.junit.Test;
@@ -62,6 +64,9 @@ public class BenefitResourceIntTest {
     @Autowired
     private MapperFacade orikaMapper;
 
+    @Autowired
+    private ReferenceDataResponses referenceDataResponses;
+
     /**
      * This repository is mocked in the io.kimos.talentppe.repository.search test package.
      *
@@ -70,6 +75,14 @@ public class BenefitResourceIntTest {
     @Autowired
     private BenefitSearchRepository mockBenefitSearchRepository;
 
+    /**
+     * This indexer is mocked in the io.kimos.talentpipe.service.search test package.
+     *
+     * @see io.kimos.talentpipe.service.search.SearchIndexerMockConfiguration
+     */
+    @Autowired
+    private SearchIndexer mockSearchIndexer;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -102,7 +115,7 @@ public class BenefitResourceIntTest {
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final BenefitResource benefitResource = new BenefitResource(benefitService, orikaMapper);
+        final BenefitResource benefitResource = new BenefitResource(benefitService, orikaMapper, referenceDataResponses);
         this.restBenefitMockMvc = MockMvcBuilders.standaloneSetup(benefitResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -135,7 +148,7 @@ public class BenefitResourceIntTest {
         assertThat(testBenefit.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
 
         // Validate the Benefit in Elasticsearch
-        verify(mockBenefitSearchRepository, times(1)).save(testBenefit);
+        verify(mockSearchIndexer, times(1)).index(testBenefit);
     }
 
     @Test
@@ -201,8 +214,8 @@ public class BenefitResourceIntTest {
     public void updateBenefit() throws Exception {
         // Initialize the database
         benefitService.save(benefit);
-        // As the test used the service layer, reset the Elasticsearch mock repository
-        reset(mockBenefitSearchRepository);
+        // As the test used the service layer, reset the search indexer mock
+        reset(mockSearchIndexer);
 
         int databaseSizeBeforeUpdate = benefitRepository.findAll().size();
 
@@ -228,7 +241,7 @@ public class BenefitResourceIntTest {
         assertThat(testBenefit.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
 
         // Validate the Benefit in Elasticsearch
-        verify(mockBenefitSearchRepository, times(1)).save(testBenefit);
+        verify(mockSearchIndexer, times(1)).index(testBenefit);
     }
 
     @Test
@@ -249,7 +262,7 @@ public class BenefitResourceIntTest {
         assertThat(benefitList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Benefit in Elasticsearch
-        verify(mockBenefitSearchRepository, times(0)).save(benefit);
+        verify(mockSearchIndexer, times(0)).index(benefit);
     }
 
     @Test
@@ -270,7 +283,7 @@ public class BenefitResourceIntTest {
         assertThat(benefitList).hasSize(databaseSizeBeforeDelete - 1);
 
         // Validate the Benefit in Elasticsearch
-        verify(mockBenefitSearchRepository, times(1)).deleteById(benefit.getId());
+        verify(mockSearchIndexer, times(1)).delete(Benefit.class, benefit.getId());
     }
 
     @Test
@@ -0,0 +1,58 @@
+package io.kimos.talentpipe.web.rest;
+
+import io.kimos.talentpipe.MonolithApp;
+import io.kimos.talentpipe.config.CacheRegionStatistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Test class for the CachesResource REST controller.
+ *
+ * @see CachesResource
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = MonolithApp.class)
+public class CachesResourceIntTest {
+
+    @Autowired
+    private CacheRegionStatistics cacheRegionStatistics;
+
+    private MockMvc restCachesMockMvc;
+
+    @Before
+    public void setup() {
+        CachesResource cachesResource = new CachesResource(cacheRegionStatistics);
+        this.restCachesMockMvc = MockMvcBuilders
+            .standaloneSetup(cachesResource)
+            .build();
+    }
+
+    @Test
+    public void getAllCaches() throws Exception {
+        restCachesMockMvc.perform(get("/management/caches"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.[*].name").value(hasItem("User")))
+            .andExpect(jsonPath("$.[*].name").value(hasItem("User.roles")));
+    }
+
+    @Test
+    public void getCachedQueries() throws Exception {
+        restCachesMockMvc.perform(get("/management/caches/queries"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE));
+    }
+}
@@ -6,6 +6,7 @@ import io.kimos.talentpipe.domain.Country;
 import io.kimos.talentpipe.repository.CityRepository;
 import io.kimos.talentpipe.repository.search.CitySearchRepository;
 import io.kimos.talentpipe.service.CityService;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import io.kimos.talentpipe.web.rest.dto.CreateCityDTO;
 import io.kimos.talentpipe.web.rest.dto.UpdateCityDTO;
 import io.kimos.talentpipe.web.rest.errors.ExceptionTranslator;
@@ -72,6 +73,14 @@ public class CityResourceIntTest {
     @Autowired
     private CitySearchRepository mockCitySearchRepository;
 
+    /**
+     * This indexer is mocked in the io.kimos.talentpipe.service.search test package.
+     *
+     * @see io.kimos.talentpipe.service.search.SearchIndexerMockConfiguration
+     */
+    @Autowired
+    private SearchIndexer mockSearchIndexer;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -142,7 +151,7 @@ public class CityResourceIntTest {
         assertThat(testCity.getPostalCode()).isEqualTo(DEFAULT_POSTAL_CODE);
 
         // Validate the City in Elasticsearch
-        verify(mockCitySearchRepository, times(1)).save(testCity);
+        verify(mockSearchIndexer, times(1)).index(testCity);
     }
 
     @Test
@@ -224,8 +233,8 @@ public class CityResourceIntTest {
     public void updateCity() throws Exception {
         // Initialize the database
         cityService.save(city);
-        // As the test used the service layer, reset the Elasticsearch mock repository
-        reset(mockCitySearchRepository);
+        // As the test used the service layer, reset the search indexer mock
+        reset(mockSearchIndexer);
 
         int databaseSizeBeforeUpdate = cityRepository.findAll().size();
 
@@ -250,7 +259,7 @@ public class CityResourceIntTest {
         assertThat(testCity.getPostalCode()).isEqualTo(UPDATED_POSTAL_CODE);
 
         // Validate the City in Elasticsearch
-        verify(mockCitySearchRepository, times(1)).save(testCity);
+        verify(mockSearchIndexer, times(1)).index(testCity);
     }
 
     @Test
@@ -271,7 +280,7 @@ public class CityResourceIntTest {
         assertThat(cityList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the City in Elasticsearch
-        verify(mockCitySearchRepository, times(0)).save(city);
+        verify(mockSearchIndexer, times(0)).index(city);
     }
 
     @Test
@@ -292,7 +301,7 @@ public class CityResourceIntTest {
         assertThat(cityList).hasSize(databaseSizeBeforeDelete - 1);
 
         // Validate the City in Elasticsearch
-        verify(mockCitySearchRepository, times(1)).deleteById(city.getId());
+        verify(mockSearchIndexer, times(1)).delete(City.class, city.getId());
     }
 
     @Test
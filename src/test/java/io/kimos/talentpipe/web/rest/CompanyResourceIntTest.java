@@ -9,6 +9,7 @@ import io.kimos.talentpipe.domain.CompanyType;
 import io.kimos.talentpipe.repository.CompanyRepository;
 import io.kimos.talentpipe.repository.search.CompanySearchRepository;
 import io.kimos.talentpipe.service.CompanyService;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import io.kimos.talentpipe.web.rest.errors.ExceptionTranslator;
 import io.kimos.talentpipe.service.CompanyQueryService;
 
@@ -22,6 +23,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.context.junit4.SpringRunner;
@@ -39,7 +41,10 @@ import java.util.List;
 import static io.kimos.talentpipe.web.rest.TestUtil.createFormattingConversionService;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.elasticsearch.index.query.QueryBuilders.queryStringQuery;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -103,6 +108,14 @@ public class CompanyResourceIntTest {
     @Autowired
     private CompanySearchRepository mockCompanySearchRepository;
 
+    /**
+     * This indexer is mocked in the io.kimos.talentpipe.service.search test package.
+     *
+     * @see io.kimos.talentpipe.service.search.SearchIndexerMockConfiguration
+     */
+    @Autowired
+    private SearchIndexer mockSearchIndexer;
+
     @Autowired
     private CompanyQueryService companyQueryService;
 
@@ -227,7 +240,7 @@ public class CompanyResourceIntTest {
         assertThat(testCompany.getContactName()).isEqualTo(DEFAULT_CONTACT_NAME);
 
         // Validate the Company in Elasticsearch
-        verify(mockCompanySearchRepository, times(1)).save(testCompany);
+        verify(mockSearchIndexer, times(1)).index(testCompany);
     }
 */
     @Test(expected = ConstraintViolationException.class)
@@ -396,6 +409,39 @@ public class CompanyResourceIntTest {
             .andExpect(jsonPath("$.[*].contactName").value(hasItem(DEFAULT_CONTACT_NAME.toString())));
     }
     
+    @Test
+    @Transactional
+    public void getAllCompaniesByKeyset() throws Exception {
+        // Initialize the database with two companies sharing the same name
+        companyRepository.saveAndFlush(company.name("BBBBBBBBBB"));
+        Company first = companyRepository.saveAndFlush(createEntity(em).name("AAAAAAAAAA"));
+        Company last = companyRepository.saveAndFlush(createEntity(em).name("BBBBBBBBBB"));
+
+        // Get the first keyset page
+        String link = restCompanyMockMvc.perform(get("/api/companies?after=&size=2&sort=name,asc&name.in=AAAAAAAAAA,BBBBBBBBBB"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(first.getId().intValue(), company.getId().intValue())))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andReturn().getResponse().getHeader(HttpHeaders.LINK);
+        String next = link.substring(link.indexOf("after=") + "after=".length(), link.indexOf("&size="));
+
+        // Get the page after the cursor, ties on the name being broken by the id
+        restCompanyMockMvc.perform(get("/api/companies?after=" + next + "&size=2&name.in=AAAAAAAAAA,BBBBBBBBBB"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(last.getId().intValue())))
+            .andExpect(header().string(HttpHeaders.LINK, not(containsString("rel=\"next\""))));
+    }
+
+    @Test
+    @Transactional
+    public void getAllCompaniesByKeysetWithInvalidCursor() throws Exception {
+        restCompanyMockMvc.perform(get("/api/companies?after=not-a-cursor"))
+            .andExpect(status().isBadRequest());
+
+        restCompanyMockMvc.perform(get("/api/companies?after=&sort=street,asc"))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     public void getCompany() throws Exception {
@@ -1024,8 +1070,8 @@ public class CompanyResourceIntTest {
     public void updateCompany() throws Exception {
         // Initialize the database
         companyService.save(company);
-        // As the test used the service layer, reset the Elasticsearch mock repository
-        reset(mockCompanySearchRepository);
+        // As the test used the service layer, reset the search indexer mock
+        reset(mockSearchIndexer);
 
         int databaseSizeBeforeUpdate = companyRepository.findAll().size();
 
@@ -1068,7 +1114,7 @@ public class CompanyResourceIntTest {
         assertThat(testCompany.getContactName()).isEqualTo(UPDATED_CONTACT_NAME);
 
         // Validate the Company in Elasticsearch
-        verify(mockCompanySearchRepository, times(1)).save(testCompany);
+        verify(mockSearchIndexer, times(1)).index(testCompany);
     }*/
 
     @Test
@@ -1089,7 +1135,7 @@ public class CompanyResourceIntTest {
         assertThat(companyList).hasSize(databaseSizeBeforeDelete - 1);
 
         // Validate the Company in Elasticsearch
-        verify(mockCompanySearchRepository, times(1)).deleteById(company.getId());
+        verify(mockSearchIndexer, times(1)).delete(Company.class, company.getId());
     }
 
     @Test
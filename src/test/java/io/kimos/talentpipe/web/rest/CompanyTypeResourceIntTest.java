@@ -5,7 +5,9 @@ import io.kimos.talentpipe.domain.CompanyType;
 import io.kimos.talentpipe.repository.CompanyTypeRepository;
 import io.kimos.talentpipe.repository.search.CompanyTypeSearchRepository;
 import io.kimos.talentpipe.service.CompanyTypeService;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import io.kimos.talentpipe.web.rest.errors.ExceptionTranslator;
+import io.kimos.talentpipe.web.rest.util.ReferenceDataResponses;
 import ma.glasnost.orika.MapperFacade;
 import org.junit.Before;
 import org.junit.Test;
@@ -68,6 +70,9 @@ public class CompanyTypeResourceIntTest {
     @Autowired
     private MapperFacade orikaMapper;
 
+    @Autowired
+    private ReferenceDataResponses referenceDataResponses;
+
     /**
      * This repository is mocked in the io.kimos.talentppe.repository.search test package.
      *
@@ -76,6 +81,14 @@ public class CompanyTypeResourceIntTest {
     @Autowired
     private CompanyTypeSearchRepository mockCompanyTypeSearchRepository;
 
+    /**
+     * This indexer is mocked in the io.kimos.talentpipe.service.search test package.
+     *
+     * @see io.kimos.talentpipe.service.search.SearchIndexerMockConfiguration
+     */
+    @Autowired
+    private SearchIndexer mockSearchIndexer;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -110,7 +123,7 @@ public class CompanyTypeResourceIntTest {
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final CompanyTypeResource companyTypeResource = new CompanyTypeResource(companyTypeService, orikaMapper);
+        final CompanyTypeResource companyTypeResource = new CompanyTypeResource(companyTypeService, orikaMapper, referenceDataResponses);
         this.restCompanyTypeMockMvc = MockMvcBuilders.standaloneSetup(companyTypeResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -145,7 +158,7 @@ public class CompanyTypeResourceIntTest {
         assertThat(testCompanyType.getMaxEmployeesQuantity()).isEqualTo(DEFAULT_MAX_EMPLOYEES_QUANTITY);
 
         // Validate the CompanyType in Elasticsearch
-        verify(mockCompanyTypeSearchRepository, times(1)).save(testCompanyType);
+        verify(mockSearchIndexer, times(1)).index(testCompanyType);
     }
 
     @Test
@@ -233,8 +246,8 @@ public class CompanyTypeResourceIntTest {
     public void updateCompanyType() throws Exception {
         // Initialize the database
         companyTypeService.save(companyType);
-        // As the test used the service layer, reset the Elasticsearch mock repository
-        reset(mockCompanyTypeSearchRepository);
+        // As the test used the service layer, reset the search indexer mock
+        reset(mockSearchIndexer);
 
         int databaseSizeBeforeUpdate = companyTypeRepository.findAll().size();
 
@@ -264,7 +277,7 @@ public class CompanyTypeResourceIntTest {
         assertThat(testCompanyType.getMaxEmployeesQuantity()).isEqualTo(UPDATED_MAX_EMPLOYEES_QUANTITY);
 
         // Validate the CompanyType in Elasticsearch
-        verify(mockCompanyTypeSearchRepository, times(1)).save(testCompanyType);
+        verify(mockSearchIndexer, times(1)).index(testCompanyType);
     }
 
     @Test
@@ -285,7 +298,7 @@ public class CompanyTypeResourceIntTest {
         assertThat(companyTypeList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the CompanyType in Elasticsearch
-        verify(mockCompanyTypeSearchRepository, times(0)).save(companyType);
+        verify(mockSearchIndexer, times(0)).index(companyType);
     }
 
     @Test
@@ -306,7 +319,7 @@ public class CompanyTypeResourceIntTest {
         assertThat(companyTypeList).hasSize(databaseSizeBeforeDelete - 1);
 
         // Validate the CompanyType in Elasticsearch
-        verify(mockCompanyTypeSearchRepository, times(1)).deleteById(companyType.getId());
+        verify(mockSearchIndexer, times(1)).delete(CompanyType.class, companyType.getId());
     }
 
     @Test
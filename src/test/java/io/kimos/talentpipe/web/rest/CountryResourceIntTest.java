@@ -5,7 +5,9 @@ import io.kimos.talentpipe.domain.Country;
 import io.kimos.talentpipe.repository.CountryRepository;
 import io.kimos.talentpipe.repository.search.CountrySearchRepository;
 import io.kimos.talentpipe.service.CountryService;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import io.kimos.talentpipe.web.rest.errors.ExceptionTranslator;
+import io.kimos.talentpipe.web.rest.util.ReferenceDataResponses;
 import ma.glasnost.orika.MapperFacade;
 import org.junit.Before;
 import org.junit.Test;
@@ -68,6 +70,9 @@ public class CountryResourceIntTest {
     @Autowired
     private MapperFacade orikaMapper;
 
+    @Autowired
+    private ReferenceDataResponses referenceDataResponses;
+
     /**
      * This repository is mocked in the io.kimos.talentppe.repository.search test package.
      *
@@ -76,6 +81,14 @@ public class CountryResourceIntTest {
     @Autowired
     private CountrySearchRepository mockCountrySearchRepository;
 
+    /**
+     * This indexer is mocked in the io.kimos.talentpipe.service.search test package.
+     *
+     * @see io.kimos.talentpipe.service.search.SearchIndexerMockConfiguration
+     */
+    @Autowired
+    private SearchIndexer mockSearchIndexer;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -110,7 +123,7 @@ public class CountryResourceIntTest {
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final CountryResource countryResource = new CountryResource(countryService, orikaMapper);
+        final CountryResource countryResource = new CountryResource(countryService, orikaMapper, referenceDataResponses);
         this.restCountryMockMvc = MockMvcBuilders.standaloneSetup(countryResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -145,7 +158,7 @@ public class CountryResourceIntTest {
         assertThat(testCountry.getCurrency()).isEqualTo(DEFAULT_CURRENCY);
 
         // Validate the Country in Elasticsearch
-        verify(mockCountrySearchRepository, times(1)).save(testCountry);
+        verify(mockSearchIndexer, times(1)).index(testCountry);
     }
 
     @Test
@@ -233,8 +246,8 @@ public class CountryResourceIntTest {
     public void updateCountry() throws Exception {
         // Initialize the database
         countryService.save(country);
-        // As the test used the service layer, reset the Elasticsearch mock repository
-        reset(mockCountrySearchRepository);
+        // As the test used the service layer, reset the search indexer mock
+        reset(mockSearchIndexer);
 
         int databaseSizeBeforeUpdate = countryRepository.findAll().size();
 
@@ -264,7 +277,7 @@ public class CountryResourceIntTest {
         assertThat(testCountry.getCurrency()).isEqualTo(UPDATED_CURRENCY);
 
         // Validate the Country in Elasticsearch
-        verify(mockCountrySearchRepository, times(1)).save(testCountry);
+        verify(mockSearchIndexer, times(1)).index(testCountry);
     }
 
     @Test
@@ -285,7 +298,7 @@ public class CountryResourceIntTest {
         assertThat(countryList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Country in Elasticsearch
-        verify(mockCountrySearchRepository, times(0)).save(country);
+        verify(mockSearchIndexer, times(0)).index(country);
     }
 
     @Test
@@ -306,7 +319,7 @@ public class CountryResourceIntTest {
         assertThat(countryList).hasSize(databaseSizeBeforeDelete - 1);
 
         // Validate the Country in Elasticsearch
-        verify(mockCountrySearchRepository, times(1)).deleteById(country.getId());
+        verify(mockSearchIndexer, times(1)).delete(Country.class, country.getId());
     }
 
     @Test
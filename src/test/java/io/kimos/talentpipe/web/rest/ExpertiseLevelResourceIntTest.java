@@ -5,7 +5,9 @@ import io.kimos.talentpipe.domain.ExpertiseLevel;
 import io.kimos.talentpipe.repository.ExpertiseLevelRepository;
 import io.kimos.talentpipe.repository.search.ExpertiseLevelSearchRepository;
 import io.kimos.talentpipe.service.ExpertiseLevelService;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import io.kimos.talentpipe.web.rest.errors.ExceptionTranslator;
+import io.kimos.talentpipe.web.rest.util.ReferenceDataResponses;
 import ma.glasnost.orika.MapperFacade;
 import org.junit.Before;
 import org.junit.Test;
@@ -65,6 +67,14 @@ public class ExpertiseLevelResourceIntTest {
     @Autowired
     private ExpertiseLevelSearchRepository mockExpertiseLevelSearchRepository;
 
+    /**
+     * This indexer is mocked in the io.kimos.talentpipe.service.search test package.
+     *
+     * @see io.kimos.talentpipe.service.search.SearchIndexerMockConfiguration
+     */
+    @Autowired
+    private SearchIndexer mockSearchIndexer;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -77,6 +87,9 @@ public class ExpertiseLevelResourceIntTest {
     @Autowired
     private MapperFacade orikaMapper;
 
+    @Autowired
+    private ReferenceDataResponses referenceDataResponses;
+
     @Autowired
     private EntityManager em;
 
@@ -100,7 +113,7 @@ public class ExpertiseLevelResourceIntTest {
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final ExpertiseLevelResource expertiseLevelResource = new ExpertiseLevelResource(expertiseLevelService, orikaMapper);
+        final ExpertiseLevelResource expertiseLevelResource = new ExpertiseLevelResource(expertiseLevelService, orikaMapper, referenceDataResponses);
         this.restExpertiseLevelMockMvc = MockMvcBuilders.standaloneSetup(expertiseLevelResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -133,7 +146,7 @@ public class ExpertiseLevelResourceIntTest {
         assertThat(testExpertiseLevel.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
 
         // Validate the ExpertiseLevel in Elasticsearch
-        verify(mockExpertiseLevelSearchRepository, times(1)).save(testExpertiseLevel);
+        verify(mockSearchIndexer, times(1)).index(testExpertiseLevel);
     }
 
     @Test
@@ -199,8 +212,8 @@ public class ExpertiseLevelResourceIntTest {
     public void updateExpertiseLevel() throws Exception {
         // Initialize the database
         expertiseLevelService.save(expertiseLevel);
-        // As the test used the service layer, reset the Elasticsearch mock repository
-        reset(mockExpertiseLevelSearchRepository);
+        // As the test used the service layer, reset the search indexer mock
+        reset(mockSearchIndexer);
 
         int databaseSizeBeforeUpdate = expertiseLevelRepository.findAll().size();
 
@@ -226,7 +239,7 @@ public class ExpertiseLevelResourceIntTest {
         assertThat(testExpertiseLevel.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
 
         // Validate the ExpertiseLevel in Elasticsearch
-        verify(mockExpertiseLevelSearchRepository, times(1)).save(testExpertiseLevel);
+        verify(mockSearchIndexer, times(1)).index(testExpertiseLevel);
     }
 
     @Test
@@ -247,7 +260,7 @@ public class ExpertiseLevelResourceIntTest {
         assertThat(expertiseLevelList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the ExpertiseLevel in Elasticsearch
-        verify(mockExpertiseLevelSearchRepository, times(0)).save(expertiseLevel);
+        verify(mockSearchIndexer, times(0)).index(expertiseLevel);
     }
 
     @Test
@@ -268,7 +281,7 @@ public class ExpertiseLevelResourceIntTest {
         assertThat(expertiseLevelList).hasSize(databaseSizeBeforeDelete - 1);
 
         // Validate the ExpertiseLevel in Elasticsearch
-        verify(mockExpertiseLevelSearchRepository, times(1)).deleteById(expertiseLevel.getId());
+        verify(mockSearchIndexer, times(1)).delete(ExpertiseLevel.class, expertiseLevel.getId());
     }
 
     @Test
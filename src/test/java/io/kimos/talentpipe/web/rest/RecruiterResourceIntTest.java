@@ -8,6 +8,7 @@ import io.kimos.talentpipe.domain.User;
 import io.kimos.talentpipe.repository.RecruiterRepository;
 import io.kimos.talentpipe.repository.search.RecruiterSearchRepository;
 import io.kimos.talentpipe.service.RecruiterService;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import io.kimos.talentpipe.web.rest.errors.ExceptionTranslator;
 import io.kimos.talentpipe.service.RecruiterQueryService;
 
@@ -97,6 +98,14 @@ public class RecruiterResourceIntTest {
     @Autowired
     private RecruiterSearchRepository mockRecruiterSearchRepository;
 
+    /**
+     * This indexer is mocked in the io.kimos.talentpipe.service.search test package.
+     *
+     * @see io.kimos.talentpipe.service.search.SearchIndexerMockConfiguration
+     */
+    @Autowired
+    private SearchIndexer mockSearchIndexer;
+
     @Autowired
     private RecruiterQueryService recruiterQueryService;
 
@@ -188,7 +197,7 @@ public class RecruiterResourceIntTest {
         assertThat(testRecruiter.getApartment()).isEqualTo(DEFAULT_APARTMENT);
 
         // Validate the Recruiter in Elasticsearch
-        verify(mockRecruiterSearchRepository, times(1)).save(testRecruiter);
+        verify(mockSearchIndexer, times(1)).index(testRecruiter);
     }
 
     @Test
@@ -811,8 +820,8 @@ public class RecruiterResourceIntTest {
     public void updateRecruiter() throws Exception {
         // Initialize the database
         recruiterService.save(recruiter);
-        // As the test used the service layer, reset the Elasticsearch mock repository
-        reset(mockRecruiterSearchRepository);
+        // As the test used the service layer, reset the search indexer mock
+        reset(mockSearchIndexer);
 
         int databaseSizeBeforeUpdate = recruiterRepository.findAll().size();
 
@@ -851,7 +860,7 @@ public class RecruiterResourceIntTest {
         assertThat(testRecruiter.getApartment()).isEqualTo(UPDATED_APARTMENT);
 
         // Validate the Recruiter in Elasticsearch
-        verify(mockRecruiterSearchRepository, times(1)).save(testRecruiter);
+        verify(mockSearchIndexer, times(1)).index(testRecruiter);
     }
 
     @Test
@@ -872,7 +881,7 @@ public class RecruiterResourceIntTest {
         assertThat(recruiterList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Recruiter in Elasticsearch
-        verify(mockRecruiterSearchRepository, times(0)).save(recruiter);
+        verify(mockSearchIndexer, times(0)).index(recruiter);
     }
 
     @Test
@@ -893,7 +902,7 @@ public class RecruiterResourceIntTest {
         assertThat(recruiterList).hasSize(databaseSizeBeforeDelete - 1);
 
         // Validate the Recruiter in Elasticsearch
-        verify(mockRecruiterSearchRepository, times(1)).deleteById(recruiter.getId());
+        verify(mockSearchIndexer, times(1)).delete(Recruiter.class, recruiter.getId());
     }
 
     @Test
@@ -6,6 +6,7 @@ import io.kimos.talentpipe.domain.Role;
 import io.kimos.talentpipe.repository.RoleRepository;
 import io.kimos.talentpipe.repository.search.RoleSearchRepository;
 import io.kimos.talentpipe.service.RoleService;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import io.kimos.talentpipe.web.rest.errors.ExceptionTranslator;
 
 import org.junit.Before;
@@ -66,6 +67,14 @@ public class RoleResourceIntTest {
     @Autowired
     private RoleSearchRepository mockRoleSearchRepository;
 
+    /**
+     * This indexer is mocked in the io.kimos.talentpipe.service.search test package.
+     *
+     * @see io.kimos.talentpipe.service.search.SearchIndexerMockConfiguration
+     */
+    @Autowired
+    private SearchIndexer mockSearchIndexer;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -130,7 +139,7 @@ public class RoleResourceIntTest {
         assertThat(testRole.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
 
         // Validate the Role in Elasticsearch
-        verify(mockRoleSearchRepository, times(1)).save(testRole);
+        verify(mockSearchIndexer, times(1)).index(testRole);
     }
 
     @Test
@@ -152,7 +161,7 @@ public class RoleResourceIntTest {
         assertThat(roleList).hasSize(databaseSizeBeforeCreate);
 
         // Validate the Role in Elasticsearch
-        verify(mockRoleSearchRepository, times(0)).save(role);
+        verify(mockSearchIndexer, times(0)).index(role);
     }
 
     @Test
@@ -216,8 +225,8 @@ public class RoleResourceIntTest {
     public void updateRole() throws Exception {
         // Initialize the database
         roleService.save(role);
-        // As the test used the service layer, reset the Elasticsearch mock repository
-        reset(mockRoleSearchRepository);
+        // As the test used the service layer, reset the search indexer mock
+        reset(mockSearchIndexer);
 
         int databaseSizeBeforeUpdate = roleRepository.findAll().size();
 
@@ -242,7 +251,7 @@ public class RoleResourceIntTest {
         assertThat(testRole.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
 
         // Validate the Role in Elasticsearch
-        verify(mockRoleSearchRepository, times(1)).save(testRole);
+        verify(mockSearchIndexer, times(1)).index(testRole);
     }
 
     @Test
@@ -263,7 +272,7 @@ public class RoleResourceIntTest {
         assertThat(roleList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Role in Elasticsearch
-        verify(mockRoleSearchRepository, times(0)).save(role);
+        verify(mockSearchIndexer, times(0)).index(role);
     }
 
     @Test
@@ -284,7 +293,7 @@ public class RoleResourceIntTest {
         assertThat(roleList).hasSize(databaseSizeBeforeDelete - 1);
 
         // Validate the Role in Elasticsearch
-        verify(mockRoleSearchRepository, times(1)).deleteById(role.getId());
+        verify(mockSearchIndexer, times(1)).delete(Role.class, role.getId());
     }
 
     @Test
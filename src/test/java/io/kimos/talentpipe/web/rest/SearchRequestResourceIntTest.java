@@ -2,13 +2,23 @@ package io.kimos.talentpipe.web.rest;
 
 import io.kimos.talentpipe.MonolithApp;
 import io.kimos.talentpipe.domain.Company;
+import io.kimos.talentpipe.domain.ExpertiseLevel;
 import io.kimos.talentpipe.domain.SearchRequest;
+import io.kimos.talentpipe.domain.TechnicalSkill;
+import io.kimos.talentpipe.domain.User;
 import io.kimos.talentpipe.repository.SearchRequestRepository;
 import io.kimos.talentpipe.repository.search.SearchRequestSearchRepository;
+import io.kimos.talentpipe.service.CompanyService;
+import io.kimos.talentpipe.service.CurrentUserService;
 import io.kimos.talentpipe.service.SearchRequestService;
-import io.kimos.talentpipe.service.UserService;
+import io.kimos.talentpipe.service.index.SearchRequestChangedEvent;
+import io.kimos.talentpipe.service.index.SearchRequestSalaryIndex;
+import io.kimos.talentpipe.service.index.SearchRequestSimilarityIndex;
+import io.kimos.talentpipe.service.index.SearchRequestSkillIndex;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import io.kimos.talentpipe.web.rest.errors.ExceptionTranslator;
 import ma.glasnost.orika.MapperFacade;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -21,6 +31,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -35,6 +46,7 @@ import java.util.List;
 import static io.kimos.talentpipe.web.rest.TestUtil.createFormattingConversionService;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.elasticsearch.index.query.QueryBuilders.queryStringQuery;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -64,6 +76,10 @@ public class SearchRequestResourceIntTest {
     private static final String DEFAULT_POSITION = "AAAAAAAAAA";
     private static final String UPDATED_POSITION = "BBBBBBBBBB";
 
+    private static final String NO_COMPANY_LOGIN = "search-request-no-company";
+
+    private static final String COMPANY_LOGIN = "search-request-company";
+
     @Autowired
     private SearchRequestRepository searchRequestRepository;
 
@@ -84,6 +100,14 @@ public class SearchRequestResourceIntTest {
     @Autowired
     private SearchRequestSearchRepository mockSearchRequestSearchRepository;
 
+    /**
+     * This indexer is mocked in the io.kimos.talentpipe.service.search test package.
+     *
+     * @see io.kimos.talentpipe.service.search.SearchIndexerMockConfiguration
+     */
+    @Autowired
+    private SearchIndexer mockSearchIndexer;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -100,10 +124,25 @@ public class SearchRequestResourceIntTest {
 
     private SearchRequest searchRequest;
 
-    private UserService userService;
+    @Autowired
+    private CurrentUserService currentUserService;
+
+    @Autowired
+    private CompanyService companyService;
 
     private MapperFacade orikaMapper;
 
+    @Autowired
+    private SearchRequestSkillIndex searchRequestSkillIndex;
+
+    @Autowired
+    private SearchRequestSalaryIndex searchRequestSalaryIndex;
+
+    @Autowired
+    private SearchRequestSimilarityIndex searchRequestSimilarityIndex;
+
+    private final List<Long> indexedIds = new ArrayList<>();
+
     /**
      * Create an entity for this test.
      * <p>
@@ -128,7 +167,7 @@ public class SearchRequestResourceIntTest {
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final SearchRequestResource searchRequestResource = new SearchRequestResource(searchRequestService, orikaMapper, userService);
+        final SearchRequestResource searchRequestResource = new SearchRequestResource(searchRequestService, orikaMapper, currentUserService, companyService);
         this.restSearchRequestMockMvc = MockMvcBuilders.standaloneSetup(searchRequestResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -141,6 +180,13 @@ public class SearchRequestResourceIntTest {
         searchRequest = createEntity(em);
     }
 
+    @After
+    public void removeIndexed() {
+        for (Long id : indexedIds) {
+            applyToIndexes(SearchRequestChangedEvent.deleted(id));
+        }
+    }
+
     @Test
     @Transactional
     public void createSearchRequest() throws Exception {
@@ -163,7 +209,7 @@ public class SearchRequestResourceIntTest {
         assertThat(testSearchRequest.getPosition()).isEqualTo(DEFAULT_POSITION);
 
         // Validate the SearchRequest in Elasticsearch
-        verify(mockSearchRequestSearchRepository, times(1)).save(testSearchRequest);
+        verify(mockSearchIndexer, times(1)).index(testSearchRequest);
     }
 
     @Test
@@ -258,7 +304,7 @@ public class SearchRequestResourceIntTest {
 
     @SuppressWarnings({"unchecked"})
     public void getAllSearchRequestsWithEagerRelationshipsIsEnabled() throws Exception {
-        SearchRequestResource searchRequestResource = new SearchRequestResource(searchRequestServiceMock, orikaMapper, userService);
+        SearchRequestResource searchRequestResource = new SearchRequestResource(searchRequestServiceMock, orikaMapper, currentUserService, companyService);
         when(searchRequestServiceMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
 
         MockMvc restSearchRequestMockMvc = MockMvcBuilders.standaloneSetup(searchRequestResource)
@@ -275,7 +321,7 @@ public class SearchRequestResourceIntTest {
 
     @SuppressWarnings({"unchecked"})
     public void getAllSearchRequestsWithEagerRelationshipsIsNotEnabled() throws Exception {
-        SearchRequestResource searchRequestResource = new SearchRequestResource(searchRequestServiceMock, orikaMapper, userService);
+        SearchRequestResource searchRequestResource = new SearchRequestResource(searchRequestServiceMock, orikaMapper, currentUserService, companyService);
         when(searchRequestServiceMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
         MockMvc restSearchRequestMockMvc = MockMvcBuilders.standaloneSetup(searchRequestResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
@@ -320,8 +366,8 @@ public class SearchRequestResourceIntTest {
     public void updateSearchRequest() throws Exception {
         // Initialize the database
         searchRequestService.save(searchRequest);
-        // As the test used the service layer, reset the Elasticsearch mock repository
-        reset(mockSearchRequestSearchRepository);
+        // As the test used the service layer, reset the search indexer mock
+        reset(mockSearchIndexer);
 
         int databaseSizeBeforeUpdate = searchRequestRepository.findAll().size();
 
@@ -352,7 +398,7 @@ public class SearchRequestResourceIntTest {
         assertThat(testSearchRequest.getPosition()).isEqualTo(UPDATED_POSITION);
 
         // Validate the SearchRequest in Elasticsearch
-        verify(mockSearchRequestSearchRepository, times(1)).save(testSearchRequest);
+        verify(mockSearchIndexer, times(1)).index(testSearchRequest);
     }
 
     @Test
@@ -373,7 +419,7 @@ public class SearchRequestResourceIntTest {
         assertThat(searchRequestList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the SearchRequest in Elasticsearch
-        verify(mockSearchRequestSearchRepository, times(0)).save(searchRequest);
+        verify(mockSearchIndexer, times(0)).index(searchRequest);
     }
 
     @Test
@@ -394,7 +440,7 @@ public class SearchRequestResourceIntTest {
         assertThat(searchRequestList).hasSize(databaseSizeBeforeDelete - 1);
 
         // Validate the SearchRequest in Elasticsearch
-        verify(mockSearchRequestSearchRepository, times(1)).deleteById(searchRequest.getId());
+        verify(mockSearchIndexer, times(1)).delete(SearchRequest.class, searchRequest.getId());
     }
 
     @Test
@@ -416,6 +462,248 @@ public class SearchRequestResourceIntTest {
             .andExpect(jsonPath("$.[*].position").value(hasItem(DEFAULT_POSITION)));
     }
 
+    @Test
+    @Transactional
+    @WithMockUser(NO_COMPANY_LOGIN)
+    public void getSearchRequestsBySkillsWithoutCompany() throws Exception {
+        searchRequestRepository.saveAndFlush(searchRequest);
+        createUserWithoutCompany();
+
+        restSearchRequestMockMvc.perform(get("/api/search-requests/by-skills"))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser(NO_COMPANY_LOGIN)
+    public void getSearchRequestsBySalaryWithoutCompany() throws Exception {
+        searchRequestRepository.saveAndFlush(searchRequest);
+        createUserWithoutCompany();
+
+        restSearchRequestMockMvc.perform(get("/api/search-requests/by-salary?from=0&companyId={companyId}",
+            searchRequest.getCompany().getId()))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser(NO_COMPANY_LOGIN)
+    public void getSimilarSearchRequestsWithoutCompany() throws Exception {
+        searchRequestRepository.saveAndFlush(searchRequest);
+        createUserWithoutCompany();
+
+        restSearchRequestMockMvc.perform(get("/api/search-requests/{id}/similar", searchRequest.getId()))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser("admin")
+    public void getSearchRequestsBySkills() throws Exception {
+        TechnicalSkill java = createTechnicalSkill("java");
+        TechnicalSkill sql = createTechnicalSkill("sql");
+        SearchRequest javaOnly = index(createEntity(em).addRequiredTechnicalSkills(java));
+        SearchRequest javaAndSql = index(createEntity(em).addRequiredTechnicalSkills(java).addRequiredTechnicalSkills(sql));
+        SearchRequest sqlIfPossible = index(createEntity(em).addNonRequiredTechnicalSkills(sql));
+
+        restSearchRequestMockMvc.perform(get("/api/search-requests/by-skills?all={id}", java.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(header().string("X-Total-Count", "2"))
+            .andExpect(jsonPath("$.[*].id").value(contains(javaAndSql.getId().intValue(), javaOnly.getId().intValue())));
+        restSearchRequestMockMvc.perform(get("/api/search-requests/by-skills?all={all}&none={none}", java.getId(), sql.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(javaOnly.getId().intValue())));
+        restSearchRequestMockMvc.perform(get("/api/search-requests/by-skills?any={id}", sql.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(javaAndSql.getId().intValue())));
+        restSearchRequestMockMvc.perform(get("/api/search-requests/by-skills?any={id}&includeNonRequired=true", sql.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(sqlIfPossible.getId().intValue(), javaAndSql.getId().intValue())));
+        restSearchRequestMockMvc.perform(get("/api/search-requests/by-skills?all={id}&page=1&size=1", java.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "2"))
+            .andExpect(jsonPath("$.[*].id").value(contains(javaOnly.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser(COMPANY_LOGIN)
+    public void getSearchRequestsBySkillsOfTheUserCompany() throws Exception {
+        TechnicalSkill java = createTechnicalSkill("java");
+        SearchRequest own = index(createEntity(em).addRequiredTechnicalSkills(java));
+        index(createEntity(em).addRequiredTechnicalSkills(java));
+        createUserOfCompany(own.getCompany());
+
+        restSearchRequestMockMvc.perform(get("/api/search-requests/by-skills?all={id}", java.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(own.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser("admin")
+    public void getSearchRequestsByInvalidSkills() throws Exception {
+        restSearchRequestMockMvc.perform(get("/api/search-requests/by-skills?all=java"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser("admin")
+    public void getSimilarSearchRequests() throws Exception {
+        TechnicalSkill java = createTechnicalSkill("java");
+        TechnicalSkill sql = createTechnicalSkill("sql");
+        SearchRequest compared = index(createEntity(em).addRequiredTechnicalSkills(java).addRequiredTechnicalSkills(sql));
+        SearchRequest same = index(createEntity(em).addRequiredTechnicalSkills(java).addRequiredTechnicalSkills(sql));
+
+        restSearchRequestMockMvc.perform(get("/api/search-requests/{id}/similar?size=5", compared.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.[*].searchRequest.id").value(contains(same.getId().intValue())))
+            .andExpect(jsonPath("$.[0].similarity").value(1.0));
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser(COMPANY_LOGIN)
+    public void getSimilarSearchRequestsOfTheUserCompany() throws Exception {
+        TechnicalSkill java = createTechnicalSkill("java");
+        SearchRequest own = index(createEntity(em).addRequiredTechnicalSkills(java));
+        SearchRequest other = index(createEntity(em).addRequiredTechnicalSkills(java));
+        createUserOfCompany(own.getCompany());
+
+        restSearchRequestMockMvc.perform(get("/api/search-requests/{id}/similar", own.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isEmpty());
+        restSearchRequestMockMvc.perform(get("/api/search-requests/{id}/similar", other.getId()))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser("admin")
+    public void getSimilarSearchRequestsWithInvalidSize() throws Exception {
+        SearchRequest compared = index(searchRequest);
+
+        restSearchRequestMockMvc.perform(get("/api/search-requests/{id}/similar?size=0", compared.getId()))
+            .andExpect(status().isBadRequest());
+        restSearchRequestMockMvc.perform(get("/api/search-requests/{id}/similar?size=101", compared.getId()))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser("admin")
+    public void getSimilarSearchRequestsOfNonExistingSearchRequest() throws Exception {
+        restSearchRequestMockMvc.perform(get("/api/search-requests/{id}/similar", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser("admin")
+    public void getSearchRequestsBySalary() throws Exception {
+        SearchRequest low = index(createEntity(em).minSalary(new BigDecimal("2000")).maxSalary(new BigDecimal("3000")));
+        SearchRequest high = index(createEntity(em).minSalary(new BigDecimal("4000")).maxSalary(new BigDecimal("5000")));
+        SearchRequest open = index(createEntity(em).minSalary(new BigDecimal("3500")).maxSalary(null));
+
+        restSearchRequestMockMvc.perform(get("/api/search-requests/by-salary?from=2500&to=4500"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(header().string("X-Total-Count", "3"))
+            .andExpect(jsonPath("$.[*].id").value(contains(low.getId().intValue(), open.getId().intValue(), high.getId().intValue())));
+        restSearchRequestMockMvc.perform(get("/api/search-requests/by-salary?from=6000"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(open.getId().intValue())));
+        restSearchRequestMockMvc.perform(get("/api/search-requests/by-salary?from=1E+999999999"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(open.getId().intValue())));
+        restSearchRequestMockMvc.perform(get("/api/search-requests/by-salary?from=0&to=10000&companyId={companyId}",
+            high.getCompany().getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(high.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser("admin")
+    public void getSearchRequestsBySalaryAndExpertiseLevel() throws Exception {
+        ExpertiseLevel senior = ExpertiseLevelResourceIntTest.createEntity(em);
+        em.persist(senior);
+        SearchRequest asked = index(createEntity(em).expertiseLevel(senior));
+        index(createEntity(em));
+
+        restSearchRequestMockMvc.perform(get("/api/search-requests/by-salary?from=0&to=1&expertiseLevelId={id}", senior.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(asked.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser(COMPANY_LOGIN)
+    public void getSearchRequestsBySalaryOfTheUserCompany() throws Exception {
+        SearchRequest own = index(createEntity(em));
+        SearchRequest other = index(createEntity(em));
+        createUserOfCompany(own.getCompany());
+
+        restSearchRequestMockMvc.perform(get("/api/search-requests/by-salary?from=0&to=1&companyId={companyId}",
+            other.getCompany().getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(own.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser("admin")
+    public void getSearchRequestsByInvalidSalaryRange() throws Exception {
+        restSearchRequestMockMvc.perform(get("/api/search-requests/by-salary?from=3000&to=2000"))
+            .andExpect(status().isBadRequest())
+            .andExpect(header().string("X-monolithApp-error", "error.salaryrangeinvalid"));
+        restSearchRequestMockMvc.perform(get("/api/search-requests/by-salary"))
+            .andExpect(status().isBadRequest());
+        restSearchRequestMockMvc.perform(get("/api/search-requests/by-salary?from=a-lot"))
+            .andExpect(status().isBadRequest());
+    }
+
+    private SearchRequest index(SearchRequest searchRequest) {
+        searchRequestRepository.saveAndFlush(searchRequest);
+        indexedIds.add(searchRequest.getId());
+        applyToIndexes(SearchRequestChangedEvent.saved(searchRequest));
+        return searchRequest;
+    }
+
+    /**
+     * The indexes apply the changes once committed, and the transaction of the test is never committed.
+     */
+    private void applyToIndexes(SearchRequestChangedEvent event) {
+        searchRequestSkillIndex.onSearchRequestChanged(event);
+        searchRequestSalaryIndex.onSearchRequestChanged(event);
+        searchRequestSimilarityIndex.onSearchRequestChanged(event);
+    }
+
+    private TechnicalSkill createTechnicalSkill(String name) {
+        TechnicalSkill technicalSkill = TechnicalSkillResourceIntTest.createEntity(em).name(name);
+        em.persist(technicalSkill);
+        em.flush();
+        return technicalSkill;
+    }
+
+    private void createUserOfCompany(Company company) {
+        User user = UserResourceIntTest.createEntity(em);
+        user.setLogin(COMPANY_LOGIN);
+        user.setCompany(company);
+        em.persist(user);
+        em.flush();
+    }
+
+    private void createUserWithoutCompany() {
+        User user = UserResourceIntTest.createEntity(em);
+        user.setLogin(NO_COMPANY_LOGIN);
+        em.persist(user);
+        em.flush();
+    }
+
     @Test
     @Transactional
     public void equalsVerifier() throws Exception {
@@ -8,7 +8,9 @@ import io.kimos.talentpipe.repository.UserRepository;
 import io.kimos.talentpipe.repository.search.SearchStatusSearchRepository;
 import io.kimos.talentpipe.service.SearchStatusService;
 import io.kimos.talentpipe.service.UserService;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import io.kimos.talentpipe.web.rest.errors.ExceptionTranslator;
+import io.kimos.talentpipe.web.rest.util.ReferenceDataResponses;
 import ma.glasnost.orika.MapperFacade;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.Before;
@@ -65,6 +67,9 @@ public class SearchStatusResourceIntTest {
     @Autowired
     private MapperFacade orikaMapper;
 
+    @Autowired
+    private ReferenceDataResponses referenceDataResponses;
+
     @Autowired
     private UserService userService;
 
@@ -79,6 +84,14 @@ public class SearchStatusResourceIntTest {
     @Autowired
     private SearchStatusSearchRepository mockSearchStatusSearchRepository;
 
+    /**
+     * This indexer is mocked in the io.kimos.talentpipe.service.search test package.
+     *
+     * @see io.kimos.talentpipe.service.search.SearchIndexerMockConfiguration
+     */
+    @Autowired
+    private SearchIndexer mockSearchIndexer;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -111,7 +124,7 @@ public class SearchStatusResourceIntTest {
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final SearchStatusResource searchStatusResource = new SearchStatusResource(searchStatusService, orikaMapper, userService);
+        final SearchStatusResource searchStatusResource = new SearchStatusResource(searchStatusService, orikaMapper, userService, referenceDataResponses);
         this.restSearchStatusMockMvc = MockMvcBuilders.standaloneSetup(searchStatusResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -153,7 +166,7 @@ public class SearchStatusResourceIntTest {
         assertThat(testSearchStatus.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
 
         // Validate the SearchStatus in Elasticsearch
-        verify(mockSearchStatusSearchRepository, times(1)).save(testSearchStatus);
+        verify(mockSearchIndexer, times(1)).index(testSearchStatus);
     }
 
     @Test
@@ -219,8 +232,8 @@ public class SearchStatusResourceIntTest {
     public void updateSearchStatus() throws Exception {
         // Initialize the database
         searchStatusService.save(searchStatus);
-        // As the test used the service layer, reset the Elasticsearch mock repository
-        reset(mockSearchStatusSearchRepository);
+        // As the test used the service layer, reset the search indexer mock
+        reset(mockSearchIndexer);
 
         int databaseSizeBeforeUpdate = searchStatusRepository.findAll().size();
 
@@ -246,7 +259,7 @@ public class SearchStatusResourceIntTest {
         assertThat(testSearchStatus.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
 
         // Validate the SearchStatus in Elasticsearch
-        verify(mockSearchStatusSearchRepository, times(1)).save(testSearchStatus);
+        verify(mockSearchIndexer, times(1)).index(testSearchStatus);
     }
 
     @Test
@@ -267,7 +280,7 @@ public class SearchStatusResourceIntTest {
         assertThat(searchStatusList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the SearchStatus in Elasticsearch
-        verify(mockSearchStatusSearchRepository, times(0)).save(searchStatus);
+        verify(mockSearchIndexer, times(0)).index(searchStatus);
     }
 
     @Test
@@ -288,7 +301,7 @@ public class SearchStatusResourceIntTest {
         assertThat(searchStatusList).hasSize(databaseSizeBeforeDelete - 1);
 
         // Validate the SearchStatus in Elasticsearch
-        verify(mockSearchStatusSearchRepository, times(1)).deleteById(searchStatus.getId());
+        verify(mockSearchIndexer, times(1)).delete(SearchStatus.class, searchStatus.getId());
     }
 
     @Test
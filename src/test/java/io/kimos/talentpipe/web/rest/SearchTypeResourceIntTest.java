@@ -5,7 +5,9 @@ import io.kimos.talentpipe.domain.SearchType;
 import io.kimos.talentpipe.repository.SearchTypeRepository;
 import io.kimos.talentpipe.repository.search.SearchTypeSearchRepository;
 import io.kimos.talentpipe.service.SearchTypeService;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import io.kimos.talentpipe.web.rest.errors.ExceptionTranslator;
+import io.kimos.talentpipe.web.rest.util.ReferenceDataResponses;
 import ma.glasnost.orika.MapperFacade;
 import org.junit.Before;
 import org.junit.Test;
@@ -67,6 +69,14 @@ public class SearchTypeResourceIntTest {
     @Autowired
     private SearchTypeSearchRepository mockSearchTypeSearchRepository;
 
+    /**
+     * This indexer is mocked in the io.kimos.talentpipe.service.search test package.
+     *
+     * @see io.kimos.talentpipe.service.search.SearchIndexerMockConfiguration
+     */
+    @Autowired
+    private SearchIndexer mockSearchIndexer;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -82,6 +92,9 @@ public class SearchTypeResourceIntTest {
     @Autowired
     private MapperFacade orikaMapper;
 
+    @Autowired
+    private ReferenceDataResponses referenceDataResponses;
+
     private MockMvc restSearchTypeMockMvc;
 
     private SearchType searchType;
@@ -102,7 +115,7 @@ public class SearchTypeResourceIntTest {
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final SearchTypeResource searchTypeResource = new SearchTypeResource(searchTypeService, orikaMapper);
+        final SearchTypeResource searchTypeResource = new SearchTypeResource(searchTypeService, orikaMapper, referenceDataResponses);
         this.restSearchTypeMockMvc = MockMvcBuilders.standaloneSetup(searchTypeResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -135,7 +148,7 @@ public class SearchTypeResourceIntTest {
         assertThat(testSearchType.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
 
         // Validate the SearchType in Elasticsearch
-        verify(mockSearchTypeSearchRepository, times(1)).save(testSearchType);
+        verify(mockSearchIndexer, times(1)).index(testSearchType);
     }
 
     @Test
@@ -201,8 +214,8 @@ public class SearchTypeResourceIntTest {
     public void updateSearchType() throws Exception {
         // Initialize the database
         searchTypeService.save(searchType);
-        // As the test used the service layer, reset the Elasticsearch mock repository
-        reset(mockSearchTypeSearchRepository);
+        // As the test used the service layer, reset the search indexer mock
+        reset(mockSearchIndexer);
 
         int databaseSizeBeforeUpdate = searchTypeRepository.findAll().size();
 
@@ -228,7 +241,7 @@ public class SearchTypeResourceIntTest {
         assertThat(testSearchType.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
 
         // Validate the SearchType in Elasticsearch
-        verify(mockSearchTypeSearchRepository, times(1)).save(testSearchType);
+        verify(mockSearchIndexer, times(1)).index(testSearchType);
     }
 
     @Test
@@ -249,7 +262,7 @@ public class SearchTypeResourceIntTest {
         assertThat(searchTypeList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the SearchType in Elasticsearch
-        verify(mockSearchTypeSearchRepository, times(0)).save(searchType);
+        verify(mockSearchIndexer, times(0)).index(searchType);
     }
 
     @Test
@@ -270,7 +283,7 @@ public class SearchTypeResourceIntTest {
         assertThat(searchTypeList).hasSize(databaseSizeBeforeDelete - 1);
 
         // Validate the SearchType in Elasticsearch
-        verify(mockSearchTypeSearchRepository, times(1)).deleteById(searchType.getId());
+        verify(mockSearchIndexer, times(1)).delete(SearchType.class, searchType.getId());
     }
 
     @Test
@@ -5,7 +5,9 @@ import io.kimos.talentpipe.domain.Sector;
 import io.kimos.talentpipe.repository.SectorRepository;
 import io.kimos.talentpipe.repository.search.SectorSearchRepository;
 import io.kimos.talentpipe.service.SectorService;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import io.kimos.talentpipe.web.rest.errors.ExceptionTranslator;
+import io.kimos.talentpipe.web.rest.util.ReferenceDataResponses;
 import ma.glasnost.orika.MapperFacade;
 import org.junit.Before;
 import org.junit.Test;
@@ -67,6 +69,14 @@ public class SectorResourceIntTest {
     @Autowired
     private SectorSearchRepository mockSectorSearchRepository;
 
+    /**
+     * This indexer is mocked in the io.kimos.talentpipe.service.search test package.
+     *
+     * @see io.kimos.talentpipe.service.search.SearchIndexerMockConfiguration
+     */
+    @Autowired
+    private SearchIndexer mockSearchIndexer;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -82,6 +92,9 @@ public class SectorResourceIntTest {
     @Autowired
     private MapperFacade orikaMapper;
 
+    @Autowired
+    private ReferenceDataResponses referenceDataResponses;
+
     private MockMvc restSectorMockMvc;
 
     private Sector sector;
@@ -102,7 +115,7 @@ public class SectorResourceIntTest {
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final SectorResource sectorResource = new SectorResource(sectorService, orikaMapper);
+        final SectorResource sectorResource = new SectorResource(sectorService, orikaMapper, referenceDataResponses);
         this.restSectorMockMvc = MockMvcBuilders.standaloneSetup(sectorResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -135,7 +148,7 @@ public class SectorResourceIntTest {
         assertThat(testSector.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
 
         // Validate the Sector in Elasticsearch
-        verify(mockSectorSearchRepository, times(1)).save(testSector);
+        verify(mockSearchIndexer, times(1)).index(testSector);
     }
 
     @Test
@@ -201,8 +214,8 @@ public class SectorResourceIntTest {
     public void updateSector() throws Exception {
         // Initialize the database
         sectorService.save(sector);
-        // As the test used the service layer, reset the Elasticsearch mock repository
-        reset(mockSectorSearchRepository);
+        // As the test used the service layer, reset the search indexer mock
+        reset(mockSearchIndexer);
 
         int databaseSizeBeforeUpdate = sectorRepository.findAll().size();
 
@@ -228,7 +241,7 @@ public class SectorResourceIntTest {
         assertThat(testSector.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
 
         // Validate the Sector in Elasticsearch
-        verify(mockSectorSearchRepository, times(1)).save(testSector);
+        verify(mockSearchIndexer, times(1)).index(testSector);
     }
 
     @Test
@@ -249,7 +262,7 @@ public class SectorResourceIntTest {
         assertThat(sectorList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the Sector in Elasticsearch
-        verify(mockSectorSearchRepository, times(0)).save(sector);
+        verify(mockSearchIndexer, times(0)).index(sector);
     }
 
     @Test
@@ -270,7 +283,7 @@ public class SectorResourceIntTest {
         assertThat(sectorList).hasSize(databaseSizeBeforeDelete - 1);
 
         // Validate the Sector in Elasticsearch
-        verify(mockSectorSearchRepository, times(1)).deleteById(sector.getId());
+        verify(mockSearchIndexer, times(1)).delete(Sector.class, sector.getId());
     }
 
     @Test
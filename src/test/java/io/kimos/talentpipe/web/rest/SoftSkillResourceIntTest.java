@@ -5,7 +5,9 @@ import io.kimos.talentpipe.domain.SoftSkill;
 import io.kimos.talentpipe.repository.SoftSkillRepository;
 import io.kimos.talentpipe.repository.search.SoftSkillSearchRepository;
 import io.kimos.talentpipe.service.SoftSkillService;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import io.kimos.talentpipe.web.rest.errors.ExceptionTranslator;
+import io.kimos.talentpipe.web.rest.util.ReferenceDataResponses;
 import ma.glasnost.orika.MapperFacade;
 import org.junit.Before;
 import org.junit.Test;
@@ -67,6 +69,14 @@ public class SoftSkillResourceIntTest {
     @Autowired
     private SoftSkillSearchRepository mockSoftSkillSearchRepository;
 
+    /**
+     * This indexer is mocked in the io.kimos.talentpipe.service.search test package.
+     *
+     * @see io.kimos.talentpipe.service.search.SearchIndexerMockConfiguration
+     */
+    @Autowired
+    private SearchIndexer mockSearchIndexer;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -82,6 +92,9 @@ public class SoftSkillResourceIntTest {
     @Autowired
     private MapperFacade orikaMapper;
 
+    @Autowired
+    private ReferenceDataResponses referenceDataResponses;
+
     private MockMvc restSoftSkillMockMvc;
 
     private SoftSkill softSkill;
@@ -102,7 +115,7 @@ public class SoftSkillResourceIntTest {
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final SoftSkillResource softSkillResource = new SoftSkillResource(softSkillService, orikaMapper);
+        final SoftSkillResource softSkillResource = new SoftSkillResource(softSkillService, orikaMapper, referenceDataResponses);
         this.restSoftSkillMockMvc = MockMvcBuilders.standaloneSetup(softSkillResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -135,7 +148,7 @@ public class SoftSkillResourceIntTest {
         assertThat(testSoftSkill.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
 
         // Validate the SoftSkill in Elasticsearch
-        verify(mockSoftSkillSearchRepository, times(1)).save(testSoftSkill);
+        verify(mockSearchIndexer, times(1)).index(testSoftSkill);
     }
 
     @Test
@@ -201,8 +214,8 @@ public class SoftSkillResourceIntTest {
     public void updateSoftSkill() throws Exception {
         // Initialize the database
         softSkillService.save(softSkill);
-        // As the test used the service layer, reset the Elasticsearch mock repository
-        reset(mockSoftSkillSearchRepository);
+        // As the test used the service layer, reset the search indexer mock
+        reset(mockSearchIndexer);
 
         int databaseSizeBeforeUpdate = softSkillRepository.findAll().size();
 
@@ -228,7 +241,7 @@ public class SoftSkillResourceIntTest {
         assertThat(testSoftSkill.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
 
         // Validate the SoftSkill in Elasticsearch
-        verify(mockSoftSkillSearchRepository, times(1)).save(testSoftSkill);
+        verify(mockSearchIndexer, times(1)).index(testSoftSkill);
     }
 
     @Test
@@ -249,7 +262,7 @@ public class SoftSkillResourceIntTest {
         assertThat(softSkillList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the SoftSkill in Elasticsearch
-        verify(mockSoftSkillSearchRepository, times(0)).save(softSkill);
+        verify(mockSearchIndexer, times(0)).index(softSkill);
     }
 
     @Test
@@ -270,7 +283,7 @@ public class SoftSkillResourceIntTest {
         assertThat(softSkillList).hasSize(databaseSizeBeforeDelete - 1);
 
         // Validate the SoftSkill in Elasticsearch
-        verify(mockSoftSkillSearchRepository, times(1)).deleteById(softSkill.getId());
+        verify(mockSearchIndexer, times(1)).delete(SoftSkill.class, softSkill.getId());
     }
 
     @Test
@@ -5,7 +5,9 @@ import io.kimos.talentpipe.domain.StateBeforeTax;
 import io.kimos.talentpipe.repository.StateBeforeTaxRepository;
 import io.kimos.talentpipe.repository.search.StateBeforeTaxSearchRepository;
 import io.kimos.talentpipe.service.StateBeforeTaxService;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import io.kimos.talentpipe.web.rest.errors.ExceptionTranslator;
+import io.kimos.talentpipe.web.rest.util.ReferenceDataResponses;
 import ma.glasnost.orika.MapperFacade;
 import org.junit.Before;
 import org.junit.Test;
@@ -62,6 +64,9 @@ public class StateBeforeTaxResourceIntTest {
     @Autowired
     private MapperFacade orikaMapper;
 
+    @Autowired
+    private ReferenceDataResponses referenceDataResponses;
+
     /**
      * This repository is mocked in the io.kimos.talentppe.repository.search test package.
      *
@@ -70,6 +75,14 @@ public class StateBeforeTaxResourceIntTest {
     @Autowired
     private StateBeforeTaxSearchRepository mockStateBeforeTaxSearchRepository;
 
+    /**
+     * This indexer is mocked in the io.kimos.talentpipe.service.search test package.
+     *
+     * @see io.kimos.talentpipe.service.search.SearchIndexerMockConfiguration
+     */
+    @Autowired
+    private SearchIndexer mockSearchIndexer;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -102,7 +115,7 @@ public class StateBeforeTaxResourceIntTest {
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final StateBeforeTaxResource stateBeforeTaxResource = new StateBeforeTaxResource(stateBeforeTaxService, orikaMapper);
+        final StateBeforeTaxResource stateBeforeTaxResource = new StateBeforeTaxResource(stateBeforeTaxService, orikaMapper, referenceDataResponses);
         this.restStateBeforeTaxMockMvc = MockMvcBuilders.standaloneSetup(stateBeforeTaxResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -135,7 +148,7 @@ public class StateBeforeTaxResourceIntTest {
         assertThat(testStateBeforeTax.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
 
         // Validate the StateBeforeTax in Elasticsearch
-        verify(mockStateBeforeTaxSearchRepository, times(1)).save(testStateBeforeTax);
+        verify(mockSearchIndexer, times(1)).index(testStateBeforeTax);
     }
 
     @Test
@@ -201,8 +214,8 @@ public class StateBeforeTaxResourceIntTest {
     public void updateStateBeforeTax() throws Exception {
         // Initialize the database
         stateBeforeTaxService.save(stateBeforeTax);
-        // As the test used the service layer, reset the Elasticsearch mock repository
-        reset(mockStateBeforeTaxSearchRepository);
+        // As the test used the service layer, reset the search indexer mock
+        reset(mockSearchIndexer);
 
         int databaseSizeBeforeUpdate = stateBeforeTaxRepository.findAll().size();
 
@@ -228,7 +241,7 @@ public class StateBeforeTaxResourceIntTest {
         assertThat(testStateBeforeTax.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
 
         // Validate the StateBeforeTax in Elasticsearch
-        verify(mockStateBeforeTaxSearchRepository, times(1)).save(testStateBeforeTax);
+        verify(mockSearchIndexer, times(1)).index(testStateBeforeTax);
     }
 
     @Test
@@ -249,7 +262,7 @@ public class StateBeforeTaxResourceIntTest {
         assertThat(stateBeforeTaxList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the StateBeforeTax in Elasticsearch
-        verify(mockStateBeforeTaxSearchRepository, times(0)).save(stateBeforeTax);
+        verify(mockSearchIndexer, times(0)).index(stateBeforeTax);
     }
 
     @Test
@@ -270,7 +283,7 @@ public class StateBeforeTaxResourceIntTest {
         assertThat(stateBeforeTaxList).hasSize(databaseSizeBeforeDelete - 1);
 
         // Validate the StateBeforeTax in Elasticsearch
-        verify(mockStateBeforeTaxSearchRepository, times(1)).deleteById(stateBeforeTax.getId());
+        verify(mockSearchIndexer, times(1)).delete(StateBeforeTax.class, stateBeforeTax.getId());
     }
 
     @Test
@@ -5,7 +5,9 @@ import io.kimos.talentpipe.domain.TechnicalSkill;
 import io.kimos.talentpipe.repository.TechnicalSkillRepository;
 import io.kimos.talentpipe.repository.search.TechnicalSkillSearchRepository;
 import io.kimos.talentpipe.service.TechnicalSkillService;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import io.kimos.talentpipe.web.rest.errors.ExceptionTranslator;
+import io.kimos.talentpipe.web.rest.util.ReferenceDataResponses;
 import ma.glasnost.orika.MapperFacade;
 import org.junit.Before;
 import org.junit.Test;
@@ -62,6 +64,9 @@ public class TechnicalSkillResourceIntTest {
     @Autowired
     private MapperFacade orikaMapper;
 
+    @Autowired
+    private ReferenceDataResponses referenceDataResponses;
+
     /**
      * This repository is mocked in the io.kimos.talentppe.repository.search test package.
      *
@@ -70,6 +75,14 @@ public class TechnicalSkillResourceIntTest {
     @Autowired
     private TechnicalSkillSearchRepository mockTechnicalSkillSearchRepository;
 
+    /**
+     * This indexer is mocked in the io.kimos.talentpipe.service.search test package.
+     *
+     * @see io.kimos.talentpipe.service.search.SearchIndexerMockConfiguration
+     */
+    @Autowired
+    private SearchIndexer mockSearchIndexer;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -102,7 +115,7 @@ public class TechnicalSkillResourceIntTest {
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final TechnicalSkillResource technicalSkillResource = new TechnicalSkillResource(technicalSkillService, orikaMapper);
+        final TechnicalSkillResource technicalSkillResource = new TechnicalSkillResource(technicalSkillService, orikaMapper, referenceDataResponses);
         this.restTechnicalSkillMockMvc = MockMvcBuilders.standaloneSetup(technicalSkillResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -135,7 +148,7 @@ public class TechnicalSkillResourceIntTest {
         assertThat(testTechnicalSkill.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
 
         // Validate the TechnicalSkill in Elasticsearch
-        verify(mockTechnicalSkillSearchRepository, times(1)).save(testTechnicalSkill);
+        verify(mockSearchIndexer, times(1)).index(testTechnicalSkill);
     }
 
     @Test
@@ -201,8 +214,8 @@ public class TechnicalSkillResourceIntTest {
     public void updateTechnicalSkill() throws Exception {
         // Initialize the database
         technicalSkillService.save(technicalSkill);
-        // As the test used the service layer, reset the Elasticsearch mock repository
-        reset(mockTechnicalSkillSearchRepository);
+        // As the test used the service layer, reset the search indexer mock
+        reset(mockSearchIndexer);
 
         int databaseSizeBeforeUpdate = technicalSkillRepository.findAll().size();
 
@@ -228,7 +241,7 @@ public class TechnicalSkillResourceIntTest {
         assertThat(testTechnicalSkill.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
 
         // Validate the TechnicalSkill in Elasticsearch
-        verify(mockTechnicalSkillSearchRepository, times(1)).save(testTechnicalSkill);
+        verify(mockSearchIndexer, times(1)).index(testTechnicalSkill);
     }
 
     @Test
@@ -249,7 +262,7 @@ public class TechnicalSkillResourceIntTest {
         assertThat(technicalSkillList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the TechnicalSkill in Elasticsearch
-        verify(mockTechnicalSkillSearchRepository, times(0)).save(technicalSkill);
+        verify(mockSearchIndexer, times(0)).index(technicalSkill);
     }
 
     @Test
@@ -270,7 +283,7 @@ public class TechnicalSkillResourceIntTest {
         assertThat(technicalSkillList).hasSize(databaseSizeBeforeDelete - 1);
 
         // Validate the TechnicalSkill in Elasticsearch
-        verify(mockTechnicalSkillSearchRepository, times(1)).deleteById(technicalSkill.getId());
+        verify(mockSearchIndexer, times(1)).delete(TechnicalSkill.class, technicalSkill.getId());
     }
 
     @Test
@@ -5,7 +5,9 @@ import io.kimos.talentpipe.domain.WorkType;
 import io.kimos.talentpipe.repository.WorkTypeRepository;
 import io.kimos.talentpipe.repository.search.WorkTypeSearchRepository;
 import io.kimos.talentpipe.service.WorkTypeService;
+import io.kimos.talentpipe.service.search.SearchIndexer;
 import io.kimos.talentpipe.web.rest.errors.ExceptionTranslator;
+import io.kimos.talentpipe.web.rest.util.ReferenceDataResponses;
 import ma.glasnost.orika.MapperFacade;
 import org.junit.Before;
 import org.junit.Test;
@@ -66,6 +68,9 @@ public class WorkTypeResourceIntTest {
     @Autowired
     private MapperFacade orikaMapper;
 
+    @Autowired
+    private ReferenceDataResponses referenceDataResponses;
+
     /**
      * This repository is mocked in the io.kimos.talentppe.repository.search test package.
      *
@@ -74,6 +79,14 @@ public class WorkTypeResourceIntTest {
     @Autowired
     private WorkTypeSearchRepository mockWorkTypeSearchRepository;
 
+    /**
+     * This indexer is mocked in the io.kimos.talentpipe.service.search test package.
+     *
+     * @see io.kimos.talentpipe.service.search.SearchIndexerMockConfiguration
+     */
+    @Autowired
+    private SearchIndexer mockSearchIndexer;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -108,7 +121,7 @@ public class WorkTypeResourceIntTest {
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final WorkTypeResource workTypeResource = new WorkTypeResource(workTypeService, orikaMapper);
+        final WorkTypeResource workTypeResource = new WorkTypeResource(workTypeService, orikaMapper, referenceDataResponses);
         this.restWorkTypeMockMvc = MockMvcBuilders.standaloneSetup(workTypeResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -143,7 +156,7 @@ public class WorkTypeResourceIntTest {
         assertThat(testWorkType.getMaxQuantityHours()).isEqualTo(DEFAULT_MAX_QUANTITY_HOURS);
 
         // Validate the WorkType in Elasticsearch
-        verify(mockWorkTypeSearchRepository, times(1)).save(testWorkType);
+        verify(mockSearchIndexer, times(1)).index(testWorkType);
     }
 
     @Test
@@ -249,8 +262,8 @@ public class WorkTypeResourceIntTest {
     public void updateWorkType() throws Exception {
         // Initialize the database
         workTypeService.save(workType);
-        // As the test used the service layer, reset the Elasticsearch mock repository
-        reset(mockWorkTypeSearchRepository);
+        // As the test used the service layer, reset the search indexer mock
+        reset(mockSearchIndexer);
 
         int databaseSizeBeforeUpdate = workTypeRepository.findAll().size();
 
@@ -280,7 +293,7 @@ public class WorkTypeResourceIntTest {
         assertThat(testWorkType.getMaxQuantityHours()).isEqualTo(UPDATED_MAX_QUANTITY_HOURS);
 
         // Validate the WorkType in Elasticsearch
-        verify(mockWorkTypeSearchRepository, times(1)).save(testWorkType);
+        verify(mockSearchIndexer, times(1)).index(testWorkType);
     }
 
     @Test
@@ -301,7 +314,7 @@ public class WorkTypeResourceIntTest {
         assertThat(workTypeList).hasSize(databaseSizeBeforeUpdate);
 
         // Validate the WorkType in Elasticsearch
-        verify(mockWorkTypeSearchRepository, times(0)).save(workType);
+        verify(mockSearchIndexer, times(0)).index(workType);
     }
 
     @Test
@@ -322,7 +335,7 @@ public class WorkTypeResourceIntTest {
         assertThat(workTypeList).hasSize(databaseSizeBeforeDelete - 1);
 
         // Validate the WorkType in Elasticsearch
-        verify(mockWorkTypeSearchRepository, times(1)).deleteById(workType.getId());
+        verify(mockSearchIndexer, times(1)).delete(WorkType.class, workType.getId());
     }
 
     @Test
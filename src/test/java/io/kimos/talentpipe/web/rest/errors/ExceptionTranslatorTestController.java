@@ -1,6 +1,7 @@
 package io.kimos.talentpipe.web.rest.errors;
 
 import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.mapping.PropertyPath;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -19,6 +20,11 @@ public class ExceptionTranslatorTestController {
         throw new ConcurrencyFailureException("test concurrency failure");
     }
 
+    @GetMapping("/test/property-reference")
+    public void propertyReference() {
+        PropertyPath.from("unknown", TestDTO.class);
+    }
+
     @PostMapping("/test/method-argument")
     public void methodArgument(@Valid @RequestBody TestDTO testDTO) {
     }
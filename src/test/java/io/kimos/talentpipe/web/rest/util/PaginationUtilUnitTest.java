@@ -1,9 +1,12 @@
 package io.kimos.talentpipe.web.rest.util;
 
+import io.kimos.talentpipe.service.dto.KeysetCursor;
+import io.kimos.talentpipe.service.dto.KeysetSlice;
 import org.junit.Test;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpHeaders;
 
 import java.util.ArrayList;
@@ -153,4 +156,25 @@ public class PaginationUtilUnitTest {
         assertTrue(xTotalCountHeaders.size() == 1);
         assertTrue(Long.valueOf(xTotalCountHeaders.get(0)).equals(0L));
     }
+
+    @Test
+    public void generateKeysetPaginationHttpHeadersTest() {
+        String baseUrl = "/api/example";
+        Sort.Order order = Sort.Order.desc("name");
+        KeysetCursor next = new KeysetCursor(order, "Acme", 42L);
+        KeysetSlice<String> slice = new KeysetSlice<>(new ArrayList<>(), order, 50, next);
+        HttpHeaders headers = PaginationUtil.generateKeysetPaginationHttpHeaders(slice, baseUrl);
+        List<String> strHeaders = headers.get(HttpHeaders.LINK);
+        assertNotNull(strHeaders);
+        assertTrue(strHeaders.size() == 1);
+        String expectedData = "</api/example?after=" + next.encode() + "&size=50>; rel=\"next\","
+            + "</api/example?after=&size=50&sort=name,desc>; rel=\"first\"";
+        assertEquals(expectedData, strHeaders.get(0));
+        assertNull(headers.get("X-Total-Count"));
+
+        // Last page
+        slice = new KeysetSlice<>(new ArrayList<>(), order, 50, null);
+        headers = PaginationUtil.generateKeysetPaginationHttpHeaders(slice, baseUrl);
+        assertEquals("</api/example?after=&size=50&sort=name,desc>; rel=\"first\"", headers.getFirst(HttpHeaders.LINK));
+    }
 }
@@ -0,0 +1,150 @@
+package io.kimos.talentpipe.web.rest.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.kimos.talentpipe.MonolithApp;
+import io.kimos.talentpipe.domain.Sector;
+import io.kimos.talentpipe.service.SectorService;
+import io.kimos.talentpipe.service.reference.ReferenceDataService;
+import io.kimos.talentpipe.service.reference.ReferenceTable;
+import io.kimos.talentpipe.web.rest.SectorResource;
+import io.kimos.talentpipe.web.rest.errors.ExceptionTranslator;
+import ma.glasnost.orika.MapperFacade;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import static io.kimos.talentpipe.web.rest.TestUtil.createFormattingConversionService;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for the ReferenceDataResponses served through Spring MVC, with the message converters of the
+ * application, as the ReferenceDataService holds no snapshot in the transactional resource tests.
+ *
+ * @see ReferenceDataResponses
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = MonolithApp.class)
+public class ReferenceDataResponsesIntTest {
+
+    @Autowired
+    private SectorService sectorService;
+
+    @Autowired
+    private MapperFacade orikaMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2HttpMessageConverter jacksonMessageConverter;
+
+    @Autowired
+    private PageableHandlerMethodArgumentResolver pageableArgumentResolver;
+
+    @Autowired
+    private ExceptionTranslator exceptionTranslator;
+
+    private ReferenceDataService referenceDataService;
+
+    private MockMvc restSectorMockMvc;
+
+    @Before
+    public void setup() {
+        referenceDataService = mock(ReferenceDataService.class);
+        when(referenceDataService.table(Sector.class)).thenReturn(Optional.of(table(1L, "Retail", "Banking", "Agro")));
+        ReferenceDataResponses referenceDataResponses = new ReferenceDataResponses(referenceDataService, objectMapper);
+        SectorResource sectorResource = new SectorResource(sectorService, orikaMapper, referenceDataResponses);
+        this.restSectorMockMvc = MockMvcBuilders.standaloneSetup(sectorResource)
+            .setCustomArgumentResolvers(pageableArgumentResolver)
+            .setControllerAdvice(exceptionTranslator)
+            .setConversionService(createFormattingConversionService())
+            .setMessageConverters(new ByteArrayHttpMessageConverter(), jacksonMessageConverter).build();
+    }
+
+    @Test
+    public void servesThePreEncodedPage() throws Exception {
+        restSectorMockMvc.perform(get("/api/sectors?page=0&size=2"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(header().string(HttpHeaders.ETAG, startsWith("\"0")))
+            .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+            .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+            .andExpect(header().string("X-Total-Count", "3"))
+            .andExpect(jsonPath("$.[*].id").value(contains(1, 2)))
+            .andExpect(jsonPath("$.[*].name").value(contains("Retail", "Banking")));
+    }
+
+    @Test
+    public void answersNotModifiedToTheCurrentETag() throws Exception {
+        String etag = restSectorMockMvc.perform(get("/api/sectors"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        restSectorMockMvc.perform(get("/api/sectors").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(content().bytes(new byte[0]));
+
+        when(referenceDataService.table(Sector.class)).thenReturn(Optional.of(table(2L, "Mining", "Banking", "Agro")));
+
+        restSectorMockMvc.perform(get("/api/sectors").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].name").value("Mining"));
+    }
+
+    @Test
+    public void servesTheGzippedCopyWhenAccepted() throws Exception {
+        MvcResult identity = restSectorMockMvc.perform(get("/api/sectors"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        MvcResult gzipped = restSectorMockMvc.perform(get("/api/sectors").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+            .andReturn();
+
+        String gzippedETag = gzipped.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(gzippedETag).isNotEqualTo(identity.getResponse().getHeader(HttpHeaders.ETAG));
+        byte[] gunzipped = StreamUtils.copyToByteArray(
+            new GZIPInputStream(new ByteArrayInputStream(gzipped.getResponse().getContentAsByteArray())));
+        assertThat(gunzipped).isEqualTo(identity.getResponse().getContentAsByteArray());
+
+        restSectorMockMvc.perform(get("/api/sectors").header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+            .header(HttpHeaders.IF_NONE_MATCH, gzippedETag))
+            .andExpect(status().isNotModified());
+    }
+
+    private static ReferenceTable<Sector> table(long version, String... names) {
+        Sector[] sectors = new Sector[names.length];
+        for (int i = 0; i < names.length; i++) {
+            sectors[i] = new Sector().name(names[i]);
+            sectors[i].setId(i + 1L);
+        }
+        return new ReferenceTable<>(Sector.class, version, Arrays.asList(sectors), Sector::getId, Sector::getNormalizedName);
+    }
+}
@@ -0,0 +1,111 @@
+package io.kimos.talentpipe.web.rest.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.kimos.talentpipe.domain.Sector;
+import io.kimos.talentpipe.service.reference.ReferenceDataService;
+import io.kimos.talentpipe.service.reference.ReferenceTable;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for the ReferenceDataResponses.
+ *
+ * @see ReferenceDataResponses
+ */
+public class ReferenceDataResponsesUnitTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ReferenceDataService referenceDataService;
+
+    private ReferenceDataResponses responses;
+
+    @Before
+    public void setup() {
+        referenceDataService = mock(ReferenceDataService.class);
+        responses = new ReferenceDataResponses(referenceDataService, objectMapper);
+    }
+
+    @Test
+    public void servesTheSameEncodedPageUntilTheTableChanges() throws Exception {
+        when(referenceDataService.table(Sector.class)).thenReturn(Optional.of(table(1L, "Retail", "Banking", "Agro")));
+
+        ResponseEntity<?> first = page(0, 2, null);
+        ResponseEntity<?> second = page(0, 2, null);
+
+        assertThat(second.getBody()).isSameAs(first.getBody());
+        assertThat(first.getHeaders().getETag()).isEqualTo(second.getHeaders().getETag()).startsWith("\"0");
+        assertThat(first.getHeaders().getFirst("X-Total-Count")).isEqualTo("3");
+        assertThat(first.getHeaders().getFirst(HttpHeaders.LINK)).contains("/api/sectors?page=1&size=2");
+        JsonNode json = objectMapper.readTree((byte[]) first.getBody());
+        assertThat(json.size()).isEqualTo(2);
+        assertThat(json.get(0).get("name").asText()).isEqualTo("Retail");
+
+        when(referenceDataService.table(Sector.class)).thenReturn(Optional.of(table(2L, "Mining", "Banking", "Agro")));
+
+        ResponseEntity<?> changed = page(0, 2, null);
+
+        assertThat(changed.getHeaders().getETag()).isNotEqualTo(first.getHeaders().getETag());
+        assertThat(objectMapper.readTree((byte[]) changed.getBody()).get(0).get("name").asText()).isEqualTo("Mining");
+    }
+
+    @Test
+    public void servesTheGzippedCopyWhenAccepted() throws Exception {
+        when(referenceDataService.table(Sector.class)).thenReturn(Optional.of(table(1L, "Retail", "Banking")));
+
+        ResponseEntity<?> identity = responses.list(Sector.class, "identity").get();
+        ResponseEntity<?> gzipped = responses.list(Sector.class, "br, gzip;q=0.8").get();
+
+        assertThat(identity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gzipped.getHeaders().getVary()).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(gzipped.getHeaders().getETag()).isNotEqualTo(identity.getHeaders().getETag());
+        byte[] gunzipped = StreamUtils.copyToByteArray(new GZIPInputStream(new ByteArrayInputStream((byte[]) gzipped.getBody())));
+        assertThat(gunzipped).isEqualTo((byte[]) identity.getBody());
+    }
+
+    @Test
+    public void returnsNothingWithoutSnapshot() {
+        when(referenceDataService.table(Sector.class)).thenReturn(Optional.empty());
+
+        assertThat(responses.page(Sector.class, PageRequest.of(0, 20), "/api/sectors", "gzip")).isEmpty();
+        assertThat(responses.list(Sector.class, null)).isEmpty();
+    }
+
+    @Test
+    public void parsesAcceptEncoding() {
+        assertThat(ReferenceDataResponses.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(ReferenceDataResponses.acceptsGzip("deflate, GZIP;q=0.5")).isTrue();
+        assertThat(ReferenceDataResponses.acceptsGzip("*")).isTrue();
+        assertThat(ReferenceDataResponses.acceptsGzip("gzip;q=0, *")).isFalse();
+        assertThat(ReferenceDataResponses.acceptsGzip("deflate")).isFalse();
+        assertThat(ReferenceDataResponses.acceptsGzip(null)).isFalse();
+    }
+
+    private ResponseEntity<?> page(int page, int size, String acceptEncoding) {
+        return responses.page(Sector.class, PageRequest.of(page, size), "/api/sectors", acceptEncoding).get();
+    }
+
+    private static ReferenceTable<Sector> table(long version, String... names) {
+        Sector[] sectors = new Sector[names.length];
+        for (int i = 0; i < names.length; i++) {
+            sectors[i] = new Sector().name(names[i]);
+            sectors[i].setId(i + 1L);
+        }
+        return new ReferenceTable<>(Sector.class, version, Arrays.asList(sectors), Sector::getId, Sector::getNormalizedName);
+    }
+}
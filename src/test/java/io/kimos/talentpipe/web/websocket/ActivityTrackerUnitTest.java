@@ -0,0 +1,115 @@
+package io.kimos.talentpipe.web.websocket;
+
+import io.kimos.talentpipe.web.websocket.dto.ActivityDTO;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test class for the ActivityTracker.
+ *
+ * @see ActivityTracker
+ */
+public class ActivityTrackerUnitTest {
+
+    private SimpMessageSendingOperations messagingTemplate;
+
+    private ActivityTracker activityTracker;
+
+    @Before
+    public void setup() {
+        messagingTemplate = mock(SimpMessageSendingOperations.class);
+        activityTracker = new ActivityTracker(messagingTemplate);
+    }
+
+    @Test
+    public void sendsTheLastChangeOfEachSessionOnce() {
+        activityTracker.update(activity("session-1", "admin", "home"));
+        activityTracker.update(activity("session-1", "admin", "audits"));
+        activityTracker.update(activity("session-2", "user", "home"));
+
+        activityTracker.publishChanges();
+
+        assertThat(sentChanges()).extracting(ActivityDTO::getSessionId, ActivityDTO::getPage)
+            .containsExactlyInAnyOrder(tuple("session-1", "audits"), tuple("session-2", "home"));
+    }
+
+    @Test
+    public void sendsNothingWithoutChanges() {
+        activityTracker.publishChanges();
+
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    public void sendsClosedSessionsAsLogouts() {
+        activityTracker.update(activity("session-1", "admin", "home"));
+        activityTracker.update(activity("session-2", "user", "home"));
+        activityTracker.publishChanges();
+
+        activityTracker.remove("session-1");
+
+        assertThat(activityTracker.snapshot()).extracting(ActivityDTO::getSessionId).containsExactly("session-2");
+        activityTracker.publishChanges();
+        ArgumentCaptor<List<ActivityDTO>> captor = captor();
+        verify(messagingTemplate, times(2)).convertAndSend(eq(ActivityTracker.TRACKER_TOPIC), captor.capture());
+        assertThat(captor.getValue()).extracting(ActivityDTO::getSessionId, ActivityDTO::getPage)
+            .containsExactly(tuple("session-1", ActivityTracker.LOGOUT_PAGE));
+    }
+
+    @Test
+    public void ignoresTheActivitiesOfClosedSessions() {
+        activityTracker.update(activity("session-1", "admin", "home"));
+        activityTracker.remove("session-1");
+
+        activityTracker.update(activity("session-1", "admin", "audits"));
+
+        assertThat(activityTracker.snapshot()).isEmpty();
+        activityTracker.publishChanges();
+        assertThat(sentChanges()).extracting(ActivityDTO::getSessionId, ActivityDTO::getPage)
+            .containsExactly(tuple("session-1", ActivityTracker.LOGOUT_PAGE));
+    }
+
+    @Test
+    public void snapshotHoldsTheLastActivityOfEachSession() {
+        activityTracker.update(activity("session-1", "admin", "home"));
+        activityTracker.update(activity("session-1", "admin", "audits"));
+        activityTracker.update(activity("session-2", "user", "home"));
+        activityTracker.publishChanges();
+
+        assertThat(activityTracker.snapshot()).extracting(ActivityDTO::getSessionId, ActivityDTO::getPage)
+            .containsExactlyInAnyOrder(tuple("session-1", "audits"), tuple("session-2", "home"));
+    }
+
+    private List<ActivityDTO> sentChanges() {
+        ArgumentCaptor<List<ActivityDTO>> captor = captor();
+        verify(messagingTemplate).convertAndSend(eq(ActivityTracker.TRACKER_TOPIC), captor.capture());
+        return captor.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<ActivityDTO>> captor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+
+    private static ActivityDTO activity(String sessionId, String login, String page) {
+        ActivityDTO activityDTO = new ActivityDTO();
+        activityDTO.setSessionId(sessionId);
+        activityDTO.setUserLogin(login);
+        activityDTO.setPage(page);
+        return activityDTO;
+    }
+}